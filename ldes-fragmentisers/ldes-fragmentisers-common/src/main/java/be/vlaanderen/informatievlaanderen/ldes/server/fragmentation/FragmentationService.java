@@ -1,5 +1,6 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.fragmentation;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.ingest.MembersIngestedEvent;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.services.MemberMetricsRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.exceptions.FragmentationJobException;
@@ -12,20 +13,28 @@ import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteExcep
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.repository.JobRestartException;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.FRAGMENTATION_CRON;
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.FRAGMENTATION_TRIGGER_DELAY;
 import static be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.batch.BatchConfiguration.ASYNC_JOB_LAUNCHER;
 import static be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.batch.BucketJobDefinitions.BUCKETISATION_STEP;
 
 @Service
 @EnableScheduling
-public class FragmentationService {
+public class FragmentationService implements JobExecutionListener {
 	public static final String FRAGMENTATION_JOB = "fragmentation";
 	public static final String COLLECTION_NAME = "collectionName";
 	public static final String VIEW_NAME = "viewName";
@@ -35,40 +44,108 @@ public class FragmentationService {
 	private final JobRepository jobRepository;
 	private final Job bucketiseJob;
 	private final MemberMetricsRepository memberRepository;
+	private final FragmentationStrategyCollection fragmentationStrategyCollection;
+	private final TaskScheduler taskScheduler;
+	private final Duration triggerDelay;
+	private final Set<ViewName> triggeredViews = ConcurrentHashMap.newKeySet();
+	private final Set<ViewName> viewsIngestedDuringJob = ConcurrentHashMap.newKeySet();
+	private final Set<Long> finishedJobExecutionIds = ConcurrentHashMap.newKeySet();
 
+	@SuppressWarnings("java:S107")
 	public FragmentationService(@Qualifier(ASYNC_JOB_LAUNCHER) JobLauncher jobLauncher, JobRepository jobRepository, JobExplorer jobExplorer,
 	                            @Qualifier(BUCKETISATION_STEP) Step bucketiseMembersStep, Step paginationStep,
-	                            MemberMetricsRepository memberRepository) {
+	                            MemberMetricsRepository memberRepository, FragmentationStrategyCollection fragmentationStrategyCollection,
+	                            TaskScheduler taskScheduler, @Value(FRAGMENTATION_TRIGGER_DELAY) long triggerDelayInMillis) {
 		this.jobLauncher = jobLauncher;
 		this.jobExplorer = jobExplorer;
 		this.jobRepository = jobRepository;
 		this.memberRepository = memberRepository;
+		this.fragmentationStrategyCollection = fragmentationStrategyCollection;
+		this.taskScheduler = taskScheduler;
+		this.triggerDelay = Duration.ofMillis(triggerDelayInMillis);
 		this.bucketiseJob = createJob(jobRepository, bucketiseMembersStep, paginationStep);
 		this.cleanupOldJobs();
 	}
 
+	/**
+	 * Safety net for members of which the ingest did not trigger the fragmentation, e.g. because the server was
+	 * restarted before the job was launched.
+	 */
 	@Scheduled(cron = FRAGMENTATION_CRON)
 	public void scheduledJobLauncher() {
 		memberRepository.getUnprocessedViews()
 				.parallelStream()
-				.filter(this::noJobsRunning)
-				.forEach(viewName -> {
-					try {
-						jobLauncher.run(bucketiseJob, new JobParametersBuilder()
-								.addString(VIEW_NAME, viewName.getViewName())
-								.addString(COLLECTION_NAME, viewName.getCollectionName())
-								.addLocalDateTime("triggered", LocalDateTime.now())
-								.toJobParameters());
-					} catch (JobInstanceAlreadyCompleteException | JobExecutionAlreadyRunningException |
-					         JobParametersInvalidException | JobRestartException e) {
-						throw new FragmentationJobException(e);
-					}
-				});
+				.forEach(this::launchJobIfNoneRunning);
+	}
+
+	/**
+	 * Triggers the fragmentation of the views of the collection after a short delay, so the members that are ingested
+	 * within that delay are coalesced into a single job per view.
+	 */
+	@EventListener
+	public void handleMembersIngestedEvent(MembersIngestedEvent event) {
+		fragmentationStrategyCollection.getAllFragmentationStrategyExecutors(event.collectionName())
+				.stream()
+				.map(FragmentationStrategyBatchExecutor::getViewName)
+				.forEach(this::triggerJob);
+	}
+
+	/**
+	 * The job repository only marks the job as finished after this listener, so the execution is remembered as
+	 * finished until the repository no longer reports it as running. Otherwise, a job that is triggered again right
+	 * away would still see it running and never be launched.
+	 */
+	@Override
+	public void afterJob(JobExecution jobExecution) {
+		if (!jobExecution.getStatus().isRunning()) {
+			finishedJobExecutionIds.add(jobExecution.getId());
+		}
+		final JobParameters params = jobExecution.getJobParameters();
+		final ViewName viewName = new ViewName(params.getString(COLLECTION_NAME), params.getString(VIEW_NAME));
+		if (viewsIngestedDuringJob.remove(viewName)) {
+			triggerJob(viewName);
+		}
+	}
+
+	private void triggerJob(ViewName viewName) {
+		if (triggeredViews.add(viewName)) {
+			taskScheduler.schedule(() -> launchTriggeredJob(viewName), Instant.now().plus(triggerDelay));
+		}
+	}
+
+	private void launchTriggeredJob(ViewName viewName) {
+		triggeredViews.remove(viewName);
+		if (!launchJobIfNoneRunning(viewName)) {
+			viewsIngestedDuringJob.add(viewName);
+		}
+	}
+
+	/**
+	 * @return false if a job for this view was already running, so no new job was launched
+	 */
+	private synchronized boolean launchJobIfNoneRunning(ViewName viewName) {
+		if (!noJobsRunning(viewName)) {
+			return false;
+		}
+		try {
+			jobLauncher.run(bucketiseJob, new JobParametersBuilder()
+					.addString(VIEW_NAME, viewName.getViewName())
+					.addString(COLLECTION_NAME, viewName.getCollectionName())
+					.addLocalDateTime("triggered", LocalDateTime.now())
+					.toJobParameters());
+			return true;
+		} catch (JobInstanceAlreadyCompleteException | JobExecutionAlreadyRunningException |
+		         JobParametersInvalidException | JobRestartException e) {
+			throw new FragmentationJobException(e);
+		}
 	}
 
 	private boolean noJobsRunning(ViewName viewName) {
-		return jobExplorer.findRunningJobExecutions(FRAGMENTATION_JOB)
+		final Set<JobExecution> runningJobExecutions = jobExplorer.findRunningJobExecutions(FRAGMENTATION_JOB);
+		finishedJobExecutionIds.retainAll(runningJobExecutions.stream().map(JobExecution::getId).toList());
+		return runningJobExecutions
 				.stream()
+				.filter(jobExecution -> !finishedJobExecutionIds.contains(jobExecution.getId()))
 				.noneMatch(jobExecution -> {
 					var params = jobExecution.getJobParameters();
 					String view = Objects.requireNonNull(params.getString(VIEW_NAME));
@@ -79,6 +156,7 @@ public class FragmentationService {
 
 	private Job createJob(JobRepository jobRepository, Step step, Step paginationStep) {
 		return new JobBuilder(FRAGMENTATION_JOB, jobRepository)
+				.listener(this)
 				.start(step)
 				.next(paginationStep)
 				.build();
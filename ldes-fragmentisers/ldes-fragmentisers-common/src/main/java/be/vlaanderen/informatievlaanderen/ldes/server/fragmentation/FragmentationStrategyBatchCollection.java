@@ -10,14 +10,20 @@ import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
-import java.util.function.Predicate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Keeps the executors per collection, and per view within a collection, so the executor of a view is found with two
+ * lookups. Views can be added and removed while other views are being bucketised.
+ */
 @Component
 public class FragmentationStrategyBatchCollection implements FragmentationStrategyCollection {
 
 	private final BucketRepository bucketRepository;
-	private final Set<FragmentationStrategyBatchExecutor> fragmentationStrategySet;
+	private final Map<String, Map<ViewName, FragmentationStrategyBatchExecutor>> executorsByCollection;
 	private final FragmentationStrategyCreator fragmentationStrategyCreator;
 	private final ObservationRegistry observationRegistry;
 
@@ -28,51 +34,47 @@ public class FragmentationStrategyBatchCollection implements FragmentationStrate
 		this.bucketRepository = bucketRepository;
 		this.fragmentationStrategyCreator = fragmentationStrategyCreator;
 		this.observationRegistry = observationRegistry;
-		this.fragmentationStrategySet = new HashSet<>();
+		this.executorsByCollection = new ConcurrentHashMap<>();
 	}
 
 	@Override
 	public List<FragmentationStrategyBatchExecutor> getAllFragmentationStrategyExecutors(String collectionName) {
-		return fragmentationStrategySet
-				.stream()
-				.filter(executor -> executor.isPartOfCollection(collectionName))
-				.toList();
+		final Map<ViewName, FragmentationStrategyBatchExecutor> executors = executorsByCollection.get(collectionName);
+		return executors == null ? List.of() : List.copyOf(executors.values());
 	}
 
 	@Override
-	public Optional<FragmentationStrategyBatchExecutor> getFragmentationStrategyExecutor(String viewName) {
-		return fragmentationStrategySet.stream()
-				.filter(fragmentationStrategyBatchExecutor ->
-						fragmentationStrategyBatchExecutor.getViewName()
-								.asString()
-								.equals(viewName))
-				.findFirst();
+	public Optional<FragmentationStrategyBatchExecutor> getFragmentationStrategyExecutor(ViewName viewName) {
+		return Optional.ofNullable(executorsByCollection.get(viewName.getCollectionName()))
+				.map(executors -> executors.get(viewName));
 	}
 
 	@EventListener({ViewAddedEvent.class, ViewInitializationEvent.class})
 	@Order(1)
 	public void handleViewAddedEvent(ViewSupplier event) {
-		final var fragmentationStrategyExecutor = createExecutor(event.viewSpecification().getName(), event.viewSpecification());
-		fragmentationStrategySet.add(fragmentationStrategyExecutor);
+		final ViewName viewName = event.viewSpecification().getName();
+		final var fragmentationStrategyExecutor = createExecutor(viewName, event.viewSpecification());
+		executorsByCollection.compute(viewName.getCollectionName(), (collectionName, executors) -> {
+			final var collectionExecutors = executors == null
+					? new ConcurrentHashMap<ViewName, FragmentationStrategyBatchExecutor>()
+					: executors;
+			collectionExecutors.put(viewName, fragmentationStrategyExecutor);
+			return collectionExecutors;
+		});
 	}
 
 	@EventListener
 	public void handleEventStreamDeletedEvent(EventStreamDeletedEvent event) {
-		removeFromStrategySet(
-				executor -> Objects.equals(executor.getViewName().getCollectionName(), event.collectionName()));
+		executorsByCollection.remove(event.collectionName());
 	}
 
 	@EventListener
 	public void handleViewDeletedEvent(ViewDeletedEvent event) {
-		removeFromStrategySet(executor -> Objects.equals(executor.getViewName(), event.getViewName()));
-	}
-
-	private void removeFromStrategySet(Predicate<FragmentationStrategyBatchExecutor> filterPredicate) {
-		fragmentationStrategySet
-				.stream()
-				.filter(filterPredicate)
-				.toList()
-				.forEach(fragmentationStrategySet::remove);
+		final ViewName viewName = event.getViewName();
+		executorsByCollection.computeIfPresent(viewName.getCollectionName(), (collectionName, executors) -> {
+			executors.remove(viewName);
+			return executors.isEmpty() ? null : executors;
+		});
 	}
 
 	private FragmentationStrategyBatchExecutor createExecutor(ViewName viewName, ViewSpecification viewSpecification) {
@@ -1,9 +1,11 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.fragmentation;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+
 import java.util.List;
 import java.util.Optional;
 
 public interface FragmentationStrategyCollection {
 	List<FragmentationStrategyBatchExecutor> getAllFragmentationStrategyExecutors(String collectionName);
-	Optional<FragmentationStrategyBatchExecutor> getFragmentationStrategyExecutor(String viewName);
+	Optional<FragmentationStrategyBatchExecutor> getFragmentationStrategyExecutor(ViewName viewName);
 }
@@ -3,12 +3,15 @@ package be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.batch;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.BucketisedMember;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.FragmentationMember;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
@@ -17,32 +20,49 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.List;
 
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.FRAGMENTATION_MEMBER_RANGES;
+
 @Configuration
 public class BucketJobDefinitions {
 	public static final String BUCKETISATION_STEP = "bucketisation";
 	public static final int CHUNK_SIZE = 250;
 
+	/**
+	 * Each view is bucketised by its own job, of which the members are split into member id ranges. The ranges of
+	 * all jobs share the bucket task executor, so multiple views are bucketised in parallel with one thread per core.
+	 */
 	@Bean(BUCKETISATION_STEP)
+	@SuppressWarnings("java:S107")
 	public Step bucketiseMembersStep(JobRepository jobRepository,
 	                                 PlatformTransactionManager transactionManager,
+	                                 @Qualifier("memberRangePartitioner") Partitioner memberRangePartitioner,
 	                                 ItemReader<FragmentationMember> memberReader,
 	                                 ItemProcessor<FragmentationMember, List<BucketisedMember>> viewBucketProcessor,
 	                                 ItemWriter<List<BucketisedMember>> writer,
 	                                 BucketMetricUpdater bucketMetricUpdater,
+	                                 @Qualifier("memberRangeRollback") StepExecutionListener memberRangeRollback,
+	                                 @Value(FRAGMENTATION_MEMBER_RANGES) int memberRanges,
 	                                 @Qualifier("bucketTaskExecutor") TaskExecutor taskExecutor) {
 		return new StepBuilder(BUCKETISATION_STEP, jobRepository)
-				.<FragmentationMember, List<BucketisedMember>>chunk(CHUNK_SIZE, transactionManager)
-				.reader(memberReader)
-				.processor(viewBucketProcessor)
-				.writer(writer)
+				.partitioner("bucketisationStep", memberRangePartitioner)
+				.step(new StepBuilder("bucketisationStep", jobRepository)
+						.<FragmentationMember, List<BucketisedMember>>chunk(CHUNK_SIZE, transactionManager)
+						.reader(memberReader)
+						.processor(viewBucketProcessor)
+						.writer(writer)
+						.build()
+				)
+				.gridSize(memberRanges)
+				.taskExecutor(taskExecutor)
+				.listener(memberRangeRollback)
 				.listener(bucketMetricUpdater)
 				.build();
 	}
 
 	@Bean("bucketTaskExecutor")
-	public TaskExecutor paginationTaskExecutor() {
+	public TaskExecutor bucketTaskExecutor() {
 		var taskExecutor = new SimpleAsyncTaskExecutor("spring_batch");
-		taskExecutor.setConcurrencyLimit(1);
+		taskExecutor.setConcurrencyLimit(Runtime.getRuntime().availableProcessors());
 		return taskExecutor;
 	}
 }
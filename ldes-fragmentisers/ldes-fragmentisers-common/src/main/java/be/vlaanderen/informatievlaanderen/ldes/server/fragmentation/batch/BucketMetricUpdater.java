@@ -1,5 +1,6 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.batch;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.services.ServerMetrics;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.ExitStatus;
@@ -8,6 +9,7 @@ import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.stereotype.Component;
 
 import static be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.FragmentationService.COLLECTION_NAME;
+import static be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.FragmentationService.VIEW_NAME;
 
 @Component
 public class BucketMetricUpdater implements StepExecutionListener {
@@ -19,7 +21,9 @@ public class BucketMetricUpdater implements StepExecutionListener {
 
 	@Override
 	public ExitStatus afterStep(@NotNull StepExecution stepExecution) {
-		serverMetrics.updateBucketCounts(stepExecution.getJobParameters().getString(COLLECTION_NAME));
+		final ViewName viewName = new ViewName(stepExecution.getJobParameters().getString(COLLECTION_NAME),
+				stepExecution.getJobParameters().getString(VIEW_NAME));
+		serverMetrics.incrementBucketCount(viewName, stepExecution.getWriteCount());
 		return StepExecutionListener.super.afterStep(stepExecution);
 	}
 }
@@ -21,7 +21,7 @@ public class BucketProcessors {
 			@Value("#{jobParameters['collectionName']}") String collectionName,
 			@Value("#{jobParameters['viewName']}") String viewName
 	) {
-		final String composedViewName = new ViewName(collectionName, viewName).asString();
+		final ViewName composedViewName = new ViewName(collectionName, viewName);
 		return item -> fragmentationStrategyCollection.getFragmentationStrategyExecutor(composedViewName)
 				.map(executor -> executor.bucketise(item))
 				.orElse(null);
@@ -3,7 +3,9 @@ package be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.repository;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Bucket;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptor;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketInsertion;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface BucketRepository {
@@ -11,5 +13,12 @@ public interface BucketRepository {
 
 	Bucket insertBucket(Bucket bucket);
 
+	/**
+	 * Inserts the buckets that do not exist yet, so the buckets of a whole hierarchy can be resolved at once
+	 *
+	 * @return the insertion of every given bucket, in the same order
+	 */
+	List<BucketInsertion> insertBuckets(List<Bucket> buckets);
+
 	Optional<Bucket> retrieveRootBucket(ViewName viewName);
 }
@@ -0,0 +1,10 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Bucket;
+
+/**
+ * @param bucket  the bucket with its id
+ * @param created true if the bucket did not exist yet and was inserted
+ */
+public record BucketInsertion(Bucket bucket, boolean created) {
+}
@@ -1,11 +1,13 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.fragmentation;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.ingest.MembersIngestedEvent;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.services.MemberMetricsRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.services.ServerMetrics;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
@@ -16,10 +18,12 @@ import org.springframework.batch.test.context.SpringBatchTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 
@@ -50,6 +54,8 @@ class FragmentationServiceTest {
 	JobLauncher jobLauncher;
 	@MockBean
 	JobExplorer jobExplorer;
+	@MockBean
+	TaskScheduler taskScheduler;
 	@Autowired
 	private FragmentationService fragmentationService;
 
@@ -109,5 +115,87 @@ class FragmentationServiceTest {
 				);
 	}
 
+	@Test
+	void when_membersIngested_then_triggerOneJobForEachViewOfCollection() throws Exception {
+		String collection = "collection";
+		when(strategyCollection.getAllFragmentationStrategyExecutors(collection))
+				.thenReturn(List.of(executor(new ViewName(collection, "v1")), executor(new ViewName(collection, "v2"))));
+		final MembersIngestedEvent event = new MembersIngestedEvent(collection, List.of());
+
+		fragmentationService.handleMembersIngestedEvent(event);
+		fragmentationService.handleMembersIngestedEvent(event);
+
+		ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+		verify(taskScheduler, times(2)).schedule(taskCaptor.capture(), any(Instant.class));
+		taskCaptor.getAllValues().forEach(Runnable::run);
+
+		ArgumentCaptor<JobParameters> captor = ArgumentCaptor.forClass(JobParameters.class);
+		verify(jobLauncher, times(2)).run(any(), captor.capture());
+		assertThat(captor.getAllValues())
+				.extracting(obj -> obj.getString(COLLECTION_NAME), obj -> obj.getString(VIEW_NAME))
+				.containsExactlyInAnyOrder(
+						tuple(collection, "v1"),
+						tuple(collection, "v2")
+				);
+	}
+
+	@Test
+	void when_membersIngestedDuringRunningJob_then_triggerJobAgainAfterRunningJob() throws Exception {
+		String collection = "collection";
+		when(strategyCollection.getAllFragmentationStrategyExecutors(collection))
+				.thenReturn(List.of(executor(new ViewName(collection, "v1"))));
+		JobExecution jobExecution = mock(JobExecution.class);
+		JobParameters jobParameters = new JobParametersBuilder()
+				.addString(VIEW_NAME, "v1")
+				.addString(COLLECTION_NAME, collection)
+				.toJobParameters();
+		when(jobExecution.getJobParameters()).thenReturn(jobParameters);
+		when(jobExecution.getStatus()).thenReturn(BatchStatus.COMPLETED);
+		when(jobExplorer.findRunningJobExecutions(FRAGMENTATION_JOB)).thenReturn(Set.of(jobExecution), Set.of());
+
+		fragmentationService.handleMembersIngestedEvent(new MembersIngestedEvent(collection, List.of()));
+		ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+		verify(taskScheduler).schedule(taskCaptor.capture(), any(Instant.class));
+		taskCaptor.getValue().run();
+		verifyNoInteractions(jobLauncher);
+
+		fragmentationService.afterJob(jobExecution);
+		verify(taskScheduler, times(2)).schedule(taskCaptor.capture(), any(Instant.class));
+		taskCaptor.getValue().run();
+
+		verify(jobLauncher).run(any(), any());
+	}
+
+	@Test
+	void when_finishedJobIsStillRunningInRepository_then_triggerJobAgainAfterRunningJob() throws Exception {
+		String collection = "collection";
+		when(strategyCollection.getAllFragmentationStrategyExecutors(collection))
+				.thenReturn(List.of(executor(new ViewName(collection, "v3"))));
+		JobExecution jobExecution = mock(JobExecution.class);
+		JobParameters jobParameters = new JobParametersBuilder()
+				.addString(VIEW_NAME, "v3")
+				.addString(COLLECTION_NAME, collection)
+				.toJobParameters();
+		when(jobExecution.getId()).thenReturn(3L);
+		when(jobExecution.getJobParameters()).thenReturn(jobParameters);
+		when(jobExecution.getStatus()).thenReturn(BatchStatus.STARTED);
+		when(jobExplorer.findRunningJobExecutions(FRAGMENTATION_JOB)).thenReturn(Set.of(jobExecution));
+
+		fragmentationService.handleMembersIngestedEvent(new MembersIngestedEvent(collection, List.of()));
+		ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+		verify(taskScheduler).schedule(taskCaptor.capture(), any(Instant.class));
+		taskCaptor.getValue().run();
+		verifyNoInteractions(jobLauncher);
+
+		when(jobExecution.getStatus()).thenReturn(BatchStatus.COMPLETED);
+		fragmentationService.afterJob(jobExecution);
+		verify(taskScheduler, times(2)).schedule(taskCaptor.capture(), any(Instant.class));
+		taskCaptor.getValue().run();
 
+		verify(jobLauncher).run(any(), any());
+	}
+
+	private FragmentationStrategyBatchExecutor executor(ViewName viewName) {
+		return new FragmentationStrategyBatchExecutor(viewName, null, null, null);
+	}
 }
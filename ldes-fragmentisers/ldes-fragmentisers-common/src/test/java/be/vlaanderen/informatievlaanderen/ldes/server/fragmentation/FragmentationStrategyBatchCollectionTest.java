@@ -12,6 +12,7 @@ import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -70,6 +71,35 @@ class FragmentationStrategyBatchCollectionTest {
 		assertTrue(fragmentationStrategyCollection.getAllFragmentationStrategyExecutors(COLLECTION_NAME).isEmpty());
 	}
 
+	@Test
+	void when_ExecutorOfViewIsRequested_then_OnlyThatExecutorIsReturned() {
+		InitViewAddedResult initResult = initAddView();
+		ViewName otherViewName = new ViewName(COLLECTION_NAME, "otherView");
+		fragmentationStrategyCollection.handleViewAddedEvent(new ViewAddedEvent(initResult.viewSpecification()));
+		fragmentationStrategyCollection.handleViewAddedEvent(new ViewAddedEvent(new ViewSpecification(otherViewName, List.of(), List.of(), 100)));
+
+		assertEquals(Optional.of(initResult.fragmentationStrategyExecutor()),
+				fragmentationStrategyCollection.getFragmentationStrategyExecutor(initResult.viewName()));
+		assertEquals(otherViewName, fragmentationStrategyCollection.getFragmentationStrategyExecutor(otherViewName)
+				.map(FragmentationStrategyBatchExecutor::getViewName)
+				.orElseThrow());
+		assertTrue(fragmentationStrategyCollection.getFragmentationStrategyExecutor(new ViewName("otherCollection", "additonalView")).isEmpty());
+	}
+
+	@Test
+	void when_ViewDeletedEventIsReceived_then_OtherViewsOfCollectionAreKept() {
+		InitViewAddedResult initResult = initAddView();
+		ViewName otherViewName = new ViewName(COLLECTION_NAME, "otherView");
+		fragmentationStrategyCollection.handleViewAddedEvent(new ViewAddedEvent(initResult.viewSpecification()));
+		fragmentationStrategyCollection.handleViewAddedEvent(new ViewAddedEvent(new ViewSpecification(otherViewName, List.of(), List.of(), 100)));
+
+		fragmentationStrategyCollection.handleViewDeletedEvent(new ViewDeletedEvent(initResult.viewName()));
+
+		assertTrue(fragmentationStrategyCollection.getFragmentationStrategyExecutor(initResult.viewName()).isEmpty());
+		assertEquals(1, fragmentationStrategyCollection.getAllFragmentationStrategyExecutors(COLLECTION_NAME).size());
+		assertTrue(fragmentationStrategyCollection.getFragmentationStrategyExecutor(otherViewName).isPresent());
+	}
+
 	private void verifySingleViewAdded(InitViewAddedResult initResult) {
 		var executors = fragmentationStrategyCollection.getAllFragmentationStrategyExecutors(COLLECTION_NAME);
 		assertEquals(1, executors.size());
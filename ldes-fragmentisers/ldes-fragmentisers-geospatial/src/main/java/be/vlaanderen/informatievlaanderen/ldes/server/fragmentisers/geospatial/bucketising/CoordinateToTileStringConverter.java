@@ -17,19 +17,14 @@ import static java.util.Collections.emptySet;
 public class CoordinateToTileStringConverter {
 
     private static final Logger log = LoggerFactory.getLogger(CoordinateToTileStringConverter.class);
+    private static final ThreadLocal<WKTReader> WKT_READER = ThreadLocal.withInitial(WKTReader::new);
 
     private CoordinateToTileStringConverter() {
     }
 
     public static Set<String> calculateTiles(String wktString, final int zoom) {
         try {
-            Geometry geometry = convertWktToGeometry(wktString);
-            Envelope boundingBoxGeometry = geometry.getEnvelopeInternal();
-            return new TileGrid(boundingBoxGeometry, zoom)
-                    .findIntersectingTiles(geometry)
-                    .stream()
-                    .map(Tile::toTileString)
-                    .collect(Collectors.toSet());
+            return calculateTiles(WKT_READER.get().read(wktString), zoom);
         } catch (ParseException ex) {
             log.error("Could not calculate tiles for wktString {}", wktString, ex);
         }
@@ -37,8 +32,12 @@ public class CoordinateToTileStringConverter {
         return emptySet();
     }
 
-    private static Geometry convertWktToGeometry(String geoFeature) throws ParseException {
-        WKTReader reader = new WKTReader();
-        return reader.read(geoFeature);
+    public static Set<String> calculateTiles(Geometry geometry, final int zoom) {
+        Envelope boundingBoxGeometry = geometry.getEnvelopeInternal();
+        return new TileGrid(boundingBoxGeometry, zoom)
+                .findIntersectingTiles(geometry)
+                .stream()
+                .map(Tile::toTileString)
+                .collect(Collectors.toSet());
     }
 }
@@ -29,7 +29,7 @@ public class GeospatialBucketiser {
 	public Set<String> bucketise(String memberId, Model memberModel) {
 		try {
             Set<String> tiles = getFragmentationObjects(memberModel, geospatialConfig.fragmenterSubjectFilter(), geospatialConfig.fragmentationPath())
-					.flatMap(geometryWrapper -> calculateTiles(geometryWrapper.getXYGeometry().toText(), geospatialConfig.maxZoom()).stream())
+					.flatMap(geometryWrapper -> calculateTiles(geometryWrapper.getXYGeometry(), geospatialConfig.maxZoom()).stream())
 					.collect(Collectors.toSet());
 
 			if(tiles.isEmpty()) {
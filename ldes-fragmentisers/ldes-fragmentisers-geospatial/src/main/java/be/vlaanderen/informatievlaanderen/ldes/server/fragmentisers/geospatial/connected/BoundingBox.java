@@ -15,11 +15,11 @@ public class BoundingBox {
 		east = tile2lon(tile.x() + 1, tile.zoom());
 	}
 
-	static double tile2lon(int x, int z) {
+	public static double tile2lon(int x, int z) {
 		return x / Math.pow(2.0, z) * 360.0 - 180;
 	}
 
-	static double tile2lat(int y, int z) {
+	public static double tile2lat(int y, int z) {
 		double n = Math.PI - (2.0 * Math.PI * y) / Math.pow(2.0, z);
 		return Math.toDegrees(Math.atan(Math.sinh(n)));
 	}
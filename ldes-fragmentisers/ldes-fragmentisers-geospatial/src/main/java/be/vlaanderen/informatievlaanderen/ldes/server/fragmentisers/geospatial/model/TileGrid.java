@@ -1,64 +1,203 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.geospatial.model;
 
-import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.geospatial.connected.BoundingBox;
-import org.locationtech.jts.geom.Envelope;
-import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.*;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
 
-import static be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.geospatial.converter.BoundingBoxConverter.toPolygon;
+import static be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.geospatial.connected.BoundingBox.tile2lat;
+import static be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.geospatial.connected.BoundingBox.tile2lon;
 
+/**
+ * Finds the tiles of the grid that intersect a geometry, without testing every tile of the grid.
+ * The tiles that are touched by a point or an edge are found by walking over every edge, row by row.
+ * The tiles in the interior of a polygon are filled in per row, between the crossings of the polygon's rings with
+ * the horizontal scanline through the centre of that row.
+ */
 public class TileGrid {
-    private final double topTile;
-    private final double leftTile;
-    private final double bottomTile;
-    private final double rightTile;
+    private final int topTile;
+    private final int leftTile;
     private final int zoom;
+    private final double[] longitudes;
+    private final double[] latitudes;
 
     public TileGrid(Envelope envelope, int zoom) {
         this.topTile = lat2Tile(envelope.getMaxY(), zoom);
         this.leftTile = long2Tile(envelope.getMinX(), zoom);
-        this.bottomTile = lat2Tile(envelope.getMinY(), zoom);
-        this.rightTile = long2Tile(envelope.getMaxX(), zoom);
         this.zoom = zoom;
+        this.longitudes = calculateBounds(leftTile, long2Tile(envelope.getMaxX(), zoom), x -> tile2lon(x, zoom));
+        this.latitudes = calculateBounds(topTile, lat2Tile(envelope.getMinY(), zoom), y -> tile2lat(y, zoom));
     }
 
     public Set<Tile> findIntersectingTiles(Geometry geometry) {
         Set<Tile> intersectingTiles = new HashSet<>();
 
-        calculateTilesInGrid().forEach(tile -> {
-            Geometry boundingBoxTile = toPolygon(new BoundingBox(tile));
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            Geometry component = geometry.getGeometryN(i);
+            if (component.isEmpty()) {
+                continue;
+            }
+            if (component instanceof Polygon polygon) {
+                addPolygon(polygon, intersectingTiles);
+            } else if (component instanceof LineString lineString) {
+                addEdges(lineString.getCoordinates(), intersectingTiles, null);
+            } else if (component instanceof Point point) {
+                addSegment(point.getCoordinate(), point.getCoordinate(), intersectingTiles);
+            } else {
+                intersectingTiles.addAll(findIntersectingTiles(component));
+            }
+        }
+
+        return intersectingTiles;
+    }
+
+    private void addPolygon(Polygon polygon, Set<Tile> tiles) {
+        Map<Integer, List<Double>> shellCrossings = addRing(polygon.getExteriorRing(), tiles);
+        List<Map<Integer, List<Double>>> holeCrossings = new ArrayList<>();
+        for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+            holeCrossings.add(addRing(polygon.getInteriorRingN(i), tiles));
+        }
 
-            if (geometry.intersects(boundingBoxTile)) {
-                intersectingTiles.add(tile);
+        shellCrossings.forEach((row, crossings) -> {
+            List<List<Double>> holeCrossingsOfRow = holeCrossings.stream()
+                    .map(crossingsByRow -> crossingsByRow.getOrDefault(row, List.of()))
+                    .filter(crossingsOfRow -> !crossingsOfRow.isEmpty())
+                    .toList();
+            for (int i = 0; i + 1 < crossings.size(); i += 2) {
+                fillRow(row, crossings.get(i), crossings.get(i + 1), holeCrossingsOfRow, tiles);
             }
         });
+    }
 
-        return intersectingTiles;
+    private Map<Integer, List<Double>> addRing(LinearRing ring, Set<Tile> tiles) {
+        Map<Integer, List<Double>> scanlineCrossings = new HashMap<>();
+        addEdges(ring.getCoordinates(), tiles, scanlineCrossings);
+        scanlineCrossings.values().forEach(Collections::sort);
+        return scanlineCrossings;
     }
 
-    private Set<Tile> calculateTilesInGrid() {
-        Set<Tile> tiles = new HashSet<>();
+    private void fillRow(int row, double west, double east, List<List<Double>> holeCrossings, Set<Tile> tiles) {
+        int column = firstMatch(longitudes.length - 1, i -> columnCentre(i) >= west);
+        for (; column < longitudes.length - 1 && columnCentre(column) <= east; column++) {
+            double centre = columnCentre(column);
+            if (holeCrossings.stream().noneMatch(crossings -> isInside(crossings, centre))) {
+                tiles.add(new Tile(zoom, leftTile + column, topTile + row));
+            }
+        }
+    }
+
+    private boolean isInside(List<Double> sortedCrossings, double longitude) {
+        int index = Collections.binarySearch(sortedCrossings, longitude);
+        int crossingsBefore = index >= 0 ? index : -index - 1;
+        return crossingsBefore % 2 == 1;
+    }
 
-        double width = Math.abs(leftTile - rightTile) + 1;
-        double height = Math.abs(topTile - bottomTile) + 1;
+    private void addEdges(Coordinate[] coordinates, Set<Tile> tiles, Map<Integer, List<Double>> scanlineCrossings) {
+        if (coordinates.length == 1) {
+            addSegment(coordinates[0], coordinates[0], tiles);
+        }
+        for (int i = 0; i + 1 < coordinates.length; i++) {
+            int[] rows = addSegment(coordinates[i], coordinates[i + 1], tiles);
+            if (scanlineCrossings != null) {
+                addScanlineCrossings(coordinates[i], coordinates[i + 1], rows, scanlineCrossings);
+            }
+        }
+    }
 
-        for (var x = leftTile; x < leftTile + width; x++) {
-            for (var y = topTile; y < topTile + height; y++) {
-                tiles.add(new Tile(zoom, (int) x, (int) y));
+    private int[] addSegment(Coordinate start, Coordinate end, Set<Tile> tiles) {
+        int[] rows = findRows(Math.min(start.y, end.y), Math.max(start.y, end.y));
+        for (int row = rows[0]; row <= rows[1]; row++) {
+            int[] columns = start.y == end.y
+                    ? findColumns(Math.min(start.x, end.x), Math.max(start.x, end.x))
+                    : findColumns(longitudeAt(start, end, latitudes[row]), longitudeAt(start, end, latitudes[row + 1]));
+            for (int column = columns[0]; column <= columns[1]; column++) {
+                tiles.add(new Tile(zoom, leftTile + column, topTile + row));
             }
         }
+        return rows;
+    }
 
-        return tiles;
+    private void addScanlineCrossings(Coordinate start, Coordinate end, int[] rows, Map<Integer, List<Double>> scanlineCrossings) {
+        for (int row = rows[0]; row <= rows[1]; row++) {
+            double scanline = (latitudes[row] + latitudes[row + 1]) / 2;
+            if ((start.y > scanline) != (end.y > scanline)) {
+                double crossing = start.x + (scanline - start.y) * (end.x - start.x) / (end.y - start.y);
+                scanlineCrossings.computeIfAbsent(row, key -> new ArrayList<>()).add(crossing);
+            }
+        }
+    }
+
+    /**
+     * Returns the longitude of a non-horizontal segment at the given latitude, or the longitude of its nearest end if
+     * the latitude lies outside the segment.
+     */
+    private double longitudeAt(Coordinate start, Coordinate end, double latitude) {
+        Coordinate lowest = start.y < end.y ? start : end;
+        Coordinate highest = start.y < end.y ? end : start;
+        if (latitude <= lowest.y) {
+            return lowest.x;
+        }
+        if (latitude >= highest.y) {
+            return highest.x;
+        }
+        return start.x + (latitude - start.y) * (end.x - start.x) / (end.y - start.y);
+    }
+
+    private int[] findRows(double south, double north) {
+        int rowCount = latitudes.length - 1;
+        return new int[]{
+                firstMatch(rowCount, row -> latitudes[row + 1] <= north),
+                firstMatch(rowCount, row -> latitudes[row] < south) - 1
+        };
+    }
+
+    private int[] findColumns(double longitude, double otherLongitude) {
+        double west = Math.min(longitude, otherLongitude);
+        double east = Math.max(longitude, otherLongitude);
+        int columnCount = longitudes.length - 1;
+        return new int[]{
+                firstMatch(columnCount, column -> longitudes[column + 1] >= west),
+                firstMatch(columnCount, column -> longitudes[column] > east) - 1
+        };
+    }
+
+    private double columnCentre(int column) {
+        return (longitudes[column] + longitudes[column + 1]) / 2;
+    }
+
+    /**
+     * Returns the first index in [0, count) that matches the predicate, or count if there is none, given that the
+     * predicate does not match any index before it matches the first one.
+     */
+    private static int firstMatch(int count, IntPredicate predicate) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (predicate.test(middle)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static double[] calculateBounds(int firstTile, int lastTile, IntToDoubleFunction bound) {
+        double[] bounds = new double[Math.max(lastTile - firstTile + 2, 1)];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = bound.applyAsDouble(firstTile + i);
+        }
+        return bounds;
     }
 
-    private double lat2Tile(double lat, int zoom) {
-        return (Math.floor((1 - Math.log(Math.tan(lat * Math.PI / 180) + 1 / Math.cos(lat * Math.PI / 180)) / Math.PI) / 2 * Math.pow(2, zoom)));
+    private static int lat2Tile(double lat, int zoom) {
+        return (int) (Math.floor((1 - Math.log(Math.tan(lat * Math.PI / 180) + 1 / Math.cos(lat * Math.PI / 180)) / Math.PI) / 2 * Math.pow(2, zoom)));
     }
 
-    private double long2Tile(double lon, int zoom) {
-        return (Math.floor((lon + 180) / 360 * Math.pow(2, zoom)));
+    private static int long2Tile(double lon, int zoom) {
+        return (int) (Math.floor((lon + 180) / 360 * Math.pow(2, zoom)));
     }
 
 }
@@ -0,0 +1,137 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.geospatial.model;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.geospatial.connected.BoundingBox;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.geospatial.converter.BoundingBoxConverter.toPolygon;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the tiles found by the grid are the same as the tiles of which the bounding box intersects the
+ * geometry, tested one by one for every tile in the bounding box of the geometry.
+ */
+class TileGridTest {
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+    @ParameterizedTest(name = "zoom {1}: {0}")
+    @ArgumentsSource(GeometryArgumentsProvider.class)
+    void findIntersectingTiles_equalsTilesIntersectingGeometry(Geometry geometry, int zoom) {
+        TileGrid tileGrid = new TileGrid(geometry.getEnvelopeInternal(), zoom);
+
+        Set<Tile> actual = tileGrid.findIntersectingTiles(geometry);
+
+        assertThat(actual)
+                .isNotEmpty()
+                .isEqualTo(findIntersectingTilesOneByOne(geometry, zoom));
+    }
+
+    private static Set<Tile> findIntersectingTilesOneByOne(Geometry geometry, int zoom) {
+        Envelope envelope = geometry.getEnvelopeInternal();
+        int topTile = lat2Tile(envelope.getMaxY(), zoom);
+        int leftTile = long2Tile(envelope.getMinX(), zoom);
+        int bottomTile = lat2Tile(envelope.getMinY(), zoom);
+        int rightTile = long2Tile(envelope.getMaxX(), zoom);
+
+        Set<Tile> tiles = new HashSet<>();
+        for (int x = leftTile; x <= rightTile; x++) {
+            for (int y = topTile; y <= bottomTile; y++) {
+                Tile tile = new Tile(zoom, x, y);
+                if (geometry.intersects(toPolygon(new BoundingBox(tile)))) {
+                    tiles.add(tile);
+                }
+            }
+        }
+        return tiles;
+    }
+
+    private static int lat2Tile(double lat, int zoom) {
+        return (int) (Math.floor((1 - Math.log(Math.tan(lat * Math.PI / 180) + 1 / Math.cos(lat * Math.PI / 180)) / Math.PI) / 2 * Math.pow(2, zoom)));
+    }
+
+    private static int long2Tile(double lon, int zoom) {
+        return (int) (Math.floor((lon + 180) / 360 * Math.pow(2, zoom)));
+    }
+
+    static class GeometryArgumentsProvider implements ArgumentsProvider {
+        private final Random random = new Random(42);
+
+        @Override
+        public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+            WKTReader reader = new WKTReader();
+            Stream<Geometry> fixedGeometries = Stream.of(
+                    "POINT(-4.1259489208459845 51.20651243817338)",
+                    "POINT(4.32861328125 50.778155274659234)",
+                    "MULTIPOINT((-4.1219960153102875 51.20665065454949),(-3.4766042232513414 51.20342325695225))",
+                    "LINESTRING(-4.118006229400634 51.20099982929344,-4.123067557811736 51.099449367759576,-3.434469401836395 51.09963969871836,-3.451254665851592 51.20536257947589)",
+                    "LINESTRING(4.317626953125 50.7, 4.317626953125 50.9)",
+                    "LINESTRING(4.2 50.778155274659234, 4.4 50.778155274659234)",
+                    "MULTILINESTRING((-4.124218225479126 51.202786321257406,-3.4731951355934143 51.205261750161185),(-4.1903722286224365 51.01776053407323,-3.5318201780319214 51.023780510283046))",
+                    "POLYGON((-4.156482517719269 51.21848699100292,-4.156458377838135 51.106470882289756,-3.962151110172272 51.10533242179693,-3.971670269966125 51.21793426510715,-4.156482517719269 51.21848699100292))",
+                    "MULTIPOLYGON(((-4.124027788639068 51.19225291766125,-4.123448431491851 51.02445872093938,-3.8344457745552054 51.02112493327536,-3.8435277342796317 51.19463142177099,-4.124027788639068 51.19225291766125),(-4.18140023946762 51.212875422863135,-4.181075692176818 51.00798990696538,-3.780844509601592 51.004037196377624,-3.798305690288543 51.215456157106246,-4.18140023946762 51.212875422863135)))",
+                    "GEOMETRYCOLLECTION(POINT(3.7 51.05),LINESTRING(3.71 51.04, 3.74 51.06))"
+            ).map(wkt -> {
+                try {
+                    return reader.read(wkt);
+                } catch (ParseException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            });
+            Stream<Geometry> randomGeometries = IntStream.range(0, 20).mapToObj(i -> switch (i % 4) {
+                case 0 -> randomPolygon(0.05, false);
+                case 1 -> randomPolygon(0.08, true);
+                case 2 -> GEOMETRY_FACTORY.createMultiPolygon(new Polygon[]{randomPolygon(0.03, true), randomPolygon(0.03, false)});
+                default -> GEOMETRY_FACTORY.createLineString(randomCoordinates(12, 0.1));
+            });
+
+            return Stream.concat(fixedGeometries, randomGeometries)
+                    .flatMap(geometry -> Stream.of(11, 15, 17).map(zoom -> Arguments.of(geometry, zoom)));
+        }
+
+        private Polygon randomPolygon(double radius, boolean withHole) {
+            Coordinate centre = new Coordinate(3 + random.nextDouble() * 2, 50.7 + random.nextDouble());
+            LinearRing shell = randomRing(centre, radius / 2, radius);
+            LinearRing[] holes = withHole ? new LinearRing[]{randomRing(centre, radius / 8, radius / 3)} : new LinearRing[0];
+            return GEOMETRY_FACTORY.createPolygon(shell, holes);
+        }
+
+        private LinearRing randomRing(Coordinate centre, double minRadius, double maxRadius) {
+            int vertices = 5 + random.nextInt(20);
+            Coordinate[] coordinates = new Coordinate[vertices + 1];
+            for (int i = 0; i < vertices; i++) {
+                double angle = 2 * Math.PI * i / vertices;
+                double radius = minRadius + random.nextDouble() * (maxRadius - minRadius);
+                coordinates[i] = new Coordinate(centre.x + radius * Math.cos(angle), centre.y + radius * Math.sin(angle));
+            }
+            coordinates[vertices] = coordinates[0];
+            return GEOMETRY_FACTORY.createLinearRing(coordinates);
+        }
+
+        private Coordinate[] randomCoordinates(int count, double step) {
+            Coordinate[] coordinates = new Coordinate[count];
+            coordinates[0] = new Coordinate(3 + random.nextDouble() * 2, 50.7 + random.nextDouble());
+            for (int i = 1; i < count; i++) {
+                coordinates[i] = new Coordinate(coordinates[i - 1].x + (random.nextDouble() - 0.5) * step,
+                        coordinates[i - 1].y + (random.nextDouble() - 0.5) * step);
+            }
+            return coordinates;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical;
 
-import be.vlaanderen.informatievlaanderen.ldes.server.domain.converter.LocalDateTimeConverter;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.FragmentationStrategy;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.FragmentationStrategyDecorator;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Bucket;
@@ -9,15 +8,15 @@ import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Fra
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.config.TimeBasedConfig;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.constants.Granularity;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.model.FragmentationTimestamp;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.services.FragmentationTimestampExtractor;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.services.TimeBasedBucketFinder;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
-import org.apache.jena.rdf.model.*;
+import org.apache.jena.rdf.model.Model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,7 +27,7 @@ public class HierarchicalTimeBasedFragmentationStrategy extends FragmentationStr
 
 	private final ObservationRegistry observationRegistry;
 	private final TimeBasedBucketFinder bucketFinder;
-	private final TimeBasedConfig config;
+	private final FragmentationTimestampExtractor timestampExtractor;
 
 	public HierarchicalTimeBasedFragmentationStrategy(FragmentationStrategy fragmentationStrategy,
 	                                                  ObservationRegistry observationRegistry,
@@ -38,7 +37,7 @@ public class HierarchicalTimeBasedFragmentationStrategy extends FragmentationStr
 		super(fragmentationStrategy, applicationEventPublisher);
 		this.observationRegistry = observationRegistry;
 		this.bucketFinder = bucketFinder;
-		this.config = config;
+		this.timestampExtractor = new FragmentationTimestampExtractor(config);
 	}
 
 	@Override
@@ -55,11 +54,8 @@ public class HierarchicalTimeBasedFragmentationStrategy extends FragmentationStr
 	}
 
 	private Optional<FragmentationTimestamp> getFragmentationTimestamp(String subject, Model memberModel) {
-		try{
-			Optional<LocalDateTime> timeStamp = getFragmentationObjectLocalDateTime(memberModel,
-					config.getFragmenterSubjectFilter(),
-					config.getFragmentationPath());
-			return timeStamp.map(localDateTime -> new FragmentationTimestamp(localDateTime, config.getMaxGranularity()));
+		try {
+			return timestampExtractor.extractTimestamp(memberModel);
 		} catch (Exception exception) {
 			LOGGER.warn("Could not fragment member: {} Reason: {}", subject, exception.getMessage());
 			return Optional.empty();
@@ -71,29 +67,4 @@ public class HierarchicalTimeBasedFragmentationStrategy extends FragmentationStr
 				.parentObservation(parentObservation)
 				.start();
 	}
-
-	private Optional<LocalDateTime> getFragmentationObjectLocalDateTime(Model model, String subjectFilter,
-	                                                                    String fragmentationPath) {
-		return model
-				.listStatements(null, ResourceFactory.createProperty(fragmentationPath), (Resource) null)
-				.toList()
-				.stream()
-				.filter(statement -> statement.getSubject().toString().matches(subjectFilter))
-				.map(this::getDateTimeValue)
-				.filter(Optional::isPresent)
-				.map(Optional::get)
-				.findFirst();
-	}
-
-	private Optional<LocalDateTime> getDateTimeValue(Statement statement) {
-		LocalDateTimeConverter localDateTimeConverter = new LocalDateTimeConverter();
-
-		try {
-			Literal literal = statement.getObject().asLiteral();
-			return Optional.of(localDateTimeConverter.getLocalDateTime(literal));
-		} catch (Exception exception) {
-			LOGGER.warn("Could not extract datetime from: {} Reason: {}", statement, exception.getMessage());
-			return Optional.empty();
-		}
-	}
 }
@@ -0,0 +1,73 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.services;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.converter.LocalDateTimeConverter;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.config.TimeBasedConfig;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.constants.Granularity;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.model.FragmentationTimestamp;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.rdf.model.StmtIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the fragmentation timestamp of a member. The subject filter and the fragmentation path of the view are
+ * resolved once, and only the statements with the fragmentation path are looked up in the model, until the first one
+ * with a matching subject and a valid timestamp is found.
+ */
+public class FragmentationTimestampExtractor {
+	private static final Logger LOGGER = LoggerFactory.getLogger(FragmentationTimestampExtractor.class);
+	private static final String MATCH_ALL = ".*";
+
+	private final Pattern subjectFilter;
+	private final Property fragmentationPath;
+	private final Granularity maxGranularity;
+	private final LocalDateTimeConverter localDateTimeConverter = new LocalDateTimeConverter();
+
+	public FragmentationTimestampExtractor(TimeBasedConfig config) {
+		this.subjectFilter = MATCH_ALL.equals(config.getFragmenterSubjectFilter())
+				? null
+				: Pattern.compile(config.getFragmenterSubjectFilter());
+		this.fragmentationPath = ResourceFactory.createProperty(config.getFragmentationPath());
+		this.maxGranularity = config.getMaxGranularity();
+	}
+
+	public Optional<FragmentationTimestamp> extractTimestamp(Model model) {
+		final StmtIterator statements = model.listStatements(null, fragmentationPath, (RDFNode) null);
+		try {
+			while (statements.hasNext()) {
+				final Statement statement = statements.next();
+				if (matchesSubjectFilter(statement.getSubject())) {
+					final Optional<LocalDateTime> dateTime = getDateTimeValue(statement);
+					if (dateTime.isPresent()) {
+						return dateTime.map(localDateTime -> new FragmentationTimestamp(localDateTime, maxGranularity));
+					}
+				}
+			}
+			return Optional.empty();
+		} finally {
+			statements.close();
+		}
+	}
+
+	private boolean matchesSubjectFilter(Resource subject) {
+		return subjectFilter == null || subjectFilter.matcher(subject.toString()).matches();
+	}
+
+	private Optional<LocalDateTime> getDateTimeValue(Statement statement) {
+		try {
+			return Optional.of(localDateTimeConverter.getLocalDateTime(statement.getObject().asLiteral()));
+		} catch (Exception exception) {
+			LOGGER.warn("Could not extract datetime from: {} Reason: {}", statement, exception.getMessage());
+			return Optional.empty();
+		}
+	}
+}
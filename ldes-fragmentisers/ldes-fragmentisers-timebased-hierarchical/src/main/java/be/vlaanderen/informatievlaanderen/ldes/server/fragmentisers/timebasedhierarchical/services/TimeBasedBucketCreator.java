@@ -3,12 +3,15 @@ package be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhi
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Bucket;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.repository.BucketRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptorPair;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketInsertion;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.constants.Granularity;
-import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.model.FragmentationTimestamp;
 import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConstants.DEFAULT_BUCKET_STRING;
 import static be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.FragmentationService.LDES_SERVER_CREATE_FRAGMENTS_COUNT;
 import static be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.metrics.MetricsConstants.FRAGMENTATION_STRATEGY;
@@ -25,22 +28,33 @@ public class TimeBasedBucketCreator {
 		this.relationsAttributer = relationsAttributer;
 	}
 
-	public Bucket getOrCreateBucket(Bucket parentFragment,
-	                                FragmentationTimestamp fragmentationTimestamp,
-	                                Granularity granularity) {
-		return getOrCreateBucket(parentFragment, fragmentationTimestamp.getTimeValueForGranularity(granularity), granularity);
+	public Bucket getOrCreateBucket(Bucket parentBucket, String timeValue, Granularity granularity) {
+		return getOrCreateBuckets(parentBucket, List.of(new BucketDescriptorPair(granularity.getValue(), timeValue)));
 	}
 
-	public Bucket getOrCreateBucket(Bucket parentBucket, String timeValue, Granularity granularity) {
-		final BucketDescriptorPair childDescriptorPair = new BucketDescriptorPair(granularity.getValue(), timeValue);
-		return bucketRepository
-				.retrieveBucket(parentBucket.getViewName(), parentBucket.createChildDescriptor(childDescriptorPair))
-				.orElseGet(() -> {
-					final Bucket childBucket = bucketRepository.insertBucket(parentBucket.createChild(childDescriptorPair));
-					addRelationToParent(parentBucket, childBucket);
-					logBucketisation(parentBucket, childBucket);
-					return childBucket;
-				});
+	/**
+	 * Resolves the whole hierarchy below the parent bucket at once, in which each descriptor pair adds a level.
+	 * The buckets that did not exist yet are related to the bucket of the level above them.
+	 *
+	 * @return the bucket of the lowest level
+	 */
+	public Bucket getOrCreateBuckets(Bucket parentBucket, List<BucketDescriptorPair> descriptorPairs) {
+		final List<Bucket> hierarchy = new ArrayList<>();
+		Bucket bucket = parentBucket;
+		for (BucketDescriptorPair descriptorPair : descriptorPairs) {
+			bucket = bucket.createChild(descriptorPair);
+			hierarchy.add(bucket);
+		}
+
+		Bucket parent = parentBucket;
+		for (BucketInsertion insertion : bucketRepository.insertBuckets(hierarchy)) {
+			if (insertion.created()) {
+				addRelationToParent(parent, insertion.bucket());
+				logBucketisation(parent, insertion.bucket());
+			}
+			parent = insertion.bucket();
+		}
+		return parent;
 	}
 
 	private void addRelationToParent(Bucket parentBucket, Bucket childBucket) {
@@ -1,10 +1,14 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.services;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Bucket;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptorPair;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.config.TimeBasedConfig;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.constants.Granularity;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.model.FragmentationTimestamp;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConstants.DEFAULT_BUCKET_STRING;
 
 public class TimeBasedBucketFinder {
@@ -16,14 +20,22 @@ public class TimeBasedBucketFinder {
 		this.config = config;
 	}
 
+	/**
+	 * The descriptors of all levels, from the given granularity down to the max granularity, are computed up front,
+	 * so the whole hierarchy is resolved at once.
+	 */
 	public Bucket getLowestBucket(Bucket parentFragment, FragmentationTimestamp fragmentationTimestamp,
 	                              Granularity granularity) {
 		if (isLowest(parentFragment)) {
 			return parentFragment;
 		}
-		return getLowestBucket(
-				bucketCreator.getOrCreateBucket(parentFragment, fragmentationTimestamp, granularity),
-				fragmentationTimestamp, granularity.getChild());
+		final List<BucketDescriptorPair> descriptorPairs = new ArrayList<>();
+		Granularity level = granularity;
+		do {
+			descriptorPairs.add(new BucketDescriptorPair(level.getValue(), fragmentationTimestamp.getTimeValueForGranularity(level)));
+			level = level.getChild();
+		} while (!descriptorPairs.getLast().key().equals(config.getMaxGranularity().getValue()));
+		return bucketCreator.getOrCreateBuckets(parentFragment, descriptorPairs);
 	}
 
 	public Bucket getDefaultFragment(Bucket rootFragment) {
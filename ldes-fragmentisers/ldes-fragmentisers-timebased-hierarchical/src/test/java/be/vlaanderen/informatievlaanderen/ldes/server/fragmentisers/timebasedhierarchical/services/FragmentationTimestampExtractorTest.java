@@ -0,0 +1,49 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.services;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.config.TimeBasedConfig;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.constants.Granularity;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.model.FragmentationTimestamp;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.apache.jena.riot.RDFDataMgr.loadModel;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FragmentationTimestampExtractorTest {
+	private static final String CREATED = "http://purl.org/dc/terms/created";
+	private static final Granularity GRANULARITY = Granularity.SECOND;
+
+	@Test
+	void when_SubjectFilterMatchesAll_then_TimestampOfAnySubjectIsExtracted() {
+		final FragmentationTimestampExtractor extractor = new FragmentationTimestampExtractor(new TimeBasedConfig(".*", CREATED, GRANULARITY, false));
+
+		assertThat(extractor.extractTimestamp(loadModel("member_with_created_property.nq")))
+				.contains(new FragmentationTimestamp(LocalDateTime.of(2023, 1, 1, 0, 0, 0), GRANULARITY));
+	}
+
+	@Test
+	void when_SubjectFilterIsSet_then_OnlyTimestampsOfMatchingSubjectsAreExtracted() {
+		final Model model = ModelFactory.createDefaultModel();
+		final Property created = model.createProperty(CREATED);
+		model.createResource("http://example.org/other/1").addLiteral(created, model.createTypedLiteral("2022-01-01T00:00:00Z", XSDDatatype.XSDdateTime));
+		model.createResource("http://example.org/member/1").addLiteral(created, model.createTypedLiteral("2023-06-01T12:00:00Z", XSDDatatype.XSDdateTime));
+		final FragmentationTimestampExtractor extractor = new FragmentationTimestampExtractor(new TimeBasedConfig("http://example.org/member/.*", CREATED, GRANULARITY, false));
+
+		assertThat(extractor.extractTimestamp(model))
+				.contains(new FragmentationTimestamp(LocalDateTime.of(2023, 6, 1, 12, 0, 0), GRANULARITY));
+	}
+
+	@Test
+	void when_ValueIsNoDateTime_then_NoTimestampIsExtracted() {
+		final Model model = ModelFactory.createDefaultModel();
+		model.createResource("http://example.org/member/1").addProperty(model.createProperty(CREATED), "yesterday");
+		final FragmentationTimestampExtractor extractor = new FragmentationTimestampExtractor(new TimeBasedConfig(".*", CREATED, GRANULARITY, false));
+
+		assertThat(extractor.extractTimestamp(model)).isEmpty();
+	}
+}
@@ -5,14 +5,12 @@ import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Buc
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.repository.BucketRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptor;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptorPair;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketInsertion;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.constants.Granularity;
-import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.timebasedhierarchical.model.FragmentationTimestamp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConstants.DEFAULT_BUCKET_STRING;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,10 +19,10 @@ import static org.mockito.Mockito.*;
 class TimeBasedBucketCreatorTest {
 	private static final ViewName VIEW_NAME = new ViewName("collectionName", "view");
 	private static final BucketDescriptorPair timePair = new BucketDescriptorPair(Granularity.YEAR.getValue(), "2023");
+	private static final BucketDescriptorPair MONTH_PAIR = new BucketDescriptorPair(Granularity.MONTH.getValue(), "01");
+	private static final BucketDescriptorPair DAY_PAIR = new BucketDescriptorPair(Granularity.DAY.getValue(), "01");
 	private static final Bucket PARENT = new Bucket(new BucketDescriptor(List.of(timePair)), VIEW_NAME);
 	private static final Bucket ROOT = new Bucket(BucketDescriptor.empty(), VIEW_NAME);
-	private static final FragmentationTimestamp TIME = new FragmentationTimestamp(LocalDateTime.of(2023, 1, 1, 0, 0, 0),
-			Granularity.MONTH);
 
 	private BucketRepository bucketRepository;
 	private TimeBasedRelationsAttributer relationsAttributer;
@@ -38,23 +36,39 @@ class TimeBasedBucketCreatorTest {
 	}
 
 	@Test
-	void when_FragmentDoesNotExist_Then_NewFragmentIsCreated() {
-		final BucketDescriptor expectedBucketDescriptor = new BucketDescriptor(List.of(timePair, new BucketDescriptorPair(Granularity.MONTH.getValue(), "01")));
-		final Bucket expectedChild = new Bucket(expectedBucketDescriptor, VIEW_NAME);
-		when(bucketRepository.retrieveBucket(VIEW_NAME, expectedBucketDescriptor)).thenReturn(Optional.empty());
-		when(bucketRepository.insertBucket(any())).thenReturn(expectedChild);
+	void when_FragmentsDoNotExist_Then_NewFragmentsAreCreatedInOneBatch() {
+		final Bucket month = PARENT.createChild(MONTH_PAIR);
+		final Bucket day = month.createChild(DAY_PAIR);
+		final Bucket savedMonth = new Bucket(2, month.getBucketDescriptor(), VIEW_NAME);
+		final Bucket savedDay = new Bucket(3, day.getBucketDescriptor(), VIEW_NAME);
+		when(bucketRepository.insertBuckets(List.of(month, day)))
+				.thenReturn(List.of(new BucketInsertion(savedMonth, true), new BucketInsertion(savedDay, true)));
 
-		Bucket child = bucketCreator.getOrCreateBucket(PARENT, TIME, Granularity.MONTH);
+		Bucket child = bucketCreator.getOrCreateBuckets(PARENT, List.of(MONTH_PAIR, DAY_PAIR));
 
 		assertThat(child)
 				.describedAs("Child instance must be the same, to assure the bucket instance from the db is returned")
-				.isSameAs(expectedChild)
-				.extracting(Bucket::getBucketDescriptor)
-				.isEqualTo(expectedBucketDescriptor);
-		verify(bucketRepository).retrieveBucket(VIEW_NAME, expectedBucketDescriptor);
-		verify(relationsAttributer).addInBetweenRelation(PARENT, child);
-		verify(bucketRepository).insertBucket(child);
-		verifyNoMoreInteractions(bucketRepository);
+				.isSameAs(savedDay);
+		verify(relationsAttributer).addInBetweenRelation(PARENT, savedMonth);
+		verify(relationsAttributer).addInBetweenRelation(savedMonth, savedDay);
+		verify(bucketRepository).insertBuckets(List.of(month, day));
+		verifyNoMoreInteractions(bucketRepository, relationsAttributer);
+	}
+
+	@Test
+	void when_OnlyLowestFragmentDoesNotExist_Then_OnlyLowestFragmentIsRelated() {
+		final Bucket month = PARENT.createChild(MONTH_PAIR);
+		final Bucket day = month.createChild(DAY_PAIR);
+		final Bucket savedMonth = new Bucket(2, month.getBucketDescriptor(), VIEW_NAME);
+		final Bucket savedDay = new Bucket(3, day.getBucketDescriptor(), VIEW_NAME);
+		when(bucketRepository.insertBuckets(List.of(month, day)))
+				.thenReturn(List.of(new BucketInsertion(savedMonth, false), new BucketInsertion(savedDay, true)));
+
+		Bucket child = bucketCreator.getOrCreateBuckets(PARENT, List.of(MONTH_PAIR, DAY_PAIR));
+
+		assertThat(child).isSameAs(savedDay);
+		verify(relationsAttributer).addInBetweenRelation(savedMonth, savedDay);
+		verifyNoMoreInteractions(relationsAttributer);
 	}
 
 	@Test
@@ -62,8 +76,7 @@ class TimeBasedBucketCreatorTest {
 		BucketDescriptor expectedBucketDescriptor = new BucketDescriptor(
 				List.of(new BucketDescriptorPair(Granularity.YEAR.getValue(), DEFAULT_BUCKET_STRING)));
 		final Bucket expectedChild = new Bucket(expectedBucketDescriptor, VIEW_NAME);
-		when(bucketRepository.retrieveBucket(VIEW_NAME, expectedBucketDescriptor)).thenReturn(Optional.empty());
-		when(bucketRepository.insertBucket(any())).thenReturn(expectedChild);
+		when(bucketRepository.insertBuckets(List.of(expectedChild))).thenReturn(List.of(new BucketInsertion(expectedChild, true)));
 
 		Bucket child = bucketCreator.getOrCreateBucket(new Bucket(BucketDescriptor.empty(), VIEW_NAME), DEFAULT_BUCKET_STRING, Granularity.YEAR);
 
@@ -72,22 +85,19 @@ class TimeBasedBucketCreatorTest {
 				.isSameAs(expectedChild)
 				.extracting(Bucket::getBucketDescriptor)
 				.isEqualTo(expectedBucketDescriptor);
-		verify(bucketRepository).retrieveBucket(VIEW_NAME, expectedBucketDescriptor);
 		verify(relationsAttributer).addDefaultRelation(ROOT, child);
-		verify(bucketRepository).insertBucket(child);
+		verify(bucketRepository).insertBuckets(List.of(expectedChild));
 		verifyNoMoreInteractions(bucketRepository);
 	}
 
 	@Test
-	void when_FragmentDoesExist_Then_FragmentIsRetrieved() {
-		Bucket expectedChild = PARENT.createChild(new BucketDescriptorPair(Granularity.MONTH.getValue(), "01"));
-		when(bucketRepository.retrieveBucket(VIEW_NAME, expectedChild.getBucketDescriptor())).thenReturn(Optional.of(expectedChild));
+	void when_FragmentsDoExist_Then_FragmentIsRetrieved() {
+		final Bucket month = new Bucket(2, PARENT.createChildDescriptor(MONTH_PAIR), VIEW_NAME);
+		when(bucketRepository.insertBuckets(List.of(month))).thenReturn(List.of(new BucketInsertion(month, false)));
 
-		Bucket child = bucketCreator.getOrCreateBucket(PARENT, TIME, Granularity.MONTH);
+		Bucket child = bucketCreator.getOrCreateBuckets(PARENT, List.of(MONTH_PAIR));
 
-		assertThat(child.getBucketDescriptorAsString()).isEqualTo(expectedChild.getBucketDescriptorAsString());
-		verify(bucketRepository).retrieveBucket(VIEW_NAME, expectedChild.getBucketDescriptor());
+		assertThat(child).isSameAs(month);
 		verifyNoInteractions(relationsAttributer);
-		verifyNoMoreInteractions(bucketRepository);
 	}
-}
\ No newline at end of file
+}
@@ -40,16 +40,21 @@ class TimeBasedBucketFinderTest {
 				new BucketDescriptorPair(Granularity.DAY.getValue(), "01")
 		);
 		Bucket expected = new Bucket(expectedBucketDescriptor, VIEW_NAME);
-		Bucket yearBucket = PARENT.createChild(new BucketDescriptorPair(Granularity.YEAR.getValue(), "2023"));
-		Bucket monthBucket = yearBucket.createChild(new BucketDescriptorPair(Granularity.MONTH.getValue(), "01"));
-		Bucket dayBucket = monthBucket.createChild(new BucketDescriptorPair(Granularity.DAY.getValue(), "01"));
-		when(bucketCreator.getOrCreateBucket(PARENT, TIME, Granularity.YEAR)).thenReturn(yearBucket);
-		when(bucketCreator.getOrCreateBucket(yearBucket, TIME, Granularity.MONTH)).thenReturn(monthBucket);
-		when(bucketCreator.getOrCreateBucket(monthBucket, TIME, Granularity.DAY)).thenReturn(dayBucket);
+		when(bucketCreator.getOrCreateBuckets(PARENT, expectedBucketDescriptor.getDescriptorPairs())).thenReturn(expected);
 
 		Bucket actual = bucketFinder.getLowestBucket(PARENT, TIME, Granularity.YEAR);
 
-		assertThat(actual).isEqualTo(expected);
+		assertThat(actual).isSameAs(expected);
+	}
+
+	@Test
+	void when_ParentIsLowest_Then_ReturnParent() {
+		Bucket lowestBucket = new Bucket(BucketDescriptor.of(new BucketDescriptorPair(Granularity.DAY.getValue(), "01")), VIEW_NAME);
+
+		Bucket actual = bucketFinder.getLowestBucket(lowestBucket, TIME, Granularity.YEAR);
+
+		assertThat(actual).isSameAs(lowestBucket);
+		verifyNoInteractions(bucketCreator);
 	}
 
 	@Test
@@ -0,0 +1,118 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.benchmarks;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH result file with a baseline result file, both written with {@code -rf json}, and fails when a
+ * benchmark lost more throughput than the tolerance or, when both runs used {@code -prof gc}, allocates more than the
+ * tolerance per operation.
+ * <p>
+ * Usage: {@code BenchmarkBaselineComparator <baseline.json> <result.json> [tolerance]}, with a tolerance of 0.1 by
+ * default.
+ */
+public class BenchmarkBaselineComparator {
+	private static final double DEFAULT_TOLERANCE = 0.1;
+	private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+	private BenchmarkBaselineComparator() {
+	}
+
+	public static void main(String[] args) throws IOException, ParseException {
+		if (args.length < 2) {
+			System.err.println("Usage: BenchmarkBaselineComparator <baseline.json> <result.json> [tolerance]");
+			System.exit(2);
+		}
+		final double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+		final List<String> regressions = compare(read(Path.of(args[0])), read(Path.of(args[1])), tolerance);
+		regressions.forEach(System.out::println);
+		if (!regressions.isEmpty()) {
+			System.exit(1);
+		}
+	}
+
+	static List<String> compare(Map<String, BenchmarkResult> baseline, Map<String, BenchmarkResult> results, double tolerance) {
+		final List<String> regressions = new ArrayList<>();
+		new TreeMap<>(results).forEach((benchmark, result) -> {
+			final BenchmarkResult baselineResult = baseline.get(benchmark);
+			if (baselineResult == null) {
+				return;
+			}
+			if (result.isWorseThan(baselineResult, tolerance)) {
+				regressions.add("%s: %.3f %s, baseline %.3f %s".formatted(benchmark, result.score(), result.unit(),
+						baselineResult.score(), baselineResult.unit()));
+			}
+			if (result.allocatesMoreThan(baselineResult, tolerance)) {
+				regressions.add("%s: %.1f B/op allocated, baseline %.1f B/op".formatted(benchmark,
+						result.allocatedBytes().orElseThrow(), baselineResult.allocatedBytes().orElseThrow()));
+			}
+		});
+		return regressions;
+	}
+
+	static Map<String, BenchmarkResult> read(Path path) throws IOException, ParseException {
+		try (Reader reader = Files.newBufferedReader(path)) {
+			final Map<String, BenchmarkResult> results = new LinkedHashMap<>();
+			for (Object entry : (JSONArray) new JSONParser().parse(reader)) {
+				final JSONObject result = (JSONObject) entry;
+				results.put(benchmarkName(result), BenchmarkResult.fromJson(result));
+			}
+			return results;
+		}
+	}
+
+	private static String benchmarkName(JSONObject result) {
+		final JSONObject params = (JSONObject) result.get("params");
+		if (params == null || params.isEmpty()) {
+			return (String) result.get("benchmark");
+		}
+		return result.get("benchmark") + new TreeMap<>(params).toString();
+	}
+
+	record BenchmarkResult(String mode, double score, String unit, Optional<Double> allocatedBytes) {
+		static BenchmarkResult fromJson(JSONObject result) {
+			final JSONObject primaryMetric = (JSONObject) result.get("primaryMetric");
+			final JSONObject secondaryMetrics = (JSONObject) result.get("secondaryMetrics");
+			final Optional<Double> allocatedBytes = secondaryMetrics == null
+					? Optional.empty()
+					: secondaryMetrics.keySet().stream()
+					.filter(metric -> ((String) metric).endsWith(ALLOCATION_METRIC))
+					.findFirst()
+					.map(metric -> score((JSONObject) secondaryMetrics.get(metric)));
+			return new BenchmarkResult((String) result.get("mode"), score(primaryMetric),
+					(String) primaryMetric.get("scoreUnit"), allocatedBytes);
+		}
+
+		/**
+		 * The score of a throughput benchmark is better when it is higher, the score of every other mode is a time,
+		 * which is better when it is lower.
+		 */
+		boolean isWorseThan(BenchmarkResult baseline, double tolerance) {
+			return "thrpt".equals(mode)
+					? score < baseline.score * (1 - tolerance)
+					: score > baseline.score * (1 + tolerance);
+		}
+
+		boolean allocatesMoreThan(BenchmarkResult baseline, double tolerance) {
+			return allocatedBytes.isPresent() && baseline.allocatedBytes.isPresent()
+					&& allocatedBytes.get() > baseline.allocatedBytes.get() * (1 + tolerance);
+		}
+
+		private static double score(JSONObject metric) {
+			return ((Number) metric.get("score")).doubleValue();
+		}
+	}
+}
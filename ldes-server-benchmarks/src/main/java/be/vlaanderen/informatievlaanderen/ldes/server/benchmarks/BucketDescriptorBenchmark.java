@@ -0,0 +1,47 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.benchmarks;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptor;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptorPair;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BucketDescriptorBenchmark {
+	private static final String TIMEBASED_DESCRIPTOR = "year=2024&month=01&day=15&hour=13";
+	private static final String GEOSPATIAL_DESCRIPTOR = "tile=15/16742/10994&timestamp=2024-01-15T13:45:00";
+	private BucketDescriptor timebasedDescriptor;
+	private BucketDescriptor geospatialDescriptor;
+
+	@Setup
+	public void setUp() {
+		timebasedDescriptor = BucketDescriptor.fromString(TIMEBASED_DESCRIPTOR);
+		geospatialDescriptor = BucketDescriptor.of(new BucketDescriptorPair("tile", "15/16742/10994"),
+				new BucketDescriptorPair("timestamp", "2024-01-15T13:45:00"));
+	}
+
+	@Benchmark
+	public BucketDescriptor parseTimebasedDescriptor() {
+		return BucketDescriptor.fromString(TIMEBASED_DESCRIPTOR);
+	}
+
+	@Benchmark
+	public BucketDescriptor parseGeospatialDescriptor() {
+		return BucketDescriptor.fromString(GEOSPATIAL_DESCRIPTOR);
+	}
+
+	@Benchmark
+	public String formatTimebasedDescriptor() {
+		return timebasedDescriptor.asEncodedString();
+	}
+
+	@Benchmark
+	public String formatGeospatialDescriptor() {
+		return geospatialDescriptor.asEncodedString();
+	}
+}
@@ -0,0 +1,31 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.benchmarks;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.extractor.MemberModelExtractor;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.valueobjects.MemberModel;
+import org.apache.jena.rdf.model.Model;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberModelExtractorBenchmark {
+	@Param({"1", "100", "1000"})
+	private int memberCount;
+	private Model model;
+
+	@Setup
+	public void setUp() {
+		model = SyntheticRdfFixtures.membersModel(memberCount);
+	}
+
+	@Benchmark
+	public List<MemberModel> extractAllMemberModels() {
+		return MemberModelExtractor.initialize(model).extractAllMemberModels();
+	}
+}
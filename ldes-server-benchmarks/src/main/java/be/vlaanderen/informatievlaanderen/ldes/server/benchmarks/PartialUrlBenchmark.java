@@ -0,0 +1,42 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.benchmarks;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.valueobjects.PartialUrl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartialUrlBenchmark {
+	@Param({
+			"/mobility-hindrances/by-page",
+			"/mobility-hindrances/by-page?pageNumber=42",
+			"/mobility-hindrances/by-time?year=2024&month=01&day=15&pageNumber=42"
+	})
+	private String url;
+	private PartialUrl partialUrl;
+
+	@Setup
+	public void setUp() {
+		partialUrl = PartialUrl.fromUrl(url);
+	}
+
+	@Benchmark
+	public PartialUrl parse() {
+		return PartialUrl.fromUrl(url);
+	}
+
+	@Benchmark
+	public String format() {
+		return partialUrl.asString();
+	}
+
+	@Benchmark
+	public String createChild() {
+		return partialUrl.createChild().asString();
+	}
+}
@@ -0,0 +1,32 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.benchmarks;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.converter.PrefixAdder;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.converter.PrefixAdderImpl;
+import org.apache.jena.rdf.model.Model;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrefixAdderBenchmark {
+	@Param({"10", "250"})
+	private int memberCount;
+	private final PrefixAdder prefixAdder = new PrefixAdderImpl();
+	private Model model;
+
+	@Setup
+	public void setUp() {
+		model = SyntheticRdfFixtures.membersModel(memberCount);
+	}
+
+	@Benchmark
+	public Model addPrefixesToModel() {
+		model.clearNsPrefixMap();
+		return prefixAdder.addPrefixesToModel(model);
+	}
+}
@@ -0,0 +1,118 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.benchmarks;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.TreeRelation;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.Member;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.apache.jena.rdf.model.ResourceFactory.createProperty;
+
+/**
+ * Generates the fixtures of the benchmarks in memory. Every fixture is generated from a fixed seed, so every run of a
+ * benchmark works on exactly the same data and the results of different releases can be compared.
+ */
+public final class SyntheticRdfFixtures {
+	public static final String COLLECTION = "mobility-hindrances";
+	public static final String VIEW = "by-page";
+	public static final String MEMBER_TYPE = "https://data.vlaanderen.be/ns/mobiliteit#Mobiliteitshinder";
+	private static final String MEMBER_PREFIX = "http://test-data/mobility-hindrance/1/";
+	private static final String GEOSPARQL = "http://www.opengis.net/ont/geosparql#";
+	private static final Property VERSION_OF = createProperty("http://purl.org/dc/terms/isVersionOf");
+	private static final Property CREATED = createProperty("http://purl.org/dc/terms/created");
+	private static final Property DESCRIPTION = createProperty("http://purl.org/dc/terms/description");
+	private static final Property ZONE = createProperty("https://data.vlaanderen.be/ns/mobiliteit#zone");
+	private static final Property GEOMETRY = createProperty("http://www.w3.org/ns/locn#geometry");
+	private static final Property AS_WKT = createProperty(GEOSPARQL + "asWKT");
+	private static final long SEED = 20240101L;
+	private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+	private SyntheticRdfFixtures() {
+	}
+
+	/**
+	 * @return a model with the given number of members, of which every member has a nested zone and geometry of blank
+	 * nodes, like the members of a mobility hindrance stream
+	 */
+	public static Model membersModel(int memberCount) {
+		final Random random = new Random(SEED);
+		final Model model = ModelFactory.createDefaultModel();
+		IntStream.range(0, memberCount).forEach(i -> addMember(model, i, random));
+		return model;
+	}
+
+	public static List<Member> members(int memberCount) {
+		final Random random = new Random(SEED);
+		final List<Member> members = new ArrayList<>(memberCount);
+		for (int i = 0; i < memberCount; i++) {
+			final Model model = ModelFactory.createDefaultModel();
+			members.add(new Member(addMember(model, i, random).getURI(), model));
+		}
+		return members;
+	}
+
+	public static TreeNode treeNode(int memberCount, int relationCount) {
+		final List<TreeRelation> relations = IntStream.range(0, relationCount)
+				.mapToObj(i -> new TreeRelation("", LdesFragmentIdentifier.fromFragmentId("/%s/%s?pageNumber=%d".formatted(COLLECTION, VIEW, i + 2)),
+						"", "", "https://w3id.org/tree#Relation"))
+				.toList();
+		return new TreeNode("/%s/%s?pageNumber=1".formatted(COLLECTION, VIEW), false, false, relations, members(memberCount),
+				COLLECTION, null);
+	}
+
+	/**
+	 * @return a polygon with the given number of vertices around a random centre in Flanders, of which the radius
+	 * varies per vertex, so the polygon is not convex
+	 */
+	public static Geometry polygon(int vertexCount, double radius) {
+		final Random random = new Random(SEED);
+		final double centreX = 2.6 + random.nextDouble() * 3.0;
+		final double centreY = 50.7 + random.nextDouble() * 0.7;
+		final Coordinate[] coordinates = new Coordinate[vertexCount + 1];
+		for (int i = 0; i < vertexCount; i++) {
+			final double angle = 2 * Math.PI * i / vertexCount;
+			final double vertexRadius = radius * (0.5 + random.nextDouble() * 0.5);
+			coordinates[i] = new Coordinate(centreX + vertexRadius * Math.cos(angle), centreY + vertexRadius * Math.sin(angle));
+		}
+		coordinates[vertexCount] = coordinates[0];
+		return GEOMETRY_FACTORY.createPolygon(coordinates);
+	}
+
+	public static Geometry point() {
+		return point(new Random(SEED));
+	}
+
+	private static Resource addMember(Model model, int index, Random random) {
+		final Resource member = model.createResource(MEMBER_PREFIX + index);
+		final Resource geometry = model.createResource()
+				.addProperty(AS_WKT, model.createTypedLiteral(point(random).toText(), GEOSPARQL + "wktLiteral"));
+		final Resource zone = model.createResource()
+				.addProperty(RDF.type, model.createResource("https://data.vlaanderen.be/ns/mobiliteit#Zone"))
+				.addProperty(GEOMETRY, geometry);
+		return member
+				.addProperty(RDF.type, model.createResource(MEMBER_TYPE))
+				.addProperty(VERSION_OF, model.createResource("http://test-data/mobility-hindrance/" + index))
+				.addProperty(CREATED, model.createTypedLiteral(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(index).toString(),
+						XSDDatatype.XSDdateTime))
+				.addProperty(DESCRIPTION, "Synthetic mobility hindrance " + index)
+				.addProperty(ZONE, zone);
+	}
+
+	private static Geometry point(Random random) {
+		return GEOMETRY_FACTORY.createPoint(new Coordinate(2.6 + random.nextDouble() * 3.0, 50.7 + random.nextDouble() * 0.7));
+	}
+}
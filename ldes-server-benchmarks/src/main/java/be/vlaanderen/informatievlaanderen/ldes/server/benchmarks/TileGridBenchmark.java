@@ -0,0 +1,38 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.benchmarks;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.geospatial.model.Tile;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentisers.geospatial.model.TileGrid;
+import org.locationtech.jts.geom.Geometry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TileGridBenchmark {
+	@Param({"point", "small-polygon", "large-polygon"})
+	private String geometryType;
+	@Param({"15"})
+	private int zoom;
+	private Geometry geometry;
+
+	@Setup
+	public void setUp() {
+		geometry = switch (geometryType) {
+			case "point" -> SyntheticRdfFixtures.point();
+			case "small-polygon" -> SyntheticRdfFixtures.polygon(32, 0.005);
+			case "large-polygon" -> SyntheticRdfFixtures.polygon(256, 0.1);
+			default -> throw new IllegalArgumentException(geometryType);
+		};
+	}
+
+	@Benchmark
+	public Set<Tile> findIntersectingTiles() {
+		return new TileGrid(geometry.getEnvelopeInternal(), zoom).findIntersectingTiles(geometry);
+	}
+}
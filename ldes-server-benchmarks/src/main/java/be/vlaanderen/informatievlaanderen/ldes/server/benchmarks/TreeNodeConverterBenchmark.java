@@ -0,0 +1,44 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.benchmarks;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.converter.PrefixAdderImpl;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamCreatedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.EventStream;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.rest.PrefixConstructor;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.TreeNodeConverter;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.TreeNodeConverterImpl;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.TreeNodeStatementCreatorImpl;
+import org.apache.jena.rdf.model.Model;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.benchmarks.SyntheticRdfFixtures.COLLECTION;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeNodeConverterBenchmark {
+	@Param({"0", "250"})
+	private int memberCount;
+	private TreeNodeConverter treeNodeConverter;
+	private TreeNode treeNode;
+
+	@Setup
+	public void setUp() {
+		final TreeNodeStatementCreatorImpl treeNodeStatementCreator = new TreeNodeStatementCreatorImpl();
+		treeNodeStatementCreator.handleEventStreamInitEvent(new EventStreamCreatedEvent(new EventStream(COLLECTION,
+				"http://purl.org/dc/terms/created", "http://purl.org/dc/terms/isVersionOf", false)));
+		treeNodeConverter = new TreeNodeConverterImpl(new PrefixAdderImpl(),
+				new PrefixConstructor("http://localhost:8080", false), treeNodeStatementCreator);
+		treeNode = SyntheticRdfFixtures.treeNode(memberCount, 2);
+	}
+
+	@Benchmark
+	public Model toModel() {
+		return treeNodeConverter.toModel(treeNode);
+	}
+}
@@ -0,0 +1,98 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.benchmarks;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.benchmarks.BenchmarkBaselineComparator.BenchmarkResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BenchmarkBaselineComparatorTest {
+	private static final String BENCHMARK = "be.vlaanderen.PartialUrlBenchmark.parse";
+	private static final double TOLERANCE = 0.1;
+
+	@Test
+	void when_ResultFileIsRead_then_ScoresAndAllocationsAreKeyedByBenchmarkAndParams(@TempDir Path directory) throws Exception {
+		final Path resultFile = Files.writeString(directory.resolve("result.json"), """
+				[
+				  {
+				    "benchmark": "be.vlaanderen.TileGridBenchmark.tiles",
+				    "mode": "thrpt",
+				    "params": {"zoom": "15", "bounds": "small"},
+				    "primaryMetric": {"score": 1234.5, "scoreUnit": "ops/s"},
+				    "secondaryMetrics": {"·gc.alloc.rate.norm": {"score": 512.0, "scoreUnit": "B/op"}}
+				  },
+				  {
+				    "benchmark": "be.vlaanderen.PartialUrlBenchmark.parse",
+				    "mode": "avgt",
+				    "primaryMetric": {"score": 2.5, "scoreUnit": "us/op"}
+				  }
+				]
+				""");
+
+		final Map<String, BenchmarkResult> results = BenchmarkBaselineComparator.read(resultFile);
+
+		assertThat(results).containsExactly(
+				Map.entry("be.vlaanderen.TileGridBenchmark.tiles{bounds=small, zoom=15}",
+						new BenchmarkResult("thrpt", 1234.5, "ops/s", Optional.of(512.0))),
+				Map.entry(BENCHMARK, new BenchmarkResult("avgt", 2.5, "us/op", Optional.empty())));
+	}
+
+	@Test
+	void given_ThroughputWithinTolerance_when_Compared_then_NoRegressionIsReported() {
+		final List<String> regressions = compare(throughput(100, null), throughput(91, null));
+
+		assertThat(regressions).isEmpty();
+	}
+
+	@Test
+	void given_ThroughputBeyondTolerance_when_Compared_then_RegressionIsReported() {
+		final List<String> regressions = compare(throughput(100, null), throughput(89, null));
+
+		assertThat(regressions).singleElement().asString().startsWith(BENCHMARK);
+	}
+
+	@Test
+	void given_AverageTime_when_Compared_then_HigherScoreIsRegression() {
+		assertThat(compare(averageTime(100), averageTime(109))).isEmpty();
+		assertThat(compare(averageTime(100), averageTime(111))).hasSize(1);
+		assertThat(compare(averageTime(100), averageTime(50))).isEmpty();
+	}
+
+	@Test
+	void given_AllocationBeyondTolerance_when_Compared_then_RegressionIsReported() {
+		final List<String> regressions = compare(throughput(100, 1000.0), throughput(100, 1200.0));
+
+		assertThat(regressions).singleElement().asString().contains("B/op allocated");
+	}
+
+	@Test
+	void given_AllocationOnlyMeasuredInOneRun_when_Compared_then_AllocationIsNotCompared() {
+		assertThat(compare(throughput(100, null), throughput(100, 1200.0))).isEmpty();
+	}
+
+	@Test
+	void given_BenchmarkWithoutBaseline_when_Compared_then_BenchmarkIsSkipped() {
+		final List<String> regressions = BenchmarkBaselineComparator.compare(Map.of(),
+				Map.of(BENCHMARK, throughput(1, null)), TOLERANCE);
+
+		assertThat(regressions).isEmpty();
+	}
+
+	private List<String> compare(BenchmarkResult baseline, BenchmarkResult result) {
+		return BenchmarkBaselineComparator.compare(Map.of(BENCHMARK, baseline), Map.of(BENCHMARK, result), TOLERANCE);
+	}
+
+	private BenchmarkResult throughput(double score, Double allocatedBytes) {
+		return new BenchmarkResult("thrpt", score, "ops/s", Optional.ofNullable(allocatedBytes));
+	}
+
+	private BenchmarkResult averageTime(double score) {
+		return new BenchmarkResult("avgt", score, "us/op", Optional.empty());
+	}
+}
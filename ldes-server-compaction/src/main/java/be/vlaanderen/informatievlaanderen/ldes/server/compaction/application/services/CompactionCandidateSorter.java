@@ -3,54 +3,51 @@ package be.vlaanderen.informatievlaanderen.ldes.server.compaction.application.se
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.CompactionCandidate;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
+/**
+ * Splits chains of connected compaction candidates into groups that fit the capacity of a page. The chains start at
+ * the candidates that are not the next page of another candidate and are followed with a lookup of the next page by
+ * id, so every candidate is visited once.
+ */
 public class CompactionCandidateSorter {
     private CompactionCandidateSorter() {
     }
 
     public static Collection<Set<CompactionCandidate>> getCompactionCandidateList(List<CompactionCandidate> candidatesList, int capacity) {
-
-        List<CompactionCandidate> firstElements = candidatesList.stream()
-                .filter(candidate -> hasNoConnections(candidate, candidatesList.stream()
-                        .toList())).toList();
-
-        AtomicInteger index = new AtomicInteger();
-        Map<Integer, Set<CompactionCandidate>> compactionDesign = new HashMap<>();
-
-        firstElements.forEach(candidate -> {
-            int currentCapacity = 0;
-            Set<CompactionCandidate> splitList = new HashSet<>();
-            Optional<CompactionCandidate> currentCandidate = Optional.of(candidate);
-            while (currentCandidate.isPresent()) {
-                currentCapacity += currentCandidate.get().getSize();
-                if (currentCapacity > capacity) {
-                    currentCapacity = 0;
-                    if(splitList.size() > 1) {
-                        compactionDesign.put(index.incrementAndGet(), splitList);
-                        splitList = new HashSet<>();
+        final Map<Long, CompactionCandidate> candidatesById = new HashMap<>();
+        candidatesList.forEach(candidate -> candidatesById.putIfAbsent(candidate.getId(), candidate));
+        final Set<Long> nextPageIds = candidatesList.stream()
+                .map(CompactionCandidate::getNextPageId)
+                .collect(Collectors.toSet());
+
+        final List<Set<CompactionCandidate>> compactionDesign = new ArrayList<>();
+        candidatesList.stream()
+                .filter(candidate -> !nextPageIds.contains(candidate.getId()))
+                .distinct()
+                .forEach(firstCandidate -> {
+                    int currentCapacity = 0;
+                    Set<CompactionCandidate> splitList = new HashSet<>();
+                    CompactionCandidate currentCandidate = firstCandidate;
+                    while (currentCandidate != null) {
+                        currentCapacity += currentCandidate.getSize();
+                        if (currentCapacity > capacity) {
+                            currentCapacity = 0;
+                            if (splitList.size() > 1) {
+                                compactionDesign.add(splitList);
+                                splitList = new HashSet<>();
+                            }
+                        } else {
+                            splitList.add(currentCandidate);
+                        }
+                        currentCandidate = candidatesById.get(currentCandidate.getNextPageId());
                     }
-                }
-                else {
-                    splitList.add(currentCandidate.get());
-                }
-                long nextId = currentCandidate.get().getNextPageId();
-                currentCandidate = candidatesList.stream().filter(c->c.getId() == nextId).findFirst();
-            }
-
-            if(splitList.size() > 1) {
-                compactionDesign.put(index.incrementAndGet(), splitList);
-            }
-        });
 
-        return compactionDesign.values();
-    }
-
-    public static boolean hasNoConnections(CompactionCandidate fragment, List<CompactionCandidate> fragments) {
-        return fragments.stream().noneMatch(fragment1 -> isConnectedTo(fragment1, fragment));
-    }
+                    if (splitList.size() > 1) {
+                        compactionDesign.add(splitList);
+                    }
+                });
 
-    public static boolean isConnectedTo(CompactionCandidate treeNode, CompactionCandidate otherTreeNode) {
-        return treeNode.getNextPageId() == otherTreeNode.getId();
+        return compactionDesign;
     }
 }
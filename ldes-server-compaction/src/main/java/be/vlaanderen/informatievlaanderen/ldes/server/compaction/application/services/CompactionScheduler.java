@@ -1,13 +1,21 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.compaction.application.services;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.compaction.domain.repository.ViewCollection;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.CompactionCandidate;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.spi.RetentionPolicyEmptinessChecker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.COMPACTION_CRON_KEY;
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.COMPACTION_PARALLELISM;
 
 @Service
 public class CompactionScheduler {
@@ -16,17 +24,25 @@ public class CompactionScheduler {
 	private final PaginationCompactionService paginationCompactionService;
 	private final CompactionCandidateService compactionCandidateService;
 	private final RetentionPolicyEmptinessChecker retentionPolicyEmptinessChecker;
+	private final int compactionParallelism;
 
 	public CompactionScheduler(ViewCollection viewCollection,
 	                           PaginationCompactionService paginationCompactionService,
 	                           CompactionCandidateService compactionCandidateService,
-	                           RetentionPolicyEmptinessChecker retentionPolicyEmptinessChecker) {
+	                           RetentionPolicyEmptinessChecker retentionPolicyEmptinessChecker,
+	                           @Value(COMPACTION_PARALLELISM) int compactionParallelism) {
 		this.viewCollection = viewCollection;
 		this.paginationCompactionService = paginationCompactionService;
 		this.compactionCandidateService = compactionCandidateService;
 		this.retentionPolicyEmptinessChecker = retentionPolicyEmptinessChecker;
+		this.compactionParallelism = Math.max(1, compactionParallelism);
 	}
 
+	/**
+	 * Collects the compaction groups of all views and compacts them on a bounded pool. The groups never share a page,
+	 * as the sorter leaves at least one page between two groups of the same chain, so they can be merged at the same
+	 * time. The run ends when every group is merged.
+	 */
 	@SuppressWarnings("java:S6857")
 	@Scheduled(cron = COMPACTION_CRON_KEY)
 	public void compactFragments() {
@@ -34,19 +50,33 @@ public class CompactionScheduler {
 			LOGGER.info("Compaction skipped: no retention policies found.");
 			return;
 		}
-		viewCollection.getAllViewCapacities()
+		final List<Set<CompactionCandidate>> compactionTasks = viewCollection.getAllViewCapacities()
 				.parallelStream()
-				.forEach(viewCapacity -> {
-
+				.flatMap(viewCapacity -> {
 					var compactionTaskList = compactionCandidateService.getCompactionTaskList(viewCapacity);
 
 					if (compactionTaskList.isEmpty()) {
 						LOGGER.info("No compaction candidates available for {}", viewCapacity.getViewName().getViewName());
 					} else {
 						LOGGER.info("Processing {} compaction candidates available for {}", compactionTaskList.size(), viewCapacity.getViewName().getViewName());
-
-						compactionTaskList.forEach(paginationCompactionService::applyCompactionForFragments);
 					}
-				});
+					return compactionTaskList.stream();
+				})
+				.toList();
+
+		if (compactionTasks.isEmpty()) {
+			return;
+		}
+		try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(compactionParallelism, compactionTasks.size()))) {
+			compactionTasks.forEach(compactionTask -> executor.execute(() -> compact(compactionTask)));
+		}
+	}
+
+	private void compact(Set<CompactionCandidate> compactionTask) {
+		try {
+			paginationCompactionService.applyCompactionForFragments(compactionTask);
+		} catch (RuntimeException e) {
+			LOGGER.error("Compaction of {} fragments failed: {}", compactionTask.size(), e.getMessage(), e);
+		}
 	}
 }
@@ -1,13 +1,18 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.compaction.application.services;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.fragmentation.BulkFragmentDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.PageRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.spi.RetentionPolicyEmptinessChecker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.DELETION_CRON_KEY;
 
@@ -16,10 +21,13 @@ public class FragmentDeletionScheduler {
 	private static final Logger LOGGER = LoggerFactory.getLogger(FragmentDeletionScheduler.class);
 	private final PageRepository pageRepository;
 	private final RetentionPolicyEmptinessChecker retentionPolicyEmptinessChecker;
+	private final ApplicationEventPublisher eventPublisher;
 
-	public FragmentDeletionScheduler(PageRepository pageRepository, RetentionPolicyEmptinessChecker retentionPolicyEmptinessChecker) {
+	public FragmentDeletionScheduler(PageRepository pageRepository, RetentionPolicyEmptinessChecker retentionPolicyEmptinessChecker,
+	                                 ApplicationEventPublisher eventPublisher) {
 		this.pageRepository = pageRepository;
 		this.retentionPolicyEmptinessChecker = retentionPolicyEmptinessChecker;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@SuppressWarnings("java:S6857")
@@ -29,6 +37,11 @@ public class FragmentDeletionScheduler {
 			LOGGER.atDebug().log("Fragment deletion skipped: no retention policies found.");
 			return;
 		}
-		pageRepository.deleteOutdatedFragments(LocalDateTime.now());
+		final List<String> deletedFragmentIds = pageRepository.deleteOutdatedFragments(LocalDateTime.now());
+		if (!deletedFragmentIds.isEmpty()) {
+			eventPublisher.publishEvent(new BulkFragmentDeletedEvent(deletedFragmentIds.stream()
+					.map(LdesFragmentIdentifier::fromFragmentId)
+					.collect(Collectors.toSet())));
+		}
 	}
 }
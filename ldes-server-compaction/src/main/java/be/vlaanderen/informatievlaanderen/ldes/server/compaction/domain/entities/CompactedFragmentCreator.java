@@ -1,48 +1,72 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.compaction.domain.entities;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.RdfConstants;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.exceptions.PageListSortException;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.CompactionCandidate;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
 
-import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+/**
+ * Merges a group of compaction candidates into a new compacted page. The page and its relation are created, the
+ * members are moved, the relations are rewired and the deletion time of the compacted pages is set with a single
+ * statement, so the merge is applied completely or not at all.
+ */
 @Component
 public class CompactedFragmentCreator {
 	public static final String PAGE_NUMBER_REGEX = "pageNumber=.*";
-	public static final String INSERT_COMPACTED_PAGE_SQL = "INSERT INTO pages (bucket_id, expiration, partial_url, immutable) VALUES (?, NULL, ?, true)";
-	public static final String INSERT_PAGE_RELATION_SQL = "INSERT INTO page_relations (from_page_id, to_page_id, relation_type) VALUES (?, ?, ?)";
+	public static final String MERGE_COMPACTED_PAGES_SQL = """
+			WITH compacted_page AS (
+			    INSERT INTO pages (bucket_id, expiration, partial_url, immutable) VALUES (?, NULL, ?, true)
+			    RETURNING page_id
+			), compacted_page_relation AS (
+			    INSERT INTO page_relations (from_page_id, to_page_id, relation_type)
+			    SELECT page_id, ?, ? FROM compacted_page
+			), moved_members AS (
+			    UPDATE page_members SET page_id = (SELECT page_id FROM compacted_page) WHERE page_id = ANY(?)
+			), rewired_relations AS (
+			    UPDATE page_relations SET to_page_id = (SELECT page_id FROM compacted_page)
+			    WHERE to_page_id = ANY(?) OR from_page_id = ANY(?)
+			), expired_pages AS (
+			    UPDATE pages SET expiration = ? WHERE page_id = ANY(?)
+			)
+			SELECT page_id FROM compacted_page
+			""";
 	private final JdbcTemplate jdbcTemplate;
+	private final Duration compactionDuration;
 
-	public CompactedFragmentCreator(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
-    }
+	public CompactedFragmentCreator(JdbcTemplate jdbcTemplate, ServerConfig serverConfig) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.compactionDuration = Duration.parse(serverConfig.getCompactionDuration());
+	}
 
+	/**
+	 * @param pages a chain of connected compaction candidates
+	 * @return the id of the compacted page that replaces the chain
+	 */
 	public Long createCompactedPage(Collection<CompactionCandidate> pages) {
-		final KeyHolder keyHolder = new GeneratedKeyHolder();
+		final Set<Long> pageIds = pages.stream().map(CompactionCandidate::getId).collect(Collectors.toSet());
 		final CompactionCandidate lastPage = pages.stream()
-				.filter(p -> pages.stream()
-						.filter(p2 -> p2.getId() == p.getNextPageId()).findFirst().isEmpty())
-				.findFirst().orElseThrow(() -> new PageListSortException(pages.stream().map(p -> String.valueOf(p.getId())).toList()));
-
-		final String compactedPagePartialUrl = createCompactedPartialUrl(lastPage);
-		jdbcTemplate.update(connection -> {
-			PreparedStatement ps = connection.prepareStatement(INSERT_COMPACTED_PAGE_SQL, new String[] {"page_id"});
-			ps.setLong(1, lastPage.getBucketId());
-			ps.setString(2, compactedPagePartialUrl);
-			return ps;
-		}, keyHolder);
-
-		jdbcTemplate.update(INSERT_PAGE_RELATION_SQL, keyHolder.getKey(), lastPage.getNextPageId(), RdfConstants.GENERIC_TREE_RELATION);
+				.filter(page -> !pageIds.contains(page.getNextPageId()))
+				.findFirst()
+				.orElseThrow(() -> new PageListSortException(pageIds.stream().map(String::valueOf).toList()));
+		final Long[] compactedPageIds = pageIds.toArray(Long[]::new);
 
-		return keyHolder.getKeyAs(Long.class);
+		return jdbcTemplate.queryForObject(MERGE_COMPACTED_PAGES_SQL, Long.class,
+				lastPage.getBucketId(), createCompactedPartialUrl(lastPage),
+				lastPage.getNextPageId(), RdfConstants.GENERIC_TREE_RELATION,
+				compactedPageIds,
+				compactedPageIds, compactedPageIds,
+				LocalDateTime.now().plus(compactionDuration), compactedPageIds);
 	}
 
 	private String createCompactedPartialUrl(CompactionCandidate candidate) {
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -66,4 +67,18 @@ class CompactionCandidateServiceTest {
 		assertTrue(secondCompaction.stream().anyMatch(candidate -> candidate.getId() == 4L));
 		assertTrue(secondCompaction.stream().anyMatch(candidate -> candidate.getId() == 5L));
 	}
+
+	@Test
+	void given_CandidatesOutOfOrder_when_GetCompactionCandidateList_then_CandidatesAreChainedByNextPage() {
+		var chain = List.of(
+				new CompactionCandidate(13L, 1, 11L, true, null, 1L, "/ex/p"),
+				new CompactionCandidate(11L, 1, 12L, true, null, 1L, "/ex/p"),
+				new CompactionCandidate(12L, 1, 14L, true, null, 1L, "/ex/p"),
+				new CompactionCandidate(14L, 1, 15L, true, null, 1L, "/ex/p"));
+
+		var taskList = CompactionCandidateSorter.getCompactionCandidateList(chain.reversed(), 3);
+
+		assertEquals(1, taskList.size());
+		assertEquals(Set.copyOf(chain.subList(0, 3)), taskList.iterator().next());
+	}
 }
@@ -1,13 +1,19 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.compaction.application.services;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.compaction.domain.entities.ViewCapacity;
 import be.vlaanderen.informatievlaanderen.ldes.server.compaction.domain.repository.ViewCollection;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.CompactionCandidate;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.repositories.RetentionPolicyCollection;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,9 +27,13 @@ class CompactionSchedulerTest {
 	@Mock
 	private RetentionPolicyCollection retentionPolicyCollection;
 
-	@InjectMocks
 	private CompactionScheduler compactionScheduler;
 
+	@BeforeEach
+	void setUp() {
+		compactionScheduler = new CompactionScheduler(viewCollection, paginationCompactionService,
+				compactionCandidateService, retentionPolicyCollection, 2);
+	}
 
 	@Test
 	void given_RetentionPoliciesCollectionIsEmpty_when_CompactFragments_then_DoNotRun() {
@@ -46,5 +56,43 @@ class CompactionSchedulerTest {
 		verifyNoMoreInteractions(viewCollection, paginationCompactionService, compactionCandidateService, retentionPolicyCollection);
 	}
 
+	@Test
+	void given_CompactionTasksOfMultipleViews_when_CompactFragments_then_AllTasksAreCompacted() {
+		final ViewCapacity viewA = new ViewCapacity(new ViewName("collection", "viewA"), 10);
+		final ViewCapacity viewB = new ViewCapacity(new ViewName("collection", "viewB"), 10);
+		final Set<CompactionCandidate> firstTask = Set.of(candidate(1L, 2L), candidate(2L, 3L));
+		final Set<CompactionCandidate> secondTask = Set.of(candidate(4L, 5L), candidate(5L, 6L));
+		final Set<CompactionCandidate> thirdTask = Set.of(candidate(7L, 8L), candidate(8L, 9L));
+		when(retentionPolicyCollection.isEmpty()).thenReturn(false);
+		when(viewCollection.getAllViewCapacities()).thenReturn(List.of(viewA, viewB));
+		when(compactionCandidateService.getCompactionTaskList(viewA)).thenReturn(List.of(firstTask, secondTask));
+		when(compactionCandidateService.getCompactionTaskList(viewB)).thenReturn(List.of(thirdTask));
+		doThrow(new IllegalStateException("failed")).when(paginationCompactionService).applyCompactionForFragments(firstTask);
+
+		compactionScheduler.compactFragments();
+
+		verify(paginationCompactionService).applyCompactionForFragments(firstTask);
+		verify(paginationCompactionService).applyCompactionForFragments(secondTask);
+		verify(paginationCompactionService).applyCompactionForFragments(thirdTask);
+		verifyNoMoreInteractions(paginationCompactionService);
+	}
+
+	@Test
+	void given_ParallelismBelowOne_when_CompactFragments_then_TasksAreCompactedOneByOne() {
+		final ViewCapacity viewCapacity = new ViewCapacity(new ViewName("collection", "view"), 10);
+		final Set<CompactionCandidate> task = Set.of(candidate(1L, 2L), candidate(2L, 3L));
+		when(retentionPolicyCollection.isEmpty()).thenReturn(false);
+		when(viewCollection.getAllViewCapacities()).thenReturn(List.of(viewCapacity));
+		when(compactionCandidateService.getCompactionTaskList(viewCapacity)).thenReturn(List.of(task));
+		compactionScheduler = new CompactionScheduler(viewCollection, paginationCompactionService,
+				compactionCandidateService, retentionPolicyCollection, 0);
+
+		compactionScheduler.compactFragments();
+
+		verify(paginationCompactionService).applyCompactionForFragments(task);
+	}
 
-}
\ No newline at end of file
+	private CompactionCandidate candidate(long id, long nextPageId) {
+		return new CompactionCandidate(id, 1, nextPageId, true, null, 1L, "/collection/view?pageNumber=" + id);
+	}
+}
@@ -1,5 +1,7 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.compaction.application.services;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.fragmentation.BulkFragmentDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.PageRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.spi.RetentionPolicyEmptinessChecker;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +9,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 
@@ -16,20 +22,35 @@ class FragmentDeletionSchedulerTest {
 	private RetentionPolicyEmptinessChecker retentionPolicyEmptinessChecker;
 	@Mock
 	private PageRepository pageRepository;
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
 	private FragmentDeletionScheduler fragmentDeletionScheduler;
 
 	@BeforeEach
 	void setUp() {
-		fragmentDeletionScheduler = new FragmentDeletionScheduler(pageRepository, retentionPolicyEmptinessChecker);
+		fragmentDeletionScheduler = new FragmentDeletionScheduler(pageRepository, retentionPolicyEmptinessChecker, eventPublisher);
 	}
 
 	@Test
 	void when_FragmentHasDeleteTimeEarlierThanCurrentTime_then_ItIsDeletedAndEventIsSent() {
 		when(retentionPolicyEmptinessChecker.isEmpty()).thenReturn(false);
+		when(pageRepository.deleteOutdatedFragments(any())).thenReturn(List.of("/collection/view?pageNumber=1"));
 
 		fragmentDeletionScheduler.deleteFragments();
 
 		verify(pageRepository).deleteOutdatedFragments(any());
+		verify(eventPublisher).publishEvent(new BulkFragmentDeletedEvent(
+				Set.of(LdesFragmentIdentifier.fromFragmentId("/collection/view?pageNumber=1"))));
+	}
+
+	@Test
+	void when_NoFragmentIsDeleted_then_NoEventIsSent() {
+		when(retentionPolicyEmptinessChecker.isEmpty()).thenReturn(false);
+		when(pageRepository.deleteOutdatedFragments(any())).thenReturn(List.of());
+
+		fragmentDeletionScheduler.deleteFragments();
+
+		verifyNoInteractions(eventPublisher);
 	}
 
 	@Test
@@ -40,4 +61,4 @@ class FragmentDeletionSchedulerTest {
 
 		verifyNoInteractions(pageRepository);
 	}
-}
\ No newline at end of file
+}
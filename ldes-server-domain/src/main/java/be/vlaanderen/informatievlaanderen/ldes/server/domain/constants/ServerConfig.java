@@ -8,16 +8,38 @@ import org.springframework.context.annotation.Configuration;
 public class ServerConfig {
 	private static final String DEFAULT_COMPACTION_DURATION = "P7D";
 	private static final String DEFAULT_BACKGROUND_CRON = "0 0 0 * * *";
+	private static final String DEFAULT_COMPACTION_PARALLELISM = "4";
 	private static final String DEFAULT_FRAGMENTATION_CRON = "*/30 * * * * *";
+	private static final String DEFAULT_METRICS_RECONCILIATION_CRON = "0 */5 * * * *";
+	private static final String DEFAULT_FRAGMENTATION_TRIGGER_DELAY = "200";
+	private static final String DEFAULT_FRAGMENTATION_MEMBER_RANGES = "1";
+	private static final String DEFAULT_BUCKET_CACHE_SIZE = "10000";
 	private static final String DEFAULT_USE_RELATIVE_URL = "false";
 	private static final String DEFAULT_MAX_JSONLD_CACHE_CAPACITY = "100";
+	private static final String DEFAULT_BULK_INGEST_BATCH_SIZE = "500";
+	private static final String DEFAULT_INGEST_COPY_ENABLED = "false";
+	private static final String DEFAULT_SUBJECT_FILTER_ENABLED = "false";
+	private static final String DEFAULT_SUBJECT_FILTER_CAPACITY = "1000000";
+	private static final String DEFAULT_MEMBER_MODEL_COMPRESSION_ENABLED = "false";
+	private static final String DEFAULT_MEMBER_MODEL_DICTIONARY_CRON = "0 0 * * * *";
 	public static final String HOST_NAME_KEY = "${ldes-server.host-name}";
 	public static final String RETENTION_CRON_KEY = "${ldes-server.retention-cron: " + DEFAULT_BACKGROUND_CRON + "}";
 	public static final String DELETION_CRON_KEY = "${ldes-server.deletion-cron:" + DEFAULT_BACKGROUND_CRON + "}";
 	public static final String COMPACTION_CRON_KEY = "${ldes-server.compaction-cron:" + DEFAULT_BACKGROUND_CRON + "}";
+	public static final String COMPACTION_PARALLELISM = "${ldes-server.compaction-parallelism:" + DEFAULT_COMPACTION_PARALLELISM + "}";
 	public static final String FRAGMENTATION_CRON = "${ldes-server.fragmentation-cron:" + DEFAULT_FRAGMENTATION_CRON + "}";
+	public static final String METRICS_RECONCILIATION_CRON = "${ldes-server.metrics-reconciliation-cron:" + DEFAULT_METRICS_RECONCILIATION_CRON + "}";
+	public static final String FRAGMENTATION_TRIGGER_DELAY = "${ldes-server.fragmentation-trigger-delay:" + DEFAULT_FRAGMENTATION_TRIGGER_DELAY + "}";
+	public static final String FRAGMENTATION_MEMBER_RANGES = "${ldes-server.fragmentation-member-ranges:" + DEFAULT_FRAGMENTATION_MEMBER_RANGES + "}";
+	public static final String BUCKET_CACHE_SIZE = "${ldes-server.fragmentation-bucket-cache-size:" + DEFAULT_BUCKET_CACHE_SIZE + "}";
 	public static final String USE_RELATIVE_URL_KEY = "${ldes-server.use-relative-url:" + DEFAULT_USE_RELATIVE_URL + "}";
 	public static final String MAX_JSONLD_CACHE_CAPACITY = "${ldes-server.max-jsonld-cache-capacity:" + DEFAULT_MAX_JSONLD_CACHE_CAPACITY + "}";
+	public static final String BULK_INGEST_BATCH_SIZE = "${ldes-server.ingest.bulk-batch-size:" + DEFAULT_BULK_INGEST_BATCH_SIZE + "}";
+	public static final String INGEST_COPY_ENABLED = "${ldes-server.ingest.copy-enabled:" + DEFAULT_INGEST_COPY_ENABLED + "}";
+	public static final String SUBJECT_FILTER_ENABLED = "${ldes-server.ingest.subject-filter-enabled:" + DEFAULT_SUBJECT_FILTER_ENABLED + "}";
+	public static final String SUBJECT_FILTER_CAPACITY = "${ldes-server.ingest.subject-filter-capacity:" + DEFAULT_SUBJECT_FILTER_CAPACITY + "}";
+	public static final String MEMBER_MODEL_COMPRESSION_ENABLED = "${ldes-server.ingest.model-compression-enabled:" + DEFAULT_MEMBER_MODEL_COMPRESSION_ENABLED + "}";
+	public static final String MEMBER_MODEL_DICTIONARY_CRON = "${ldes-server.ingest.model-dictionary-cron:" + DEFAULT_MEMBER_MODEL_DICTIONARY_CRON + "}";
 
 	private String hostName;
 	private String compactionDuration;
@@ -0,0 +1,8 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.domain.events.retention;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+
+import java.util.List;
+
+public record BulkMemberUnallocatedEvent(List<Long> memberIds, ViewName viewName) {
+}
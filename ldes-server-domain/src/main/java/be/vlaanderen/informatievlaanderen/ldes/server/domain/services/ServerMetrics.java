@@ -4,17 +4,30 @@ import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventS
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamDeletedEvent;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.ViewDeletedEvent;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.ViewInitializationEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.FragmentationMetric;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.config.MeterFilter;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.METRICS_RECONCILIATION_CRON;
+
+/**
+ * Keeps the member counts of the collections and views in memory, so a scrape only reads the counters. The counters
+ * are incremented by the ingest and by the bucketisation and pagination steps, without taking a lock, and are
+ * reconciled with the database in the background to correct for members that are removed by retention or compaction.
+ */
 @Component
 public class ServerMetrics {
 	public static final String INGEST = "ldes_server_ingested_members_count";
@@ -24,9 +37,9 @@ public class ServerMetrics {
 	public static final String VIEW = "view";
 	private final FragmentationMetricsRepository fragmentationMetricsRepository;
 	private final MemberMetricsRepository memberMetricsRepository;
-	private final Map<String, AtomicInteger> membersIngested = new HashMap<>();
-	private final Map<ViewName, AtomicInteger> membersBucketised = new HashMap<>();
-	private final Map<ViewName, AtomicInteger> membersPaginated = new HashMap<>();
+	private final Map<String, LongAdder> membersIngested = new ConcurrentHashMap<>();
+	private final Map<ViewName, LongAdder> membersBucketised = new ConcurrentHashMap<>();
+	private final Map<ViewName, LongAdder> membersPaginated = new ConcurrentHashMap<>();
 
 	public ServerMetrics(FragmentationMetricsRepository fragmentationMetricsRepository, MemberMetricsRepository memberMetricsRepository) {
 		this.fragmentationMetricsRepository = fragmentationMetricsRepository;
@@ -36,66 +49,51 @@ public class ServerMetrics {
 				.meterFilter(MeterFilter.denyNameStartsWith("spring.batch.chunk"));
 	}
 
-	public synchronized void incrementIngestCount(String collection, int count) {
-		membersIngested.computeIfAbsent(collection, s ->
-				Metrics.gauge(INGEST, Tags.of(COLLECTION, collection),
-						new AtomicInteger(0)));
-		membersIngested.get(collection).addAndGet(count);
+	public void incrementIngestCount(String collection, int count) {
+		ingestCounter(collection).add(count);
+	}
+
+	public void resetIngestCount(String collection) {
+		ingestCounter(collection).reset();
+	}
+
+	public void updateIngestCount(String collection) {
+		set(ingestCounter(collection), memberMetricsRepository.getTotalCount(collection));
 	}
 
-	public synchronized void resetIngestCount(String collection) {
-		membersIngested.computeIfAbsent(collection, s ->
-				Metrics.gauge(INGEST, Tags.of(COLLECTION, collection),
-						new AtomicInteger(0)));
-		membersIngested.get(collection).set(0);
+	public void incrementBucketCount(ViewName viewName, long count) {
+		bucketCounter(viewName).add(count);
 	}
 
-	public synchronized void updateIngestCount(String collection) {
-		int count = memberMetricsRepository.getTotalCount(collection);
-		membersIngested.computeIfAbsent(collection, s ->
-				Metrics.gauge(INGEST, Tags.of(COLLECTION, collection),
-						new AtomicInteger(count)));
-		membersIngested.get(collection).set(count);
+	public void updateBucketCounts(String collection) {
+		updateViewCounts(collection, fragmentationMetricsRepository.getBucketisedMemberCounts(collection),
+				membersBucketised, this::bucketCounter);
 	}
 
-	public synchronized void updateBucketCounts(String collection) {
-		fragmentationMetricsRepository.getBucketisedMemberCounts(collection)
-				.forEach(metric -> {
-					var viewName = new ViewName(collection, metric.view());
-					membersBucketised.computeIfAbsent(viewName, v ->
-							Metrics.gauge(BUCKET, Tags.of(COLLECTION, v.getCollectionName(), VIEW,
-											metric.view()),
-									new AtomicInteger(metric.count())));
-					membersBucketised.get(viewName).set(metric.count());
-				});
+	public void resetBucketCount(ViewName viewName) {
+		bucketCounter(viewName).reset();
 	}
 
-	public synchronized void resetBucketCount(ViewName viewName) {
-		membersBucketised.computeIfAbsent(viewName, v ->
-				Metrics.gauge(BUCKET, Tags.of(COLLECTION, v.getCollectionName(), VIEW,
-								viewName.getViewName()),
-						new AtomicInteger(0)));
-		membersBucketised.get(viewName).set(0);
+	public void incrementPaginationCount(ViewName viewName, long count) {
+		paginationCounter(viewName).add(count);
 	}
 
-	public synchronized void updatePaginationCounts(String collection) {
-		fragmentationMetricsRepository.getPaginatedMemberCounts(collection)
-				.forEach(metric -> {
-					var viewName = new ViewName(collection, metric.view());
-					membersPaginated.computeIfAbsent(viewName, v ->
-							Metrics.gauge(PAGINATE, Tags.of(COLLECTION, v.getCollectionName(), VIEW,
-											metric.view()),
-									new AtomicInteger(metric.count())));
-					membersPaginated.get(viewName).set(metric.count());
-				});
+	public void updatePaginationCounts(String collection) {
+		updateViewCounts(collection, fragmentationMetricsRepository.getPaginatedMemberCounts(collection),
+				membersPaginated, this::paginationCounter);
 	}
 
-	public synchronized void resetPaginationCount(ViewName viewName) {
-		membersPaginated.computeIfAbsent(viewName, v ->
-				Metrics.gauge(PAGINATE, Tags.of(COLLECTION, v.getCollectionName(), VIEW,
-								viewName.getViewName()),
-						new AtomicInteger(0)));
-		membersPaginated.get(viewName).set(0);
+	public void resetPaginationCount(ViewName viewName) {
+		paginationCounter(viewName).reset();
+	}
+
+	@Scheduled(cron = METRICS_RECONCILIATION_CRON)
+	public void reconcileCounts() {
+		membersIngested.keySet().forEach(collection -> {
+			updateIngestCount(collection);
+			updateBucketCounts(collection);
+			updatePaginationCounts(collection);
+		});
 	}
 
 	@EventListener
@@ -138,4 +136,46 @@ public class ServerMetrics {
 		resetBucketCount(event.getViewName());
 		resetPaginationCount(event.getViewName());
 	}
+
+	private LongAdder ingestCounter(String collection) {
+		return membersIngested.computeIfAbsent(collection, c ->
+				Metrics.gauge(INGEST, Tags.of(COLLECTION, c), new LongAdder(), LongAdder::doubleValue));
+	}
+
+	private LongAdder bucketCounter(ViewName viewName) {
+		return membersBucketised.computeIfAbsent(viewName, v ->
+				Metrics.gauge(BUCKET, Tags.of(COLLECTION, v.getCollectionName(), VIEW, v.getViewName()),
+						new LongAdder(), LongAdder::doubleValue));
+	}
+
+	private LongAdder paginationCounter(ViewName viewName) {
+		return membersPaginated.computeIfAbsent(viewName, v ->
+				Metrics.gauge(PAGINATE, Tags.of(COLLECTION, v.getCollectionName(), VIEW, v.getViewName()),
+						new LongAdder(), LongAdder::doubleValue));
+	}
+
+	/**
+	 * Views without members are missing from the counts of the database, so their counters are moved to zero.
+	 */
+	private static void updateViewCounts(String collection, List<FragmentationMetric> metrics, Map<ViewName, LongAdder> counters,
+	                                     Function<ViewName, LongAdder> counter) {
+		final Set<ViewName> countedViews = new HashSet<>();
+		metrics.forEach(metric -> {
+			final ViewName viewName = new ViewName(collection, metric.view());
+			countedViews.add(viewName);
+			set(counter.apply(viewName), metric.count());
+		});
+		counters.forEach((viewName, viewCounter) -> {
+			if (viewName.getCollectionName().equals(collection) && !countedViews.contains(viewName)) {
+				set(viewCounter, 0);
+			}
+		});
+	}
+
+	/**
+	 * Moves the counter to the given count, while keeping the increments that happen at the same time.
+	 */
+	private static void set(LongAdder counter, long count) {
+		counter.add(count - counter.sum());
+	}
 }
@@ -0,0 +1,105 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.domain.services;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.FragmentationMetric;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ServerMetricsTest {
+	private static final String COLLECTION = "collection";
+	private static final ViewName VIEW = new ViewName(COLLECTION, "view");
+	private static final String OTHER_COLLECTION = "other-collection";
+	private static final ViewName OTHER_VIEW = new ViewName(OTHER_COLLECTION, "view");
+	private static final String EMPTIED_COLLECTION = "emptied-collection";
+
+	private final FragmentationMetricsRepository fragmentationMetricsRepository = mock(FragmentationMetricsRepository.class);
+	private final MemberMetricsRepository memberMetricsRepository = mock(MemberMetricsRepository.class);
+	private MeterRegistry meterRegistry;
+	private ServerMetrics serverMetrics;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		Metrics.globalRegistry.add(meterRegistry);
+		serverMetrics = new ServerMetrics(fragmentationMetricsRepository, memberMetricsRepository);
+	}
+
+	@AfterEach
+	void tearDown() {
+		Metrics.globalRegistry.remove(meterRegistry);
+	}
+
+	@Test
+	void when_CountsAreIncrementedConcurrently_then_NoIncrementIsLost() {
+		try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+			IntStream.range(0, 1000).forEach(i -> executor.execute(() -> {
+				serverMetrics.incrementIngestCount(COLLECTION, 2);
+				serverMetrics.incrementBucketCount(VIEW, 1);
+				serverMetrics.incrementPaginationCount(VIEW, 1);
+			}));
+		}
+
+		assertThat(gaugeValue(ServerMetrics.INGEST, COLLECTION)).isEqualTo(2000);
+		assertThat(gaugeValue(ServerMetrics.BUCKET, COLLECTION)).isEqualTo(1000);
+		assertThat(gaugeValue(ServerMetrics.PAGINATE, COLLECTION)).isEqualTo(1000);
+		verifyNoInteractions(fragmentationMetricsRepository, memberMetricsRepository);
+	}
+
+	@Test
+	void when_CountsAreReconciled_then_CountersMatchTheDatabase() {
+		serverMetrics.incrementIngestCount(OTHER_COLLECTION, 10);
+		serverMetrics.incrementBucketCount(OTHER_VIEW, 10);
+		serverMetrics.incrementPaginationCount(OTHER_VIEW, 10);
+		when(memberMetricsRepository.getTotalCount(OTHER_COLLECTION)).thenReturn(7);
+		when(fragmentationMetricsRepository.getBucketisedMemberCounts(OTHER_COLLECTION)).thenReturn(List.of(new FragmentationMetric("view", 6)));
+		when(fragmentationMetricsRepository.getPaginatedMemberCounts(OTHER_COLLECTION)).thenReturn(List.of(new FragmentationMetric("view", 5)));
+
+		serverMetrics.reconcileCounts();
+
+		assertThat(gaugeValue(ServerMetrics.INGEST, OTHER_COLLECTION)).isEqualTo(7);
+		assertThat(gaugeValue(ServerMetrics.BUCKET, OTHER_COLLECTION)).isEqualTo(6);
+		assertThat(gaugeValue(ServerMetrics.PAGINATE, OTHER_COLLECTION)).isEqualTo(5);
+	}
+
+	@Test
+	void given_ViewWithoutMembers_when_CountsAreReconciled_then_ItsCountersAreReset() {
+		final ViewName emptiedView = new ViewName(EMPTIED_COLLECTION, "emptied-view");
+		final ViewName filledView = new ViewName(EMPTIED_COLLECTION, "filled-view");
+		serverMetrics.incrementIngestCount(EMPTIED_COLLECTION, 10);
+		serverMetrics.incrementBucketCount(emptiedView, 10);
+		serverMetrics.incrementPaginationCount(emptiedView, 10);
+		serverMetrics.incrementBucketCount(filledView, 10);
+		when(fragmentationMetricsRepository.getBucketisedMemberCounts(EMPTIED_COLLECTION))
+				.thenReturn(List.of(new FragmentationMetric("filled-view", 4)));
+		when(fragmentationMetricsRepository.getPaginatedMemberCounts(EMPTIED_COLLECTION)).thenReturn(List.of());
+
+		serverMetrics.reconcileCounts();
+
+		assertThat(gaugeValue(ServerMetrics.BUCKET, emptiedView)).isZero();
+		assertThat(gaugeValue(ServerMetrics.PAGINATE, emptiedView)).isZero();
+		assertThat(gaugeValue(ServerMetrics.BUCKET, filledView)).isEqualTo(4);
+	}
+
+	private double gaugeValue(String name, String collection) {
+		return meterRegistry.get(name).tag(ServerMetrics.COLLECTION, collection).gauge().value();
+	}
+
+	private double gaugeValue(String name, ViewName viewName) {
+		return meterRegistry.get(name)
+				.tag(ServerMetrics.COLLECTION, viewName.getCollectionName())
+				.tag(ServerMetrics.VIEW, viewName.getViewName())
+				.gauge().value();
+	}
+}
@@ -18,6 +18,9 @@ public interface EventStreamEntityRepository extends JpaRepository<EventStreamEn
 
 	Optional<EventStreamProperties> findPropertiesByName(String name);
 
+	@Query("SELECT e.id FROM EventStreamEntity e WHERE e.name = :name")
+	Optional<Integer> findIdByName(String name);
+
 	@Modifying
 	@Query("DELETE FROM EventStreamEntity e WHERE e.name = :name")
 	int deleteByName(String name);
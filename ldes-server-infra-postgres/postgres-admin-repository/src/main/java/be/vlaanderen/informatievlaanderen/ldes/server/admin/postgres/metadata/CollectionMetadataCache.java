@@ -0,0 +1,70 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.metadata;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.eventstream.repository.EventStreamEntityRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.view.repository.ViewEntityRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamCreatedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.ViewAddedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.ViewDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.exceptions.MissingResourceException;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the database identifiers of the collections and views in memory, so the ingest, fragmentation and fetch
+ * repositories do not have to resolve them by name on every call. An identifier is looked up once and stays valid
+ * until the admin events report that the collection or view was created again or deleted.
+ */
+@Component
+public class CollectionMetadataCache {
+	private final EventStreamEntityRepository eventStreamEntityRepository;
+	private final ViewEntityRepository viewEntityRepository;
+	private final Map<String, Integer> collectionIds = new ConcurrentHashMap<>();
+	private final Map<ViewName, Integer> viewIds = new ConcurrentHashMap<>();
+
+	public CollectionMetadataCache(EventStreamEntityRepository eventStreamEntityRepository, ViewEntityRepository viewEntityRepository) {
+		this.eventStreamEntityRepository = eventStreamEntityRepository;
+		this.viewEntityRepository = viewEntityRepository;
+	}
+
+	public int getCollectionId(String collectionName) {
+		return collectionIds.computeIfAbsent(collectionName, name -> eventStreamEntityRepository
+				.findIdByName(name)
+				.orElseThrow(() -> new MissingResourceException("eventstream", name)));
+	}
+
+	public int getViewId(ViewName viewName) {
+		return viewIds.computeIfAbsent(viewName, name -> viewEntityRepository
+				.findIdByViewName(name.getCollectionName(), name.getViewName())
+				.orElseThrow(() -> new MissingResourceException("view", name.asString())));
+	}
+
+	@EventListener
+	public void handleEventStreamCreatedEvent(EventStreamCreatedEvent event) {
+		evictCollection(event.eventStream().getCollection());
+	}
+
+	@EventListener
+	public void handleEventStreamDeletedEvent(EventStreamDeletedEvent event) {
+		evictCollection(event.collectionName());
+	}
+
+	@EventListener
+	public void handleViewAddedEvent(ViewAddedEvent event) {
+		viewIds.remove(event.getViewName());
+	}
+
+	@EventListener
+	public void handleViewDeletedEvent(ViewDeletedEvent event) {
+		viewIds.remove(event.getViewName());
+	}
+
+	private void evictCollection(String collectionName) {
+		collectionIds.remove(collectionName);
+		viewIds.keySet().removeIf(viewName -> viewName.getCollectionName().equals(collectionName));
+	}
+}
@@ -15,6 +15,9 @@ public interface ViewEntityRepository  extends JpaRepository<ViewEntity, Integer
     @Query("SELECT v FROM ViewEntity v WHERE v.name = :viewName AND v.eventStream.name = :collectionName")
     Optional<ViewEntity> findByViewName(String collectionName, String viewName);
 
+    @Query("SELECT v.id FROM ViewEntity v WHERE v.name = :viewName AND v.eventStream.name = :collectionName")
+    Optional<Integer> findIdByViewName(String collectionName, String viewName);
+
     @Modifying
     @Query("DELETE FROM ViewEntity v WHERE v.name = :viewName AND v.eventStream.name = :collectionName")
     void deleteByViewName(String collectionName, String viewName);
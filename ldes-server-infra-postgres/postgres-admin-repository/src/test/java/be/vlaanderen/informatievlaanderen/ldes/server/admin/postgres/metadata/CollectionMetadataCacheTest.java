@@ -0,0 +1,79 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.metadata;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.eventstream.repository.EventStreamEntityRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.view.repository.ViewEntityRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.ViewDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.exceptions.MissingResourceException;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CollectionMetadataCacheTest {
+	private static final String COLLECTION_NAME = "collection";
+	private static final ViewName VIEW_NAME = new ViewName(COLLECTION_NAME, "view");
+
+	@Mock
+	private EventStreamEntityRepository eventStreamEntityRepository;
+	@Mock
+	private ViewEntityRepository viewEntityRepository;
+	@InjectMocks
+	private CollectionMetadataCache cache;
+
+	@Test
+	void test_CollectionIdIsOnlyRetrievedOnce() {
+		when(eventStreamEntityRepository.findIdByName(COLLECTION_NAME)).thenReturn(Optional.of(1));
+
+		assertThat(cache.getCollectionId(COLLECTION_NAME)).isEqualTo(1);
+		assertThat(cache.getCollectionId(COLLECTION_NAME)).isEqualTo(1);
+
+		verify(eventStreamEntityRepository).findIdByName(COLLECTION_NAME);
+	}
+
+	@Test
+	void when_CollectionDoesNotExist_then_ThrowException() {
+		when(eventStreamEntityRepository.findIdByName(COLLECTION_NAME)).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> cache.getCollectionId(COLLECTION_NAME))
+				.isInstanceOf(MissingResourceException.class)
+				.hasMessage("Resource of type: eventstream with id: collection could not be found.");
+	}
+
+	@Test
+	void when_EventStreamIsDeleted_then_CollectionAndViewIdsAreRetrievedAgain() {
+		when(eventStreamEntityRepository.findIdByName(COLLECTION_NAME)).thenReturn(Optional.of(1), Optional.of(2));
+		when(viewEntityRepository.findIdByViewName(COLLECTION_NAME, "view")).thenReturn(Optional.of(3), Optional.of(4));
+		cache.getCollectionId(COLLECTION_NAME);
+		cache.getViewId(VIEW_NAME);
+
+		cache.handleEventStreamDeletedEvent(new EventStreamDeletedEvent(COLLECTION_NAME));
+
+		assertThat(cache.getCollectionId(COLLECTION_NAME)).isEqualTo(2);
+		assertThat(cache.getViewId(VIEW_NAME)).isEqualTo(4);
+	}
+
+	@Test
+	void when_ViewIsDeleted_then_OnlyViewIdIsRetrievedAgain() {
+		when(eventStreamEntityRepository.findIdByName(COLLECTION_NAME)).thenReturn(Optional.of(1));
+		when(viewEntityRepository.findIdByViewName(COLLECTION_NAME, "view")).thenReturn(Optional.of(3), Optional.of(4));
+		cache.getCollectionId(COLLECTION_NAME);
+		cache.getViewId(VIEW_NAME);
+
+		cache.handleViewDeletedEvent(new ViewDeletedEvent(VIEW_NAME));
+
+		assertThat(cache.getCollectionId(COLLECTION_NAME)).isEqualTo(1);
+		assertThat(cache.getViewId(VIEW_NAME)).isEqualTo(4);
+		verify(eventStreamEntityRepository, times(1)).findIdByName(COLLECTION_NAME);
+		verify(viewEntityRepository, times(2)).findIdByViewName(COLLECTION_NAME, "view");
+	}
+}
@@ -1,57 +1,101 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.postgres;
 
-import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.view.entity.ViewEntity;
-import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.view.repository.ViewEntityRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.metadata.CollectionMetadataCache;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Bucket;
-import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.postgres.entity.BucketEntity;
-import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.postgres.mapper.BucketMapper;
-import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.postgres.repository.BucketEntityRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.postgres.cache.BucketCache;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.repository.BucketRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptor;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketInsertion;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Objects;
-import java.util.Optional;
+import javax.sql.DataSource;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 public class BucketPostgresRepository implements BucketRepository {
-	private final ViewEntityRepository viewEntityRepository;
-	private final BucketEntityRepository bucketEntityRepository;
+	private static final String SELECT_SQL = """
+			SELECT b.bucket_id
+			FROM buckets b
+			    JOIN views v ON v.view_id = b.view_id
+			    JOIN collections c ON c.collection_id = v.collection_id
+			WHERE c.name = ? AND v.name = ? AND b.bucket = ?""";
+	private static final String UPSERT_SQL = """
+			INSERT INTO buckets (view_id, bucket)
+			SELECT ?, UNNEST(?::varchar[])
+			ON CONFLICT (bucket, view_id) DO UPDATE SET bucket = EXCLUDED.bucket
+			RETURNING bucket_id, bucket, xmax = 0 AS created""";
 
-	public BucketPostgresRepository(ViewEntityRepository viewEntityRepository, BucketEntityRepository bucketEntityRepository) {
-		this.viewEntityRepository = viewEntityRepository;
-		this.bucketEntityRepository = bucketEntityRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final CollectionMetadataCache collectionMetadataCache;
+	private final BucketCache bucketCache;
+
+	public BucketPostgresRepository(DataSource dataSource, CollectionMetadataCache collectionMetadataCache, BucketCache bucketCache) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.collectionMetadataCache = collectionMetadataCache;
+		this.bucketCache = bucketCache;
 	}
 
 	@Override
 	public Optional<Bucket> retrieveBucket(ViewName viewName, BucketDescriptor bucketDescriptor) {
-		return bucketEntityRepository
-				.findBucketEntityByBucketDescriptor(viewName.asString(), bucketDescriptor.asDecodedString())
-				.map(BucketMapper::fromProjection);
+		return bucketCache.get(viewName, bucketDescriptor)
+				.or(() -> {
+					final Optional<Bucket> bucket = jdbcTemplate
+							.queryForList(SELECT_SQL, Long.class, viewName.getCollectionName(), viewName.getViewName(), bucketDescriptor.asDecodedString())
+							.stream()
+							.findFirst()
+							.map(bucketId -> new Bucket(bucketId, bucketDescriptor, viewName));
+					bucket.ifPresent(retrievedBucket -> bucketCache.putAll(List.of(retrievedBucket)));
+					return bucket;
+				});
 	}
 
 	@Override
 	@Transactional
 	public Bucket insertBucket(Bucket bucket) {
-		ViewEntity view = viewEntityRepository.findByViewName(bucket.getViewName().getCollectionName(), bucket.getViewName().getViewName())
-				.orElseThrow();
-
-		BucketEntity bucketEntity = new BucketEntity(view, bucket.getBucketDescriptorAsString());
-		bucketEntity = bucketEntityRepository.save(bucketEntity);
+		return insertBuckets(List.of(bucket)).getFirst().bucket();
+	}
 
-		return new Bucket(
-				Objects.requireNonNull(bucketEntity.getBucketId()),
-				bucket.getBucketDescriptor(),
-				bucket.getViewName()
-		);
+	/**
+	 * Buckets that are cached are known to exist, the others are upserted with a single statement per view, which
+	 * returns the id of the buckets that already existed as well.
+	 */
+	@Override
+	@Transactional
+	public List<BucketInsertion> insertBuckets(List<Bucket> buckets) {
+		final Map<Bucket, BucketInsertion> insertions = new HashMap<>();
+		buckets.forEach(bucket -> bucketCache.get(bucket.getViewName(), bucket.getBucketDescriptor())
+				.ifPresent(cachedBucket -> insertions.put(bucket, new BucketInsertion(cachedBucket, false))));
+		buckets.stream()
+				.filter(bucket -> !insertions.containsKey(bucket))
+				.collect(Collectors.groupingBy(Bucket::getViewName, Collectors.toCollection(LinkedHashSet::new)))
+				.forEach((viewName, missingBuckets) -> insertions.putAll(upsertBuckets(viewName, missingBuckets)));
+		bucketCache.putAll(insertions.values().stream().map(BucketInsertion::bucket).toList());
+		return buckets.stream().map(insertions::get).toList();
 	}
 
 	@Override
 	public Optional<Bucket> retrieveRootBucket(ViewName viewName) {
-		return bucketEntityRepository
-				.findBucketEntityByBucketDescriptor(viewName.asString(), "")
-				.map(BucketMapper::fromProjection);
+		return retrieveBucket(viewName, BucketDescriptor.empty());
+	}
+
+	private Map<Bucket, BucketInsertion> upsertBuckets(ViewName viewName, Set<Bucket> buckets) {
+		final int viewId = collectionMetadataCache.getViewId(viewName);
+		final Map<String, Bucket> bucketsByDescriptor = buckets.stream()
+				.collect(Collectors.toMap(Bucket::getBucketDescriptorAsString, Function.identity()));
+		final Map<Bucket, BucketInsertion> insertions = new HashMap<>();
+		jdbcTemplate.query(UPSERT_SQL,
+				rs -> {
+					final Bucket bucket = bucketsByDescriptor.get(rs.getString("bucket"));
+					insertions.put(bucket, new BucketInsertion(
+							new Bucket(rs.getLong("bucket_id"), bucket.getBucketDescriptor(), viewName),
+							rs.getBoolean("created")));
+				},
+				viewId, bucketsByDescriptor.keySet().toArray(String[]::new));
+		return insertions;
 	}
 }
@@ -0,0 +1,92 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.postgres.cache;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.ViewDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Bucket;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptor;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.BUCKET_CACHE_SIZE;
+
+/**
+ * Keeps the most recently used buckets of every view in memory, so the bucket of a descriptor only has to be looked up
+ * once. Buckets are only shared with other threads once the transaction in which they were retrieved or inserted is
+ * committed, as a rolled back transaction could otherwise leave buckets behind in the cache that do not exist.
+ * Until then, they are only visible within their own transaction.
+ */
+@Component
+public class BucketCache {
+	private final long maximumSizePerView;
+	private final Map<ViewName, Cache<BucketDescriptor, Bucket>> buckets = new ConcurrentHashMap<>();
+
+	public BucketCache(@Value(BUCKET_CACHE_SIZE) long maximumSizePerView) {
+		this.maximumSizePerView = maximumSizePerView;
+	}
+
+	public Optional<Bucket> get(ViewName viewName, BucketDescriptor bucketDescriptor) {
+		return Optional.ofNullable(getPendingBuckets(viewName).get(bucketDescriptor))
+				.or(() -> Optional.ofNullable(getCache(viewName).getIfPresent(bucketDescriptor)));
+	}
+
+	public void putAll(Collection<Bucket> bucketsToCache) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			bucketsToCache.forEach(bucket -> getPendingBuckets(bucket.getViewName()).put(bucket.getBucketDescriptor(), bucket));
+		} else {
+			bucketsToCache.forEach(bucket -> getCache(bucket.getViewName()).put(bucket.getBucketDescriptor(), bucket));
+		}
+	}
+
+	@EventListener
+	public void handleEventStreamDeletedEvent(EventStreamDeletedEvent event) {
+		buckets.keySet().removeIf(viewName -> viewName.getCollectionName().equals(event.collectionName()));
+	}
+
+	@EventListener
+	public void handleViewDeletedEvent(ViewDeletedEvent event) {
+		buckets.remove(event.getViewName());
+	}
+
+	private Cache<BucketDescriptor, Bucket> getCache(ViewName viewName) {
+		return buckets.computeIfAbsent(viewName, name -> CacheBuilder.newBuilder().maximumSize(maximumSizePerView).build());
+	}
+
+	private Map<BucketDescriptor, Bucket> getPendingBuckets(ViewName viewName) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return Map.of();
+		}
+		PendingBuckets pendingBuckets = (PendingBuckets) TransactionSynchronizationManager.getResource(this);
+		if (pendingBuckets == null) {
+			pendingBuckets = new PendingBuckets();
+			TransactionSynchronizationManager.bindResource(this, pendingBuckets);
+			TransactionSynchronizationManager.registerSynchronization(pendingBuckets);
+		}
+		return pendingBuckets.buckets.computeIfAbsent(viewName, name -> new HashMap<>());
+	}
+
+	private class PendingBuckets implements TransactionSynchronization {
+		private final Map<ViewName, Map<BucketDescriptor, Bucket>> buckets = new HashMap<>();
+
+		@Override
+		public void afterCommit() {
+			buckets.forEach((viewName, pending) -> getCache(viewName).putAll(pending));
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResource(BucketCache.this);
+		}
+	}
+}
@@ -4,13 +4,16 @@ import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Bucket;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptor;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptorPair;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketInsertion;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 class BucketPostgresRepositoryTest extends PostgresBucketisationIntegrationTest {
 	private static final ViewName VIEW_NAME = new ViewName("collection", "name");
@@ -46,6 +49,37 @@ class BucketPostgresRepositoryTest extends PostgresBucketisationIntegrationTest
 
 		assertThat(result)
 				.usingRecursiveComparison()
+				.ignoringFields("bucketId")
 				.isEqualTo(expectedSavedBucket);
+		assertThat(result.getBucketId()).isPositive();
+	}
+
+	@Test
+	@Sql("./init-bucketWriter.sql")
+	void test_BatchInsertion() {
+		final Bucket existingBucket = bucketPostgresRepository.insertBucket(new Bucket(BUCKET_DESCRIPTOR, VIEW_NAME));
+		final Bucket newBucket = new Bucket(BucketDescriptor.fromString("key=other"), VIEW_NAME);
+
+		final List<BucketInsertion> result = bucketPostgresRepository.insertBuckets(List.of(new Bucket(BUCKET_DESCRIPTOR, VIEW_NAME), newBucket, newBucket));
+
+		assertThat(result)
+				.extracting(BucketInsertion::bucket, BucketInsertion::created)
+				.containsExactly(tuple(existingBucket, false), tuple(newBucket, true), tuple(newBucket, true));
+		assertThat(result.getFirst().bucket().getBucketId()).isEqualTo(existingBucket.getBucketId());
+		assertThat(result.get(1).bucket().getBucketId()).isNotEqualTo(existingBucket.getBucketId()).isEqualTo(result.get(2).bucket().getBucketId());
+		assertThat(bucketPostgresRepository.retrieveBucket(VIEW_NAME, newBucket.getBucketDescriptor()))
+				.map(Bucket::getBucketId)
+				.contains(result.get(1).bucket().getBucketId());
+	}
+
+	@Test
+	@Sql("./init-bucketReader.sql")
+	void test_ExistingBucketsAreNotReportedAsCreated() {
+		final Bucket bucket = new Bucket(BUCKET_DESCRIPTOR, VIEW_NAME);
+
+		final List<BucketInsertion> result = bucketPostgresRepository.insertBuckets(List.of(bucket));
+
+		assertThat(result).containsExactly(new BucketInsertion(bucket, false));
+		assertThat(result.getFirst().bucket().getBucketId()).isEqualTo(1L);
 	}
 }
\ No newline at end of file
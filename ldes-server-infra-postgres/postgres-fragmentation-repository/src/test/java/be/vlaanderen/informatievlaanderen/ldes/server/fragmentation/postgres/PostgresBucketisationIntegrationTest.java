@@ -34,9 +34,12 @@ import static org.mockito.Mockito.mock;
 @EntityScan(basePackages = {"be.vlaanderen.informatievlaanderen.ldes.server"})
 @ComponentScan(basePackages = {
 		"be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.postgres",
+		"be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.metadata",
+		"be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.compression",
 		"be.vlaanderen.informatievlaanderen.ldes.server.domain"
 })
 @EnableJpaRepositories(basePackages = {
+		"be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.eventstream",
 		"be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.view",
 		"be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.postgres"
 })
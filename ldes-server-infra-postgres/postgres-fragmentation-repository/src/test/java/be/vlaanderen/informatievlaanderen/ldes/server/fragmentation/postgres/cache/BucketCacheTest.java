@@ -0,0 +1,104 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.postgres.cache;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.ViewDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Bucket;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BucketCacheTest {
+	private static final ViewName VIEW_NAME = new ViewName("collection", "view");
+	private static final ViewName OTHER_VIEW_NAME = new ViewName("collection", "other-view");
+	private static final BucketDescriptor DESCRIPTOR = BucketDescriptor.fromString("year=2023");
+	private static final Bucket BUCKET = new Bucket(1, DESCRIPTOR, VIEW_NAME);
+
+	private final BucketCache bucketCache = new BucketCache(2);
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void test_CachedBucketIsRetrieved() {
+		bucketCache.putAll(List.of(BUCKET));
+
+		assertThat(bucketCache.get(VIEW_NAME, DESCRIPTOR)).containsSame(BUCKET);
+		assertThat(bucketCache.get(OTHER_VIEW_NAME, DESCRIPTOR)).isEmpty();
+	}
+
+	@Test
+	void test_LeastRecentlyUsedBucketsAreEvicted() {
+		bucketCache.putAll(List.of(
+				BUCKET,
+				new Bucket(2, BucketDescriptor.fromString("year=2024"), VIEW_NAME),
+				new Bucket(3, BucketDescriptor.fromString("year=2025"), VIEW_NAME)
+		));
+
+		assertThat(bucketCache.get(VIEW_NAME, DESCRIPTOR)).isEmpty();
+		assertThat(bucketCache.get(VIEW_NAME, BucketDescriptor.fromString("year=2025"))).isPresent();
+	}
+
+	@Test
+	void when_TransactionIsCommitted_then_BucketIsShared() {
+		TransactionSynchronizationManager.initSynchronization();
+		bucketCache.putAll(List.of(BUCKET));
+		assertThat(bucketCache.get(VIEW_NAME, DESCRIPTOR)).containsSame(BUCKET);
+
+		completeTransaction(true);
+
+		assertThat(bucketCache.get(VIEW_NAME, DESCRIPTOR)).containsSame(BUCKET);
+	}
+
+	@Test
+	void when_TransactionIsRolledBack_then_BucketIsNotShared() {
+		TransactionSynchronizationManager.initSynchronization();
+		bucketCache.putAll(List.of(BUCKET));
+
+		completeTransaction(false);
+
+		assertThat(bucketCache.get(VIEW_NAME, DESCRIPTOR)).isEmpty();
+	}
+
+	@Test
+	void when_ViewIsDeleted_then_OnlyBucketsOfViewAreEvicted() {
+		final Bucket otherBucket = new Bucket(2, DESCRIPTOR, OTHER_VIEW_NAME);
+		bucketCache.putAll(List.of(BUCKET, otherBucket));
+
+		bucketCache.handleViewDeletedEvent(new ViewDeletedEvent(VIEW_NAME));
+
+		assertThat(bucketCache.get(VIEW_NAME, DESCRIPTOR)).isEmpty();
+		assertThat(bucketCache.get(OTHER_VIEW_NAME, DESCRIPTOR)).containsSame(otherBucket);
+	}
+
+	@Test
+	void when_EventStreamIsDeleted_then_BucketsOfAllViewsAreEvicted() {
+		bucketCache.putAll(List.of(BUCKET, new Bucket(2, DESCRIPTOR, OTHER_VIEW_NAME)));
+
+		bucketCache.handleEventStreamDeletedEvent(new EventStreamDeletedEvent("collection"));
+
+		assertThat(bucketCache.get(VIEW_NAME, DESCRIPTOR)).isEmpty();
+		assertThat(bucketCache.get(OTHER_VIEW_NAME, DESCRIPTOR)).isEmpty();
+	}
+
+	private void completeTransaction(boolean committed) {
+		final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		if (committed) {
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		}
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(committed
+				? TransactionSynchronization.STATUS_COMMITTED
+				: TransactionSynchronization.STATUS_ROLLED_BACK));
+	}
+}
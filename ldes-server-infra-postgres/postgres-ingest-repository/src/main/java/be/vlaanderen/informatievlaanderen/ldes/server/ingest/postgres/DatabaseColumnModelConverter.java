@@ -1,5 +1,6 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.compression.MemberModelCompressor;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import org.apache.jena.rdf.model.Model;
@@ -13,15 +14,39 @@ import java.io.ByteArrayOutputStream;
 @Converter
 @Component
 public class DatabaseColumnModelConverter implements AttributeConverter<Model, byte[]> {
+    private final MemberModelCompressor compressor;
+
+    public DatabaseColumnModelConverter(MemberModelCompressor compressor) {
+        this.compressor = compressor;
+    }
+
+    /**
+     * The collection of the model is not known here, so the model is stored without compression.
+     */
     @Override
     public byte[] convertToDatabaseColumn(Model attribute) {
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
-        RDFWriter.source(attribute).lang(PostgresIngestMemberConstants.SERIALISATION_LANG).output(stream);
-        return stream.toByteArray();
+        return serialise(attribute);
+    }
+
+    public byte[] convertToDatabaseColumn(String collectionName, Model attribute) {
+        return compressor.compress(collectionName, serialise(attribute));
     }
 
     @Override
     public Model convertToEntityAttribute(byte[] dbData) {
-        return RDFParser.source(new ByteArrayInputStream(dbData)).lang(PostgresIngestMemberConstants.SERIALISATION_LANG).toModel();
+        return RDFParser.source(new ByteArrayInputStream(toSerialisedModel(dbData))).lang(PostgresIngestMemberConstants.SERIALISATION_LANG).toModel();
+    }
+
+    /**
+     * @return the stored model in {@link PostgresIngestMemberConstants#SERIALISATION_LANG}, without parsing it
+     */
+    public byte[] toSerialisedModel(byte[] dbData) {
+        return compressor.decompress(dbData);
+    }
+
+    public byte[] serialise(Model model) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        RDFWriter.source(model).lang(PostgresIngestMemberConstants.SERIALISATION_LANG).output(stream);
+        return stream.toByteArray();
     }
 }
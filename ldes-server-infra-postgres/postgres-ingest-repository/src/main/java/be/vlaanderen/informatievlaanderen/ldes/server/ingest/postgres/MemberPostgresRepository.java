@@ -1,43 +1,69 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres;
 
-import be.vlaanderen.informatievlaanderen.ldes.server.domain.exceptions.MissingResourceException;
+import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.metadata.CollectionMetadataCache;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.Member;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.repository.TreeMemberRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.entities.IngestedMember;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.copy.MemberCopyWriter;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.entity.MemberEntity;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.filter.MemberSubjectFilter;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.mapper.MemberEntityMapper;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.mapper.MemberRowMapper;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.partition.MemberPartitions;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.repository.MemberEntityRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.repositories.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.sql.DataSource;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.INGEST_COPY_ENABLED;
+
 @Repository
 public class MemberPostgresRepository implements MemberRepository, TreeMemberRepository {
 	private final MemberEntityRepository repository;
 	private final MemberEntityMapper mapper;
 	private final DatabaseColumnModelConverter modelConverter;
 	private final JdbcTemplate jdbcTemplate;
+	private final MemberCopyWriter memberCopyWriter;
+	private final CollectionMetadataCache collectionMetadataCache;
+	private final MemberSubjectFilter memberSubjectFilter;
+	private final MemberPartitions memberPartitions;
+	private final boolean copyEnabled;
 
 	public MemberPostgresRepository(MemberEntityRepository repository,
-	                                MemberEntityMapper mapper, DatabaseColumnModelConverter modelConverter, DataSource dataSource) {
+	                                MemberEntityMapper mapper, DatabaseColumnModelConverter modelConverter, DataSource dataSource,
+	                                MemberCopyWriter memberCopyWriter, CollectionMetadataCache collectionMetadataCache,
+	                                MemberSubjectFilter memberSubjectFilter, MemberPartitions memberPartitions,
+	                                @Value(INGEST_COPY_ENABLED) boolean copyEnabled) {
 		this.repository = repository;
 		this.mapper = mapper;
 		this.modelConverter = modelConverter;
 		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.memberCopyWriter = memberCopyWriter;
+		this.collectionMetadataCache = collectionMetadataCache;
+		this.memberSubjectFilter = memberSubjectFilter;
+		this.memberPartitions = memberPartitions;
+		this.copyEnabled = copyEnabled;
 	}
 
 	@Override
 	@Transactional
 	public List<IngestedMember> insertAll(List<IngestedMember> members) {
-		final int collectionId = getCollectionId(members.getFirst().getCollectionName());
+		final String collectionName = members.getFirst().getCollectionName();
+		final int collectionId = collectionMetadataCache.getCollectionId(collectionName);
+		memberPartitions.lockSubjects(collectionId);
+		if (copyEnabled) {
+			return memberCopyWriter.insertAll(members);
+		}
 		final List<String> subjects = members.stream().map(IngestedMember::getSubject).toList();
-		if (!membersContainDuplicateIds(members) && !membersExistInCollection(collectionId, subjects)) {
+		if (!membersContainDuplicateIds(members) && !membersExistInCollection(collectionName, collectionId, subjects)) {
 			String sql = "INSERT INTO members (subject, collection_id, version_of, timestamp, transaction_id, member_model, old_id) VALUES (?,?,?,?,?,?,?)";
 
 			final List<Object[]> batchArgs = members.stream()
@@ -47,12 +73,14 @@ public class MemberPostgresRepository implements MemberRepository, TreeMemberRep
 							member.getVersionOf(),
 							member.getTimestamp(),
 							member.getTransactionId(),
-							modelConverter.convertToDatabaseColumn(member.getModel()),
+							modelConverter.convertToDatabaseColumn(collectionName, member.getModel()),
 							member.getCollectionName() + "/" + member.getSubject()
 					})
 					.toList();
 
-			jdbcTemplate.batchUpdate(sql, batchArgs);
+			final List<LocalDateTime> timestamps = members.stream().map(IngestedMember::getTimestamp).toList();
+			memberPartitions.insertIntoPartitions(collectionId, timestamps, () -> jdbcTemplate.batchUpdate(sql, batchArgs));
+			memberSubjectFilter.addAll(collectionName, subjects);
 
 			return members;
 		} else {
@@ -60,8 +88,9 @@ public class MemberPostgresRepository implements MemberRepository, TreeMemberRep
 		}
 	}
 
-	protected boolean membersExistInCollection(int collectionId, List<String> subjects) {
-		return repository.existsByCollectionAndSubjectIn(collectionId, subjects);
+	protected boolean membersExistInCollection(String collectionName, int collectionId, List<String> subjects) {
+		return memberSubjectFilter.mightContainAny(collectionName, subjects)
+				&& repository.existsByCollectionAndSubjectIn(collectionId, subjects);
 	}
 
 	protected boolean membersContainDuplicateIds(List<IngestedMember> members) {
@@ -88,7 +117,10 @@ public class MemberPostgresRepository implements MemberRepository, TreeMemberRep
 	@Override
 	@Transactional
 	public void deleteMembersByCollectionNameAndSubjects(String collectionName, List<String> subjects) {
-		repository.deleteAllByCollectionNameAndSubjectIn(collectionName, subjects);
+		final List<String> deletedSubjects = repository.deleteAllByCollectionNameAndSubjectIn(collectionName, subjects).stream()
+				.map(MemberEntity::getSubject)
+				.toList();
+		memberSubjectFilter.removeAll(collectionName, deletedSubjects);
 	}
 
 	@Override
@@ -99,20 +131,20 @@ public class MemberPostgresRepository implements MemberRepository, TreeMemberRep
 
 	@Override
 	public Stream<Member> findAllByTreeNodeUrl(String url) {
+		final String collectionSql = """
+				SELECT v.collection_id
+				FROM pages p
+				    JOIN buckets b ON b.bucket_id = p.bucket_id
+				    JOIN views v ON v.view_id = b.view_id
+				WHERE p.partial_url = ?""";
 		final String sql = """
 				SELECT m.subject, m.member_model
 				FROM members m
 				    JOIN page_members USING (member_id)
 				    JOIN pages p USING (page_id)
-				WHERE p.partial_url = ?""";
-		return jdbcTemplate.query(sql, new MemberRowMapper(), url).stream();
-	}
-
-	private int getCollectionId(String collectionName) {
-		final Integer collectionId = jdbcTemplate.queryForObject("SELECT collection_id FROM collections WHERE name = ?", Integer.class, collectionName);
-		if (collectionId == null) {
-			throw new MissingResourceException("eventstream", collectionName);
-		}
-		return collectionId;
+				WHERE p.partial_url = ? AND m.collection_id = ?""";
+		return jdbcTemplate.queryForList(collectionSql, Integer.class, url)
+				.stream()
+				.flatMap(collectionId -> jdbcTemplate.query(sql, new MemberRowMapper(modelConverter), url, collectionId).stream());
 	}
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.FragmentationMember;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.DatabaseColumnModelConverter;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.mapper.FragmentationMemberRowMapper;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.database.JdbcPagingItemReader;
@@ -15,22 +16,29 @@ import javax.sql.DataSource;
 import java.util.HashMap;
 import java.util.Map;
 
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch.MemberRangePartitioner.COLLECTION_ID;
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch.MemberRangePartitioner.LOWER_BOUND;
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch.MemberRangePartitioner.UPPER_BOUND;
+
 @Configuration
 public class MemberItemReader {
 	private static final int PAGE_SIZE = 500;
 
 	@Bean
 	@StepScope
-	public JdbcPagingItemReader<FragmentationMember> memberReader(@Value("#{jobParameters}") Map<String, Object> jobParameters,
-	                                                              DataSource dataSource) {
+	public JdbcPagingItemReader<FragmentationMember> memberReader(@Value("#{jobParameters['collectionName']}") String collectionName,
+	                                                              @Value("#{stepExecutionContext['collectionId']}") Long collectionId,
+	                                                              @Value("#{stepExecutionContext['lowerBound']}") Long lowerBound,
+	                                                              @Value("#{stepExecutionContext['upperBound']}") Long upperBound,
+	                                                              DataSource dataSource,
+	                                                              DatabaseColumnModelConverter modelConverter) {
 		return new JdbcPagingItemReaderBuilder<FragmentationMember>()
 				.name("memberReader")
 				.dataSource(dataSource)
-				.rowMapper(new FragmentationMemberRowMapper())
+				.rowMapper(new FragmentationMemberRowMapper(modelConverter))
 				.queryProvider(memberQuery())
-				.parameterValues(jobParameters)
+				.parameterValues(Map.of("collectionName", collectionName, COLLECTION_ID, collectionId, LOWER_BOUND, lowerBound, UPPER_BOUND, upperBound))
 				.pageSize(PAGE_SIZE)
-				.maxItemCount(20 * PAGE_SIZE)
 				.build();
 	}
 
@@ -41,13 +49,11 @@ public class MemberItemReader {
 		queryProvider.setSelectClause("m.member_id, m.subject, m.version_of, m.timestamp, c.name, c.version_of_path, c.timestamp_path, c.create_versions, m.member_model");
 		queryProvider.setFromClause("""
                      collections c
-                      join views v on v.collection_id = c.collection_id
-                      join bucket_stats bs on bs.collection_id = c.collection_id and bs.view_id = v.view_id
                       join members m on m.collection_id = c.collection_id
              """);
 		queryProvider.setWhereClause("""
-                   m.member_id > bs.last
-                    AND v.name = :viewName AND c.name = :collectionName
+                   m.collection_id = :collectionId AND m.member_id > :lowerBound AND m.member_id <= :upperBound
+                    AND c.name = :collectionName
              """);
 		queryProvider.setSortKeys(sortKeys);
 		return queryProvider;
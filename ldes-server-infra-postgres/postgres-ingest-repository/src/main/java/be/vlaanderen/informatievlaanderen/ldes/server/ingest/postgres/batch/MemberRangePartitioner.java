@@ -0,0 +1,80 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch;
+
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the members of the collection that are not bucketised yet for the view into consecutive member id ranges,
+ * of which the lower bound is exclusive and the upper bound inclusive. At most {@link #MAX_MEMBERS} members are
+ * handed out per job, so a range never has to be cut off halfway. The members are looked up by the id of their
+ * collection, so that only the member partitions of that collection are read.
+ */
+@Component(MemberRangePartitioner.NAME)
+@StepScope
+public class MemberRangePartitioner implements Partitioner {
+	public static final String NAME = "memberRangePartitioner";
+	public static final String LOWER_BOUND = "lowerBound";
+	public static final String UPPER_BOUND = "upperBound";
+	public static final String COLLECTION_ID = "collectionId";
+	static final int MAX_MEMBERS = 10_000;
+	private static final String LOWER_BOUND_SQL = """
+			SELECT c.collection_id, bs.last AS lower_bound
+			FROM collections c
+			    JOIN views v ON v.collection_id = c.collection_id
+			    JOIN bucket_stats bs ON bs.collection_id = c.collection_id AND bs.view_id = v.view_id
+			WHERE c.name = ? AND v.name = ?""";
+	private static final String UPPER_BOUND_SQL = """
+			SELECT MAX(w.member_id)
+			FROM (SELECT m.member_id
+			      FROM members m
+			      WHERE m.collection_id = ? AND m.member_id > ?
+			      ORDER BY m.member_id
+			      LIMIT ?) w""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Map<String, Object> jobParameters;
+
+	public MemberRangePartitioner(DataSource dataSource, @Value("#{jobParameters}") Map<String, Object> jobParameters) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jobParameters = jobParameters;
+	}
+
+	@Override
+	public Map<String, ExecutionContext> partition(int gridSize) {
+		final String collectionName = (String) jobParameters.get("collectionName");
+		final String viewName = (String) jobParameters.get("viewName");
+
+		final List<long[]> lowerBounds = jdbcTemplate.query(LOWER_BOUND_SQL,
+				(rs, rowNum) -> new long[]{rs.getLong("collection_id"), rs.getLong("lower_bound")}, collectionName, viewName);
+		if (lowerBounds.isEmpty()) {
+			return Map.of();
+		}
+		final long collectionId = lowerBounds.getFirst()[0];
+		final long lowerBound = lowerBounds.getFirst()[1];
+		final Long upperBound = jdbcTemplate.queryForObject(UPPER_BOUND_SQL, Long.class, collectionId, lowerBound, MAX_MEMBERS);
+		if (upperBound == null || upperBound <= lowerBound) {
+			return Map.of();
+		}
+		return split(collectionId, lowerBound, upperBound, Math.max(1, gridSize));
+	}
+
+	private Map<String, ExecutionContext> split(long collectionId, long lowerBound, long upperBound, int rangeCount) {
+		final long rangeSize = Math.ceilDiv(upperBound - lowerBound, rangeCount);
+		final Map<String, ExecutionContext> partitions = new HashMap<>();
+		for (long rangeStart = lowerBound; rangeStart < upperBound; rangeStart += rangeSize) {
+			final long rangeEnd = Math.min(rangeStart + rangeSize, upperBound);
+			partitions.put("range:%d".formatted(partitions.size()),
+					new ExecutionContext(Map.of(COLLECTION_ID, collectionId, LOWER_BOUND, rangeStart, UPPER_BOUND, rangeEnd)));
+		}
+		return partitions;
+	}
+}
@@ -0,0 +1,49 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch.MemberRangePartitioner.LOWER_BOUND;
+
+/**
+ * The next bucketisation of a view starts after the highest bucketised member. When a member range failed while a
+ * higher range succeeded, the members that were bucketised after the lower bound of the failed range are removed
+ * again, so the next bucketisation does not skip the members of the failed range.
+ */
+@Component(MemberRangeRollback.NAME)
+public class MemberRangeRollback implements StepExecutionListener {
+	public static final String NAME = "memberRangeRollback";
+	private static final String SQL = """
+			DELETE FROM page_members pm
+			USING buckets b, views v, collections c
+			WHERE pm.bucket_id = b.bucket_id AND b.view_id = v.view_id AND v.collection_id = c.collection_id
+			  AND c.name = ? AND v.name = ? AND pm.member_id > ? AND pm.page_id IS NULL""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public MemberRangeRollback(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@Override
+	public ExitStatus afterStep(@NotNull StepExecution stepExecution) {
+		stepExecution.getJobExecution().getStepExecutions()
+				.stream()
+				.filter(execution -> execution.getExecutionContext().containsKey(LOWER_BOUND))
+				.filter(execution -> execution.getStatus() != BatchStatus.COMPLETED)
+				.mapToLong(execution -> execution.getExecutionContext().getLong(LOWER_BOUND))
+				.min()
+				.ifPresent(lowerBound -> jdbcTemplate.update(SQL,
+						stepExecution.getJobParameters().getString("collectionName"),
+						stepExecution.getJobParameters().getString("viewName"),
+						lowerBound));
+		return StepExecutionListener.super.afterStep(stepExecution);
+	}
+}
@@ -0,0 +1,107 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.compression;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamDeletedEvent;
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.MEMBER_MODEL_COMPRESSION_ENABLED;
+
+/**
+ * Compresses the serialised member models with the zstd dictionary of their collection. A zstd frame holds the id of
+ * the dictionary it was compressed with, so a model can be decompressed without knowing its collection. Models that
+ * were stored before their collection had a dictionary, or while compression was disabled, are kept as they are and
+ * are recognised because a serialised model never starts with the zstd magic number.
+ */
+@Component
+public class MemberModelCompressor {
+	static final int COMPRESSION_LEVEL = 3;
+	private static final byte[] ZSTD_MAGIC_NUMBER = {0x28, (byte) 0xB5, 0x2F, (byte) 0xFD};
+	private static final String DICTIONARIES_SQL = """
+			SELECT c.name, d.dictionary_id, d.dictionary
+			FROM member_model_dictionaries d
+			    JOIN collections c ON c.collection_id = d.collection_id""";
+	private static final String DICTIONARY_SQL = "SELECT dictionary FROM member_model_dictionaries WHERE dictionary_id = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final boolean enabled;
+	private final Map<String, ZstdDictCompress> compressionDictionaries = new ConcurrentHashMap<>();
+	private final Map<Long, ZstdDictDecompress> decompressionDictionaries = new ConcurrentHashMap<>();
+
+	public MemberModelCompressor(DataSource dataSource, @Value(MEMBER_MODEL_COMPRESSION_ENABLED) boolean enabled) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return the compressed model, or the model itself when its collection has no dictionary yet or when compressing
+	 * does not make it smaller
+	 */
+	public byte[] compress(String collectionName, byte[] model) {
+		final ZstdDictCompress dictionary = enabled ? compressionDictionaries.get(collectionName) : null;
+		if (dictionary == null) {
+			return model;
+		}
+		final byte[] compressed = Zstd.compress(model, dictionary);
+		return compressed.length < model.length ? compressed : model;
+	}
+
+	public byte[] decompress(byte[] dbData) {
+		if (!isCompressed(dbData)) {
+			return dbData;
+		}
+		final int size = (int) Zstd.getFrameContentSize(dbData);
+		final long dictionaryId = Zstd.getDictIdFromFrame(dbData);
+		return dictionaryId == 0
+				? Zstd.decompress(dbData, size)
+				: Zstd.decompress(dbData, getDecompressionDictionary(dictionaryId), size);
+	}
+
+	/**
+	 * Loads the dictionaries of all collections, including the ones that were trained by other instances.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadDictionaries() {
+		jdbcTemplate.query(DICTIONARIES_SQL, rs -> {
+			final long dictionaryId = rs.getLong("dictionary_id");
+			final byte[] dictionary = rs.getBytes("dictionary");
+			compressionDictionaries.computeIfAbsent(rs.getString("name"), name -> new ZstdDictCompress(dictionary, COMPRESSION_LEVEL));
+			decompressionDictionaries.computeIfAbsent(dictionaryId, id -> new ZstdDictDecompress(dictionary));
+		});
+	}
+
+	@EventListener
+	public void handleEventStreamDeletedEvent(EventStreamDeletedEvent event) {
+		compressionDictionaries.remove(event.collectionName());
+	}
+
+	private ZstdDictDecompress getDecompressionDictionary(long dictionaryId) {
+		return decompressionDictionaries.computeIfAbsent(dictionaryId,
+				id -> new ZstdDictDecompress(jdbcTemplate.queryForObject(DICTIONARY_SQL, byte[].class, id)));
+	}
+
+	private static boolean isCompressed(byte[] dbData) {
+		if (dbData.length < ZSTD_MAGIC_NUMBER.length) {
+			return false;
+		}
+		for (int i = 0; i < ZSTD_MAGIC_NUMBER.length; i++) {
+			if (dbData[i] != ZSTD_MAGIC_NUMBER[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,78 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.github.luben.zstd.ZstdException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.MEMBER_MODEL_DICTIONARY_CRON;
+
+/**
+ * Trains a zstd dictionary for every collection that has enough members and has no dictionary yet. The dictionary is
+ * trained on the most recently ingested member models and is only used for the members that are ingested afterwards.
+ * A collection keeps the first dictionary that is stored for it, when several instances train one at the same time. A
+ * dictionary of which the id is already taken by the dictionary of another collection is discarded, and a new one is
+ * trained on the next run.
+ */
+@Component
+public class MemberModelDictionaryTrainer {
+	static final int SAMPLE_COUNT = 1000;
+	static final int DICTIONARY_SIZE = 16 * 1024;
+	private static final Logger log = LoggerFactory.getLogger(MemberModelDictionaryTrainer.class);
+	private static final String COLLECTIONS_WITHOUT_DICTIONARY_SQL = """
+			SELECT c.collection_id
+			FROM collections c
+			WHERE NOT EXISTS (SELECT 1 FROM member_model_dictionaries d WHERE d.collection_id = c.collection_id)""";
+	private static final String SAMPLES_SQL = """
+			SELECT member_model FROM members WHERE collection_id = ? ORDER BY member_id DESC LIMIT ?""";
+	private static final String INSERT_DICTIONARY_SQL = """
+			INSERT INTO member_model_dictionaries (dictionary_id, collection_id, dictionary) VALUES (?, ?, ?)
+			ON CONFLICT (collection_id) DO NOTHING""";
+
+	private final MemberModelCompressor compressor;
+	private final JdbcTemplate jdbcTemplate;
+
+	public MemberModelDictionaryTrainer(MemberModelCompressor compressor, DataSource dataSource) {
+		this.compressor = compressor;
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@Scheduled(cron = MEMBER_MODEL_DICTIONARY_CRON)
+	public void trainDictionaries() {
+		if (!compressor.isEnabled()) {
+			return;
+		}
+		jdbcTemplate.queryForList(COLLECTIONS_WITHOUT_DICTIONARY_SQL, Integer.class).forEach(this::trainDictionary);
+		compressor.loadDictionaries();
+	}
+
+	private void trainDictionary(int collectionId) {
+		final List<byte[]> samples = jdbcTemplate.query(SAMPLES_SQL,
+				(rs, rowNum) -> compressor.decompress(rs.getBytes("member_model")), collectionId, SAMPLE_COUNT);
+		if (samples.size() < SAMPLE_COUNT) {
+			return;
+		}
+		final ZstdDictTrainer trainer = new ZstdDictTrainer(samples.stream().mapToInt(sample -> sample.length).sum(), DICTIONARY_SIZE);
+		samples.forEach(trainer::addSample);
+		try {
+			final byte[] dictionary = trainer.trainSamples();
+			if (jdbcTemplate.update(INSERT_DICTIONARY_SQL, Zstd.getDictIdFromDict(dictionary), collectionId, dictionary) > 0) {
+				log.info("Trained member model dictionary of {} bytes for collection {}", dictionary.length, collectionId);
+			} else {
+				log.debug("Member model dictionary for collection {} was already stored by another instance", collectionId);
+			}
+		} catch (DuplicateKeyException e) {
+			log.warn("Discarded member model dictionary for collection {}, as its id is already in use", collectionId);
+		} catch (ZstdException e) {
+			log.warn("Could not train a member model dictionary for collection {}: {}", collectionId, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.copy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Writes rows in the binary format of the PostgreSQL <code>COPY ... FROM STDIN (FORMAT BINARY)</code> command.
+ * Closing the writer appends the file trailer, but leaves the underlying stream open.
+ */
+public class BinaryCopyWriter implements AutoCloseable {
+	private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+	private static final LocalDateTime POSTGRES_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+	private static final int MICROS_PER_SECOND = 1_000_000;
+	private static final int NANOS_PER_MICRO = 1_000;
+
+	private final DataOutputStream output;
+
+	public BinaryCopyWriter(OutputStream outputStream) throws IOException {
+		this.output = new DataOutputStream(new BufferedOutputStream(outputStream));
+		output.write(SIGNATURE);
+		output.writeInt(0);
+		output.writeInt(0);
+	}
+
+	public void startRow(int fieldCount) throws IOException {
+		output.writeShort(fieldCount);
+	}
+
+	public void writeInt(int value) throws IOException {
+		output.writeInt(Integer.BYTES);
+		output.writeInt(value);
+	}
+
+	public void writeText(String value) throws IOException {
+		writeBytes(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public void writeBytes(byte[] value) throws IOException {
+		output.writeInt(value.length);
+		output.write(value);
+	}
+
+	public void writeTimestamp(LocalDateTime value) throws IOException {
+		final Duration sinceEpoch = Duration.between(POSTGRES_EPOCH, value);
+		output.writeInt(Long.BYTES);
+		output.writeLong(sinceEpoch.getSeconds() * MICROS_PER_SECOND + sinceEpoch.getNano() / NANOS_PER_MICRO);
+	}
+
+	@Override
+	public void close() throws IOException {
+		output.writeShort(-1);
+		output.flush();
+	}
+}
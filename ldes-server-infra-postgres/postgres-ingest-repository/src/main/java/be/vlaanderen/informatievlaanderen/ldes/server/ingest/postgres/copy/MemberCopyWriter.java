@@ -0,0 +1,124 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.copy;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.metadata.CollectionMetadataCache;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.entities.IngestedMember;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.DatabaseColumnModelConverter;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.filter.MemberSubjectFilter;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.partition.MemberPartitions;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stores members by streaming them with the binary COPY protocol into a transaction scoped staging table, after which
+ * the members that do not exist yet in the collection are merged into the members table with a single statement.
+ * The staging table only lives within the transaction, as it is emptied on commit.
+ * <p>
+ * When the members table is partitioned, the unique constraint on the subjects also covers the timestamp, so it only
+ * rejects a subject that is stored again with the same timestamp. The existing subjects of the collection are therefore
+ * excluded explicitly, while the caller holds the subjects lock of the collection, see
+ * {@link MemberPartitions#lockSubjects(int)}.
+ */
+@Component
+public class MemberCopyWriter {
+	private static final String CREATE_STAGING_TABLE_SQL = """
+			CREATE TEMP TABLE IF NOT EXISTS members_staging (
+			    position INT NOT NULL,
+			    subject VARCHAR(255) NOT NULL,
+			    version_of VARCHAR(255) NOT NULL,
+			    timestamp TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+			    transaction_id VARCHAR(255) NOT NULL,
+			    member_model BYTEA NOT NULL
+			) ON COMMIT DELETE ROWS""";
+	private static final String COPY_SQL = """
+			COPY members_staging (position, subject, version_of, timestamp, transaction_id, member_model)
+			FROM STDIN (FORMAT BINARY)""";
+	private static final String MERGE_SQL = """
+			INSERT INTO members (subject, collection_id, version_of, timestamp, transaction_id, member_model, old_id)
+			SELECT s.subject, ?, s.version_of, s.timestamp, s.transaction_id, s.member_model, ? || '/' || s.subject
+			FROM (SELECT DISTINCT ON (subject) * FROM members_staging ORDER BY subject, position) s
+			ORDER BY s.position
+			ON CONFLICT DO NOTHING
+			RETURNING subject""";
+	private static final String PARTITIONED_MERGE_SQL = """
+			INSERT INTO members (subject, collection_id, version_of, timestamp, transaction_id, member_model, old_id)
+			SELECT s.subject, ?, s.version_of, s.timestamp, s.transaction_id, s.member_model, ? || '/' || s.subject
+			FROM (SELECT DISTINCT ON (subject) * FROM members_staging ORDER BY subject, position) s
+			WHERE NOT EXISTS (SELECT 1 FROM members m WHERE m.collection_id = ? AND m.subject = s.subject)
+			ORDER BY s.position
+			ON CONFLICT DO NOTHING
+			RETURNING subject""";
+	private static final int STAGING_COLUMN_COUNT = 6;
+
+	private final DatabaseColumnModelConverter modelConverter;
+	private final CollectionMetadataCache collectionMetadataCache;
+	private final MemberSubjectFilter memberSubjectFilter;
+	private final MemberPartitions memberPartitions;
+	private final JdbcTemplate jdbcTemplate;
+
+	public MemberCopyWriter(DatabaseColumnModelConverter modelConverter, CollectionMetadataCache collectionMetadataCache,
+	                        MemberSubjectFilter memberSubjectFilter, MemberPartitions memberPartitions, DataSource dataSource) {
+		this.modelConverter = modelConverter;
+		this.collectionMetadataCache = collectionMetadataCache;
+		this.memberSubjectFilter = memberSubjectFilter;
+		this.memberPartitions = memberPartitions;
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	/**
+	 * @return the members that were stored, duplicates within the batch or within the collection are left out
+	 */
+	@Transactional
+	public List<IngestedMember> insertAll(List<IngestedMember> members) {
+		final String collectionName = members.getFirst().getCollectionName();
+		final int collectionId = collectionMetadataCache.getCollectionId(collectionName);
+		jdbcTemplate.execute(CREATE_STAGING_TABLE_SQL);
+		jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			copyToStagingTable(connection, members);
+			return null;
+		});
+		final List<LocalDateTime> timestamps = members.stream().map(IngestedMember::getTimestamp).toList();
+		final Set<String> insertedSubjects = new HashSet<>(memberPartitions.insertIntoPartitions(collectionId, timestamps,
+				() -> memberPartitions.isPartitioned()
+						? jdbcTemplate.queryForList(PARTITIONED_MERGE_SQL, String.class, collectionId, collectionName, collectionId)
+						: jdbcTemplate.queryForList(MERGE_SQL, String.class, collectionId, collectionName)));
+		memberSubjectFilter.addAll(collectionName, insertedSubjects);
+		return members.stream()
+				.filter(member -> insertedSubjects.remove(member.getSubject()))
+				.toList();
+	}
+
+	private void copyToStagingTable(Connection connection, List<IngestedMember> members) throws SQLException {
+		final PGCopyOutputStream copyStream = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_SQL);
+		try (copyStream; BinaryCopyWriter writer = new BinaryCopyWriter(copyStream)) {
+			for (int position = 0; position < members.size(); position++) {
+				writeRow(writer, position, members.get(position));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void writeRow(BinaryCopyWriter writer, int position, IngestedMember member) throws IOException {
+		writer.startRow(STAGING_COLUMN_COUNT);
+		writer.writeInt(position);
+		writer.writeText(member.getSubject());
+		writer.writeText(member.getVersionOf());
+		writer.writeTimestamp(member.getTimestamp());
+		writer.writeText(member.getTransactionId());
+		writer.writeBytes(modelConverter.convertToDatabaseColumn(member.getCollectionName(), member.getModel()));
+	}
+}
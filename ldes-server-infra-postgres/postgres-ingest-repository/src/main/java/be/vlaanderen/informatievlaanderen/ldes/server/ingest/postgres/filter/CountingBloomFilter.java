@@ -0,0 +1,82 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.filter;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter with 4-bit counters instead of bits, so values can be removed again. It never reports a value that
+ * was added as absent, as long as only values that were added are removed. A counter that reaches its maximum
+ * is never decremented anymore, which can only cause false positives.
+ */
+public class CountingBloomFilter {
+	private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+	private static final int BITS_PER_COUNTER = 4;
+	private static final int COUNTERS_PER_WORD = Long.SIZE / BITS_PER_COUNTER;
+	private static final long MAX_COUNT = (1L << BITS_PER_COUNTER) - 1;
+	private static final int MIN_COUNTERS = Long.SIZE;
+
+	private final AtomicLongArray words;
+	private final int counterCount;
+	private final int hashCount;
+
+	public CountingBloomFilter(long expectedInsertions, double falsePositiveProbability) {
+		final double optimalCounters = -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+		this.counterCount = (int) Math.min(Integer.MAX_VALUE - COUNTERS_PER_WORD, Math.max(MIN_COUNTERS, (long) Math.ceil(optimalCounters)));
+		this.hashCount = Math.max(1, (int) Math.round((double) counterCount / Math.max(1, expectedInsertions) * Math.log(2)));
+		this.words = new AtomicLongArray((counterCount + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+	}
+
+	public void put(String value) {
+		for (int index : indexesOf(value)) {
+			words.getAndUpdate(index / COUNTERS_PER_WORD, word -> {
+				final int shift = shiftOf(index);
+				return count(word, shift) == MAX_COUNT ? word : word + (1L << shift);
+			});
+		}
+	}
+
+	public void remove(String value) {
+		for (int index : indexesOf(value)) {
+			words.getAndUpdate(index / COUNTERS_PER_WORD, word -> {
+				final int shift = shiftOf(index);
+				final long count = count(word, shift);
+				return count == 0 || count == MAX_COUNT ? word : word - (1L << shift);
+			});
+		}
+	}
+
+	public boolean mightContain(String value) {
+		for (int index : indexesOf(value)) {
+			if (count(words.get(index / COUNTERS_PER_WORD), shiftOf(index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int[] indexesOf(String value) {
+		final long hash = HASH_FUNCTION.hashString(value, StandardCharsets.UTF_8).asLong();
+		final int hash1 = (int) hash;
+		final int hash2 = (int) (hash >>> 32);
+		final int[] indexes = new int[hashCount];
+		for (int i = 0; i < hashCount; i++) {
+			int combinedHash = hash1 + (i + 1) * hash2;
+			if (combinedHash < 0) {
+				combinedHash = ~combinedHash;
+			}
+			indexes[i] = combinedHash % counterCount;
+		}
+		return indexes;
+	}
+
+	private static int shiftOf(int index) {
+		return (index % COUNTERS_PER_WORD) * BITS_PER_COUNTER;
+	}
+
+	private static long count(long word, int shift) {
+		return (word >>> shift) & MAX_COUNT;
+	}
+}
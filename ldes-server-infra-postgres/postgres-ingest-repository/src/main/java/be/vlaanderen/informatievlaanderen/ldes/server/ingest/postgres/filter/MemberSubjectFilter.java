@@ -0,0 +1,138 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.filter;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamDeletedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.SUBJECT_FILTER_CAPACITY;
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.SUBJECT_FILTER_ENABLED;
+
+/**
+ * Keeps a {@link CountingBloomFilter} of the member subjects per collection, so the duplicate check against the
+ * members table can be skipped for subjects that definitely do not exist yet. The filter of a collection is loaded
+ * from the database the first time it is needed, which happens for all collections once the application is ready.
+ * <p>
+ * The filter only knows the members that were stored by this server instance, so it must only be enabled when a single
+ * instance ingests into the database. Otherwise, the members stored by other instances would be taken for new ones.
+ */
+@Component
+public class MemberSubjectFilter {
+	private static final Logger log = LoggerFactory.getLogger(MemberSubjectFilter.class);
+	private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+	private static final int PAGE_SIZE = 10_000;
+	private static final String COUNT_SQL = """
+			SELECT COUNT(*) FROM members m JOIN collections c ON c.collection_id = m.collection_id WHERE c.name = ?""";
+	private static final String SUBJECTS_SQL = """
+			SELECT m.member_id, m.subject
+			FROM members m
+			    JOIN collections c ON c.collection_id = m.collection_id
+			WHERE c.name = ? AND m.member_id > ?
+			ORDER BY m.member_id
+			LIMIT ?""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final boolean enabled;
+	private final long capacity;
+	private final Map<String, CountingBloomFilter> filters = new ConcurrentHashMap<>();
+
+	public MemberSubjectFilter(DataSource dataSource,
+	                           @Value(SUBJECT_FILTER_ENABLED) boolean enabled,
+	                           @Value(SUBJECT_FILTER_CAPACITY) long capacity) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.enabled = enabled;
+		this.capacity = capacity;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return false if none of the subjects exist in the collection, true if some of them might exist
+	 */
+	public boolean mightContainAny(String collectionName, Collection<String> subjects) {
+		if (!enabled) {
+			return true;
+		}
+		final CountingBloomFilter filter = getFilter(collectionName);
+		return subjects.stream().anyMatch(filter::mightContain);
+	}
+
+	public void addAll(String collectionName, Collection<String> subjects) {
+		if (enabled) {
+			final CountingBloomFilter filter = getFilter(collectionName);
+			subjects.forEach(filter::put);
+		}
+	}
+
+	/**
+	 * Must only be called with subjects that were actually deleted, as removing absent subjects could hide others.
+	 * Within a transaction, the subjects are only removed once it commits, as they still exist when it is rolled back.
+	 */
+	public void removeAll(String collectionName, Collection<String> subjects) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					remove(collectionName, subjects);
+				}
+			});
+		} else {
+			remove(collectionName, subjects);
+		}
+	}
+
+	private void remove(String collectionName, Collection<String> subjects) {
+		final CountingBloomFilter filter = filters.get(collectionName);
+		if (filter != null) {
+			subjects.forEach(filter::remove);
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		if (enabled) {
+			jdbcTemplate.queryForList("SELECT name FROM collections", String.class).forEach(this::getFilter);
+		}
+	}
+
+	@EventListener
+	public void handleEventStreamDeletedEvent(EventStreamDeletedEvent event) {
+		filters.remove(event.collectionName());
+	}
+
+	private CountingBloomFilter getFilter(String collectionName) {
+		return filters.computeIfAbsent(collectionName, this::loadFilter);
+	}
+
+	private CountingBloomFilter loadFilter(String collectionName) {
+		final Long memberCount = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, collectionName);
+		final CountingBloomFilter filter = new CountingBloomFilter(Math.max(capacity, 2 * memberCount), FALSE_POSITIVE_PROBABILITY);
+		long lastMemberId = 0;
+		List<Long> memberIds;
+		do {
+			memberIds = jdbcTemplate.query(SUBJECTS_SQL, (rs, rowNum) -> {
+				filter.put(rs.getString("subject"));
+				return rs.getLong("member_id");
+			}, collectionName, lastMemberId, PAGE_SIZE);
+			if (!memberIds.isEmpty()) {
+				lastMemberId = memberIds.getLast();
+			}
+		} while (memberIds.size() == PAGE_SIZE);
+		log.info("Loaded subject filter of collection {} with {} members", collectionName, memberCount);
+		return filter;
+	}
+}
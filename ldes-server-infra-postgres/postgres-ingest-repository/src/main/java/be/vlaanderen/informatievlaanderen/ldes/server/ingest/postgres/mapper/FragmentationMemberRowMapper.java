@@ -2,12 +2,9 @@ package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.mapper;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.FragmentationMember;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.EventStreamProperties;
-import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.PostgresIngestMemberConstants;
-import org.apache.jena.rdf.model.Model;
-import org.apache.jena.riot.RDFParser;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.DatabaseColumnModelConverter;
 import org.springframework.jdbc.core.RowMapper;
 
-import java.io.ByteArrayInputStream;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
@@ -24,6 +21,12 @@ public class FragmentationMemberRowMapper implements RowMapper<FragmentationMemb
 	static final String CREATE_VERSIONS_COLUMN_KEY = "create_versions";
 	static final String MEMBER_MODEL_COLUMN_KEY = "member_model";
 
+	private final DatabaseColumnModelConverter modelConverter;
+
+	public FragmentationMemberRowMapper(DatabaseColumnModelConverter modelConverter) {
+		this.modelConverter = modelConverter;
+	}
+
 	@Override
 	public FragmentationMember mapRow(ResultSet rs, int rowNum) throws SQLException {
 		return new FragmentationMember(
@@ -32,7 +35,7 @@ public class FragmentationMemberRowMapper implements RowMapper<FragmentationMemb
 				rs.getString(VERSION_OF_COLUMN_KEY),
 				rs.getObject(TIMESTAMP_COLUMN_KEY, LocalDateTime.class),
 				mapEventStreamProperties(rs),
-				mapMemberModel(rs)
+				modelConverter.convertToEntityAttribute(rs.getBytes(MEMBER_MODEL_COLUMN_KEY))
 		);
 	}
 
@@ -44,8 +47,4 @@ public class FragmentationMemberRowMapper implements RowMapper<FragmentationMemb
 				rs.getBoolean(CREATE_VERSIONS_COLUMN_KEY)
 		);
 	}
-
-	private static Model mapMemberModel(ResultSet rs) throws SQLException {
-		return RDFParser.source(new ByteArrayInputStream(rs.getBytes(MEMBER_MODEL_COLUMN_KEY))).lang(PostgresIngestMemberConstants.SERIALISATION_LANG).toModel();
-	}
 }
@@ -0,0 +1,9 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.partition;
+
+import java.time.LocalDate;
+
+/**
+ * The partition that holds the members of a collection with a timestamp on the given day
+ */
+public record MemberPartition(int collectionId, LocalDate day) {
+}
@@ -0,0 +1,212 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.partition;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Manages the daily partitions of the members table, when it is partitioned per collection and per day with the
+ * members-partitioning changelog parameter. A partition is created the first time a member of its day is stored and is
+ * dropped as a whole once all of its members are expired and none of them is part of a view anymore. When the members
+ * table is not partitioned, no partitions are created and none are expired.
+ */
+@Component
+public class MemberPartitions {
+	private static final String IS_PARTITIONED_SQL = """
+			SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('members'))""";
+	private static final String LOCK_SUBJECTS_SQL = "SELECT pg_advisory_xact_lock(hashtext('members'), ?)";
+	private static final String CREATE_PARTITION_SQL = "SELECT create_members_partition(?, ?)";
+	private static final String EXPIRED_PARTITIONS_SQL = """
+			SELECT mp.collection_id, mp.day
+			FROM member_partitions mp
+			    JOIN collections c ON c.collection_id = mp.collection_id
+			WHERE c.name = ? AND mp.day + 1 <= ?
+			ORDER BY mp.day""";
+	private static final String DETACH_PARTITION_SQL = "SELECT detach_members_partition(?, ?)";
+	private static final String PARTITION_NAME_SQL = "SELECT members_partition_name(?, ?)";
+	private static final String SUBJECTS_SQL = "SELECT member_id, subject FROM %s WHERE member_id > ? ORDER BY member_id LIMIT ?";
+	private static final String DROP_PARTITION_SQL = "SELECT drop_members_partition(?, ?)";
+	private static final int SUBJECTS_BATCH_SIZE = 10_000;
+	private static final String MISSING_PARTITION_STATE = "23514";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Set<MemberPartition> createdPartitions = ConcurrentHashMap.newKeySet();
+	private volatile Boolean partitioned;
+
+	public MemberPartitions(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	public boolean isPartitioned() {
+		if (partitioned == null) {
+			partitioned = jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class);
+		}
+		return partitioned;
+	}
+
+	/**
+	 * A unique constraint on the partitioned members table has to include the timestamp, so the database no longer
+	 * rejects a subject that is stored again with another timestamp. Instead, the members of a collection are stored one
+	 * transaction at a time: the lock is held until the calling transaction ends, so the check for existing subjects and
+	 * the insertion of the new ones cannot interleave with those of another transaction.
+	 */
+	public void lockSubjects(int collectionId) {
+		if (isPartitioned()) {
+			jdbcTemplate.query(LOCK_SUBJECTS_SQL, (RowCallbackHandler) rs -> {
+			}, collectionId);
+		}
+	}
+
+	/**
+	 * Creates the missing partitions of the days of the given timestamps. Must be called within the transaction that
+	 * stores the members, before any of them is stored. Partitions are only remembered once that transaction commits.
+	 */
+	public void createPartitions(int collectionId, Collection<LocalDateTime> timestamps) {
+		if (isPartitioned()) {
+			createPartitions(toPartitions(collectionId, timestamps));
+		}
+	}
+
+	/**
+	 * Stores members with the given timestamps, after creating the missing partitions of their days. The partitions that
+	 * were created before are only remembered by this instance, while another instance or a retention run may have
+	 * detached or dropped them since. When the insertion fails on a missing partition, the partitions of the days are
+	 * forgotten and created again, after which the insertion is retried once. Must be called within a transaction, as
+	 * the first attempt is rolled back to a savepoint.
+	 */
+	public <T> T insertIntoPartitions(int collectionId, Collection<LocalDateTime> timestamps, Supplier<T> insertion) {
+		if (!isPartitioned()) {
+			return insertion.get();
+		}
+		final Set<MemberPartition> partitions = toPartitions(collectionId, timestamps);
+		createPartitions(partitions);
+		try {
+			return insertWithinSavepoint(insertion);
+		} catch (DataAccessException e) {
+			if (!isMissingPartition(e)) {
+				throw e;
+			}
+			createdPartitions.removeAll(partitions);
+			createPartitions(partitions);
+			return insertion.get();
+		}
+	}
+
+	private Set<MemberPartition> toPartitions(int collectionId, Collection<LocalDateTime> timestamps) {
+		return timestamps.stream()
+				.map(timestamp -> new MemberPartition(collectionId, timestamp.toLocalDate()))
+				.collect(Collectors.toSet());
+	}
+
+	private void createPartitions(Set<MemberPartition> partitions) {
+		partitions.stream()
+				.filter(partition -> !createdPartitions.contains(partition))
+				.forEach(this::createPartition);
+	}
+
+	private void createPartition(MemberPartition partition) {
+		jdbcTemplate.queryForObject(CREATE_PARTITION_SQL, Boolean.class, partition.collectionId(), partition.day());
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					createdPartitions.add(partition);
+				}
+			});
+		} else {
+			createdPartitions.add(partition);
+		}
+	}
+
+	private <T> T insertWithinSavepoint(Supplier<T> insertion) {
+		return jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+			final Savepoint savepoint = connection.setSavepoint();
+			try {
+				final T result = insertion.get();
+				connection.releaseSavepoint(savepoint);
+				return result;
+			} catch (DataAccessException e) {
+				connection.rollback(savepoint);
+				throw e;
+			}
+		});
+	}
+
+	private static boolean isMissingPartition(Throwable exception) {
+		for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLException sqlException && MISSING_PARTITION_STATE.equals(sqlException.getSQLState())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the partitions of the collection of which all members have a timestamp before the expiry timestamp
+	 */
+	public List<MemberPartition> findExpiredPartitions(String collectionName, LocalDateTime expiryTimestamp) {
+		if (!isPartitioned()) {
+			return List.of();
+		}
+		return jdbcTemplate.query(EXPIRED_PARTITIONS_SQL,
+				(rs, rowNum) -> new MemberPartition(rs.getInt("collection_id"), rs.getDate("day").toLocalDate()),
+				collectionName, expiryTimestamp);
+	}
+
+	/**
+	 * Detaches the partition from the members table in its own transaction, unless some of its members are still part
+	 * of a view.
+	 *
+	 * @return whether the partition was detached by this call
+	 */
+	public boolean detach(MemberPartition partition) {
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject(DETACH_PARTITION_SQL, Boolean.class, partition.collectionId(), partition.day()));
+	}
+
+	/**
+	 * Passes the subjects of a detached partition in batches of bounded size
+	 */
+	public void forEachSubjectsBatch(MemberPartition partition, Consumer<List<String>> subjectsConsumer) {
+		final String partitionName = jdbcTemplate.queryForObject(PARTITION_NAME_SQL, String.class, partition.collectionId(), partition.day());
+		final String subjectsSql = SUBJECTS_SQL.formatted(partitionName);
+		long lastMemberId = 0;
+		List<Subject> batch;
+		do {
+			batch = jdbcTemplate.query(subjectsSql, (rs, rowNum) -> new Subject(rs.getLong("member_id"), rs.getString("subject")),
+					lastMemberId, SUBJECTS_BATCH_SIZE);
+			if (!batch.isEmpty()) {
+				lastMemberId = batch.getLast().memberId();
+				subjectsConsumer.accept(batch.stream().map(Subject::subject).toList());
+			}
+		} while (batch.size() == SUBJECTS_BATCH_SIZE);
+	}
+
+	/**
+	 * Drops the partition, when it was detached
+	 *
+	 * @return whether the partition was dropped by this call
+	 */
+	public boolean drop(MemberPartition partition) {
+		createdPartitions.remove(partition);
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject(DROP_PARTITION_SQL, Boolean.class, partition.collectionId(), partition.day()));
+	}
+
+	private record Subject(long memberId, String subject) {
+	}
+}
@@ -32,6 +32,6 @@ public interface MemberEntityRepository extends JpaRepository<MemberEntity, Stri
 
 	List<MemberEntity> findAllByCollectionNameAndSubjectIn(String collectionName, List<String> subjects);
 
-	void deleteAllByCollectionNameAndSubjectIn(String collectionName, List<String> subjects);
+	List<MemberEntity> deleteAllByCollectionNameAndSubjectIn(String collectionName, List<String> subjects);
 
 }
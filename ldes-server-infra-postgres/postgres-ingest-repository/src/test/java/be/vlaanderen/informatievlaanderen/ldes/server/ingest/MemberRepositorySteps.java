@@ -1,7 +1,9 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.ingest;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamDeletedEvent;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.entities.IngestedMember;
 import io.cucumber.datatable.DataTable;
+import io.cucumber.java.After;
 import io.cucumber.java.DataTableType;
 import io.cucumber.java.Transpose;
 import io.cucumber.java.en.And;
@@ -15,6 +17,7 @@ import org.assertj.core.api.InstanceOfAssertFactory;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -25,6 +28,13 @@ public class MemberRepositorySteps extends PostgresIngestIntegrationTest {
 	private List<IngestedMember> members = new ArrayList<>();
 	private Optional<IngestedMember> retrievedMember;
 
+	@After
+	public void evictCollectionMetadata() {
+		Stream.of("mobility-hindrances", "gipod", "other")
+				.map(EventStreamDeletedEvent::new)
+				.forEach(eventPublisher::publishEvent);
+	}
+
 	@When("I save the members using the MemberRepository")
 	public void iSaveTheMembers(List<IngestedMember> members) {
 		List<IngestedMember> actualIngestedMembers = members.stream()
@@ -35,6 +45,11 @@ public class MemberRepositorySteps extends PostgresIngestIntegrationTest {
 		this.members.addAll(actualIngestedMembers);
 	}
 
+	@When("I save the members using the MemberCopyWriter")
+	public void iSaveTheMembersUsingTheCopyWriter(List<IngestedMember> members) {
+		this.members.addAll(memberCopyWriter.insertAll(members));
+	}
+
 	@DataTableType(replaceWithEmptyString = "[blank]")
 	public IngestedMember memberEntryTransformer(Map<String, String> row) {
 		return new IngestedMember(
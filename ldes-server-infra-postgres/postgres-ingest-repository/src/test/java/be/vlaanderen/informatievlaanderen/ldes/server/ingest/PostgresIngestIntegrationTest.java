@@ -2,8 +2,10 @@ package be.vlaanderen.informatievlaanderen.ldes.server.ingest;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.admin.domain.eventstream.repository.EventStreamRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.eventstream.repository.EventStreamEntityRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.view.repository.ViewEntityRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.services.ServerMetrics;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.MemberPostgresRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.copy.MemberCopyWriter;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.repository.MemberEntityRepository;
 import io.cucumber.spring.CucumberContextConfiguration;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
@@ -12,6 +14,7 @@ import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.test.context.ActiveProfiles;
@@ -26,9 +29,10 @@ import org.springframework.test.context.jdbc.Sql;
 @EntityScan(basePackages = {"be.vlaanderen.informatievlaanderen.ldes.server"})
 @ComponentScan(basePackages = {"be.vlaanderen.informatievlaanderen.ldes.server.ingest",
 		"be.vlaanderen.informatievlaanderen.ldes.server.domain",
-		"be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.eventstream"})
+		"be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.eventstream",
+		"be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.metadata"})
 @ContextConfiguration(classes = {MemberEntityRepository.class})
-@EnableJpaRepositories(basePackageClasses = {MemberEntityRepository.class, EventStreamEntityRepository.class})
+@EnableJpaRepositories(basePackageClasses = {MemberEntityRepository.class, EventStreamEntityRepository.class, ViewEntityRepository.class})
 @Sql(value = {"init-collections.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(statements = "DELETE FROM collections;", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
 @SuppressWarnings("java:S2187")
@@ -37,6 +41,10 @@ public class PostgresIngestIntegrationTest {
 	@Autowired
 	MemberPostgresRepository memberRepository;
 	@Autowired
+	MemberCopyWriter memberCopyWriter;
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+	@Autowired
 	EventStreamRepository eventStreamRepository;
 	@MockBean
 	ServerMetrics serverMetrics;
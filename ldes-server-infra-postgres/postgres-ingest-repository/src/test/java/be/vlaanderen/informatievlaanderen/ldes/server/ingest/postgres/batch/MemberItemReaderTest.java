@@ -3,6 +3,8 @@ package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.FragmentationMember;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.EventStreamProperties;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.DatabaseColumnModelConverter;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.compression.MemberModelCompressor;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.assertj.core.api.InstanceOfAssertFactories;
@@ -34,6 +36,9 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.IntStream;
 
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch.MemberRangePartitioner.COLLECTION_ID;
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch.MemberRangePartitioner.LOWER_BOUND;
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch.MemberRangePartitioner.UPPER_BOUND;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @EnableAutoConfiguration
@@ -41,7 +46,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @TestExecutionListeners(listeners = {StepScopeTestExecutionListener.class, DependencyInjectionTestExecutionListener.class})
 @AutoConfigureEmbeddedDatabase
 @ActiveProfiles("postgres-test")
-@ContextConfiguration(classes = {MemberItemReader.class})
+@ContextConfiguration(classes = {MemberItemReader.class, DatabaseColumnModelConverter.class, MemberModelCompressor.class})
 class MemberItemReaderTest {
 	private static final String SUBJECT_TEMPLATE = "http://test-data/mobility-hindrance/1/";
 	private static final LocalDateTime START_TIME = LocalDateTime.now();
@@ -139,6 +144,9 @@ class MemberItemReaderTest {
 
 	private void setupStepScope(JobParameters jobParameters) {
 		StepExecution stepExecution = new StepExecution("step", new JobExecution(1L, jobParameters), 1L);
+		stepExecution.getExecutionContext().putLong(COLLECTION_ID, 1);
+		stepExecution.getExecutionContext().putLong(LOWER_BOUND, 0);
+		stepExecution.getExecutionContext().putLong(UPPER_BOUND, Long.MAX_VALUE);
 		StepSynchronizationManager.register(stepExecution);
 		StepContext stepContext = new StepContext(stepExecution);
 		stepContext.setAttribute("memberReader", newMemberReader);
@@ -0,0 +1,170 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.test.StepScopeTestExecutionListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch.MemberRangePartitioner.COLLECTION_ID;
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch.MemberRangePartitioner.LOWER_BOUND;
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.batch.MemberRangePartitioner.UPPER_BOUND;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@EnableAutoConfiguration
+@SpringBootTest
+@TestExecutionListeners(listeners = {StepScopeTestExecutionListener.class, DependencyInjectionTestExecutionListener.class})
+@AutoConfigureEmbeddedDatabase
+@ActiveProfiles("postgres-test")
+@ContextConfiguration(classes = {MemberRangePartitioner.class, MemberRangeRollback.class})
+class MemberRangePartitionerTest {
+	private static final String COLLECTION_NAME = "mobility-hindrances";
+	private static final String VIEW_NAME = "by-page";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private Partitioner memberRangePartitioner;
+	@Autowired
+	private MemberRangeRollback memberRangeRollback;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("""
+				INSERT INTO collections
+				VALUES (1, 'mobility-hindrances', 'http://purl.org/dc/terms/created', 'http://purl.org/dc/terms/isVersionOf', false,
+				        false);
+
+				INSERT INTO views VALUES (1, 1, 'by-page', '[]', '', 150);
+
+				INSERT INTO buckets VALUES (1, '', 1);
+				""");
+		insertMembers(10);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM collections");
+		StepSynchronizationManager.close();
+	}
+
+	@Test
+	void given_NoBucketisedMembers_when_Partition_then_SplitAllMembersInRanges() {
+		registerStepExecution(COLLECTION_NAME, VIEW_NAME);
+
+		final Map<String, ExecutionContext> partitions = memberRangePartitioner.partition(3);
+
+		assertThat(partitions.values())
+				.extracting(context -> context.getLong(COLLECTION_ID), context -> context.getLong(LOWER_BOUND), context -> context.getLong(UPPER_BOUND))
+				.containsExactlyInAnyOrder(
+						tuple(1L, 0L, 4L),
+						tuple(1L, 4L, 8L),
+						tuple(1L, 8L, 10L)
+				);
+	}
+
+	@Test
+	void given_BucketisedMembers_when_Partition_then_StartAfterLastBucketisedMember() {
+		bucketiseMembers(4);
+		registerStepExecution(COLLECTION_NAME, VIEW_NAME);
+
+		final Map<String, ExecutionContext> partitions = memberRangePartitioner.partition(1);
+
+		assertThat(partitions.values())
+				.extracting(context -> context.getLong(LOWER_BOUND), context -> context.getLong(UPPER_BOUND))
+				.containsExactly(tuple(4L, 10L));
+	}
+
+	@Test
+	void given_AllMembersBucketised_when_Partition_then_ReturnNoPartitions() {
+		bucketiseMembers(10);
+		registerStepExecution(COLLECTION_NAME, VIEW_NAME);
+
+		assertThat(memberRangePartitioner.partition(2)).isEmpty();
+	}
+
+	@Test
+	void given_AbsentView_when_Partition_then_ReturnNoPartitions() {
+		registerStepExecution(COLLECTION_NAME, "fantasy-view");
+
+		assertThat(memberRangePartitioner.partition(2)).isEmpty();
+	}
+
+	@Test
+	void given_FailedRange_when_AfterStep_then_RemoveMembersBucketisedAfterFailedRange() {
+		bucketiseMembers(10);
+		final JobExecution jobExecution = registerStepExecution(COLLECTION_NAME, VIEW_NAME);
+		addRangeExecution(jobExecution, 0, 4, BatchStatus.COMPLETED);
+		addRangeExecution(jobExecution, 4, 8, BatchStatus.FAILED);
+		addRangeExecution(jobExecution, 8, 10, BatchStatus.COMPLETED);
+
+		memberRangeRollback.afterStep(StepSynchronizationManager.getContext().getStepExecution());
+
+		assertThat(jdbcTemplate.queryForObject("SELECT MAX(member_id) FROM page_members", Long.class)).isEqualTo(4);
+	}
+
+	@Test
+	void given_CompletedRanges_when_AfterStep_then_KeepBucketisedMembers() {
+		bucketiseMembers(10);
+		final JobExecution jobExecution = registerStepExecution(COLLECTION_NAME, VIEW_NAME);
+		addRangeExecution(jobExecution, 0, 10, BatchStatus.COMPLETED);
+
+		memberRangeRollback.afterStep(StepSynchronizationManager.getContext().getStepExecution());
+
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM page_members", Long.class)).isEqualTo(10);
+	}
+
+	private JobExecution registerStepExecution(String collectionName, String viewName) {
+		JobParameters jobParameters = new JobParametersBuilder()
+				.addString("collectionName", collectionName)
+				.addString("viewName", viewName)
+				.toJobParameters();
+		StepExecution stepExecution = new JobExecution(1L, jobParameters).createStepExecution("bucketisation");
+		StepSynchronizationManager.register(stepExecution);
+		return stepExecution.getJobExecution();
+	}
+
+	private void addRangeExecution(JobExecution jobExecution, long lowerBound, long upperBound, BatchStatus status) {
+		StepExecution rangeExecution = jobExecution.createStepExecution("bucketisationStep:range:" + lowerBound);
+		rangeExecution.getExecutionContext().putLong(LOWER_BOUND, lowerBound);
+		rangeExecution.getExecutionContext().putLong(UPPER_BOUND, upperBound);
+		rangeExecution.setStatus(status);
+	}
+
+	private void insertMembers(int count) {
+		final List<Object[]> batchArgs = IntStream.rangeClosed(1, count)
+				.mapToObj(i -> new Object[]{i, "http://test-data/mobility-hindrance/1/" + i,
+						COLLECTION_NAME + "/http://test-data/mobility-hindrance/1/" + i, LocalDateTime.now(), UUID.randomUUID()})
+				.toList();
+
+		jdbcTemplate.batchUpdate("INSERT INTO members VALUES (?, ?, ?, 1, true, '', ?, ?, 'http://test-data/mobility-hindrance/1')", batchArgs);
+	}
+
+	private void bucketiseMembers(int count) {
+		IntStream.rangeClosed(1, count)
+				.forEach(i -> jdbcTemplate.update("INSERT INTO page_members (bucket_id, member_id) VALUES (1, ?)", i));
+	}
+}
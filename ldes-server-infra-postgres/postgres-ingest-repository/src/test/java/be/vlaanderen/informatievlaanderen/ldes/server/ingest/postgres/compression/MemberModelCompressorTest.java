@@ -0,0 +1,165 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.compression;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.DatabaseColumnModelConverter;
+import com.github.luben.zstd.Zstd;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.DCTerms;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.compression.MemberModelDictionaryTrainer.SAMPLE_COUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnableAutoConfiguration(exclude = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@SpringBootTest(properties = "ldes-server.ingest.model-compression-enabled=true")
+@AutoConfigureEmbeddedDatabase
+@ActiveProfiles("postgres-test")
+@ContextConfiguration(classes = {MemberModelCompressor.class, MemberModelDictionaryTrainer.class, DatabaseColumnModelConverter.class})
+class MemberModelCompressorTest {
+	private static final String COLLECTION_NAME = "mobility-hindrances";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private MemberModelCompressor compressor;
+	@Autowired
+	private MemberModelDictionaryTrainer trainer;
+	@Autowired
+	private DatabaseColumnModelConverter modelConverter;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("""
+				INSERT INTO collections
+				VALUES (1, 'mobility-hindrances', 'http://purl.org/dc/terms/created', 'http://purl.org/dc/terms/isVersionOf', false,
+				        false);
+				""");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM collections");
+		compressor.handleEventStreamDeletedEvent(new EventStreamDeletedEvent(COLLECTION_NAME));
+		compressor.handleEventStreamDeletedEvent(new EventStreamDeletedEvent("other-collection"));
+	}
+
+	@Test
+	void given_TooFewMembers_when_TrainDictionaries_then_ModelsAreNotCompressed() {
+		insertMembers(SAMPLE_COUNT - 1);
+
+		trainer.trainDictionaries();
+		final byte[] model = modelConverter.serialise(createModel(SAMPLE_COUNT));
+
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM member_model_dictionaries", Long.class)).isZero();
+		assertThat(compressor.compress(COLLECTION_NAME, model)).isSameAs(model);
+		assertThat(compressor.decompress(model)).isSameAs(model);
+	}
+
+	@Test
+	void given_EnoughMembers_when_TrainDictionaries_then_ModelsAreCompressedWithTheStoredDictionary() {
+		insertMembers(SAMPLE_COUNT);
+
+		trainer.trainDictionaries();
+		final Model model = createModel(SAMPLE_COUNT);
+		final byte[] serialisedModel = modelConverter.serialise(model);
+		final byte[] compressedModel = modelConverter.convertToDatabaseColumn(COLLECTION_NAME, model);
+
+		assertThat(compressedModel).hasSizeLessThan(serialisedModel.length / 2);
+		assertThat(jdbcTemplate.queryForObject("SELECT dictionary_id FROM member_model_dictionaries WHERE collection_id = 1", Long.class))
+				.isEqualTo(Zstd.getDictIdFromFrame(compressedModel));
+		assertThat(modelConverter.toSerialisedModel(compressedModel)).isEqualTo(serialisedModel);
+		assertThat(modelConverter.convertToEntityAttribute(compressedModel)).matches(model::isIsomorphicWith);
+	}
+
+	@Test
+	void given_DictionaryIdInUseByOtherCollection_when_TrainDictionaries_then_DictionaryIsDiscarded() {
+		insertMembers(SAMPLE_COUNT);
+		trainer.trainDictionaries();
+		jdbcTemplate.update("""
+				INSERT INTO collections
+				VALUES (2, 'other-collection', 'http://purl.org/dc/terms/created', 'http://purl.org/dc/terms/isVersionOf', false,
+				        false);
+				UPDATE member_model_dictionaries SET collection_id = 2;
+				""");
+
+		trainer.trainDictionaries();
+
+		assertThat(jdbcTemplate.queryForList("SELECT collection_id FROM member_model_dictionaries", Integer.class)).containsExactly(2);
+	}
+
+	@Test
+	void given_DictionaryOfOtherInstance_when_Decompress_then_DictionaryIsLoaded() {
+		insertMembers(SAMPLE_COUNT);
+		trainer.trainDictionaries();
+		final byte[] serialisedModel = modelConverter.serialise(createModel(SAMPLE_COUNT));
+		final byte[] compressedModel = compressor.compress(COLLECTION_NAME, serialisedModel);
+
+		final MemberModelCompressor otherCompressor = new MemberModelCompressor(dataSource, true);
+
+		assertThat(otherCompressor.compress(COLLECTION_NAME, serialisedModel)).isSameAs(serialisedModel);
+		assertThat(otherCompressor.decompress(compressedModel)).isEqualTo(serialisedModel);
+	}
+
+	@Test
+	void given_CompressionDisabled_when_Compress_then_ModelIsNotCompressed() {
+		insertMembers(SAMPLE_COUNT);
+		trainer.trainDictionaries();
+		final byte[] serialisedModel = modelConverter.serialise(createModel(SAMPLE_COUNT));
+		final byte[] compressedModel = compressor.compress(COLLECTION_NAME, serialisedModel);
+
+		final MemberModelCompressor disabledCompressor = new MemberModelCompressor(dataSource, false);
+		disabledCompressor.loadDictionaries();
+
+		assertThat(disabledCompressor.compress(COLLECTION_NAME, serialisedModel)).isSameAs(serialisedModel);
+		assertThat(disabledCompressor.decompress(compressedModel)).isEqualTo(serialisedModel);
+	}
+
+	private void insertMembers(int count) {
+		final List<Object[]> members = IntStream.range(0, count)
+				.mapToObj(i -> new Object[]{i + 1, getSubject(i), getSubject(i), modelConverter.serialise(createModel(i)), LocalDateTime.now()})
+				.toList();
+		jdbcTemplate.batchUpdate("""
+				INSERT INTO members (member_id, subject, old_id, collection_id, is_in_event_source, member_model, timestamp, transaction_id, version_of)
+				VALUES (?, ?, ?, 1, true, ?, ?, gen_random_uuid(), 'http://test-data/mobility-hindrance/1')
+				""", members);
+	}
+
+	private static Model createModel(int index) {
+		final Model model = ModelFactory.createDefaultModel();
+		final Resource member = model.createResource(getSubject(index));
+		member.addProperty(RDF.type, model.createResource("https://data.vlaanderen.be/ns/mobiliteit#Mobiliteitshinder"));
+		member.addProperty(DCTerms.isVersionOf, model.createResource("http://test-data/mobility-hindrance/" + index % 10));
+		member.addProperty(DCTerms.created, "2024-01-01T00:00:%02d.000Z".formatted(index % 60));
+		member.addProperty(DCTerms.description, "Hindrance number " + index + " on a road segment");
+		final Resource zone = model.createResource();
+		zone.addProperty(RDF.type, model.createResource("https://data.vlaanderen.be/ns/mobiliteit#Zone"));
+		zone.addProperty(model.createProperty("http://www.w3.org/ns/locn#geometry"), "POINT (4.%d 51.%d)".formatted(index, index * 7 % 1000));
+		member.addProperty(model.createProperty("https://data.vlaanderen.be/ns/mobiliteit#zone"), zone);
+		return model;
+	}
+
+	private static String getSubject(int index) {
+		return "http://test-data/mobility-hindrance/1/" + index;
+	}
+}
@@ -0,0 +1,54 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.copy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryCopyWriterTest {
+
+	@Test
+	void when_RowsAreWritten_then_BinaryCopyFormatIsProduced() throws IOException {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		try (BinaryCopyWriter writer = new BinaryCopyWriter(outputStream)) {
+			writer.startRow(3);
+			writer.writeInt(7);
+			writer.writeText("é");
+			writer.writeTimestamp(LocalDateTime.of(2000, 1, 1, 0, 0, 1, 500_000));
+		}
+
+		final ByteBuffer buffer = ByteBuffer.wrap(outputStream.toByteArray());
+		final byte[] signature = new byte[11];
+		buffer.get(signature);
+		assertThat(signature).isEqualTo(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0});
+		assertThat(buffer.getInt()).isZero();
+		assertThat(buffer.getInt()).isZero();
+		assertThat(buffer.getShort()).isEqualTo((short) 3);
+		assertThat(buffer.getInt()).isEqualTo(4);
+		assertThat(buffer.getInt()).isEqualTo(7);
+		assertThat(buffer.getInt()).isEqualTo(2);
+		buffer.position(buffer.position() + 2);
+		assertThat(buffer.getInt()).isEqualTo(8);
+		assertThat(buffer.getLong()).isEqualTo(1_000_500L);
+		assertThat(buffer.getShort()).isEqualTo((short) -1);
+		assertThat(buffer.hasRemaining()).isFalse();
+	}
+
+	@Test
+	void when_TimestampBeforePostgresEpoch_then_NegativeMicrosAreWritten() throws IOException {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		try (BinaryCopyWriter writer = new BinaryCopyWriter(outputStream)) {
+			writer.writeTimestamp(LocalDateTime.of(1999, 12, 31, 23, 59, 59));
+		}
+
+		final ByteBuffer buffer = ByteBuffer.wrap(outputStream.toByteArray(), 19, 12);
+		assertThat(buffer.getInt()).isEqualTo(8);
+		assertThat(buffer.getLong()).isEqualTo(-1_000_000L);
+	}
+}
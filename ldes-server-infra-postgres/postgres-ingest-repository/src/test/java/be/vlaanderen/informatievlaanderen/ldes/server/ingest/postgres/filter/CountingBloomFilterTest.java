@@ -0,0 +1,68 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountingBloomFilterTest {
+	private static final String SUBJECT = "http://test-data/mobility-hindrance/1/1";
+
+	@Test
+	void test_AddedValuesAreNeverReportedAbsent() {
+		final CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+		final List<String> subjects = IntStream.range(0, 1000).mapToObj("http://test-data/mobility-hindrance/%d"::formatted).toList();
+
+		subjects.forEach(filter::put);
+
+		assertThat(subjects).allMatch(filter::mightContain);
+	}
+
+	@Test
+	void test_FalsePositiveRate() {
+		final CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+		IntStream.range(0, 1000).mapToObj("http://test-data/mobility-hindrance/%d"::formatted).forEach(filter::put);
+
+		final long falsePositives = IntStream.range(0, 10_000)
+				.mapToObj("http://test-data/other/%d"::formatted)
+				.filter(filter::mightContain)
+				.count();
+
+		assertThat(falsePositives).isLessThan(300);
+	}
+
+	@Test
+	void test_RemovedValueIsReportedAbsent() {
+		final CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+		filter.put(SUBJECT);
+		filter.put("http://test-data/mobility-hindrance/1/2");
+
+		filter.remove(SUBJECT);
+
+		assertThat(filter.mightContain(SUBJECT)).isFalse();
+		assertThat(filter.mightContain("http://test-data/mobility-hindrance/1/2")).isTrue();
+	}
+
+	@Test
+	void test_ValueAddedTwiceRemainsAfterSingleRemoval() {
+		final CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+		filter.put(SUBJECT);
+		filter.put(SUBJECT);
+
+		filter.remove(SUBJECT);
+
+		assertThat(filter.mightContain(SUBJECT)).isTrue();
+	}
+
+	@Test
+	void test_SaturatedCountersAreNotDecremented() {
+		final CountingBloomFilter filter = new CountingBloomFilter(1, 0.01);
+		IntStream.range(0, 20).forEach(i -> filter.put(SUBJECT));
+
+		IntStream.range(0, 20).forEach(i -> filter.remove(SUBJECT));
+
+		assertThat(filter.mightContain(SUBJECT)).isTrue();
+	}
+}
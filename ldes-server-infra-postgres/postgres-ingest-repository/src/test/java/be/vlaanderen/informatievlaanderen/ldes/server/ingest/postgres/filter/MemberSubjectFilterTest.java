@@ -0,0 +1,94 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.filter;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamDeletedEvent;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnableAutoConfiguration(exclude = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@SpringBootTest(properties = "ldes-server.ingest.subject-filter-enabled=true")
+@AutoConfigureEmbeddedDatabase
+@ActiveProfiles("postgres-test")
+@ContextConfiguration(classes = MemberSubjectFilter.class)
+class MemberSubjectFilterTest {
+	private static final String COLLECTION_NAME = "mobility-hindrances";
+	private static final List<String> SUBJECTS = List.of("http://test-data/mobility-hindrance/1/1");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private MemberSubjectFilter memberSubjectFilter;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("""
+				INSERT INTO collections
+				VALUES (1, 'mobility-hindrances', 'http://purl.org/dc/terms/created', 'http://purl.org/dc/terms/isVersionOf', false,
+				        false);
+				""");
+		memberSubjectFilter.addAll(COLLECTION_NAME, SUBJECTS);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		jdbcTemplate.update("DELETE FROM collections");
+		memberSubjectFilter.handleEventStreamDeletedEvent(new EventStreamDeletedEvent(COLLECTION_NAME));
+	}
+
+	@Test
+	void given_NoTransaction_when_RemoveAll_then_SubjectsAreRemoved() {
+		memberSubjectFilter.removeAll(COLLECTION_NAME, SUBJECTS);
+
+		assertThat(memberSubjectFilter.mightContainAny(COLLECTION_NAME, SUBJECTS)).isFalse();
+	}
+
+	@Test
+	void given_Transaction_when_Committed_then_SubjectsAreRemoved() {
+		TransactionSynchronizationManager.initSynchronization();
+		memberSubjectFilter.removeAll(COLLECTION_NAME, SUBJECTS);
+		assertThat(memberSubjectFilter.mightContainAny(COLLECTION_NAME, SUBJECTS)).isTrue();
+
+		completeTransaction(true);
+
+		assertThat(memberSubjectFilter.mightContainAny(COLLECTION_NAME, SUBJECTS)).isFalse();
+	}
+
+	@Test
+	void given_Transaction_when_RolledBack_then_SubjectsAreKept() {
+		TransactionSynchronizationManager.initSynchronization();
+		memberSubjectFilter.removeAll(COLLECTION_NAME, SUBJECTS);
+
+		completeTransaction(false);
+
+		assertThat(memberSubjectFilter.mightContainAny(COLLECTION_NAME, SUBJECTS)).isTrue();
+	}
+
+	private void completeTransaction(boolean committed) {
+		final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		if (committed) {
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		}
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(committed
+				? TransactionSynchronization.STATUS_COMMITTED
+				: TransactionSynchronization.STATUS_ROLLED_BACK));
+	}
+}
@@ -2,7 +2,9 @@ package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.mapper;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.FragmentationMember;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.EventStreamProperties;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.DatabaseColumnModelConverter;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.PostgresIngestMemberConstants;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.compression.MemberModelCompressor;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.riot.RDFParser;
 import org.apache.jena.riot.RDFWriter;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import javax.sql.DataSource;
 import java.io.ByteArrayOutputStream;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -19,6 +22,7 @@ import java.time.LocalDateTime;
 
 import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.mapper.FragmentationMemberRowMapper.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +37,8 @@ class FragmentationMemberRowMapperTest {
 	public static final boolean VERSION_CREATION_ENABLED = false;
 	private static Model memberModel;
 	private static FragmentationMember fragmentationMember;
-	private final FragmentationMemberRowMapper rowMapper = new FragmentationMemberRowMapper();
+	private final FragmentationMemberRowMapper rowMapper = new FragmentationMemberRowMapper(
+			new DatabaseColumnModelConverter(new MemberModelCompressor(mock(DataSource.class), false)));
 	@Mock
 	private ResultSet resultSet;
 
@@ -1,7 +1,9 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.mapper;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.Member;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.DatabaseColumnModelConverter;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.PostgresIngestMemberConstants;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.compression.MemberModelCompressor;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.riot.RDFParser;
 import org.apache.jena.riot.RDFWriter;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import javax.sql.DataSource;
 import java.io.ByteArrayOutputStream;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -18,12 +21,14 @@ import java.sql.SQLException;
 import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.mapper.MemberRowMapper.MEMBER_MODEL_KEY;
 import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.mapper.MemberRowMapper.SUBJECT_KEY;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class MemberRowMapperTest {
 	private static Model memberModel;
-	private final MemberRowMapper memberRowMapper = new MemberRowMapper();
+	private final MemberRowMapper memberRowMapper = new MemberRowMapper(
+			new DatabaseColumnModelConverter(new MemberModelCompressor(mock(DataSource.class), false)));
 	@Mock
 	private ResultSet resultSet;
 
@@ -56,3 +56,27 @@ Feature: MemberRepository
       | subject                                 | collectionName      | versionOf                             | timestamp           |
       | http://test-data/mobility-hindrance/1/1 | mobility-hindrances | http://test-data/mobility-hindrance/2 | 2022-08-12T18:35:00 |
     Then The member with collection "mobility-hindrances" and subject "http://test-data/mobility-hindrance/1/1" will exist
+
+  Scenario: A deleted member can be inserted again in the MemberRepository
+    When I save the members using the MemberRepository
+      | subject                                 | collectionName      | versionOf                             | timestamp           |
+      | http://test-data/mobility-hindrance/1/1 | mobility-hindrances | http://test-data/mobility-hindrance/1 | 2022-08-12T18:18:00 |
+    And I delete the member with collection "mobility-hindrances" and subject "http://test-data/mobility-hindrance/1/1"
+    And I save the members using the MemberRepository
+      | subject                                 | collectionName      | versionOf                             | timestamp           |
+      | http://test-data/mobility-hindrance/1/1 | mobility-hindrances | http://test-data/mobility-hindrance/1 | 2022-08-12T18:35:00 |
+    Then I expect a list of 2 members
+    And The member with collection "mobility-hindrances" and subject "http://test-data/mobility-hindrance/1/1" will exist
+
+  Scenario: The copy writer only stores the members that do not exist yet
+    When I save the members using the MemberCopyWriter
+      | subject                                 | collectionName      | versionOf                             | timestamp           |
+      | http://test-data/mobility-hindrance/1/1 | mobility-hindrances | http://test-data/mobility-hindrance/1 | 2022-08-12T18:18:00 |
+    And I save the members using the MemberCopyWriter
+      | subject                                 | collectionName      | versionOf                             | timestamp           |
+      | http://test-data/mobility-hindrance/1/1 | mobility-hindrances | http://test-data/mobility-hindrance/1 | 2022-08-12T18:18:00 |
+      | http://test-data/mobility-hindrance/1/2 | mobility-hindrances | http://test-data/mobility-hindrance/1 | 2022-08-12T18:35:00 |
+      | http://test-data/mobility-hindrance/1/2 | mobility-hindrances | http://test-data/mobility-hindrance/1 | 2022-08-12T18:36:00 |
+    Then I expect a list of 2 members
+    And The member with collection "mobility-hindrances" and subject "http://test-data/mobility-hindrance/1/2" can be retrieved from the database
+    And The retrieved member has the same properties as the 2 member in the table
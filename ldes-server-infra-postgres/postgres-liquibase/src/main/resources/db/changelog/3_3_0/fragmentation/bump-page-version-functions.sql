@@ -0,0 +1,32 @@
+CREATE OR REPLACE FUNCTION on_page_members_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE pages SET version = version + 1
+        WHERE page_id IN (SELECT page_id FROM new_page_members);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE pages SET version = version + 1
+        WHERE page_id IN (SELECT page_id FROM new_page_members UNION SELECT page_id FROM old_page_members);
+    ELSE
+        UPDATE pages SET version = version + 1
+        WHERE page_id IN (SELECT page_id FROM old_page_members);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION on_page_relations_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE pages SET version = version + 1
+        WHERE page_id IN (SELECT from_page_id FROM new_page_relations);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE pages SET version = version + 1
+        WHERE page_id IN (SELECT from_page_id FROM new_page_relations UNION SELECT from_page_id FROM old_page_relations);
+    ELSE
+        UPDATE pages SET version = version + 1
+        WHERE page_id IN (SELECT from_page_id FROM old_page_relations);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+-- end
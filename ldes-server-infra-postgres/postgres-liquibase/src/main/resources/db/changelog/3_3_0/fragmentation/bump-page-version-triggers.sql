@@ -0,0 +1,42 @@
+CREATE TRIGGER bump_page_version_on_page_members_insertion
+    AFTER INSERT
+    ON page_members
+    REFERENCING NEW TABLE AS new_page_members
+    FOR EACH STATEMENT
+EXECUTE PROCEDURE on_page_members_change();
+
+CREATE TRIGGER bump_page_version_on_page_members_update
+    AFTER UPDATE
+    ON page_members
+    REFERENCING OLD TABLE AS old_page_members NEW TABLE AS new_page_members
+    FOR EACH STATEMENT
+EXECUTE PROCEDURE on_page_members_change();
+
+CREATE TRIGGER bump_page_version_on_page_members_deletion
+    AFTER DELETE
+    ON page_members
+    REFERENCING OLD TABLE AS old_page_members
+    FOR EACH STATEMENT
+EXECUTE PROCEDURE on_page_members_change();
+
+CREATE TRIGGER bump_page_version_on_page_relations_insertion
+    AFTER INSERT
+    ON page_relations
+    REFERENCING NEW TABLE AS new_page_relations
+    FOR EACH STATEMENT
+EXECUTE PROCEDURE on_page_relations_change();
+
+CREATE TRIGGER bump_page_version_on_page_relations_update
+    AFTER UPDATE
+    ON page_relations
+    REFERENCING OLD TABLE AS old_page_relations NEW TABLE AS new_page_relations
+    FOR EACH STATEMENT
+EXECUTE PROCEDURE on_page_relations_change();
+
+CREATE TRIGGER bump_page_version_on_page_relations_deletion
+    AFTER DELETE
+    ON page_relations
+    REFERENCING OLD TABLE AS old_page_relations
+    FOR EACH STATEMENT
+EXECUTE PROCEDURE on_page_relations_change();
+-- end
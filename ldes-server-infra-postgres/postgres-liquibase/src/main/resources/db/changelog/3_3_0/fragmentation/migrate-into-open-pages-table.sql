@@ -0,0 +1,7 @@
+INSERT INTO open_pages (bucket_id, page_id, assigned_members)
+SELECT DISTINCT ON (p.bucket_id) p.bucket_id, p.page_id, (SELECT COUNT(*) FROM page_members pm WHERE pm.page_id = p.page_id)
+FROM pages p
+WHERE p.bucket_id IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM page_relations r WHERE r.from_page_id = p.page_id)
+ORDER BY p.bucket_id, p.page_id
+ON CONFLICT (bucket_id) DO NOTHING;
@@ -0,0 +1,118 @@
+CREATE OR REPLACE FUNCTION members_partition_name(p_collection_id INT, p_day DATE) RETURNS TEXT AS $$
+SELECT 'members_' || p_collection_id || '_' || to_char(p_day, 'YYYYMMDD');
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION create_collection_members_partition(p_collection_id INT) RETURNS VOID AS $$
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF members FOR VALUES IN (%s) PARTITION BY RANGE (timestamp)',
+                   'members_' || p_collection_id, p_collection_id);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Creates the partition of the members of a collection with a timestamp on the given day, unless it already exists.
+-- A partition that was detached by retention, but not dropped yet, is attached again, or created again when it has
+-- been dropped in the meantime, so that members that arrive late for that day can still be stored.
+-- Concurrent calls are serialized per collection, together with the detaching and dropping of partitions, so that only
+-- one of them creates the partition.
+CREATE OR REPLACE FUNCTION create_members_partition(p_collection_id INT, p_day DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    partition_name TEXT := members_partition_name(p_collection_id, p_day);
+    is_detached    BOOLEAN;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('member_partitions'), p_collection_id);
+    SELECT detached INTO is_detached FROM member_partitions WHERE collection_id = p_collection_id AND day = p_day;
+    IF NOT is_detached THEN
+        RETURN false;
+    END IF;
+    IF is_detached AND to_regclass(partition_name) IS NOT NULL THEN
+        EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       'members_' || p_collection_id, partition_name, p_day, p_day + 1);
+    ELSE
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, 'members_' || p_collection_id, p_day, p_day + 1);
+    END IF;
+    INSERT INTO member_partitions (collection_id, day) VALUES (p_collection_id, p_day)
+    ON CONFLICT (collection_id, day) DO UPDATE SET detached = false;
+    RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches a partition from the members table, unless some of its members are still part of a view. Returns whether the
+-- partition was detached by this call, an already detached partition is left as is.
+-- The view check runs before the detach, while only the partition itself is locked against writes, so that the lock on
+-- the members table of the collection, which blocks all reads of its members, is only held for the detach itself. When
+-- that lock cannot be acquired in time, the partition is left attached and is detached on a next run instead.
+CREATE OR REPLACE FUNCTION detach_members_partition(p_collection_id INT, p_day DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    partition_name TEXT := members_partition_name(p_collection_id, p_day);
+    in_view        BOOLEAN;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('member_partitions'), p_collection_id);
+    IF NOT EXISTS (SELECT 1 FROM member_partitions WHERE collection_id = p_collection_id AND day = p_day AND NOT detached) THEN
+        RETURN false;
+    END IF;
+    BEGIN
+        EXECUTE format('LOCK TABLE %I IN SHARE MODE', partition_name);
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I m JOIN page_members pm ON pm.member_id = m.member_id)', partition_name)
+            INTO in_view;
+        IF in_view THEN
+            RETURN false;
+        END IF;
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', 'members_' || p_collection_id, partition_name);
+    EXCEPTION
+        WHEN lock_not_available OR deadlock_detected THEN
+            RETURN false;
+    END;
+    UPDATE member_partitions SET detached = true WHERE collection_id = p_collection_id AND day = p_day;
+    RETURN true;
+END;
+$$ LANGUAGE plpgsql SET lock_timeout = '5s';
+
+-- Drops a partition that was detached from the members table. Returns whether the partition was dropped.
+-- Members that were added to a view after the view check of the detach are removed from their pages first.
+CREATE OR REPLACE FUNCTION drop_members_partition(p_collection_id INT, p_day DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    partition_name TEXT := members_partition_name(p_collection_id, p_day);
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('member_partitions'), p_collection_id);
+    IF NOT EXISTS (SELECT 1 FROM member_partitions WHERE collection_id = p_collection_id AND day = p_day AND detached) THEN
+        RETURN false;
+    END IF;
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        EXECUTE format('DELETE FROM page_members pm USING %I m WHERE pm.member_id = m.member_id', partition_name);
+        EXECUTE format('DROP TABLE %I', partition_name);
+    END IF;
+    DELETE FROM member_partitions WHERE collection_id = p_collection_id AND day = p_day;
+    RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION on_collection_insertion() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM create_collection_members_partition(NEW.collection_id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Dropping the partitions of a collection is a lot cheaper than deleting its members one by one
+CREATE OR REPLACE FUNCTION on_collection_deletion() RETURNS TRIGGER AS $$
+DECLARE
+    detached_day DATE;
+BEGIN
+    EXECUTE format('DROP TABLE IF EXISTS %I', 'members_' || OLD.collection_id);
+    FOR detached_day IN SELECT day FROM member_partitions WHERE collection_id = OLD.collection_id AND detached
+        LOOP
+            EXECUTE format('DROP TABLE IF EXISTS %I', members_partition_name(OLD.collection_id, detached_day));
+        END LOOP;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Replaces the foreign key of page_members, as a partitioned table can only be referenced on its full primary key
+CREATE OR REPLACE FUNCTION on_members_deletion() RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM page_members WHERE member_id IN (SELECT member_id FROM old_members);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+-- end
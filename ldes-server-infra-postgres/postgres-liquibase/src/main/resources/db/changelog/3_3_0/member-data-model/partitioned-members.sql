@@ -0,0 +1,79 @@
+CREATE TABLE member_partitions
+(
+    collection_id INT     NOT NULL REFERENCES collections (collection_id) ON DELETE CASCADE,
+    day           DATE    NOT NULL,
+    detached      BOOLEAN NOT NULL DEFAULT false,
+    PRIMARY KEY (collection_id, day)
+);
+
+ALTER TABLE page_members DROP CONSTRAINT fk_member_page_members_id;
+ALTER TABLE members RENAME TO members_unpartitioned;
+
+CREATE SEQUENCE members_partitioned_member_id_seq;
+
+CREATE TABLE members
+(
+    member_id          BIGINT                      NOT NULL DEFAULT nextval('members_partitioned_member_id_seq'),
+    subject            VARCHAR(255)                NOT NULL,
+    old_id             VARCHAR(255)                NOT NULL,
+    collection_id      INT                         NOT NULL,
+    is_in_event_source BOOLEAN                     NOT NULL DEFAULT true,
+    member_model       BYTEA                       NOT NULL,
+    timestamp          TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    transaction_id     VARCHAR(255)                NOT NULL,
+    version_of         VARCHAR(255)                NOT NULL
+) PARTITION BY LIST (collection_id);
+
+ALTER SEQUENCE members_partitioned_member_id_seq OWNED BY members.member_id;
+
+SELECT create_collection_members_partition(collection_id) FROM collections;
+SELECT create_members_partition(collection_id, day)
+FROM (SELECT DISTINCT collection_id, timestamp::date AS day FROM members_unpartitioned) days;
+
+INSERT INTO members (member_id, subject, old_id, collection_id, is_in_event_source, member_model, timestamp, transaction_id, version_of)
+SELECT member_id, subject, old_id, collection_id, is_in_event_source, member_model, timestamp, transaction_id, version_of
+FROM members_unpartitioned;
+
+SELECT setval('members_partitioned_member_id_seq', COALESCE((SELECT max(member_id) FROM members), 0) + 1, false);
+
+CREATE OR REPLACE VIEW "member_stats" AS
+SELECT c.collection_id,
+       v.view_id,
+       COALESCE(( SELECT max(m.member_id) AS max
+                  FROM members m
+                  WHERE (m.collection_id = c.collection_id)), (0)::bigint) AS last
+FROM (collections c
+    JOIN views v ON ((v.collection_id = c.collection_id)))
+GROUP BY c.collection_id, v.view_id;
+
+DROP TABLE members_unpartitioned;
+
+-- A unique constraint on a partitioned table has to include the partition keys, so the database only rejects a subject
+-- that is stored again with the same timestamp. Ingestion checks the existing subjects of the whole collection, while it
+-- holds a transaction scoped advisory lock on the collection, so that concurrent ingestions cannot store the same subject.
+ALTER TABLE members ADD CONSTRAINT members_pkey PRIMARY KEY (member_id, collection_id, timestamp);
+ALTER TABLE members ADD CONSTRAINT members_collection_id_subject_timestamp_key UNIQUE (collection_id, subject, timestamp);
+ALTER TABLE members ADD CONSTRAINT fk_collection_id FOREIGN KEY (collection_id) REFERENCES collections (collection_id) ON DELETE CASCADE;
+CREATE INDEX idx3mw3hkmk4phlm5hg3vsm4bzes ON members (old_id);
+CREATE INDEX members_timestamp_idx ON members (timestamp);
+CREATE INDEX members_collection_id_version_idx ON members (collection_id, version_of, timestamp DESC, member_id DESC);
+
+CREATE TRIGGER create_members_partition_on_collection_insertion
+    AFTER INSERT
+    ON collections
+    FOR EACH ROW
+EXECUTE PROCEDURE on_collection_insertion();
+
+CREATE TRIGGER drop_members_partitions_on_collection_deletion
+    BEFORE DELETE
+    ON collections
+    FOR EACH ROW
+EXECUTE PROCEDURE on_collection_deletion();
+
+CREATE TRIGGER delete_page_members_on_members_deletion
+    AFTER DELETE
+    ON members
+    REFERENCING OLD TABLE AS old_members
+    FOR EACH STATEMENT
+EXECUTE PROCEDURE on_members_deletion();
+-- end
@@ -18,16 +18,10 @@ public class PageMemberPostgresRepository implements PageMemberRepository {
         this.entityRepository = entityRepository;
     }
 
-    @Override
-    @Transactional
-    public void setPageMembersToNewPage(long newPageId, List<Long> pageIds) {
-        entityRepository.setPageMembersToNewPage(newPageId, pageIds);
-    }
-
     @Override
     @Modifying
     @Transactional
     public void deleteByViewNameAndMembersIds(ViewName viewName, List<Long> memberIds) {
-        entityRepository.deleteAllByBucket_View_EventStream_NameAndBucket_View_NameAndMember_IdIn(viewName.getCollectionName(), viewName.getViewName(), memberIds);
+        entityRepository.deleteAllByViewNameAndMemberIds(viewName.getCollectionName(), viewName.getViewName(), memberIds);
     }
 }
@@ -4,6 +4,7 @@ import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.CompactionCandidate;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.entities.Page;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.batch.PaginationRowMapper;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.cache.OpenPageCache;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.repository.PageEntityRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.PageRepository;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -11,56 +12,130 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 @Repository
 public class PagePostgresRepository implements PageRepository {
+	private static final String OPEN_PAGE_SQL = """
+			SELECT o.page_id, o.bucket_id, p.partial_url, v.page_size, o.assigned_members
+			FROM open_pages o
+			         JOIN pages p ON p.page_id = o.page_id
+			         JOIN buckets b ON b.bucket_id = o.bucket_id
+			         JOIN views v ON v.view_id = b.view_id
+			WHERE o.bucket_id = ?
+			""";
+	private static final String UNTRACKED_OPEN_PAGE_SQL = """
+			SELECT p.page_id, p.bucket_id, p.partial_url, v.page_size, COUNT(m.member_id) AS assigned_members
+			FROM pages p
+			         LEFT JOIN page_members m ON p.page_id = m.page_id
+			         JOIN buckets b ON p.bucket_id = b.bucket_id
+			         JOIN views v ON v.view_id = b.view_id
+			WHERE p.bucket_id = ? AND NOT EXISTS (SELECT 1 FROM page_relations r WHERE r.from_page_id = p.page_id)
+			GROUP BY p.page_id, v.page_size
+			ORDER BY p.page_id
+			LIMIT 1
+			""";
+	private static final String UPSERT_OPEN_PAGE_SQL = """
+			INSERT INTO open_pages (bucket_id, page_id, assigned_members)
+			VALUES (?, ?, ?)
+			ON CONFLICT (bucket_id) DO UPDATE SET page_id = EXCLUDED.page_id, assigned_members = EXCLUDED.assigned_members
+			""";
+
+	private static final String CREATE_PAGES_SQL = """
+			INSERT INTO pages (bucket_id, expiration, partial_url)
+			SELECT ?, NULL, u.partial_url
+			FROM UNNEST(?::varchar[]) WITH ORDINALITY AS u(partial_url, position)
+			ORDER BY u.position
+			ON CONFLICT (partial_url) DO UPDATE SET bucket_id = pages.bucket_id
+			RETURNING page_id, partial_url
+			""";
+	private static final String SET_PAGES_IMMUTABLE_SQL = "UPDATE pages SET immutable = true WHERE page_id = ANY(?)";
+	/**
+	 * Follows the relations from every candidate that is not the next page of another candidate, so that connected
+	 * candidates are returned one after the other, in the order of their relations
+	 */
+	private static final String COMPACTION_CANDIDATES_SQL = """
+			WITH RECURSIVE candidates AS MATERIALIZED (
+			    SELECT p.page_id, pm.size, r.to_page_id, p.immutable, p.expiration, p.bucket_id, p.partial_url
+			    FROM pages p
+			             JOIN buckets b ON b.bucket_id = p.bucket_id
+			             JOIN views v ON v.view_id = b.view_id
+			             JOIN collections c ON c.collection_id = v.collection_id
+			             JOIN page_relations r ON r.from_page_id = p.page_id
+			             CROSS JOIN LATERAL (SELECT COUNT(*) AS size FROM page_members m WHERE m.page_id = p.page_id) pm
+			    WHERE c.name = ? AND v.name = ? AND pm.size < ?
+			), chains AS (
+			    SELECT candidate.*, candidate.page_id AS chain_id, 1 AS position
+			    FROM candidates candidate
+			    WHERE NOT EXISTS (SELECT 1 FROM candidates previous WHERE previous.to_page_id = candidate.page_id)
+			    UNION ALL
+			    SELECT next.*, chain.chain_id, chain.position + 1
+			    FROM chains chain
+			             JOIN candidates next ON next.page_id = chain.to_page_id
+			    WHERE chain.position < (SELECT COUNT(*) FROM candidates)
+			)
+			SELECT page_id, size, to_page_id, immutable, expiration, bucket_id, partial_url
+			FROM chains
+			ORDER BY chain_id, position
+			""";
+	private static final String DELETE_OUTDATED_PAGES_SQL = "DELETE FROM pages WHERE expiration < ? RETURNING partial_url";
+
 	private final JdbcTemplate jdbcTemplate;
 	private final PageEntityRepository pageEntityRepository;
+	private final OpenPageCache openPageCache;
 
-	public PagePostgresRepository(JdbcTemplate jdbcTemplate, PageEntityRepository pageEntityRepository) {
+	public PagePostgresRepository(JdbcTemplate jdbcTemplate, PageEntityRepository pageEntityRepository, OpenPageCache openPageCache) {
 		this.jdbcTemplate = jdbcTemplate;
 		this.pageEntityRepository = pageEntityRepository;
+		this.openPageCache = openPageCache;
 	}
 
+	/**
+	 * The open page of a bucket is tracked in the open_pages table from its first pagination onwards. Before that,
+	 * it is the only page of the bucket without a relation to a next page.
+	 */
 	@Override
 	@Transactional(readOnly = true)
 	public Page getOpenPage(long bucketId) {
-		String sql = """
-				 select DISTINCT p.page_id, p.bucket_id, p.partial_url, v.page_size, COUNT(member_id) AS assigned_members
-				 FROM pages p
-				          LEFT JOIN page_members m ON p.page_id = m.page_id
-				          JOIN buckets b ON p.bucket_id = b.bucket_id
-				          JOIN views v ON v.view_id = b.view_id
-				 where b.bucket_id = ? AND p.page_id NOT IN (SELECT from_page_id FROM page_relations)
-				 group by p.page_id, v.page_size
-				 order by page_id
-				""";
-		return jdbcTemplate.query(sql, new PaginationRowMapper(), bucketId)
-				.stream()
-				.findFirst()
+		return openPageCache.get(bucketId)
+				.or(() -> findOpenPage(OPEN_PAGE_SQL, bucketId))
+				.or(() -> findOpenPage(UNTRACKED_OPEN_PAGE_SQL, bucketId))
 				.orElseThrow();
 	}
 
 	@Override
 	@Transactional
-	public int createPage(Long bucketId, String partialUrl) {
-		String sql = """
-				INSERT INTO pages (bucket_id, expiration, partial_url)
-				            VALUES (?, NULL, ?)
-				            ON CONFLICT (partial_url) DO UPDATE SET bucket_id = pages.bucket_id
-				   RETURNING page_id;
-				""";
+	public void updateOpenPage(Page page) {
+		jdbcTemplate.update(UPSERT_OPEN_PAGE_SQL, page.getBucketId(), page.getId(), page.getAssignedMemberCount());
+		openPageCache.put(page);
+	}
 
-		return Objects.requireNonNull(jdbcTemplate.queryForObject(sql, Long.class, bucketId, partialUrl)).intValue();
+	private Optional<Page> findOpenPage(String sql, long bucketId) {
+		final Optional<Page> openPage = jdbcTemplate.query(sql, new PaginationRowMapper(), bucketId).stream().findFirst();
+		openPage.ifPresent(openPageCache::put);
+		return openPage;
 	}
 
 	@Override
 	@Transactional
-	public void setPageImmutable(long pageId) {
-		pageEntityRepository.setPageImmutable(pageId);
+	public List<Long> createPages(long bucketId, List<String> partialUrls) {
+		final Map<String, Long> pageIds = new HashMap<>();
+		jdbcTemplate.query(CREATE_PAGES_SQL,
+				rs -> {
+					pageIds.put(rs.getString("partial_url"), rs.getLong("page_id"));
+				},
+				bucketId, partialUrls.toArray(String[]::new));
+		return partialUrls.stream().map(pageIds::get).toList();
+	}
+
+	@Override
+	@Transactional
+	public void setPagesImmutable(List<Long> pageIds) {
+		jdbcTemplate.update(SET_PAGES_IMMUTABLE_SQL, (Object) pageIds.toArray(Long[]::new));
 	}
 
 	@Override
@@ -77,20 +152,16 @@ public class PagePostgresRepository implements PageRepository {
 
 	@Override
 	public Stream<CompactionCandidate> getPossibleCompactionCandidates(ViewName viewName, int capacityPerPage) {
-		return pageEntityRepository.findCompactionCandidates(viewName.getCollectionName(), viewName.getViewName(), capacityPerPage)
-				.stream().map(projection -> new CompactionCandidate(projection.getFragmentId(), projection.getSize(), projection.getToPage(),
-						projection.getImmutable(), projection.getExpiration(), projection.getBucketId(), projection.getPartialUrl()));
-	}
-
-	@Override
-	@Transactional
-	public void deleteOutdatedFragments(LocalDateTime deleteTime) {
-		pageEntityRepository.deleteByExpirationBefore(deleteTime);
+		return jdbcTemplate.query(COMPACTION_CANDIDATES_SQL,
+				(rs, rowNum) -> new CompactionCandidate(rs.getLong("page_id"), rs.getInt("size"), rs.getLong("to_page_id"),
+						rs.getBoolean("immutable"), rs.getObject("expiration", LocalDateTime.class), rs.getLong("bucket_id"),
+						rs.getString("partial_url")),
+				viewName.getCollectionName(), viewName.getViewName(), capacityPerPage).stream();
 	}
 
 	@Override
 	@Transactional
-	public void setDeleteTime(List<Long> ids, LocalDateTime deleteTime) {
-		pageEntityRepository.setDeleteTime(ids, deleteTime);
+	public List<String> deleteOutdatedFragments(LocalDateTime deleteTime) {
+		return jdbcTemplate.queryForList(DELETE_OUTDATED_PAGES_SQL, String.class, deleteTime);
 	}
 }
@@ -2,43 +2,69 @@ package be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.RdfConstants;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketRelation;
-import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.repository.RelationEntityRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.PageRelationRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Repository
 public class PageRelationPostgresRepository implements PageRelationRepository {
-	private final RelationEntityRepository relationEntityRepository;
+	private static final String INSERT_GENERIC_RELATIONS_SQL = """
+			INSERT INTO page_relations (from_page_id, to_page_id, relation_type)
+			SELECT r.from_page_id, r.to_page_id, ?
+			FROM UNNEST(?::bigint[], ?::bigint[]) AS r(from_page_id, to_page_id)
+			""";
+	private static final String INSERT_BUCKET_RELATIONS_SQL = """
+			INSERT INTO page_relations (from_page_id, to_page_id, relation_type, value, value_type, path)
+			SELECT DISTINCT f.page_id, t.page_id, r.relation_type, r.value, r.value_type, r.path
+			FROM UNNEST(?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[])
+			         AS r(from_partial_url, to_partial_url, relation_type, value, value_type, path)
+			         JOIN pages f ON f.partial_url = r.from_partial_url
+			         JOIN pages t ON t.partial_url = r.to_partial_url
+			WHERE NOT EXISTS (SELECT 1
+			                  FROM page_relations pr
+			                  WHERE pr.from_page_id = f.page_id
+			                    AND pr.to_page_id = t.page_id
+			                    AND pr.relation_type = r.relation_type
+			                    AND pr.value IS NOT DISTINCT FROM r.value
+			                    AND pr.value_type IS NOT DISTINCT FROM r.value_type
+			                    AND pr.path IS NOT DISTINCT FROM r.path)
+			""";
 
-	public PageRelationPostgresRepository(RelationEntityRepository relationEntityRepository) {
-		this.relationEntityRepository = relationEntityRepository;
+	private final JdbcTemplate jdbcTemplate;
+
+	public PageRelationPostgresRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
 	}
 
 	@Override
 	@Transactional
-	public void insertGenericBucketRelation(long fromPageId, long toPageId) {
-		relationEntityRepository.insertRelation(fromPageId, toPageId, RdfConstants.GENERIC_TREE_RELATION);
+	public void insertGenericBucketRelations(List<Long> pageIds) {
+		jdbcTemplate.update(INSERT_GENERIC_RELATIONS_SQL, RdfConstants.GENERIC_TREE_RELATION,
+				pageIds.subList(0, pageIds.size() - 1).toArray(Long[]::new),
+				pageIds.subList(1, pageIds.size()).toArray(Long[]::new));
 	}
 
+	/**
+	 * All relations are inserted by a single statement. Relations that occur more than once in the list, or that
+	 * already exist, are skipped.
+	 */
 	@Override
 	@Transactional
-	public void insertBucketRelation(BucketRelation bucketRelation) {
-		relationEntityRepository.insertRelation(
-				bucketRelation.fromBucket().createPartialUrl(),
-				bucketRelation.toBucket().createPartialUrl(),
-				bucketRelation.treeRelationType(),
-				bucketRelation.treeValue(),
-				bucketRelation.treeValueType(),
-				bucketRelation.treePath()
-		);
+	public void insertBucketRelations(List<BucketRelation> bucketRelations) {
+		jdbcTemplate.update(INSERT_BUCKET_RELATIONS_SQL,
+				toArray(bucketRelations, bucketRelation -> bucketRelation.fromBucket().createPartialUrl()),
+				toArray(bucketRelations, bucketRelation -> bucketRelation.toBucket().createPartialUrl()),
+				toArray(bucketRelations, BucketRelation::treeRelationType),
+				toArray(bucketRelations, BucketRelation::treeValue),
+				toArray(bucketRelations, BucketRelation::treeValueType),
+				toArray(bucketRelations, BucketRelation::treePath));
 	}
 
-	@Override
-	@Transactional
-	public void updateCompactionBucketRelations(List<Long> compactedPageIds, long targetId) {
-		relationEntityRepository.updateToPageRelations(compactedPageIds, targetId);
+	private static String[] toArray(List<BucketRelation> bucketRelations, Function<BucketRelation, String> property) {
+		return bucketRelations.stream().map(property).toArray(String[]::new);
 	}
 }
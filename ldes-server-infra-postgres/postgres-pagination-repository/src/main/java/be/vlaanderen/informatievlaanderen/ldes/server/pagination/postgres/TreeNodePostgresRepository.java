@@ -5,34 +5,60 @@ import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventS
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.EventStream;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.Member;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.SerialisedMember;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.repository.TreeNodeRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.services.versioncreation.VersionObjectCreator;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.services.versioncreation.VersionObjectCreatorFactory;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.DatabaseColumnModelConverter;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.mapper.TreeNodeMapper;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.projection.TreeRelationProjection;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.repository.PageEntityRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.repository.PageMemberEntityRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.repository.RelationEntityRepository;
+import org.apache.jena.rdf.model.Model;
 import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.PostgresIngestMemberConstants.SERIALISATION_LANG;
 
 @Repository
 public class TreeNodePostgresRepository implements TreeNodeRepository {
+	private static final int MEMBER_CHUNK_SIZE = 500;
+	private static final String VERSION_SQL = "SELECT version FROM pages WHERE partial_url = ?";
+	private static final String COLLECTION_ID_SQL = "SELECT collection_id FROM collections WHERE name = ?";
+	private static final String SERIALISED_MEMBERS_SQL = """
+			SELECT m.member_id, m.subject, m.member_model, m.version_of, m.timestamp
+			FROM members m
+			         JOIN page_members pm ON pm.member_id = m.member_id
+			         JOIN pages p ON p.page_id = pm.page_id
+			WHERE p.partial_url = ? AND m.collection_id = ? AND m.member_id > ?
+			ORDER BY m.member_id
+			LIMIT ?
+			""";
+
 	private final PageEntityRepository pageEntityRepository;
 	private final RelationEntityRepository relationEntityRepository;
 	private final PageMemberEntityRepository pageMemberEntityRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final DatabaseColumnModelConverter modelConverter;
 	private final Map<String, VersionObjectCreator> versionObjectCreatorMap = new HashMap<>();
+	private final Set<String> collectionsWithVersionCreation = new HashSet<>();
 
-	public TreeNodePostgresRepository(PageEntityRepository pageEntityRepository, RelationEntityRepository relationEntityRepository, PageMemberEntityRepository pageMemberEntityRepository) {
+	public TreeNodePostgresRepository(PageEntityRepository pageEntityRepository, RelationEntityRepository relationEntityRepository, PageMemberEntityRepository pageMemberEntityRepository,
+	                                  JdbcTemplate jdbcTemplate, DatabaseColumnModelConverter modelConverter) {
 		this.pageEntityRepository = pageEntityRepository;
 		this.relationEntityRepository = relationEntityRepository;
 		this.pageMemberEntityRepository = pageMemberEntityRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.modelConverter = modelConverter;
 	}
 
 	@Override
@@ -44,7 +70,7 @@ public class TreeNodePostgresRepository implements TreeNodeRepository {
 
 					var versionObjectCreator = versionObjectCreatorMap.get(page.getCollectionName());
 
-					final List<Member> members = pageMemberEntityRepository.findAllMembersByPageId(page.getId())
+					final List<Member> members = pageMemberEntityRepository.findAllMembersByPageId(page.getId(), page.getCollectionId())
 							.stream()
 							.map(treeMemberProjection -> new Member(treeMemberProjection.getSubject(),
 									versionObjectCreator.createFromMember(treeMemberProjection.getSubject(),
@@ -65,15 +91,75 @@ public class TreeNodePostgresRepository implements TreeNodeRepository {
 				});
 	}
 
+	/**
+	 * The version is kept up to date by database triggers on the page members and the page relations.
+	 */
+	@Override
+	public Optional<Long> findVersion(LdesFragmentIdentifier fragmentIdentifier) {
+		return jdbcTemplate.queryForList(VERSION_SQL, Long.class, fragmentIdentifier.asDecodedFragmentId())
+				.stream()
+				.findFirst();
+	}
+
+	/**
+	 * The members are read in chunks, ordered by their id, and are passed on as they are stored, only decompressed when
+	 * they were stored compressed. No connection is held while the consumer handles a chunk, so a consumer that has to
+	 * wait, for example on a slow client, does not keep a connection or a transaction open. Only the members of
+	 * collections with version creation have to be parsed, to be turned into version objects. The members are looked up
+	 * by the id of their collection, so that only the member partitions of that collection are read.
+	 */
+	@Override
+	public void forEachSerialisedMember(LdesFragmentIdentifier fragmentIdentifier, Consumer<SerialisedMember> consumer) {
+		final String collectionName = fragmentIdentifier.getViewName().getCollectionName();
+		final VersionObjectCreator versionObjectCreator = collectionsWithVersionCreation.contains(collectionName)
+				? versionObjectCreatorMap.get(collectionName)
+				: null;
+		final Optional<Integer> collectionId = jdbcTemplate.queryForList(COLLECTION_ID_SQL, Integer.class, collectionName)
+				.stream()
+				.findFirst();
+		if (collectionId.isEmpty()) {
+			return;
+		}
+		long lastMemberId = 0;
+		List<SerialisedMemberRow> chunk;
+		do {
+			chunk = jdbcTemplate.query(SERIALISED_MEMBERS_SQL,
+					(rs, rowNum) -> new SerialisedMemberRow(rs.getLong("member_id"), toSerialisedMember(rs, versionObjectCreator)),
+					fragmentIdentifier.asDecodedFragmentId(), collectionId.get(), lastMemberId, MEMBER_CHUNK_SIZE);
+			chunk.forEach(row -> consumer.accept(row.member()));
+			if (!chunk.isEmpty()) {
+				lastMemberId = chunk.get(chunk.size() - 1).memberId();
+			}
+		} while (chunk.size() == MEMBER_CHUNK_SIZE);
+	}
+
+	private SerialisedMember toSerialisedMember(ResultSet rs, VersionObjectCreator versionObjectCreator) throws SQLException {
+		final String subject = rs.getString("subject");
+		final byte[] model = modelConverter.toSerialisedModel(rs.getBytes("member_model"));
+		if (versionObjectCreator == null) {
+			return new SerialisedMember(subject, model, SERIALISATION_LANG);
+		}
+		final Model versionObject = versionObjectCreator.createFromMember(subject, modelConverter.convertToEntityAttribute(model),
+				rs.getString("version_of"), rs.getObject("timestamp", LocalDateTime.class));
+		return new SerialisedMember(subject, modelConverter.serialise(versionObject), SERIALISATION_LANG);
+	}
+
 	@EventListener
 	public void handleEventStreamCreatedEvent(EventStreamCreatedEvent event) {
 		final EventStream eventStream = event.eventStream();
 		final VersionObjectCreator versionObjectCreator = VersionObjectCreatorFactory.createVersionObjectCreator(eventStream);
 		versionObjectCreatorMap.put(eventStream.getCollection(), versionObjectCreator);
+		if (eventStream.isVersionCreationEnabled()) {
+			collectionsWithVersionCreation.add(eventStream.getCollection());
+		}
 	}
 
 	@EventListener
 	public void handleEventStreamDeletedEvent(EventStreamDeletedEvent event) {
 		versionObjectCreatorMap.remove(event.collectionName());
+		collectionsWithVersionCreation.remove(event.collectionName());
+	}
+
+	private record SerialisedMemberRow(long memberId, SerialisedMember member) {
 	}
 }
@@ -0,0 +1,50 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.UnpagedMemberRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+@Repository
+public class UnpagedMemberPostgresRepository implements UnpagedMemberRepository {
+	private static final String COUNT_SQL = "SELECT COUNT(*) FROM page_members WHERE bucket_id = ? AND page_id IS NULL";
+	private static final String ASSIGN_SQL = """
+			WITH unpaged_members AS (SELECT member_id, ROW_NUMBER() OVER (ORDER BY member_id) AS position
+			                         FROM page_members
+			                         WHERE bucket_id = ? AND page_id IS NULL),
+			     target_pages AS (SELECT page_id, page_index
+			                      FROM UNNEST(?::bigint[]) WITH ORDINALITY AS p(page_id, page_index))
+			UPDATE page_members pm
+			SET page_id = t.page_id
+			FROM unpaged_members u
+			         JOIN target_pages t ON t.page_index = CASE
+			                                                   WHEN u.position <= ? THEN 1
+			                                                   ELSE 2 + (u.position - ? - 1) / ? END
+			WHERE pm.bucket_id = ? AND pm.member_id = u.member_id AND pm.page_id IS NULL
+			""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public UnpagedMemberPostgresRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public int countUnpagedMembers(long bucketId) {
+		return Objects.requireNonNull(jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, bucketId));
+	}
+
+	/**
+	 * Members that were bucketised after the pages were planned, and do not fit on the given pages anymore, are left
+	 * unpaged for the next pagination.
+	 */
+	@Override
+	@Transactional
+	public int assignToPages(long bucketId, List<Long> pageIds, int firstPageCapacity, int pageSize) {
+		return jdbcTemplate.update(ASSIGN_SQL, bucketId, pageIds.toArray(Long[]::new), firstPageCapacity, firstPageCapacity, pageSize, bucketId);
+	}
+}
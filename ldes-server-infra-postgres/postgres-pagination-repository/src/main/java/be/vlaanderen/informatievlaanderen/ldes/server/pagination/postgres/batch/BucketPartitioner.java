@@ -1,5 +1,7 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.batch;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.admin.postgres.metadata.CollectionMetadataCache;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.item.ExecutionContext;
@@ -18,18 +20,19 @@ public class BucketPartitioner implements Partitioner{
 			SELECT pm.bucket_id
 			FROM page_members pm
 			JOIN buckets b on b.bucket_id = pm.bucket_id
-			JOIN views v on v.view_id = b.view_id
-			JOIN collections c on c.collection_id = v.collection_id
-			WHERE c.name = ? AND v.name = ? AND page_id IS NULL
+			WHERE b.view_id = ? AND page_id IS NULL
 			GROUP BY pm.bucket_id
 			""";
 
 	private final JdbcTemplate jdbcTemplate;
+	private final CollectionMetadataCache collectionMetadataCache;
 	private final Map<String, Object> jobParameters;
 
 
-	public BucketPartitioner(JdbcTemplate jdbcTemplate, @Value("#{jobParameters}") Map<String, Object> jobParameters) {
+	public BucketPartitioner(JdbcTemplate jdbcTemplate, CollectionMetadataCache collectionMetadataCache,
+	                         @Value("#{jobParameters}") Map<String, Object> jobParameters) {
 		this.jdbcTemplate = jdbcTemplate;
+		this.collectionMetadataCache = collectionMetadataCache;
 		this.jobParameters = jobParameters;
 	}
 
@@ -39,7 +42,9 @@ public class BucketPartitioner implements Partitioner{
 		String collectionName = (String) jobParameters.get("collectionName");
 		String viewName = (String) jobParameters.get("viewName");
 
-		return jdbcTemplate.queryForList(SQL, Long.class, collectionName, viewName).stream()
+		int viewId = collectionMetadataCache.getViewId(new ViewName(collectionName, viewName));
+
+		return jdbcTemplate.queryForList(SQL, Long.class, viewId).stream()
 				.collect(Collectors.toMap(
 						"bucket:%d"::formatted,
 						bucketId -> new ExecutionContext(Map.of("bucketId", bucketId))
@@ -0,0 +1,70 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.cache;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.entities.Page;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the page of every bucket to which new members are appended, together with its number of assigned members.
+ * An open page is only shared with other threads once the transaction in which it was updated is committed, as the
+ * pages and the member assignments of a rolled back transaction do not exist. Until then, it is only visible within
+ * its own transaction.
+ */
+@Component
+public class OpenPageCache {
+	private static final long MAXIMUM_SIZE = 10_000;
+
+	private final Cache<Long, Page> openPages = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+
+	public Optional<Page> get(long bucketId) {
+		return Optional.ofNullable(getPendingOpenPages().get(bucketId))
+				.or(() -> Optional.ofNullable(openPages.getIfPresent(bucketId)))
+				.map(OpenPageCache::copy);
+	}
+
+	public void put(Page page) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			getPendingOpenPages().put(page.getBucketId(), copy(page));
+		} else {
+			openPages.put(page.getBucketId(), copy(page));
+		}
+	}
+
+	private Map<Long, Page> getPendingOpenPages() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return Map.of();
+		}
+		PendingOpenPages pendingOpenPages = (PendingOpenPages) TransactionSynchronizationManager.getResource(this);
+		if (pendingOpenPages == null) {
+			pendingOpenPages = new PendingOpenPages();
+			TransactionSynchronizationManager.bindResource(this, pendingOpenPages);
+			TransactionSynchronizationManager.registerSynchronization(pendingOpenPages);
+		}
+		return pendingOpenPages.pages;
+	}
+
+	private static Page copy(Page page) {
+		return new Page(page.getId(), page.getBucketId(), page.getPartialUrl(), page.getPageSize(), page.getAssignedMemberCount());
+	}
+
+	private class PendingOpenPages implements TransactionSynchronization {
+		private final Map<Long, Page> pages = new HashMap<>();
+
+		@Override
+		public void afterCommit() {
+			openPages.putAll(pages);
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResource(OpenPageCache.this);
+		}
+	}
+}
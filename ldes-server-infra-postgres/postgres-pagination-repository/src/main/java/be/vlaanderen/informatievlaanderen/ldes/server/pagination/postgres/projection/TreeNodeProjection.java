@@ -13,5 +13,7 @@ public interface TreeNodeProjection {
 	String getViewName();
 	@Value("#{target.bucket.view.eventStream.name}")
 	String getCollectionName();
+	@Value("#{target.bucket.view.eventStream.id}")
+	int getCollectionId();
 	boolean isView();
 }
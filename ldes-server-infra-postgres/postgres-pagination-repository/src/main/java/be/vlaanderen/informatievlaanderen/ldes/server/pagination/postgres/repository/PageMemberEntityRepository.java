@@ -11,12 +11,8 @@ import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 
 public interface PageMemberEntityRepository extends JpaRepository<PageMemberEntity, PageMemberId> {
-	@Query("SELECT m.subject AS subject, m.model AS model, m.versionOf AS versionOf, m.timestamp AS timestamp FROM PageMemberEntity p JOIN p.member m WHERE p.page.id = :pageId")
-	List<TreeMemberProjection> findAllMembersByPageId(long pageId);
-
-    @Modifying
-    @Query("UPDATE PageMemberEntity m SET m.page = (SELECT p FROM PageEntity p WHERE p.id = :newPageId) WHERE m.page.id IN (:pageIds)")
-    void setPageMembersToNewPage(long newPageId, List<Long> pageIds);
+	@Query("SELECT m.subject AS subject, m.model AS model, m.versionOf AS versionOf, m.timestamp AS timestamp FROM PageMemberEntity p JOIN p.member m WHERE p.page.id = :pageId AND m.collection.id = :collectionId")
+	List<TreeMemberProjection> findAllMembersByPageId(long pageId, int collectionId);
 
 	@Query(value = """
          select v.name, count(*)
@@ -40,5 +36,12 @@ public interface PageMemberEntityRepository extends JpaRepository<PageMemberEnti
 		""", nativeQuery = true)
 	List<Tuple> getPaginatedMemberCounts(String collectionName);
 
-	void deleteAllByBucket_View_EventStream_NameAndBucket_View_NameAndMember_IdIn(String collectionName, String viewName, List<Long> memberIds);
+	@Modifying
+	@Query(value = """
+		  DELETE FROM page_members pm
+		  USING buckets b, views v, collections c
+		  WHERE b.bucket_id = pm.bucket_id AND v.view_id = b.view_id AND c.collection_id = v.collection_id
+		    AND c.name = :collectionName AND v.name = :viewName AND pm.member_id IN (:memberIds)
+		""", nativeQuery = true)
+	void deleteAllByViewNameAndMemberIds(String collectionName, String viewName, List<Long> memberIds);
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.CompactionCandidate;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.entities.Page;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.cache.OpenPageCache;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.repository.PageEntityRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@EnableAutoConfiguration(exclude = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@SpringBootTest
+@AutoConfigureEmbeddedDatabase
+@ActiveProfiles("postgres-test")
+@ContextConfiguration(classes = PagePostgresRepository.class)
+class PagePostgresRepositoryTest {
+	private static final long BUCKET_ID = 1;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@MockBean
+	private PageEntityRepository pageEntityRepository;
+	@MockBean
+	private OpenPageCache openPageCache;
+	private PagePostgresRepository pagePostgresRepository;
+	private long lastMemberId;
+
+	@BeforeEach
+	void setUp() {
+		pagePostgresRepository = new PagePostgresRepository(jdbcTemplate, pageEntityRepository, new OpenPageCache());
+		jdbcTemplate.update("""
+				INSERT INTO collections
+				VALUES (1, 'mobility-hindrances', 'http://purl.org/dc/terms/created', 'http://purl.org/dc/terms/isVersionOf', false,
+				        false);
+
+				INSERT INTO views VALUES (1, 1, 'by-page', '[]', '', 150);
+
+				INSERT INTO buckets VALUES (1, '', 1);
+				""");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM collections");
+	}
+
+	@Test
+	void given_UntrackedBucket_when_GetOpenPage_then_ReturnPageWithoutNextPage() {
+		final long rootPageId = getPageId("/mobility-hindrances/by-page");
+		final long firstPageId = pagePostgresRepository.createPages(BUCKET_ID, List.of("/mobility-hindrances/by-page?pageNumber=1")).getFirst();
+		jdbcTemplate.update("INSERT INTO page_relations (from_page_id, to_page_id, relation_type) VALUES (?, ?, '')", rootPageId, firstPageId);
+		insertMembers(firstPageId, 3);
+
+		final Page openPage = pagePostgresRepository.getOpenPage(BUCKET_ID);
+
+		assertThat(openPage.getId()).isEqualTo(firstPageId);
+		assertThat(openPage.getPageSize()).isEqualTo(150);
+		assertThat(openPage.getAssignedMemberCount()).isEqualTo(3);
+	}
+
+	@Test
+	void given_UpdatedOpenPage_when_GetOpenPage_then_ReturnTrackedPage() {
+		final long pageId = pagePostgresRepository.createPages(BUCKET_ID, List.of("/mobility-hindrances/by-page?pageNumber=1")).getFirst();
+		pagePostgresRepository.updateOpenPage(new Page(pageId, BUCKET_ID, "/mobility-hindrances/by-page?pageNumber=1", 150, 42));
+
+		final PagePostgresRepository repositoryWithoutCachedOpenPages = new PagePostgresRepository(jdbcTemplate, pageEntityRepository, new OpenPageCache());
+		final Page openPage = repositoryWithoutCachedOpenPages.getOpenPage(BUCKET_ID);
+
+		assertThat(openPage.getId()).isEqualTo(pageId);
+		assertThat(openPage.getPartialUrl().asString()).isEqualTo("/mobility-hindrances/by-page?pageNumber=1");
+		assertThat(openPage.getAssignedMemberCount()).isEqualTo(42);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM open_pages", Integer.class)).isEqualTo(1);
+	}
+
+	@Test
+	void when_CreatePages_then_IdsAreReturnedInOrderOfUrls() {
+		final List<String> partialUrls = List.of(
+				"/mobility-hindrances/by-page?pageNumber=2",
+				"/mobility-hindrances/by-page?pageNumber=1",
+				"/mobility-hindrances/by-page?pageNumber=3"
+		);
+
+		final List<Long> pageIds = pagePostgresRepository.createPages(BUCKET_ID, partialUrls);
+
+		assertThat(pageIds).hasSize(3).doesNotHaveDuplicates();
+		for (int i = 0; i < partialUrls.size(); i++) {
+			assertThat(getPageId(partialUrls.get(i))).isEqualTo(pageIds.get(i));
+		}
+	}
+
+	@Test
+	void when_SetPagesImmutable_then_OnlyGivenPagesAreImmutable() {
+		final List<Long> pageIds = pagePostgresRepository.createPages(BUCKET_ID, List.of(
+				"/mobility-hindrances/by-page?pageNumber=1",
+				"/mobility-hindrances/by-page?pageNumber=2"
+		));
+
+		pagePostgresRepository.setPagesImmutable(List.of(pageIds.getFirst()));
+
+		assertThat(jdbcTemplate.queryForList("SELECT page_id FROM pages WHERE immutable", Long.class))
+				.containsExactly(pageIds.getFirst());
+	}
+
+	@Test
+	void when_DeleteOutdatedFragments_then_PartialUrlsOfDeletedPagesAreReturned() {
+		final List<Long> pageIds = pagePostgresRepository.createPages(BUCKET_ID, List.of(
+				"/mobility-hindrances/by-page?pageNumber=1",
+				"/mobility-hindrances/by-page?pageNumber=2"
+		));
+		jdbcTemplate.update("UPDATE pages SET expiration = ? WHERE page_id = ?", LocalDateTime.now().minusDays(1), pageIds.getFirst());
+
+		final List<String> deletedFragmentIds = pagePostgresRepository.deleteOutdatedFragments(LocalDateTime.now());
+
+		assertThat(deletedFragmentIds).containsExactly("/mobility-hindrances/by-page?pageNumber=1");
+		assertThat(jdbcTemplate.queryForList("SELECT page_id FROM pages WHERE page_id = ANY(?)", Long.class, (Object) pageIds.toArray(Long[]::new)))
+				.containsExactly(pageIds.getLast());
+	}
+
+	@Test
+	void when_GetPossibleCompactionCandidates_then_SmallAndEmptyPagesAreReturnedInOrderOfTheirRelations() {
+		final long rootPageId = getPageId("/mobility-hindrances/by-page");
+		final List<Long> pageIds = pagePostgresRepository.createPages(BUCKET_ID, List.of(
+				"/mobility-hindrances/by-page?pageNumber=1",
+				"/mobility-hindrances/by-page?pageNumber=2",
+				"/mobility-hindrances/by-page?pageNumber=3",
+				"/mobility-hindrances/by-page?pageNumber=4",
+				"/mobility-hindrances/by-page?pageNumber=5"
+		));
+		insertRelations(rootPageId, pageIds.get(4), pageIds.get(2), pageIds.get(0), pageIds.get(1), pageIds.get(3));
+		insertMembers(pageIds.get(4), 5);
+		insertMembers(pageIds.get(2), 2);
+		insertMembers(pageIds.get(0), 3);
+		insertMembers(pageIds.get(3), 1);
+
+		final List<CompactionCandidate> candidates = pagePostgresRepository
+				.getPossibleCompactionCandidates(new ViewName("mobility-hindrances", "by-page"), 5)
+				.toList();
+
+		assertThat(candidates)
+				.extracting(CompactionCandidate::getId, CompactionCandidate::getSize, CompactionCandidate::getNextPageId)
+				.containsExactly(
+						tuple(rootPageId, 0, pageIds.get(4)),
+						tuple(pageIds.get(2), 2, pageIds.get(0)),
+						tuple(pageIds.get(0), 3, pageIds.get(1)),
+						tuple(pageIds.get(1), 0, pageIds.get(3)));
+	}
+
+	private void insertRelations(long... pageIds) {
+		for (int i = 1; i < pageIds.length; i++) {
+			jdbcTemplate.update("INSERT INTO page_relations (from_page_id, to_page_id, relation_type) VALUES (?, ?, '')", pageIds[i - 1], pageIds[i]);
+		}
+	}
+
+	private long getPageId(String partialUrl) {
+		return jdbcTemplate.queryForObject("SELECT page_id FROM pages WHERE partial_url = ?", Long.class, partialUrl);
+	}
+
+	private void insertMembers(long pageId, int count) {
+		for (int n = 0; n < count; n++) {
+			final long i = ++lastMemberId;
+			jdbcTemplate.update("""
+					INSERT INTO members VALUES (?, ?, ?, 1, true, '', now(), gen_random_uuid(), 'http://test-data/mobility-hindrance/1')
+					""", i, "http://test-data/mobility-hindrance/1/" + i, "mobility-hindrances/http://test-data/mobility-hindrance/1/" + i);
+			jdbcTemplate.update("INSERT INTO page_members (bucket_id, member_id, page_id) VALUES (?, ?, ?)", BUCKET_ID, i, pageId);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Bucket;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptorPair;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketRelation;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@EnableAutoConfiguration(exclude = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@SpringBootTest
+@AutoConfigureEmbeddedDatabase
+@ActiveProfiles("postgres-test")
+@ContextConfiguration(classes = PageRelationPostgresRepository.class)
+class PageRelationPostgresRepositoryTest {
+	private static final Bucket ROOT_BUCKET = Bucket.createRootBucketForView(new ViewName("mobility-hindrances", "by-time"));
+	private static final Bucket FIRST_BUCKET = ROOT_BUCKET.createChild(new BucketDescriptorPair("year", "2023"));
+	private static final Bucket SECOND_BUCKET = ROOT_BUCKET.createChild(new BucketDescriptorPair("year", "2024"));
+	private static final String GREATER_THAN = "https://w3id.org/tree#GreaterThanOrEqualToRelation";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PageRelationPostgresRepository pageRelationPostgresRepository;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("""
+				INSERT INTO collections
+				VALUES (1, 'mobility-hindrances', 'http://purl.org/dc/terms/created', 'http://purl.org/dc/terms/isVersionOf', false,
+				        false);
+
+				INSERT INTO views VALUES (1, 1, 'by-time', '[]', '', 150);
+
+				INSERT INTO buckets VALUES (1, '', 1), (2, 'year=2023', 1), (3, 'year=2024', 1);
+				""");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM collections");
+	}
+
+	@Test
+	void when_InsertBucketRelations_then_EveryDistinctRelationIsInsertedOnce() {
+		final BucketRelation genericRelation = BucketRelation.createGenericRelation(ROOT_BUCKET, FIRST_BUCKET);
+		final BucketRelation valueRelation = new BucketRelation(ROOT_BUCKET, SECOND_BUCKET, GREATER_THAN, "2024",
+				"http://www.w3.org/2001/XMLSchema#dateTime", "http://purl.org/dc/terms/created");
+
+		pageRelationPostgresRepository.insertBucketRelations(List.of(genericRelation, valueRelation, genericRelation));
+		pageRelationPostgresRepository.insertBucketRelations(List.of(valueRelation));
+
+		assertThat(jdbcTemplate.queryForList("""
+				SELECT t.partial_url, r.relation_type, r.value
+				FROM page_relations r
+				         JOIN pages t ON t.page_id = r.to_page_id
+				ORDER BY t.partial_url
+				"""))
+				.extracting(row -> row.get("partial_url"), row -> row.get("relation_type"), row -> row.get("value"))
+				.containsExactly(
+						tuple(FIRST_BUCKET.createPartialUrl(), genericRelation.treeRelationType(), ""),
+						tuple(SECOND_BUCKET.createPartialUrl(), GREATER_THAN, "2024"));
+	}
+}
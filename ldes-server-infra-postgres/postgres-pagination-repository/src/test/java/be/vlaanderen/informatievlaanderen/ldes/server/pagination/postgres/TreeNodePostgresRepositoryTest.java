@@ -0,0 +1,176 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamCreatedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.EventStream;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.SerialisedMember;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.DatabaseColumnModelConverter;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.compression.MemberModelCompressor;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.repository.PageEntityRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.repository.PageMemberEntityRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.repository.RelationEntityRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.jena.rdf.model.ResourceFactory.createProperty;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@EnableAutoConfiguration(exclude = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@SpringBootTest
+@AutoConfigureEmbeddedDatabase
+@ActiveProfiles("postgres-test")
+@ContextConfiguration(classes = {DatabaseColumnModelConverter.class, MemberModelCompressor.class})
+class TreeNodePostgresRepositoryTest {
+	private static final String COLLECTION_NAME = "mobility-hindrances";
+	private static final LdesFragmentIdentifier FRAGMENT = LdesFragmentIdentifier.fromFragmentId("/mobility-hindrances/by-page?pageNumber=1");
+	private static final LdesFragmentIdentifier OTHER_FRAGMENT = LdesFragmentIdentifier.fromFragmentId("/mobility-hindrances/by-page?pageNumber=2");
+	private static final String VERSION_OF = "http://test-data/mobility-hindrance/1";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private DatabaseColumnModelConverter modelConverter;
+	private TreeNodePostgresRepository treeNodePostgresRepository;
+
+	@BeforeEach
+	void setUp() {
+		treeNodePostgresRepository = new TreeNodePostgresRepository(mock(PageEntityRepository.class), mock(RelationEntityRepository.class),
+				mock(PageMemberEntityRepository.class), jdbcTemplate, modelConverter);
+		jdbcTemplate.update("""
+				INSERT INTO collections
+				VALUES (1, 'mobility-hindrances', 'http://purl.org/dc/terms/created', 'http://purl.org/dc/terms/isVersionOf', false,
+				        false);
+
+				INSERT INTO views VALUES (1, 1, 'by-page', '[]', '', 150);
+
+				INSERT INTO buckets VALUES (1, '', 1);
+
+				INSERT INTO pages (page_id, bucket_id, partial_url)
+				VALUES (11, 1, '/mobility-hindrances/by-page?pageNumber=1'),
+				       (12, 1, '/mobility-hindrances/by-page?pageNumber=2');
+				""");
+		insertMember(1, 11);
+		insertMember(2, 11);
+		insertMember(3, 12);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM collections");
+	}
+
+	@Test
+	void when_MembersOrRelationsOfPageChange_then_VersionOfPageIsIncremented() {
+		final long initialVersion = treeNodePostgresRepository.findVersion(FRAGMENT).orElseThrow();
+		final long initialVersionOfOtherPage = treeNodePostgresRepository.findVersion(OTHER_FRAGMENT).orElseThrow();
+
+		insertMember(4, 11);
+		assertThat(treeNodePostgresRepository.findVersion(FRAGMENT)).contains(initialVersion + 1);
+
+		jdbcTemplate.update("INSERT INTO page_relations (from_page_id, to_page_id, relation_type) VALUES (11, 12, 'tree:Relation')");
+		assertThat(treeNodePostgresRepository.findVersion(FRAGMENT)).contains(initialVersion + 2);
+
+		jdbcTemplate.update("UPDATE page_members SET page_id = 12 WHERE member_id = 4");
+		assertThat(treeNodePostgresRepository.findVersion(FRAGMENT)).contains(initialVersion + 3);
+		assertThat(treeNodePostgresRepository.findVersion(OTHER_FRAGMENT)).contains(initialVersionOfOtherPage + 1);
+
+		jdbcTemplate.update("DELETE FROM members WHERE member_id IN (1, 2)");
+		assertThat(treeNodePostgresRepository.findVersion(FRAGMENT)).contains(initialVersion + 4);
+		assertThat(treeNodePostgresRepository.findVersion(OTHER_FRAGMENT)).contains(initialVersionOfOtherPage + 1);
+	}
+
+	@Test
+	void given_NonExistingPage_when_FindVersion_then_ReturnEmpty() {
+		assertThat(treeNodePostgresRepository.findVersion(LdesFragmentIdentifier.fromFragmentId("/mobility-hindrances/by-page?pageNumber=3")))
+				.isEmpty();
+	}
+
+	@Test
+	void given_NoVersionCreation_when_ForEachSerialisedMember_then_StoredModelsArePassedOn() {
+		treeNodePostgresRepository.handleEventStreamCreatedEvent(new EventStreamCreatedEvent(
+				new EventStream(COLLECTION_NAME, "http://purl.org/dc/terms/created", "http://purl.org/dc/terms/isVersionOf", false)));
+		final List<SerialisedMember> members = new ArrayList<>();
+
+		treeNodePostgresRepository.forEachSerialisedMember(FRAGMENT, members::add);
+
+		assertThat(members)
+				.extracting(SerialisedMember::subject)
+				.containsExactlyInAnyOrder(getSubject(1), getSubject(2));
+		assertThat(members).allSatisfy(member -> {
+			assertThat(member.lang()).isEqualTo(Lang.RDFPROTO);
+			assertThat(member.model()).isEqualTo(modelConverter.convertToDatabaseColumn(createModel(member.subject())));
+		});
+	}
+
+	@Test
+	void given_VersionCreation_when_ForEachSerialisedMember_then_VersionObjectsArePassedOn() {
+		treeNodePostgresRepository.handleEventStreamCreatedEvent(new EventStreamCreatedEvent(
+				new EventStream(COLLECTION_NAME, "http://purl.org/dc/terms/created", "http://purl.org/dc/terms/isVersionOf", true)));
+		final List<SerialisedMember> members = new ArrayList<>();
+
+		treeNodePostgresRepository.forEachSerialisedMember(FRAGMENT, members::add);
+
+		assertThat(members).hasSize(2).allSatisfy(member -> {
+			final Model model = RDFParser.source(new ByteArrayInputStream(member.model())).lang(member.lang()).toModel();
+			assertThat(model.contains(null, createProperty("http://purl.org/dc/terms/created"))).isTrue();
+		});
+	}
+
+	@Test
+	void given_MoreMembersThanFitInOneChunk_when_ForEachSerialisedMember_then_EveryMemberIsPassedOnOnce() {
+		treeNodePostgresRepository.handleEventStreamCreatedEvent(new EventStreamCreatedEvent(
+				new EventStream(COLLECTION_NAME, "http://purl.org/dc/terms/created", "http://purl.org/dc/terms/isVersionOf", false)));
+		jdbcTemplate.update("""
+				INSERT INTO members (member_id, subject, old_id, collection_id, is_in_event_source, member_model, timestamp, transaction_id, version_of)
+				SELECT id, ? || '/' || id, ? || '/' || id, 1, true, ?, now(), gen_random_uuid(), ?
+				FROM generate_series(100, 1100) id
+				""", VERSION_OF, COLLECTION_NAME, modelConverter.convertToDatabaseColumn(createModel(getSubject(100))), VERSION_OF);
+		jdbcTemplate.update("INSERT INTO page_members (bucket_id, member_id, page_id) SELECT 1, id, 12 FROM generate_series(100, 1100) id");
+		final List<SerialisedMember> members = new ArrayList<>();
+
+		treeNodePostgresRepository.forEachSerialisedMember(OTHER_FRAGMENT, members::add);
+
+		assertThat(members)
+				.extracting(SerialisedMember::subject)
+				.hasSize(1002)
+				.doesNotHaveDuplicates()
+				.contains(getSubject(3), getSubject(100), getSubject(1100));
+	}
+
+	private void insertMember(int memberId, long pageId) {
+		jdbcTemplate.update("""
+				INSERT INTO members (member_id, subject, old_id, collection_id, is_in_event_source, member_model, timestamp, transaction_id, version_of)
+				VALUES (?, ?, ?, 1, true, ?, now(), gen_random_uuid(), ?)
+				""", memberId, getSubject(memberId), COLLECTION_NAME + "/" + getSubject(memberId),
+				modelConverter.convertToDatabaseColumn(createModel(getSubject(memberId))), VERSION_OF);
+		jdbcTemplate.update("INSERT INTO page_members (bucket_id, member_id, page_id) VALUES (1, ?, ?)", memberId, pageId);
+	}
+
+	private Model createModel(String subject) {
+		return RDFParser.fromString("<%s> <http://purl.org/dc/terms/isVersionOf> <%s> .".formatted(subject, VERSION_OF))
+				.lang(Lang.NTRIPLES)
+				.toModel();
+	}
+
+	private String getSubject(int memberId) {
+		return VERSION_OF + "/" + memberId;
+	}
+}
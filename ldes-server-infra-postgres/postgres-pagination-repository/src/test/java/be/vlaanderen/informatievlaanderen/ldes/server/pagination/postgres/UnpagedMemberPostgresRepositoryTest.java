@@ -0,0 +1,105 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnableAutoConfiguration(exclude = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@SpringBootTest
+@AutoConfigureEmbeddedDatabase
+@ActiveProfiles("postgres-test")
+@ContextConfiguration(classes = UnpagedMemberPostgresRepository.class)
+class UnpagedMemberPostgresRepositoryTest {
+	private static final long BUCKET_ID = 1;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private UnpagedMemberPostgresRepository unpagedMemberPostgresRepository;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("""
+				INSERT INTO collections
+				VALUES (1, 'mobility-hindrances', 'http://purl.org/dc/terms/created', 'http://purl.org/dc/terms/isVersionOf', false,
+				        false);
+
+				INSERT INTO views VALUES (1, 1, 'by-page', '[]', '', 150);
+
+				INSERT INTO buckets VALUES (1, '', 1);
+
+				INSERT INTO pages (page_id, bucket_id, partial_url)
+				VALUES (11, 1, '/mobility-hindrances/by-page?pageNumber=1'),
+				       (12, 1, '/mobility-hindrances/by-page?pageNumber=2'),
+				       (13, 1, '/mobility-hindrances/by-page?pageNumber=3');
+				""");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM collections");
+	}
+
+	@Test
+	void when_CountUnpagedMembers_then_OnlyMembersWithoutPageAreCounted() {
+		insertMembers(1, 3, 11L);
+		insertMembers(4, 5, null);
+
+		assertThat(unpagedMemberPostgresRepository.countUnpagedMembers(BUCKET_ID)).isEqualTo(2);
+	}
+
+	@Test
+	void when_AssignToPages_then_FirstPageIsFilledUpToItsCapacityAndOtherPagesUpToPageSize() {
+		insertMembers(1, 7, null);
+
+		final int assignedMembers = unpagedMemberPostgresRepository.assignToPages(BUCKET_ID, List.of(11L, 12L, 13L), 2, 3);
+
+		assertThat(assignedMembers).isEqualTo(7);
+		assertThat(getMemberIdsByPageId()).isEqualTo(Map.of(
+				11L, List.of(1L, 2L),
+				12L, List.of(3L, 4L, 5L),
+				13L, List.of(6L, 7L)
+		));
+	}
+
+	@Test
+	void given_MoreMembersThanPlanned_when_AssignToPages_then_RemainingMembersStayUnpaged() {
+		insertMembers(1, 5, null);
+
+		final int assignedMembers = unpagedMemberPostgresRepository.assignToPages(BUCKET_ID, List.of(11L), 3, 3);
+
+		assertThat(assignedMembers).isEqualTo(3);
+		assertThat(unpagedMemberPostgresRepository.countUnpagedMembers(BUCKET_ID)).isEqualTo(2);
+	}
+
+	private Map<Long, List<Long>> getMemberIdsByPageId() {
+		return jdbcTemplate.queryForList("SELECT page_id, member_id FROM page_members WHERE page_id IS NOT NULL ORDER BY member_id")
+				.stream()
+				.collect(Collectors.groupingBy(row -> (Long) row.get("page_id"),
+						Collectors.mapping(row -> (Long) row.get("member_id"), Collectors.toList())));
+	}
+
+	private void insertMembers(int from, int to, Long pageId) {
+		for (int i = from; i <= to; i++) {
+			jdbcTemplate.update("""
+					INSERT INTO members VALUES (?, ?, ?, 1, true, '', now(), gen_random_uuid(), 'http://test-data/mobility-hindrance/1')
+					""", i, "http://test-data/mobility-hindrance/1/" + i, "mobility-hindrances/http://test-data/mobility-hindrance/1/" + i);
+			jdbcTemplate.update("INSERT INTO page_members (bucket_id, member_id, page_id) VALUES (?, ?, ?)", BUCKET_ID, i, pageId);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.pagination.postgres.cache;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.entities.Page;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenPageCacheTest {
+	private static final long BUCKET_ID = 3;
+	private static final Page PAGE = new Page(5, BUCKET_ID, "/collection/view?pageNumber=2", 150, 100);
+
+	private final OpenPageCache openPageCache = new OpenPageCache();
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void test_CachedOpenPageIsRetrieved() {
+		openPageCache.put(PAGE);
+
+		assertThat(openPageCache.get(BUCKET_ID))
+				.hasValueSatisfying(openPage -> {
+					assertThat(openPage).isEqualTo(PAGE);
+					assertThat(openPage.getAssignedMemberCount()).isEqualTo(100);
+				});
+		assertThat(openPageCache.get(BUCKET_ID + 1)).isEmpty();
+	}
+
+	@Test
+	void test_RetrievedOpenPageDoesNotChangeCache() {
+		openPageCache.put(PAGE);
+
+		openPageCache.get(BUCKET_ID).orElseThrow().incrementAssignedMemberCount(50);
+
+		assertThat(openPageCache.get(BUCKET_ID))
+				.map(Page::getAssignedMemberCount)
+				.contains(100);
+	}
+
+	@Test
+	void when_TransactionIsCommitted_then_OpenPageIsShared() {
+		TransactionSynchronizationManager.initSynchronization();
+		openPageCache.put(PAGE);
+		assertThat(openPageCache.get(BUCKET_ID)).contains(PAGE);
+
+		completeTransaction(true);
+
+		assertThat(openPageCache.get(BUCKET_ID)).contains(PAGE);
+	}
+
+	@Test
+	void when_TransactionIsRolledBack_then_PreviousOpenPageIsKept() {
+		openPageCache.put(PAGE);
+		TransactionSynchronizationManager.initSynchronization();
+		openPageCache.put(new Page(6, BUCKET_ID, "/collection/view?pageNumber=3", 150, 10));
+
+		completeTransaction(false);
+
+		assertThat(openPageCache.get(BUCKET_ID)).contains(PAGE);
+	}
+
+	private void completeTransaction(boolean committed) {
+		final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		if (committed) {
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		}
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(committed
+				? TransactionSynchronization.STATUS_COMMITTED
+				: TransactionSynchronization.STATUS_ROLLED_BACK));
+	}
+}
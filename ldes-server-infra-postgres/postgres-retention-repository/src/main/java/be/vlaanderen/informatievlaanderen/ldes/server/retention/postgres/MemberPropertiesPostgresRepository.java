@@ -1,39 +1,116 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.retention.postgres;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
-import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.entity.MemberEntity;
-import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.projection.RetentionMemberProjection;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.filter.MemberSubjectFilter;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.partition.MemberPartition;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.partition.MemberPartitions;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.entities.MemberProperties;
-import be.vlaanderen.informatievlaanderen.ldes.server.retention.postgres.mapper.MemberPropertiesEntityMapper;
-import be.vlaanderen.informatievlaanderen.ldes.server.retention.postgres.repository.RetentionMemberEntityRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.repositories.MemberPropertiesRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.definition.timeandversionbased.TimeAndVersionBasedRetentionPolicy;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.definition.timebased.TimeBasedRetentionPolicy;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.definition.versionbased.VersionBasedRetentionPolicy;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * Evaluates the retention policies in the database and hands over the expired members in batches of bounded size.
+ * The version based policies rank the members of every version by timestamp with a window function. The members that
+ * rank after the number of members to keep are expired. Batches are paged with a keyset on the version and the id of
+ * the members, so that the next batch continues where the previous one stopped, whether or not the previous batch has
+ * been removed yet.
+ * <p>
+ * When the members table is partitioned per day, the time based policy of an event source drops the partitions of
+ * which all members are expired, rather than deleting their members one by one.
+ */
 @Component
 public class MemberPropertiesPostgresRepository implements MemberPropertiesRepository {
+	static final int EXPIRED_MEMBERS_BATCH_SIZE = 5_000;
+
+	private static final String VIEW_MEMBERS_CONDITION = """
+			EXISTS (SELECT 1
+			        FROM page_members pm
+			                 JOIN buckets b ON b.bucket_id = pm.bucket_id
+			                 JOIN views v ON v.view_id = b.view_id
+			        WHERE pm.member_id = m.member_id AND v.collection_id = m.collection_id AND v.name = ?)
+			""";
+	private static final String COLLECTION_CONDITION = "m.collection_id = (SELECT collection_id FROM collections WHERE name = ?)";
+	private static final String VERSION_RANK_COLUMN = "ROW_NUMBER() OVER (PARTITION BY m.version_of ORDER BY m.timestamp DESC, m.member_id DESC) AS version_rank";
+
+	private static final String VIEW_TIME_BASED_SQL = """
+			SELECT m.member_id
+			FROM members m
+			WHERE %s AND %s AND m.timestamp < ? AND m.member_id > ?
+			ORDER BY m.member_id
+			LIMIT ?
+			""".formatted(COLLECTION_CONDITION, VIEW_MEMBERS_CONDITION);
+	private static final String VIEW_VERSION_BASED_SQL = """
+			SELECT member_id, version_of
+			FROM (SELECT m.member_id, m.version_of, %s
+			      FROM members m
+			      WHERE %s AND %s AND m.version_of >= ? AND m.timestamp < ?) ranked
+			WHERE version_rank > ? AND (version_of, member_id) > (?, ?)
+			ORDER BY version_of, member_id
+			LIMIT ?
+			""".formatted(VERSION_RANK_COLUMN, COLLECTION_CONDITION, VIEW_MEMBERS_CONDITION);
+	private static final String COLLECTION_TIME_BASED_SQL = """
+			SELECT member_id, version_of, timestamp, is_in_event_source, in_view
+			FROM (SELECT m.member_id, m.version_of, m.timestamp, m.is_in_event_source,
+			             EXISTS (SELECT 1 FROM page_members pm WHERE pm.member_id = m.member_id) AS in_view
+			      FROM members m
+			      WHERE %s AND m.timestamp < ? AND m.member_id > ?) expired
+			WHERE is_in_event_source OR NOT in_view
+			ORDER BY member_id
+			LIMIT ?
+			""".formatted(COLLECTION_CONDITION);
+	private static final String COLLECTION_VERSION_BASED_SQL = """
+			SELECT member_id, version_of, timestamp, is_in_event_source, in_view
+			FROM (SELECT ranked.*,
+			             EXISTS (SELECT 1 FROM page_members pm WHERE pm.member_id = ranked.member_id) AS in_view
+			      FROM (SELECT m.member_id, m.version_of, m.timestamp, m.is_in_event_source, %s
+			            FROM members m
+			            WHERE %s AND m.version_of >= ? AND m.timestamp < ?) ranked
+			      WHERE version_rank > ? AND (version_of, member_id) > (?, ?)) expired
+			WHERE is_in_event_source OR NOT in_view
+			ORDER BY version_of, member_id
+			LIMIT ?
+			""".formatted(VERSION_RANK_COLUMN, COLLECTION_CONDITION);
+	private static final String DELETE_MEMBERS_SQL = """
+			DELETE FROM members m USING collections c
+			WHERE c.collection_id = m.collection_id AND m.member_id = ANY(?)
+			RETURNING c.name, m.subject
+			""";
+	private static final String REMOVE_FROM_EVENT_SOURCE_SQL = "UPDATE members SET is_in_event_source = false WHERE member_id = ANY(?)";
+	/**
+	 * Used as upper bound of the timestamps for the version based policy, which does not consider the age of members
+	 */
+	private static final LocalDateTime NO_TIMESTAMP_BOUND = LocalDateTime.of(9999, 12, 31, 0, 0);
+
 	private final EntityManager entityManager;
-	private final MemberPropertiesEntityMapper propertiesMapper;
-	private final RetentionMemberEntityRepository memberEntityRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final MemberSubjectFilter memberSubjectFilter;
+	private final MemberPartitions memberPartitions;
 
 	public MemberPropertiesPostgresRepository(EntityManager entityManager,
-                                              MemberPropertiesEntityMapper propertiesMapper,
-											  RetentionMemberEntityRepository memberEntityRepository) {
+											  JdbcTemplate jdbcTemplate,
+											  MemberSubjectFilter memberSubjectFilter,
+											  MemberPartitions memberPartitions) {
 		this.entityManager = entityManager;
-		this.propertiesMapper = propertiesMapper;
-        this.memberEntityRepository = memberEntityRepository;
-    }
+		this.jdbcTemplate = jdbcTemplate;
+		this.memberSubjectFilter = memberSubjectFilter;
+		this.memberPartitions = memberPartitions;
+	}
+
 	@Override
 	public void removePageMemberEntity(Long id, String collectionName, String viewName) {
 		Query query = entityManager.createQuery("DELETE FROM PageMemberEntity p WHERE p.member.id = :memberId AND p.bucket.view.name = :viewName AND p.bucket.view.eventStream.name = :collectionName");
@@ -46,90 +123,137 @@ public class MemberPropertiesPostgresRepository implements MemberPropertiesRepos
 	@Override
 	@Transactional
 	public void deleteAllByIds(List<Long> ids) {
-		memberEntityRepository.deleteAllByIdIn(ids);
+		jdbcTemplate.query(DELETE_MEMBERS_SQL, (rs, rowNum) -> Map.entry(rs.getString(1), rs.getString(2)), (Object) ids.toArray(Long[]::new))
+				.stream()
+				.collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())))
+				.forEach(memberSubjectFilter::removeAll);
 	}
 
 	@Override
 	@Transactional
 	public void removeFromEventSource(List<Long> ids) {
-		Query query = entityManager.createQuery("UPDATE MemberEntity m SET m.isInEventSource = :isInEventSource " +
-		                                        "WHERE m.id IN :memberIds");
-		query.setParameter("isInEventSource", false);
-		query.setParameter("memberIds", ids);
-		query.executeUpdate();
+		jdbcTemplate.update(REMOVE_FROM_EVENT_SOURCE_SQL, (Object) ids.toArray(Long[]::new));
 	}
 
+	/**
+	 * Every expired partition is detached before it is dropped, which fails when some of its members are still part of a
+	 * view. The subjects of a partition are only read by the call that detached it, so that they are never removed twice
+	 * from the subject filter, and are only removed once the partition has been dropped.
+	 */
 	@Override
-	@Transactional
-	public List<Long> findExpiredMembers(ViewName viewName,
-	                                     TimeBasedRetentionPolicy policy) {
-		return memberEntityRepository.findAllByViewNameAndTimestampBefore(viewName.getViewName(), viewName.getCollectionName(), LocalDateTime.now().minus(policy.duration()))
-				.sorted(Comparator.comparing(MemberEntity::getId).reversed())
-				.map(MemberEntity::getId)
-				.toList();
+	public void deleteExpiredMembersInBulk(String collectionName, TimeBasedRetentionPolicy policy) {
+		final LocalDateTime expiryTimestamp = LocalDateTime.now().minus(policy.duration());
+		for (MemberPartition partition : memberPartitions.findExpiredPartitions(collectionName, expiryTimestamp)) {
+			final List<List<String>> droppedSubjects = new ArrayList<>();
+			if (memberPartitions.detach(partition) && memberSubjectFilter.isEnabled()) {
+				memberPartitions.forEachSubjectsBatch(partition, droppedSubjects::add);
+			}
+			if (memberPartitions.drop(partition)) {
+				droppedSubjects.forEach(subjects -> memberSubjectFilter.removeAll(collectionName, subjects));
+			}
+		}
 	}
 
 	@Override
-	@Transactional
-	public List<Long> findExpiredMembers(ViewName viewName,
-	                                     VersionBasedRetentionPolicy policy) {
-
-		return memberEntityRepository.findAllByViewName(viewName.getViewName(), viewName.getCollectionName())
-				.collect(Collectors.groupingBy(MemberEntity::getVersionOf))
-				.values()
-				.stream()
-				.flatMap(memberPropertiesGroup -> memberPropertiesGroup.stream()
-						.sorted(Comparator.comparing(MemberEntity::getId).reversed())
-						.skip(policy.numberOfMembersToKeep()))
-				.map(MemberEntity::getId)
-				.toList();
+	public void forEachExpiredMembersBatch(ViewName viewName, TimeBasedRetentionPolicy policy,
+	                                       Consumer<List<Long>> expiredMembersConsumer) {
+		final LocalDateTime expiryTimestamp = LocalDateTime.now().minus(policy.duration());
+		long lastMemberId = 0;
+		List<Long> batch;
+		do {
+			batch = jdbcTemplate.queryForList(VIEW_TIME_BASED_SQL, Long.class, viewName.getCollectionName(),
+					viewName.getViewName(), expiryTimestamp, lastMemberId, EXPIRED_MEMBERS_BATCH_SIZE);
+			if (!batch.isEmpty()) {
+				lastMemberId = batch.getLast();
+				expiredMembersConsumer.accept(batch);
+			}
+		} while (batch.size() == EXPIRED_MEMBERS_BATCH_SIZE);
+	}
 
+	@Override
+	public void forEachExpiredMembersBatch(ViewName viewName, VersionBasedRetentionPolicy policy,
+	                                       Consumer<List<Long>> expiredMembersConsumer) {
+		forEachExpiredVersionsBatch(viewName, NO_TIMESTAMP_BOUND, policy.numberOfMembersToKeep(), expiredMembersConsumer);
 	}
 
 	@Override
-	@Transactional
-	public List<Long> findExpiredMembers(ViewName viewName,
-	                                     TimeAndVersionBasedRetentionPolicy policy) {
-		return memberEntityRepository.findAllByViewNameAndTimestampBefore(viewName.getViewName(), viewName.getCollectionName(), LocalDateTime.now().minus(policy.duration()))
-				.collect(Collectors.groupingBy(MemberEntity::getVersionOf))
-				.values()
-				.stream()
-				.flatMap(memberPropertiesGroup -> memberPropertiesGroup.stream()
-						.sorted(Comparator.comparing(MemberEntity::getId).reversed())
-						.skip(policy.numberOfMembersToKeep()))
-				.map(MemberEntity::getId)
-				.toList();
+	public void forEachExpiredMembersBatch(ViewName viewName, TimeAndVersionBasedRetentionPolicy policy,
+	                                       Consumer<List<Long>> expiredMembersConsumer) {
+		forEachExpiredVersionsBatch(viewName, LocalDateTime.now().minus(policy.duration()), policy.numberOfMembersToKeep(),
+				expiredMembersConsumer);
+	}
+
+	private void forEachExpiredVersionsBatch(ViewName viewName, LocalDateTime expiryTimestamp, int numberOfMembersToKeep,
+	                                         Consumer<List<Long>> expiredMembersConsumer) {
+		ExpiredVersion lastExpiredVersion = ExpiredVersion.FIRST;
+		List<ExpiredVersion> batch;
+		do {
+			batch = jdbcTemplate.query(VIEW_VERSION_BASED_SQL,
+					(rs, rowNum) -> new ExpiredVersion(rs.getLong("member_id"), rs.getString("version_of")),
+					viewName.getCollectionName(), viewName.getViewName(), lastExpiredVersion.versionOf(), expiryTimestamp,
+					numberOfMembersToKeep, lastExpiredVersion.versionOf(), lastExpiredVersion.memberId(),
+					EXPIRED_MEMBERS_BATCH_SIZE);
+			if (!batch.isEmpty()) {
+				lastExpiredVersion = batch.getLast();
+				expiredMembersConsumer.accept(batch.stream().map(ExpiredVersion::memberId).toList());
+			}
+		} while (batch.size() == EXPIRED_MEMBERS_BATCH_SIZE);
 	}
 
 	@Override
-	@Transactional
-	public Stream<MemberProperties> retrieveExpiredMembers(String collectionName, TimeBasedRetentionPolicy policy) {
-		return memberEntityRepository.findAllByCollectionNameAndTimestampBefore(collectionName, LocalDateTime.now().minus(policy.duration())).stream()
-				.map(propertiesMapper::toMemberProperties);
+	public void forEachExpiredMemberPropertiesBatch(String collectionName, TimeBasedRetentionPolicy policy,
+	                                                Consumer<List<MemberProperties>> expiredMembersConsumer) {
+		final LocalDateTime expiryTimestamp = LocalDateTime.now().minus(policy.duration());
+		long lastMemberId = 0;
+		List<MemberProperties> batch;
+		do {
+			batch = jdbcTemplate.query(COLLECTION_TIME_BASED_SQL, memberPropertiesRowMapper(collectionName),
+					collectionName, expiryTimestamp, lastMemberId, EXPIRED_MEMBERS_BATCH_SIZE);
+			if (!batch.isEmpty()) {
+				lastMemberId = batch.getLast().id();
+				expiredMembersConsumer.accept(batch);
+			}
+		} while (batch.size() == EXPIRED_MEMBERS_BATCH_SIZE);
 	}
 
 	@Override
-	@Transactional
-	public Stream<MemberProperties> retrieveExpiredMembers(String collectionName, VersionBasedRetentionPolicy policy) {
-		return memberEntityRepository.findAllByCollectionName(collectionName)
-				.stream()
-				.collect(Collectors.groupingBy(RetentionMemberProjection::getVersionOf))
-				.values()
-				.stream()
-				.flatMap(memberPropertiesGroup -> memberPropertiesGroup.stream()
-						.skip(policy.numberOfMembersToKeep()))
-				.map(propertiesMapper::toMemberProperties);
+	public void forEachExpiredMemberPropertiesBatch(String collectionName, VersionBasedRetentionPolicy policy,
+	                                                Consumer<List<MemberProperties>> expiredMembersConsumer) {
+		forEachExpiredVersionsBatch(collectionName, NO_TIMESTAMP_BOUND, policy.numberOfMembersToKeep(), expiredMembersConsumer);
 	}
 
 	@Override
-	@Transactional
-	public Stream<MemberProperties> retrieveExpiredMembers(String collectionName, TimeAndVersionBasedRetentionPolicy policy) {
-		return memberEntityRepository.findAllByCollectionNameAndTimestampBefore(collectionName, LocalDateTime.now().minus(policy.duration())).stream()
-				.collect(Collectors.groupingBy(RetentionMemberProjection::getVersionOf))
-				.values()
-				.stream()
-				.flatMap(memberPropertiesGroup -> memberPropertiesGroup.stream()
-						.skip(policy.numberOfMembersToKeep()))
-				.map(propertiesMapper::toMemberProperties);
+	public void forEachExpiredMemberPropertiesBatch(String collectionName, TimeAndVersionBasedRetentionPolicy policy,
+	                                                Consumer<List<MemberProperties>> expiredMembersConsumer) {
+		forEachExpiredVersionsBatch(collectionName, LocalDateTime.now().minus(policy.duration()),
+				policy.numberOfMembersToKeep(), expiredMembersConsumer);
+	}
+
+	private void forEachExpiredVersionsBatch(String collectionName, LocalDateTime expiryTimestamp, int numberOfMembersToKeep,
+	                                         Consumer<List<MemberProperties>> expiredMembersConsumer) {
+		ExpiredVersion lastExpiredVersion = ExpiredVersion.FIRST;
+		List<MemberProperties> batch;
+		do {
+			batch = jdbcTemplate.query(COLLECTION_VERSION_BASED_SQL, memberPropertiesRowMapper(collectionName),
+					collectionName, lastExpiredVersion.versionOf(), expiryTimestamp, numberOfMembersToKeep,
+					lastExpiredVersion.versionOf(), lastExpiredVersion.memberId(), EXPIRED_MEMBERS_BATCH_SIZE);
+			if (!batch.isEmpty()) {
+				lastExpiredVersion = new ExpiredVersion(batch.getLast().id(), batch.getLast().versionOf());
+				expiredMembersConsumer.accept(batch);
+			}
+		} while (batch.size() == EXPIRED_MEMBERS_BATCH_SIZE);
+	}
+
+	private static RowMapper<MemberProperties> memberPropertiesRowMapper(String collectionName) {
+		return (rs, rowNum) -> new MemberProperties(rs.getLong("member_id"),
+				collectionName,
+				rs.getString("version_of"),
+				rs.getObject("timestamp", LocalDateTime.class),
+				rs.getBoolean("is_in_event_source"),
+				rs.getBoolean("in_view"));
+	}
+
+	private record ExpiredVersion(long memberId, String versionOf) {
+		private static final ExpiredVersion FIRST = new ExpiredVersion(0, "");
 	}
 }
@@ -0,0 +1,173 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.retention.postgres;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.filter.MemberSubjectFilter;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.partition.MemberPartitions;
+import be.vlaanderen.informatievlaanderen.ldes.server.retention.entities.MemberProperties;
+import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.definition.timeandversionbased.TimeAndVersionBasedRetentionPolicy;
+import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.definition.timebased.TimeBasedRetentionPolicy;
+import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.definition.versionbased.VersionBasedRetentionPolicy;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.retention.postgres.MemberPropertiesPostgresRepository.EXPIRED_MEMBERS_BATCH_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@EnableAutoConfiguration(exclude = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@SpringBootTest
+@AutoConfigureEmbeddedDatabase
+@ActiveProfiles("postgres-test")
+@ContextConfiguration(classes = {MemberPropertiesPostgresRepository.class, MemberPartitions.class})
+class MemberPropertiesPostgresRepositoryTest {
+	private static final String COLLECTION_NAME = "mobility-hindrances";
+	private static final ViewName VIEW_NAME = new ViewName(COLLECTION_NAME, "by-page");
+	private static final long VIEW_BUCKET_ID = 1;
+	private static final long OTHER_VIEW_BUCKET_ID = 2;
+	private static final LocalDateTime NOW = LocalDateTime.now();
+
+	@MockBean
+	private EntityManager entityManager;
+	@MockBean
+	private MemberSubjectFilter memberSubjectFilter;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private MemberPropertiesPostgresRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("""
+				INSERT INTO collections
+				VALUES (1, 'mobility-hindrances', 'http://purl.org/dc/terms/created', 'http://purl.org/dc/terms/isVersionOf', false,
+				        false);
+
+				INSERT INTO views VALUES (1, 1, 'by-page', '[]', '', 150), (2, 1, 'by-time', '[]', '', 150);
+
+				INSERT INTO buckets VALUES (1, '', 1), (2, '', 2);
+				""");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM collections");
+	}
+
+	@Test
+	void given_VersionBasedPolicy_when_ForEachExpiredMembersBatch_then_OlderVersionsOfViewAreExpired() {
+		insertMember(1, "a", NOW.minusDays(3), VIEW_BUCKET_ID);
+		insertMember(2, "a", NOW.minusDays(1), VIEW_BUCKET_ID);
+		insertMember(3, "a", NOW.minusDays(2), VIEW_BUCKET_ID);
+		insertMember(4, "a", NOW, OTHER_VIEW_BUCKET_ID);
+		insertMember(5, "b", NOW.minusDays(5), VIEW_BUCKET_ID);
+
+		final List<List<Long>> batches = new ArrayList<>();
+		repository.forEachExpiredMembersBatch(VIEW_NAME, new VersionBasedRetentionPolicy(1), batches::add);
+
+		assertThat(batches).containsExactly(List.of(1L, 3L));
+	}
+
+	@Test
+	void given_TimeAndVersionBasedPolicy_when_ForEachExpiredMembersBatch_then_OnlyOldMembersAreRankedAndExpired() {
+		insertMember(1, "a", NOW.minusDays(3), VIEW_BUCKET_ID);
+		insertMember(2, "a", NOW.minusDays(2), VIEW_BUCKET_ID);
+		insertMember(3, "a", NOW, VIEW_BUCKET_ID);
+		insertMember(4, "b", NOW.minusDays(5), VIEW_BUCKET_ID);
+
+		final List<List<Long>> batches = new ArrayList<>();
+		repository.forEachExpiredMembersBatch(VIEW_NAME, new TimeAndVersionBasedRetentionPolicy(Duration.ofDays(1), 1), batches::add);
+
+		assertThat(batches).containsExactly(List.of(1L));
+	}
+
+	@Test
+	void given_TimeBasedPolicy_when_ForEachExpiredMembersBatch_then_OldMembersOfViewAreExpired() {
+		insertMember(1, "a", NOW.minusDays(3), VIEW_BUCKET_ID);
+		insertMember(2, "a", NOW, VIEW_BUCKET_ID);
+		insertMember(3, "b", NOW.minusDays(3), OTHER_VIEW_BUCKET_ID);
+
+		final List<List<Long>> batches = new ArrayList<>();
+		repository.forEachExpiredMembersBatch(VIEW_NAME, new TimeBasedRetentionPolicy(Duration.ofDays(1)), batches::add);
+
+		assertThat(batches).containsExactly(List.of(1L));
+	}
+
+	@Test
+	void given_MoreExpiredMembersThanBatchSize_when_ForEachExpiredMembersBatch_then_MembersArePassedInBoundedBatches() {
+		jdbcTemplate.update("""
+				INSERT INTO members
+				SELECT i, 'subject-' || i, 'old-id-' || i, 1, true, '', now() - i * interval '1 second', gen_random_uuid(), 'a'
+				FROM generate_series(1, ?) i;
+
+				INSERT INTO page_members (bucket_id, member_id) SELECT 1, member_id FROM members;
+				""", EXPIRED_MEMBERS_BATCH_SIZE + 2);
+
+		final List<List<Long>> batches = new ArrayList<>();
+		repository.forEachExpiredMembersBatch(VIEW_NAME, new VersionBasedRetentionPolicy(1), batches::add);
+
+		assertThat(batches).hasSize(2);
+		assertThat(batches.getFirst()).hasSize(EXPIRED_MEMBERS_BATCH_SIZE).doesNotContain(1L);
+		assertThat(batches.getLast()).containsExactly((long) EXPIRED_MEMBERS_BATCH_SIZE + 2);
+	}
+
+	@Test
+	void given_VersionBasedPolicy_when_ForEachExpiredMemberPropertiesBatch_then_MembersLeftToRemoveFromEventSourceAreExpired() {
+		insertMember(1, "a", NOW.minusDays(4), null);
+		insertMember(2, "a", NOW.minusDays(3), VIEW_BUCKET_ID);
+		insertMember(3, "a", NOW.minusDays(2), VIEW_BUCKET_ID);
+		insertMember(4, "a", NOW, null);
+		jdbcTemplate.update("UPDATE members SET is_in_event_source = false WHERE member_id = 3");
+
+		final List<List<MemberProperties>> batches = new ArrayList<>();
+		repository.forEachExpiredMemberPropertiesBatch(COLLECTION_NAME, new VersionBasedRetentionPolicy(1), batches::add);
+
+		assertThat(batches).hasSize(1);
+		assertThat(batches.getFirst())
+				.extracting(MemberProperties::id, MemberProperties::collectionName, MemberProperties::isInEventSource, MemberProperties::isInView)
+				.containsExactly(
+						tuple(1L, COLLECTION_NAME, true, false),
+						tuple(2L, COLLECTION_NAME, true, true));
+	}
+
+	@Test
+	void when_DeleteAllByIds_then_MembersAndTheirSubjectsAreRemoved() {
+		insertMember(1, "a", NOW, VIEW_BUCKET_ID);
+		insertMember(2, "a", NOW, null);
+		insertMember(3, "a", NOW, null);
+
+		repository.deleteAllByIds(List.of(1L, 2L));
+
+		assertThat(jdbcTemplate.queryForList("SELECT member_id FROM members", Long.class)).containsExactly(3L);
+		verify(memberSubjectFilter).removeAll(eq(COLLECTION_NAME), argThat(subjects -> Set.copyOf(subjects).equals(Set.of("subject-1", "subject-2"))));
+	}
+
+	private void insertMember(long id, String versionOf, LocalDateTime timestamp, Long bucketId) {
+		jdbcTemplate.update("""
+				INSERT INTO members VALUES (?, ?, ?, 1, true, '', ?, gen_random_uuid(), ?)
+				""", id, "subject-" + id, "old-id-" + id, timestamp, versionOf);
+		if (bucketId != null) {
+			jdbcTemplate.update("INSERT INTO page_members (bucket_id, member_id) VALUES (?, ?)", bucketId, id);
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.retention.postgres;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.filter.MemberSubjectFilter;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.partition.MemberPartition;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.postgres.partition.MemberPartitions;
+import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.definition.timebased.TimeBasedRetentionPolicy;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@EnableAutoConfiguration(exclude = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@SpringBootTest(properties = "spring.liquibase.parameters.members-partitioning=true")
+@AutoConfigureEmbeddedDatabase
+@ActiveProfiles("postgres-test")
+@ContextConfiguration(classes = {MemberPropertiesPostgresRepository.class, MemberPartitions.class})
+class PartitionedMemberPropertiesPostgresRepositoryTest {
+	private static final String COLLECTION_NAME = "mobility-hindrances";
+	private static final LocalDateTime TODAY = LocalDateTime.now();
+	private static final LocalDateTime THREE_DAYS_AGO = TODAY.minusDays(3);
+	private static final TimeBasedRetentionPolicy POLICY = new TimeBasedRetentionPolicy(Duration.ofDays(1));
+
+	@MockBean
+	private EntityManager entityManager;
+	@MockBean
+	private MemberSubjectFilter memberSubjectFilter;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private MemberPartitions memberPartitions;
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private MemberPropertiesPostgresRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("""
+				INSERT INTO collections
+				VALUES (1, 'mobility-hindrances', 'http://purl.org/dc/terms/created', 'http://purl.org/dc/terms/isVersionOf', false,
+				        false);
+
+				INSERT INTO views VALUES (1, 1, 'by-page', '[]', '', 150);
+
+				INSERT INTO buckets VALUES (1, '', 1);
+				""");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM collections");
+	}
+
+	@Test
+	void given_ExpiredPartition_when_DeleteExpiredMembersInBulk_then_PartitionIsDroppedAndSubjectsAreRemoved() {
+		insertMember(1, THREE_DAYS_AGO);
+		insertMember(2, THREE_DAYS_AGO);
+		insertMember(3, TODAY);
+		when(memberSubjectFilter.isEnabled()).thenReturn(true);
+
+		repository.deleteExpiredMembersInBulk(COLLECTION_NAME, POLICY);
+
+		assertThat(jdbcTemplate.queryForList("SELECT member_id FROM members", Long.class)).containsExactly(3L);
+		assertThat(jdbcTemplate.queryForList("SELECT day FROM member_partitions", LocalDate.class)).containsExactly(TODAY.toLocalDate());
+		assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('members_1_' || to_char(?::date, 'YYYYMMDD')) IS NULL",
+				Boolean.class, THREE_DAYS_AGO.toLocalDate())).isTrue();
+		verify(memberSubjectFilter).removeAll(COLLECTION_NAME, List.of("subject-1", "subject-2"));
+	}
+
+	@Test
+	void given_ExpiredPartitionWithMemberInView_when_DeleteExpiredMembersInBulk_then_PartitionIsKept() {
+		insertMember(1, THREE_DAYS_AGO);
+		insertMember(2, THREE_DAYS_AGO);
+		jdbcTemplate.update("INSERT INTO page_members (bucket_id, member_id) VALUES (1, 2)");
+
+		repository.deleteExpiredMembersInBulk(COLLECTION_NAME, POLICY);
+
+		assertThat(jdbcTemplate.queryForList("SELECT member_id FROM members ORDER BY member_id", Long.class)).containsExactly(1L, 2L);
+		verify(memberSubjectFilter, never()).removeAll(any(), any());
+	}
+
+	@Test
+	void when_MembersAreDeleted_then_TheirPageMembersAreDeleted() {
+		insertMember(1, TODAY);
+		insertMember(2, TODAY);
+		jdbcTemplate.update("INSERT INTO page_members (bucket_id, member_id) VALUES (1, 1), (1, 2)");
+
+		repository.deleteAllByIds(List.of(1L));
+
+		assertThat(jdbcTemplate.queryForList("SELECT member_id FROM page_members", Long.class)).containsExactly(2L);
+	}
+
+	@Test
+	void when_PartitionsAreCreated_then_MembersOfTheirDaysCanBeStored() {
+		final LocalDateTime timestamp = LocalDateTime.of(2000, 1, 1, 12, 0);
+
+		memberPartitions.createPartitions(1, List.of(timestamp, timestamp.plusHours(1), timestamp.plusDays(1)));
+		jdbcTemplate.update("INSERT INTO members VALUES (1, 'subject-1', 'old-id-1', 1, true, '', ?, gen_random_uuid(), 'a')", timestamp);
+
+		assertThat(memberPartitions.isPartitioned()).isTrue();
+		assertThat(jdbcTemplate.queryForList("SELECT day FROM member_partitions ORDER BY day", LocalDate.class))
+				.containsExactly(timestamp.toLocalDate(), timestamp.toLocalDate().plusDays(1));
+	}
+
+	@Test
+	void given_DetachedPartition_when_PartitionIsCreated_then_ItIsAttachedAgainAndNotDropped() {
+		insertMember(1, THREE_DAYS_AGO);
+		final MemberPartition partition = new MemberPartition(1, THREE_DAYS_AGO.toLocalDate());
+		assertThat(memberPartitions.detach(partition)).isTrue();
+
+		insertMember(2, THREE_DAYS_AGO);
+
+		assertThat(memberPartitions.drop(partition)).isFalse();
+		assertThat(jdbcTemplate.queryForList("SELECT member_id FROM members ORDER BY member_id", Long.class)).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void given_PartitionDroppedByAnotherInstance_when_MembersAreInserted_then_PartitionIsCreatedAgain() {
+		final MemberPartition partition = new MemberPartition(1, THREE_DAYS_AGO.toLocalDate());
+		memberPartitions.createPartitions(1, List.of(THREE_DAYS_AGO));
+		assertThat(jdbcTemplate.queryForObject("SELECT detach_members_partition(1, ?)", Boolean.class, partition.day())).isTrue();
+		assertThat(jdbcTemplate.queryForObject("SELECT drop_members_partition(1, ?)", Boolean.class, partition.day())).isTrue();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+				memberPartitions.insertIntoPartitions(1, List.of(THREE_DAYS_AGO), () -> jdbcTemplate.update(
+						"INSERT INTO members VALUES (1, 'subject-1', 'old-id-1', 1, true, '', ?, gen_random_uuid(), 'a')",
+						THREE_DAYS_AGO)));
+
+		assertThat(jdbcTemplate.queryForList("SELECT member_id FROM members", Long.class)).containsExactly(1L);
+	}
+
+	@Test
+	void when_SubjectsAreLocked_then_OtherTransactionsCannotLockThemUntilCommit() {
+		final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			memberPartitions.lockSubjects(1);
+			assertThat(tryLockSubjectsFromOtherConnection(1)).isFalse();
+			assertThat(tryLockSubjectsFromOtherConnection(2)).isTrue();
+		});
+
+		assertThat(tryLockSubjectsFromOtherConnection(1)).isTrue();
+	}
+
+	private boolean tryLockSubjectsFromOtherConnection(int collectionId) {
+		try (Connection connection = dataSource.getConnection();
+		     PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_xact_lock(hashtext('members'), ?)")) {
+			statement.setInt(1, collectionId);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() && resultSet.getBoolean(1);
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void insertMember(long id, LocalDateTime timestamp) {
+		jdbcTemplate.queryForObject("SELECT create_members_partition(1, ?)", Boolean.class, timestamp.toLocalDate());
+		jdbcTemplate.update("""
+				INSERT INTO members VALUES (?, ?, ?, 1, true, '', ?, gen_random_uuid(), 'a')
+				""", id, "subject-" + id, "old-id-" + id, timestamp);
+	}
+}
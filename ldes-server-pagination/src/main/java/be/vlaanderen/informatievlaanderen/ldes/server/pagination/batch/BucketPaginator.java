@@ -0,0 +1,100 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.pagination.batch;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.entities.Page;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.PageRelationRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.PageRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.UnpagedMemberRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.valueobjects.PartialUrl;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Paginates all unpaged members of a bucket at once. The open page is filled up first, unless it is the numberless
+ * root page, after which the pages that are needed for the remaining members are created in bulk. The member count of
+ * the pages is derived from the members that were actually assigned, as members can be deleted after they were counted.
+ */
+@Component
+@StepScope
+public class BucketPaginator implements Tasklet {
+	private final PageRepository pageRepository;
+	private final PageRelationRepository pageRelationRepository;
+	private final UnpagedMemberRepository unpagedMemberRepository;
+	private final long bucketId;
+
+	public BucketPaginator(PageRepository pageRepository, PageRelationRepository pageRelationRepository,
+	                       UnpagedMemberRepository unpagedMemberRepository,
+	                       @Value("#{stepExecutionContext['bucketId']}") Long bucketId) {
+		this.pageRepository = pageRepository;
+		this.pageRelationRepository = pageRelationRepository;
+		this.unpagedMemberRepository = unpagedMemberRepository;
+		this.bucketId = bucketId;
+	}
+
+	@Override
+	public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+		final int unpagedMemberCount = unpagedMemberRepository.countUnpagedMembers(bucketId);
+		if (unpagedMemberCount == 0) {
+			return RepeatStatus.FINISHED;
+		}
+
+		final Page openPage = pageRepository.getOpenPage(bucketId);
+		final int pageSize = openPage.getPageSize();
+		final int openPageCapacity = openPage.isNumberLess() ? 0 : Math.min(openPage.getAvailableMemberSpace(), unpagedMemberCount);
+		final List<PartialUrl> newPageUrls = createChildPartialUrls(openPage, Math.ceilDiv(unpagedMemberCount - openPageCapacity, pageSize));
+		final List<Long> newPageIds = createPages(openPage, newPageUrls);
+
+		final List<Long> targetPageIds = openPageCapacity > 0
+				? Stream.concat(Stream.of(openPage.getId()), newPageIds.stream()).toList()
+				: newPageIds;
+		final int assignedMemberCount = unpagedMemberRepository.assignToPages(bucketId, targetPageIds,
+				openPageCapacity > 0 ? openPageCapacity : pageSize, pageSize);
+		contribution.incrementWriteCount(assignedMemberCount);
+
+		final int membersOnOpenPage = Math.min(assignedMemberCount, openPageCapacity);
+		if (newPageIds.isEmpty()) {
+			openPage.incrementAssignedMemberCount(membersOnOpenPage);
+			pageRepository.updateOpenPage(openPage);
+		} else {
+			final int membersOnLastPage = Math.max(0, assignedMemberCount - membersOnOpenPage - (newPageIds.size() - 1) * pageSize);
+			pageRepository.updateOpenPage(new Page(newPageIds.getLast(), bucketId, newPageUrls.getLast(), pageSize, membersOnLastPage));
+		}
+		return RepeatStatus.FINISHED;
+	}
+
+	private List<PartialUrl> createChildPartialUrls(Page openPage, int pageCount) {
+		final List<PartialUrl> partialUrls = new ArrayList<>(pageCount);
+		PartialUrl partialUrl = openPage.getPartialUrl();
+		for (int i = 0; i < pageCount; i++) {
+			partialUrl = partialUrl.createChild();
+			partialUrls.add(partialUrl);
+		}
+		return partialUrls;
+	}
+
+	private List<Long> createPages(Page openPage, List<PartialUrl> partialUrls) {
+		if (partialUrls.isEmpty()) {
+			return List.of();
+		}
+
+		final List<Long> pageIds = pageRepository.createPages(bucketId, partialUrls.stream().map(PartialUrl::asString).toList());
+		pageRelationRepository.insertGenericBucketRelations(Stream.concat(Stream.of(openPage.getId()), pageIds.stream()).toList());
+
+		final List<Long> closedPageIds = new ArrayList<>(pageIds.subList(0, pageIds.size() - 1));
+		if (!openPage.isNumberLess()) {
+			closedPageIds.addFirst(openPage.getId());
+		}
+		if (!closedPageIds.isEmpty()) {
+			pageRepository.setPagesImmutable(closedPageIds);
+		}
+		return pageIds;
+	}
+}
@@ -41,6 +41,14 @@ public class Page {
 		return bucketId;
 	}
 
+	public PartialUrl getPartialUrl() {
+		return partialUrl;
+	}
+
+	public int getAssignedMemberCount() {
+		return assignedMemberCount;
+	}
+
 	public boolean isFull() {
 		return getAvailableMemberSpace() == 0;
 	}
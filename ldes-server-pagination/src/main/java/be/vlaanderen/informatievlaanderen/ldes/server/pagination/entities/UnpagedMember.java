@@ -1,4 +0,0 @@
-package be.vlaanderen.informatievlaanderen.ldes.server.pagination.entities;
-
-public record UnpagedMember(long memberId, long bucketId) {
-}
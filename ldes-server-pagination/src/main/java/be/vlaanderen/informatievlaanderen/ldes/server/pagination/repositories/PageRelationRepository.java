@@ -5,8 +5,13 @@ import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects
 import java.util.List;
 
 public interface PageRelationRepository {
-	void insertGenericBucketRelation(long fromPageId, long toPageId);
-	void insertBucketRelation(BucketRelation bucketRelation);
+	/**
+	 * Adds a generic relation from every page to the next page in the list
+	 */
+	void insertGenericBucketRelations(List<Long> pageIds);
 
-	void updateCompactionBucketRelations(List<Long> compactedPageIds, long targetId);
+	/**
+	 * Adds every given relation between the pages of its buckets, unless the same relation already exists
+	 */
+	void insertBucketRelations(List<BucketRelation> bucketRelations);
 }
@@ -10,11 +10,14 @@ import java.util.stream.Stream;
 
 public interface PageRepository {
 	Page getOpenPage(long bucketId);
-	int createPage(Long bucketId, String partialUrl);
-	void setPageImmutable(long pageId);
+	void updateOpenPage(Page page);
+	List<Long> createPages(long bucketId, List<String> partialUrls);
+	void setPagesImmutable(List<Long> pageIds);
 	void setChildrenImmutableByBucketId(long bucketId);
     void markAllPagesImmutableByCollectionName(String collectionName);
     Stream<CompactionCandidate> getPossibleCompactionCandidates(ViewName viewName, int capacityPerPage);
-    void deleteOutdatedFragments(LocalDateTime deleteTime);
-    void setDeleteTime(List<Long> ids, LocalDateTime deleteTime);
+    /**
+     * Deletes the pages of which the delete time has passed and returns their partial urls.
+     */
+    List<String> deleteOutdatedFragments(LocalDateTime deleteTime);
 }
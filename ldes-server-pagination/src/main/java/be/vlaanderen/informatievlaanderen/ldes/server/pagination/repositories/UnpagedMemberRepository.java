@@ -0,0 +1,15 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories;
+
+import java.util.List;
+
+public interface UnpagedMemberRepository {
+	int countUnpagedMembers(long bucketId);
+
+	/**
+	 * Assigns the unpaged members of the bucket, in order of their member id, to the given pages. The first page
+	 * receives firstPageCapacity members, every next page receives pageSize members.
+	 *
+	 * @return the number of members that were assigned
+	 */
+	int assignToPages(long bucketId, List<Long> pageIds, int firstPageCapacity, int pageSize);
+}
@@ -1,10 +1,22 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.pagination.services;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketRelation;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketRelationCreatedEvent;
 import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.PageRelationRepository;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the bucket relations that are created within a transaction, such as a bucketisation chunk, and inserts
+ * them all at once right before the transaction commits. A relation that is created multiple times within the same
+ * transaction is only inserted once. Outside a transaction, a relation is inserted as soon as it is created.
+ */
 @Component
 public class BucketRelationsEventListener {
 	private final PageRelationRepository pageRelationRepository;
@@ -15,6 +27,36 @@ public class BucketRelationsEventListener {
 
 	@EventListener
 	public void onBucketRelationCreatedEvent(BucketRelationCreatedEvent event) {
-		pageRelationRepository.insertBucketRelation(event.bucketRelation());
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			getPendingBucketRelations().relations.add(event.bucketRelation());
+		} else {
+			pageRelationRepository.insertBucketRelations(List.of(event.bucketRelation()));
+		}
+	}
+
+	private PendingBucketRelations getPendingBucketRelations() {
+		PendingBucketRelations pendingBucketRelations = (PendingBucketRelations) TransactionSynchronizationManager.getResource(this);
+		if (pendingBucketRelations == null) {
+			pendingBucketRelations = new PendingBucketRelations();
+			TransactionSynchronizationManager.bindResource(this, pendingBucketRelations);
+			TransactionSynchronizationManager.registerSynchronization(pendingBucketRelations);
+		}
+		return pendingBucketRelations;
+	}
+
+	private class PendingBucketRelations implements TransactionSynchronization {
+		private final Set<BucketRelation> relations = new LinkedHashSet<>();
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			if (!relations.isEmpty()) {
+				pageRelationRepository.insertBucketRelations(List.copyOf(relations));
+			}
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResource(BucketRelationsEventListener.this);
+		}
 	}
 }
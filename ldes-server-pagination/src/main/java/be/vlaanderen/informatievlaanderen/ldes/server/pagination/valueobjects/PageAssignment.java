@@ -1,4 +0,0 @@
-package be.vlaanderen.informatievlaanderen.ldes.server.pagination.valueobjects;
-
-public record PageAssignment(long pageId, long bucketId, long memberId) {
-}
@@ -0,0 +1,151 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.pagination.batch;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.entities.Page;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.PageRelationRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.PageRepository;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.UnpagedMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BucketPaginatorTest {
+	private static final int PAGE_SIZE = 150;
+	private static final long BUCKET_ID = 12;
+	private static final long OPEN_PAGE_ID = 2;
+
+	@Mock
+	private PageRepository pageRepository;
+	@Mock
+	private PageRelationRepository pageRelationRepository;
+	@Mock
+	private UnpagedMemberRepository unpagedMemberRepository;
+	@Mock
+	private StepContribution contribution;
+	private BucketPaginator bucketPaginator;
+
+	@BeforeEach
+	void setUp() {
+		bucketPaginator = new BucketPaginator(pageRepository, pageRelationRepository, unpagedMemberRepository, BUCKET_ID);
+	}
+
+	@Test
+	void given_RootPage_when_Execute_then_CreatePagesForAllMembers() {
+		final Page rootPage = new Page(OPEN_PAGE_ID, BUCKET_ID, "/mobility-hindrances/by-page", PAGE_SIZE, 0);
+		mockBucket(rootPage, 320);
+		when(pageRepository.createPages(BUCKET_ID, List.of(
+				"/mobility-hindrances/by-page?pageNumber=1",
+				"/mobility-hindrances/by-page?pageNumber=2",
+				"/mobility-hindrances/by-page?pageNumber=3"
+		))).thenReturn(List.of(3L, 4L, 5L));
+
+		final RepeatStatus status = bucketPaginator.execute(contribution, null);
+
+		assertThat(status).isEqualTo(RepeatStatus.FINISHED);
+		verify(pageRelationRepository).insertGenericBucketRelations(List.of(OPEN_PAGE_ID, 3L, 4L, 5L));
+		verify(pageRepository).setPagesImmutable(List.of(3L, 4L));
+		verify(unpagedMemberRepository).assignToPages(BUCKET_ID, List.of(3L, 4L, 5L), PAGE_SIZE, PAGE_SIZE);
+		verify(pageRepository).updateOpenPage(assertArg(openPage -> {
+			assertThat(openPage.getId()).isEqualTo(5L);
+			assertThat(openPage.getPartialUrl().asString()).isEqualTo("/mobility-hindrances/by-page?pageNumber=3");
+			assertThat(openPage.getAssignedMemberCount()).isEqualTo(20);
+		}));
+	}
+
+	@Test
+	void given_PageWithSpace_when_Execute_then_UseExistingPage() {
+		final Page openPage = new Page(OPEN_PAGE_ID, BUCKET_ID, "/mobility-hindrances/by-page?pageNumber=3", PAGE_SIZE, 100);
+		mockBucket(openPage, 32);
+
+		bucketPaginator.execute(contribution, null);
+
+		verify(unpagedMemberRepository).assignToPages(BUCKET_ID, List.of(OPEN_PAGE_ID), 32, PAGE_SIZE);
+		verify(pageRepository).updateOpenPage(assertArg(page -> assertThat(page.getAssignedMemberCount()).isEqualTo(132)));
+		verify(pageRepository, never()).createPages(anyLong(), anyList());
+		verifyNoInteractions(pageRelationRepository);
+	}
+
+	@Test
+	void given_PageWithInsufficientSpace_when_Execute_then_UseBothExistingAndNewPage() {
+		final Page openPage = new Page(OPEN_PAGE_ID, BUCKET_ID, "/mobility-hindrances/by-page?pageNumber=3", PAGE_SIZE, 132);
+		mockBucket(openPage, 32);
+		when(pageRepository.createPages(BUCKET_ID, List.of("/mobility-hindrances/by-page?pageNumber=4"))).thenReturn(List.of(3L));
+
+		bucketPaginator.execute(contribution, null);
+
+		verify(pageRelationRepository).insertGenericBucketRelations(List.of(OPEN_PAGE_ID, 3L));
+		verify(pageRepository).setPagesImmutable(List.of(OPEN_PAGE_ID));
+		verify(unpagedMemberRepository).assignToPages(BUCKET_ID, List.of(OPEN_PAGE_ID, 3L), 18, PAGE_SIZE);
+		verify(pageRepository).updateOpenPage(assertArg(page -> {
+			assertThat(page.getId()).isEqualTo(3L);
+			assertThat(page.getAssignedMemberCount()).isEqualTo(14);
+		}));
+	}
+
+	@Test
+	void given_FullPage_when_Execute_then_CreateNewPage() {
+		final Page openPage = new Page(OPEN_PAGE_ID, BUCKET_ID, "/mobility-hindrances/by-page?pageNumber=2", PAGE_SIZE, PAGE_SIZE);
+		mockBucket(openPage, 32);
+		when(pageRepository.createPages(BUCKET_ID, List.of("/mobility-hindrances/by-page?pageNumber=3"))).thenReturn(List.of(3L));
+
+		bucketPaginator.execute(contribution, null);
+
+		verify(pageRepository).setPagesImmutable(List.of(OPEN_PAGE_ID));
+		verify(unpagedMemberRepository).assignToPages(BUCKET_ID, List.of(3L), PAGE_SIZE, PAGE_SIZE);
+	}
+
+	@Test
+	void given_MembersDeletedAfterCount_when_Execute_then_OnlyAssignedMembersAreCounted() {
+		final Page openPage = new Page(OPEN_PAGE_ID, BUCKET_ID, "/mobility-hindrances/by-page?pageNumber=3", PAGE_SIZE, 132);
+		mockBucket(openPage, 32, 20);
+		when(pageRepository.createPages(BUCKET_ID, List.of("/mobility-hindrances/by-page?pageNumber=4"))).thenReturn(List.of(3L));
+
+		bucketPaginator.execute(contribution, null);
+
+		verify(contribution).incrementWriteCount(20);
+		verify(pageRepository).updateOpenPage(assertArg(page -> {
+			assertThat(page.getId()).isEqualTo(3L);
+			assertThat(page.getAssignedMemberCount()).isEqualTo(2);
+		}));
+	}
+
+	@Test
+	void given_MembersDeletedAfterCount_when_Execute_then_OpenPageOnlyCountsAssignedMembers() {
+		final Page openPage = new Page(OPEN_PAGE_ID, BUCKET_ID, "/mobility-hindrances/by-page?pageNumber=3", PAGE_SIZE, 100);
+		mockBucket(openPage, 32, 30);
+
+		bucketPaginator.execute(contribution, null);
+
+		verify(pageRepository).updateOpenPage(assertArg(page -> assertThat(page.getAssignedMemberCount()).isEqualTo(130)));
+	}
+
+	@Test
+	void given_NoUnpagedMembers_when_Execute_then_DoNothing() {
+		final RepeatStatus status = bucketPaginator.execute(contribution, null);
+
+		assertThat(status).isEqualTo(RepeatStatus.FINISHED);
+		verify(unpagedMemberRepository).countUnpagedMembers(BUCKET_ID);
+		verifyNoMoreInteractions(unpagedMemberRepository);
+		verifyNoInteractions(pageRepository, pageRelationRepository);
+	}
+
+	private void mockBucket(Page openPage, int unpagedMemberCount) {
+		mockBucket(openPage, unpagedMemberCount, unpagedMemberCount);
+	}
+
+	private void mockBucket(Page openPage, int unpagedMemberCount, int assignedMemberCount) {
+		when(unpagedMemberRepository.countUnpagedMembers(BUCKET_ID)).thenReturn(unpagedMemberCount);
+		when(unpagedMemberRepository.assignToPages(eq(BUCKET_ID), anyList(), anyInt(), anyInt())).thenReturn(assignedMemberCount);
+		when(pageRepository.getOpenPage(BUCKET_ID)).thenReturn(openPage);
+	}
+}
@@ -0,0 +1,85 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.pagination.services;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Bucket;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketDescriptorPair;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketRelation;
+import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.valueobjects.BucketRelationCreatedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.pagination.repositories.PageRelationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BucketRelationsEventListenerTest {
+	private static final Bucket ROOT_BUCKET = Bucket.createRootBucketForView(new ViewName("collection", "view"));
+	private static final BucketRelation FIRST_RELATION = BucketRelation.createGenericRelation(ROOT_BUCKET,
+			ROOT_BUCKET.createChild(new BucketDescriptorPair("year", "2023")));
+	private static final BucketRelation SECOND_RELATION = BucketRelation.createGenericRelation(ROOT_BUCKET,
+			ROOT_BUCKET.createChild(new BucketDescriptorPair("year", "2024")));
+
+	@Mock
+	private PageRelationRepository pageRelationRepository;
+	@InjectMocks
+	private BucketRelationsEventListener bucketRelationsEventListener;
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void given_NoTransaction_when_BucketRelationCreated_then_RelationIsInsertedImmediately() {
+		bucketRelationsEventListener.onBucketRelationCreatedEvent(new BucketRelationCreatedEvent(FIRST_RELATION));
+
+		verify(pageRelationRepository).insertBucketRelations(List.of(FIRST_RELATION));
+	}
+
+	@Test
+	void given_Transaction_when_Committed_then_DistinctRelationsAreInsertedAtOnce() {
+		TransactionSynchronizationManager.initSynchronization();
+		bucketRelationsEventListener.onBucketRelationCreatedEvent(new BucketRelationCreatedEvent(FIRST_RELATION));
+		bucketRelationsEventListener.onBucketRelationCreatedEvent(new BucketRelationCreatedEvent(SECOND_RELATION));
+		bucketRelationsEventListener.onBucketRelationCreatedEvent(new BucketRelationCreatedEvent(FIRST_RELATION));
+		verifyNoInteractions(pageRelationRepository);
+
+		completeTransaction(true);
+
+		verify(pageRelationRepository).insertBucketRelations(List.of(FIRST_RELATION, SECOND_RELATION));
+	}
+
+	@Test
+	void given_Transaction_when_RolledBack_then_NoRelationsAreInserted() {
+		TransactionSynchronizationManager.initSynchronization();
+		bucketRelationsEventListener.onBucketRelationCreatedEvent(new BucketRelationCreatedEvent(FIRST_RELATION));
+
+		completeTransaction(false);
+
+		verify(pageRelationRepository, never()).insertBucketRelations(any());
+	}
+
+	private void completeTransaction(boolean committed) {
+		final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		if (committed) {
+			synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+		}
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(committed
+				? TransactionSynchronization.STATUS_COMMITTED
+				: TransactionSynchronization.STATUS_ROLLED_BACK));
+	}
+}
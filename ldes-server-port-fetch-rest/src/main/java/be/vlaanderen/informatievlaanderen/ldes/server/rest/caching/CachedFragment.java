@@ -0,0 +1,10 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.rest.caching;
+
+import java.nio.file.Path;
+
+/**
+ * A fragment that is rendered to a file, named after the SHA-256 hash of its content. The version is the one the
+ * fragment had when it was fetched, from which its ETag is generated like for fragments that are not cached.
+ */
+public record CachedFragment(Path file, long size, String hash, long version) {
+}
@@ -1,10 +1,8 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.rest.caching;
 
-import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
-
 public interface CachingStrategy {
 
 	String generateCacheIdentifier(String collectionName, String language);
 
-	String generateCacheIdentifier(TreeNode treeNode, String language);
+	String generateCacheIdentifier(String fragmentId, long version, String language);
 }
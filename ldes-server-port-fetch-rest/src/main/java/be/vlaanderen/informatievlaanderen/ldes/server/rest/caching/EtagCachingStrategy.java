@@ -1,14 +1,8 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.rest.caching;
 
-import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
-import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.TreeRelation;
-import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.Member;
-import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.stream.Collectors;
-
 import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.HOST_NAME_KEY;
 import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
 
@@ -26,16 +20,12 @@ public class EtagCachingStrategy implements CachingStrategy {
 		return sha256Hex(hostName + "/" + collectionName + "?lang=" + language);
 	}
 
+	/**
+	 * The version of a fragment changes whenever its members or relations change, so the identifier can be generated
+	 * without fetching the fragment itself.
+	 */
 	@Override
-	public String generateCacheIdentifier(TreeNode treeNode, String language) {
-		return sha256Hex(treeNode.getFragmentId()
-				+ treeNode.getRelations().stream()
-						.map(TreeRelation::treeNode)
-						.map(LdesFragmentIdentifier::asDecodedFragmentId)
-						.collect(Collectors.joining(""))
-				+ treeNode.getMembers().stream()
-						.map(Member::subject)
-						.collect(Collectors.joining(""))
-				+ language);
+	public String generateCacheIdentifier(String fragmentId, long version, String language) {
+		return sha256Hex(hostName + fragmentId + "#" + version + "?lang=" + language);
 	}
 }
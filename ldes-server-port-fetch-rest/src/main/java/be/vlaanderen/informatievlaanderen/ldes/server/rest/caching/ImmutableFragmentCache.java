@@ -0,0 +1,269 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.rest.caching;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.*;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.compaction.FragmentsCompactedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.fragmentation.BulkFragmentDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.retention.BulkMemberUnallocatedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.config.RestConfig;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.StreamingTreeNodeWriter;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.TreeNodeConverter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import jakarta.annotation.PreDestroy;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+/**
+ * Keeps immutable fragments rendered on disk, once per RDF language, so they can be served without fetching and
+ * converting them again. The files are content-addressed: every file is named after the SHA-256 hash of its content,
+ * which is shared by all fragments with the same rendering.
+ * <p>
+ * Compaction, retention and fragment deletion do change immutable fragments. As they run in the background, all
+ * fragments of the affected views are evicted, except for deleted fragments, which are evicted one by one. Every
+ * eviction starts a new generation, so fragments that were fetched before an eviction are not cached after it.
+ * <p>
+ * The summed size of the cached fragments is capped, beyond which the least recently used fragments are evicted. A
+ * file that is no longer used by any fragment is only deleted after a delay, as its path might just have been handed
+ * to a response that has not opened it yet. Once opened, the file can be deleted while it is still being sent.
+ */
+@Component
+@EnableScheduling
+public class ImmutableFragmentCache {
+	private static final Logger log = LoggerFactory.getLogger(ImmutableFragmentCache.class);
+	private static final String HASH_ALGORITHM = "SHA-256";
+	static final Duration RELEASED_FILE_DELETION_DELAY = Duration.ofMinutes(1);
+
+	private final TreeNodeConverter treeNodeConverter;
+	private final StreamingTreeNodeWriter streamingTreeNodeWriter;
+	private final Path directory;
+	private final Cache<FragmentKey, CachedFragment> fragments;
+	private final Map<Path, Integer> fileReferences = new HashMap<>();
+	private final Map<Path, Instant> releasedFiles = new HashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+
+	public ImmutableFragmentCache(RestConfig restConfig, TreeNodeConverter treeNodeConverter, StreamingTreeNodeWriter streamingTreeNodeWriter) {
+		this.treeNodeConverter = treeNodeConverter;
+		this.streamingTreeNodeWriter = streamingTreeNodeWriter;
+		this.directory = restConfig.isFragmentCacheEnabled() ? createDirectory(restConfig.getFragmentCacheDirectory()) : null;
+		// a single segment applies the size cap to all fragments at once, fragments are stored one at a time anyway
+		this.fragments = CacheBuilder.newBuilder()
+				.concurrencyLevel(1)
+				.maximumWeight(restConfig.getFragmentCacheMaxSize().toBytes())
+				.weigher((FragmentKey key, CachedFragment fragment) -> (int) Math.min(fragment.size(), Integer.MAX_VALUE))
+				.removalListener(this::release)
+				.build();
+	}
+
+	public Optional<CachedFragment> get(LdesFragmentIdentifier fragmentIdentifier, Lang lang) {
+		return Optional.ofNullable(fragments.getIfPresent(new FragmentKey(fragmentIdentifier, lang)));
+	}
+
+	/**
+	 * Returns the current generation, which has to be read before the fragment that will be put is fetched.
+	 */
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Renders an immutable fragment to disk, unless the cache is disabled or fragments were evicted after the given
+	 * generation, in which case the fragment might already be outdated. The version is the one that was read before the
+	 * fragment was fetched.
+	 */
+	public Optional<CachedFragment> put(LdesFragmentIdentifier fragmentIdentifier, Lang lang, TreeNode treeNode, long version,
+	                                    long fetchedGeneration) {
+		if (directory == null || generation.get() != fetchedGeneration) {
+			return Optional.empty();
+		}
+		Path renderedFile = null;
+		try {
+			renderedFile = Files.createTempFile(directory, "rendering-", ".tmp");
+			final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+			try (OutputStream outputStream = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(renderedFile)), digest)) {
+				render(treeNode, lang, outputStream);
+			}
+			final String hash = HexFormat.of().formatHex(digest.digest());
+			return store(new FragmentKey(fragmentIdentifier, lang), renderedFile, hash, version, fetchedGeneration);
+		} catch (IOException | NoSuchAlgorithmException e) {
+			log.warn("Could not cache fragment {}: {}", fragmentIdentifier.asDecodedFragmentId(), e.getMessage());
+			return Optional.empty();
+		} finally {
+			deleteFile(renderedFile);
+		}
+	}
+
+	private void render(TreeNode treeNode, Lang lang, OutputStream outputStream) {
+		if (streamingTreeNodeWriter.canWrite(lang)) {
+			streamingTreeNodeWriter.write(treeNode, lang, outputStream);
+		} else {
+			RDFWriter.source(treeNodeConverter.toModel(treeNode)).lang(lang).output(outputStream);
+		}
+	}
+
+	private synchronized Optional<CachedFragment> store(FragmentKey key, Path renderedFile, String hash, long version,
+	                                                    long fetchedGeneration) throws IOException {
+		if (generation.get() != fetchedGeneration) {
+			return Optional.empty();
+		}
+		final Path file = directory.resolve(hash);
+		if (Files.notExists(file)) {
+			Files.move(renderedFile, file, ATOMIC_MOVE);
+		}
+		final CachedFragment fragment = new CachedFragment(file, Files.size(file), hash, version);
+		releasedFiles.remove(file);
+		fileReferences.merge(file, 1, Integer::sum);
+		fragments.put(key, fragment);
+		return Optional.of(fragment);
+	}
+
+	/**
+	 * Called for every fragment that leaves the cache, whether it was evicted, replaced or pushed out by the size cap.
+	 */
+	private synchronized void release(RemovalNotification<FragmentKey, CachedFragment> notification) {
+		final Path file = Objects.requireNonNull(notification.getValue()).file();
+		if (fileReferences.merge(file, -1, Integer::sum) <= 0) {
+			fileReferences.remove(file);
+			releasedFiles.put(file, Instant.now().plus(RELEASED_FILE_DELETION_DELAY));
+		}
+	}
+
+	@Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+	public void deleteReleasedFiles() {
+		deleteReleasedFiles(Instant.now());
+	}
+
+	synchronized void deleteReleasedFiles(Instant now) {
+		final Iterator<Map.Entry<Path, Instant>> iterator = releasedFiles.entrySet().iterator();
+		while (iterator.hasNext()) {
+			final Map.Entry<Path, Instant> releasedFile = iterator.next();
+			if (!releasedFile.getValue().isAfter(now)) {
+				deleteFile(releasedFile.getKey());
+				iterator.remove();
+			}
+		}
+	}
+
+	@EventListener
+	public void handleFragmentsCompactedEvent(FragmentsCompactedEvent event) {
+		final Set<ViewName> viewNames = event.compactedFragments().stream()
+				.map(LdesFragmentIdentifier::getViewName)
+				.collect(Collectors.toSet());
+		evict(key -> viewNames.contains(key.viewName()));
+	}
+
+	@EventListener
+	public void handleBulkFragmentDeletedEvent(BulkFragmentDeletedEvent event) {
+		final Set<String> fragmentIds = event.ldesFragmentIdentifiers().stream()
+				.map(LdesFragmentIdentifier::asDecodedFragmentId)
+				.collect(Collectors.toSet());
+		evict(key -> fragmentIds.contains(key.fragmentId()));
+	}
+
+	@EventListener
+	public void handleBulkMemberUnallocatedEvent(BulkMemberUnallocatedEvent event) {
+		evict(key -> key.viewName().equals(event.viewName()));
+	}
+
+	@EventListener
+	public void handleViewDeletedEvent(ViewDeletedEvent event) {
+		evict(key -> key.viewName().equals(event.getViewName()));
+	}
+
+	@EventListener
+	public void handleEventStreamCreatedEvent(EventStreamCreatedEvent event) {
+		evictCollection(event.eventStream().getCollection());
+	}
+
+	@EventListener
+	public void handleEventStreamDeletedEvent(EventStreamDeletedEvent event) {
+		evictCollection(event.collectionName());
+	}
+
+	@EventListener
+	public void handleShaclChangedEvent(ShaclChangedEvent event) {
+		evictCollection(event.getCollection());
+	}
+
+	@EventListener
+	public void handleShaclDeletedEvent(ShaclDeletedEvent event) {
+		evictCollection(event.collectionName());
+	}
+
+	@PreDestroy
+	public void deleteDirectory() {
+		if (directory == null) {
+			return;
+		}
+		try (Stream<Path> files = Files.list(directory)) {
+			files.forEach(this::deleteFile);
+		} catch (IOException e) {
+			log.warn("Could not clear fragment cache directory {}: {}", directory, e.getMessage());
+		}
+		deleteFile(directory);
+	}
+
+	private void evictCollection(String collectionName) {
+		evict(key -> key.viewName().getCollectionName().equals(collectionName));
+	}
+
+	private synchronized void evict(Predicate<FragmentKey> predicate) {
+		generation.incrementAndGet();
+		fragments.invalidateAll(fragments.asMap().keySet().stream().filter(predicate).toList());
+	}
+
+	private void deleteFile(Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("Could not delete cached fragment file {}: {}", file, e.getMessage());
+		}
+	}
+
+	private static Path createDirectory(String parentDirectory) {
+		try {
+			final Path parent = Files.createDirectories(Path.of(parentDirectory));
+			return Files.createTempDirectory(parent, "ldes-fragments-");
+		} catch (IOException e) {
+			log.warn("Immutable fragments are not cached, as no directory could be created in {}: {}", parentDirectory, e.getMessage());
+			return null;
+		}
+	}
+
+	private record FragmentKey(ViewName viewName, String fragmentId, String lang) {
+		private FragmentKey(LdesFragmentIdentifier fragmentIdentifier, Lang lang) {
+			this(fragmentIdentifier.getViewName(), fragmentIdentifier.asDecodedFragmentId(), lang.getName());
+		}
+	}
+}
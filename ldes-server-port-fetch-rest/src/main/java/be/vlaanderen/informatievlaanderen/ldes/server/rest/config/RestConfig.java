@@ -3,6 +3,7 @@ package be.vlaanderen.informatievlaanderen.ldes.server.rest.config;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -17,10 +18,15 @@ public class RestConfig {
 
 	public static final String TEXT_TURTLE = "text/turtle";
 	public static final String INLINE = "inline";
+	public static final String FRAMED_RDF_PROTOBUF = "application/vnd.ldes.framed+protobuf";
 
 	public static final int DEFAULT_MAX_AGE = 60;
 	private int maxAge = DEFAULT_MAX_AGE;
 	private int maxAgeImmutable = 31536000;
+	private boolean fragmentCacheEnabled = false;
+	private String fragmentCacheDirectory = System.getProperty("java.io.tmpdir");
+	private DataSize fragmentCacheMaxSize = DataSize.ofGigabytes(1);
+	private int maxConcurrentStreams = 1000;
 
 	public void setMaxAge(int maxAge) {
 		this.maxAge = maxAge;
@@ -30,6 +36,38 @@ public class RestConfig {
 		this.maxAgeImmutable = maxAgeImmutable;
 	}
 
+	public boolean isFragmentCacheEnabled() {
+		return fragmentCacheEnabled;
+	}
+
+	public void setFragmentCacheEnabled(boolean fragmentCacheEnabled) {
+		this.fragmentCacheEnabled = fragmentCacheEnabled;
+	}
+
+	public String getFragmentCacheDirectory() {
+		return fragmentCacheDirectory;
+	}
+
+	public void setFragmentCacheDirectory(String fragmentCacheDirectory) {
+		this.fragmentCacheDirectory = fragmentCacheDirectory;
+	}
+
+	public DataSize getFragmentCacheMaxSize() {
+		return fragmentCacheMaxSize;
+	}
+
+	public void setFragmentCacheMaxSize(DataSize fragmentCacheMaxSize) {
+		this.fragmentCacheMaxSize = fragmentCacheMaxSize;
+	}
+
+	public int getMaxConcurrentStreams() {
+		return maxConcurrentStreams;
+	}
+
+	public void setMaxConcurrentStreams(int maxConcurrentStreams) {
+		this.maxConcurrentStreams = maxConcurrentStreams;
+	}
+
 	public String generateMutableCacheControl(@Nullable LocalDateTime nextUpdateTs) {
 		final long secondsUntilNextUpdate =
 				nextUpdateTs != null ? Duration.between(LocalDateTime.now(), nextUpdateTs).getSeconds() : -1;
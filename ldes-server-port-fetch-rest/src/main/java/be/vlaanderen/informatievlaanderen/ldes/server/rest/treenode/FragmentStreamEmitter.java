@@ -0,0 +1,47 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emits a fragment either as server-sent events or as binary frames. An emitter buffers everything that is sent
+ * before the response is initialised, so the fragment has to be sent only after {@link #awaitInitialisation}. From
+ * then on, every send is written to the response directly and blocks while the client is not reading.
+ */
+class FragmentStreamEmitter extends ResponseBodyEmitter {
+	private final CountDownLatch initialised = new CountDownLatch(1);
+
+	@Override
+	protected void extendResponse(ServerHttpResponse outputMessage) {
+		super.extendResponse(outputMessage);
+		initialised.countDown();
+	}
+
+	boolean awaitInitialisation(Duration timeout) throws InterruptedException {
+		return initialised.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	void sendEvent(SseEmitter.SseEventBuilder event) throws IOException {
+		send(event.build());
+	}
+
+	/**
+	 * Sends the data as a single frame, which is prefixed with the length of the data as a 4-byte big-endian integer.
+	 */
+	void sendFrame(byte[] data) throws IOException {
+		final Set<DataWithMediaType> frame = new LinkedHashSet<>();
+		frame.add(new DataWithMediaType(ByteBuffer.allocate(Integer.BYTES).putInt(data.length).array(), MediaType.APPLICATION_OCTET_STREAM));
+		frame.add(new DataWithMediaType(data, MediaType.APPLICATION_OCTET_STREAM));
+		send(frame);
+	}
+}
@@ -1,6 +1,6 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode;
 
-import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.config.RestConfig;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
@@ -67,8 +68,9 @@ public interface OpenApiTreeNodeController {
 					[{"@id":"http://localhost:8080/event-stream","https://w3id.org/tree#member":[{"@id":"https://localhost:8080/event-stream/John-Doe/1"}],"@type":["https://w3id.org/ldes#EventStream"],"https://w3id.org/ldes#timestampPath":[{"@id":"http://www.w3.org/ns/prov#generatedAtTime"}],"https://w3id.org/ldes#versionOf":[{"@id":"http://purl.org/dc/terms/isVersionOf"}],"https://w3id.org/tree#shape":[{"@id":"http://localhost:8080/event-stream/shape"}],"https://w3id.org/tree#view":[{"@id":"http://localhost:8080/event-stream?fragment=1"}]},{"@id":"http://localhost:8080/event-stream/shape"},{"@id":"http://localhost:8080/event-stream?fragment=1"},{"@id":"http://localhost:8080/exampleData?fragment=1","@type":["https://w3id.org/tree#Node"]},{"@id":"http://purl.org/dc/terms/isVersionOf"},{"@id":"http://schema.org/Person"},{"@id":"http://www.w3.org/ns/prov#generatedAtTime"},{"@id":"https://example.com/John-Doe"},{"@id":"https://localhost:8080/event-stream/John-Doe/1","@type":["http://schema.org/Person"],"http://schema.org/age":[{"@value":16}],"http://schema.org/name":[{"@value":"John"},{"@value":"Johnny"}],"http://purl.org/dc/terms/isVersionOf":[{"@id":"https://example.com/John-Doe"}],"http://www.w3.org/ns/prov#generatedAtTime":[{"@value":"2023-11-30T21:45:15+01:00","@type":"http://www.w3.org/2001/XMLSchema#dateTime"}]},{"@id":"https://w3id.org/ldes#EventStream"},{"@id":"https://w3id.org/tree#Node"}]
 					""")),
 	})
+	@ApiResponse(responseCode = "304", content = @Content, description = "The fragment did not change since the version identified by the If-None-Match header")
 	@ApiResponse(responseCode = "404", content = @Content, description = "No Linked Data Event Stream found with provided collection name")
-	ResponseEntity<TreeNode> retrieveLdesFragment(
+	ResponseEntity<Object> retrieveLdesFragment(
 			@Parameter(example = "by-time") String view,
 			@Parameter(examples = @ExampleObject(value = """
 					{
@@ -76,13 +78,16 @@ public interface OpenApiTreeNodeController {
 					}
 					""")) Map<String, String> requestParameters,
 			@Parameter(hidden = true) String language,
-			@Parameter(example = "event-stream") String collectionName);
+			@Parameter(example = "event-stream") String collectionName,
+			@Parameter(hidden = true) HttpServletRequest request);
 
 
 	@ApiResponse(responseCode = "200", content = {
-			@Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
-	}, description = "Streaming a fragment over http")
+			@Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE),
+			@Content(mediaType = RestConfig.FRAMED_RDF_PROTOBUF)
+	}, description = "Streaming a fragment over http, as server-sent events or as length-prefixed binary frames")
 	@ApiResponse(responseCode = "404", content = @Content, description = "No Linked Data Event Stream found with provided collection name")
+	@ApiResponse(responseCode = "503", content = @Content, description = "The maximum number of concurrently streamed fragments is reached")
 	ResponseEntity<ResponseBodyEmitter> retrieveLdesFragmentStreaming(
 			@Parameter(example = "by-time") String view,
 			@Parameter(examples = @ExampleObject(value = """
@@ -90,5 +95,6 @@ public interface OpenApiTreeNodeController {
 						"fragment": "1"
 					}
 					""")) Map<String, String> requestParameters,
+			@Parameter(hidden = true) String accept,
 			@Parameter(example = "event-stream") String collectionName);
 }
@@ -1,35 +1,55 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.converter.RdfModelConverter;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.FragmentPair;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentRequest;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.Member;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.SerialisedMember;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.services.StreamingTreeNodeFactory;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.services.TreeNodeFetcher;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.caching.CachedFragment;
 import be.vlaanderen.informatievlaanderen.ldes.server.rest.caching.CachingStrategy;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.caching.ImmutableFragmentCache;
 import be.vlaanderen.informatievlaanderen.ldes.server.rest.config.RestConfig;
-import be.vlaanderen.informatievlaanderen.ldes.server.rest.exceptionhandling.exceptions.ConnectionException;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.FragmentStreamExecutor;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.StreamingTreeNodeWriter;
 import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.TreeNodeStreamConverter;
 import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.catalina.Globals;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RDFWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.exceptions.RdfFormatException.RdfFormatContext.FETCH;
 import static be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.config.TreeViewWebConfig.DEFAULT_RDF_MEDIA_TYPE;
+import static org.apache.jena.rdf.model.ModelFactory.createDefaultModel;
 import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 
@@ -41,98 +61,221 @@ public class TreeNodeController implements OpenApiTreeNodeController {
 	private final StreamingTreeNodeFactory streamingTreeNodeFactory;
 	private final TreeNodeStreamConverter treeNodeStreamConverter;
 	private final CachingStrategy cachingStrategy;
+	private final ImmutableFragmentCache immutableFragmentCache;
+	private final RdfModelConverter rdfModelConverter;
+	private final StreamingTreeNodeWriter streamingTreeNodeWriter;
+	private final FragmentStreamExecutor fragmentStreamExecutor;
+	private static final Lang STREAM_LANG = Lang.RDFPROTO;
+	private static final Duration STREAM_INITIALISATION_TIMEOUT = Duration.ofSeconds(30);
+	private static final String STREAM_RETRY_AFTER_SECONDS = "5";
 	private static final Logger log = LoggerFactory.getLogger(TreeNodeController.class);
 
-	public TreeNodeController(RestConfig restConfig, TreeNodeFetcher treeNodeFetcher, StreamingTreeNodeFactory streamingTreeNodeFactory, TreeNodeStreamConverter treeNodeStreamConverter, CachingStrategy cachingStrategy) {
+	public TreeNodeController(RestConfig restConfig, TreeNodeFetcher treeNodeFetcher, StreamingTreeNodeFactory streamingTreeNodeFactory, TreeNodeStreamConverter treeNodeStreamConverter, CachingStrategy cachingStrategy,
+							  ImmutableFragmentCache immutableFragmentCache, RdfModelConverter rdfModelConverter,
+							  StreamingTreeNodeWriter streamingTreeNodeWriter, FragmentStreamExecutor fragmentStreamExecutor) {
 		this.restConfig = restConfig;
 		this.treeNodeFetcher = treeNodeFetcher;
         this.streamingTreeNodeFactory = streamingTreeNodeFactory;
         this.treeNodeStreamConverter = treeNodeStreamConverter;
         this.cachingStrategy = cachingStrategy;
+        this.immutableFragmentCache = immutableFragmentCache;
+        this.rdfModelConverter = rdfModelConverter;
+        this.streamingTreeNodeWriter = streamingTreeNodeWriter;
+        this.fragmentStreamExecutor = fragmentStreamExecutor;
 	}
 
 	@Override
 	@CrossOrigin(origins = "*", allowedHeaders = "")
-	@GetMapping(value = "{collectionName}/{view}", produces = { MediaType.TEXT_EVENT_STREAM_VALUE })
+	@GetMapping(value = "{collectionName}/{view}", produces = { MediaType.TEXT_EVENT_STREAM_VALUE, RestConfig.FRAMED_RDF_PROTOBUF })
 	public ResponseEntity<ResponseBodyEmitter> retrieveLdesFragmentStreaming(@PathVariable("view") String view,
 																			 @RequestParam Map<String, String> requestParameters,
+																			 @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.TEXT_EVENT_STREAM_VALUE) String accept,
 																			 @PathVariable String collectionName) {
 		final ViewName viewName = new ViewName(collectionName, view);
 		LdesFragmentIdentifier id = new LdesFragmentIdentifier(viewName,
 				requestParameters.entrySet().stream()
 						.map(entry -> new FragmentPair(entry.getKey(), entry.getValue()))
 						.toList());
+		final boolean framed = MediaType.parseMediaTypes(accept).stream()
+				.anyMatch(MediaType.valueOf(RestConfig.FRAMED_RDF_PROTOBUF)::equalsTypeAndSubtype);
+		String language = framed ? RestConfig.FRAMED_RDF_PROTOBUF : MediaType.TEXT_EVENT_STREAM_VALUE;
+		String eTag = cachingStrategy.generateCacheIdentifier(id.asDecodedFragmentId(), treeNodeFetcher.getFragmentVersion(id), language);
 		TreeNode treeNode = getFragmentWithoutMembers(viewName, requestParameters);
 
-		SseEmitter emitter = new SseEmitter();
-		new Thread(() -> sendStreamingFragment(emitter, treeNode, id)).start();
+		FragmentStreamEmitter emitter = new FragmentStreamEmitter();
+		if (!fragmentStreamExecutor.tryExecute(() -> sendStreamingFragment(emitter, treeNode, id, framed))) {
+			return ResponseEntity
+					.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, STREAM_RETRY_AFTER_SECONDS)
+					.build();
+		}
 
-		String language = MediaType.TEXT_EVENT_STREAM_VALUE;
 		return ResponseEntity
 				.ok()
-				.header(CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+				.header(CONTENT_TYPE, language)
 				.header(HttpHeaders.CONTENT_DISPOSITION, RestConfig.INLINE)
 				.header(CACHE_CONTROL, getCacheControlHeader(treeNode))
-				.eTag(cachingStrategy.generateCacheIdentifier(treeNode, language))
+				.eTag(eTag)
 				.body(emitter);
 	}
 
 	@Override
 	@CrossOrigin(origins = "*", allowedHeaders = "")
 	@GetMapping(value = "{collectionName}/{view}")
-	public ResponseEntity<TreeNode> retrieveLdesFragment(@PathVariable("view") String view,
-														 @RequestParam Map<String, String> requestParameters,
-														 @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = DEFAULT_RDF_MEDIA_TYPE) String language,
-														 @PathVariable String collectionName) {
+	public ResponseEntity<Object> retrieveLdesFragment(@PathVariable("view") String view,
+													   @RequestParam Map<String, String> requestParameters,
+													   @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = DEFAULT_RDF_MEDIA_TYPE) String language,
+													   @PathVariable String collectionName,
+													   HttpServletRequest request) {
 		final ViewName viewName = new ViewName(collectionName, view);
-		TreeNode treeNode = getFragment(viewName, requestParameters);
+		final LdesFragmentIdentifier fragmentIdentifier = new LdesFragmentIdentifier(viewName,
+				requestParameters.entrySet().stream()
+						.map(entry -> new FragmentPair(entry.getKey(), entry.getValue()))
+						.toList());
+		final Lang lang = rdfModelConverter.getLangOrDefault(MediaType.parseMediaType(getContentTypeHeader(language)), FETCH);
+		final Optional<CachedFragment> cachedFragment = immutableFragmentCache.get(fragmentIdentifier, lang);
+		if (cachedFragment.isPresent()) {
+			final String eTag = cachingStrategy.generateCacheIdentifier(fragmentIdentifier.asDecodedFragmentId(),
+					cachedFragment.get().version(), language);
+			return getCachedFragmentResponse(cachedFragment.get(), eTag, language, request);
+		}
+
+		// the version is read before the fragment, so that the ETag never claims a newer state than the one that is sent
+		final long version = treeNodeFetcher.getFragmentVersion(fragmentIdentifier);
+		final String eTag = cachingStrategy.generateCacheIdentifier(fragmentIdentifier.asDecodedFragmentId(), version, language);
+		if (new ServletWebRequest(request).checkNotModified(eTag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+		}
+
+		final long cacheGeneration = immutableFragmentCache.getGeneration();
+		// a streamed tree node is fetched without its members, which are read while the response is written
+		final boolean streamed = streamingTreeNodeWriter.canWrite(lang);
+		TreeNode treeNode = streamed
+				? getFragmentWithoutMembers(viewName, requestParameters)
+				: getFragment(viewName, requestParameters);
+		if (treeNode.isImmutable()) {
+			final Optional<CachedFragment> renderedFragment = immutableFragmentCache.put(fragmentIdentifier, lang, treeNode, version, cacheGeneration);
+			if (renderedFragment.isPresent()) {
+				return getCachedFragmentResponse(renderedFragment.get(), eTag, language, request);
+			}
+		}
 		return ResponseEntity
 				.ok()
 				.header(CONTENT_TYPE, getContentTypeHeader(language))
 				.header(HttpHeaders.CONTENT_DISPOSITION, RestConfig.INLINE)
 				.header(CACHE_CONTROL, getCacheControlHeader(treeNode))
-				.eTag(cachingStrategy.generateCacheIdentifier(treeNode, language))
+				.eTag(eTag)
 				.body(treeNode);
 	}
 
-	private void sendStreamingFragment(SseEmitter emitter, TreeNode treeNode, LdesFragmentIdentifier id) {
-		Lang lang = Lang.RDFPROTO;
+	/**
+	 * Lets Tomcat transfer the rendered fragment with sendfile when it supports it, instead of copying the file
+	 * through the response stream. Conditional requests are left to Spring, as these might not need a body at all. The
+	 * ETag is generated from the version of the fragment, the same way as when the fragment is not cached.
+	 */
+	private ResponseEntity<Object> getCachedFragmentResponse(CachedFragment fragment, String eTag, String language,
+	                                                         HttpServletRequest request) {
+		final ResponseEntity.BodyBuilder response = ResponseEntity
+				.ok()
+				.header(CONTENT_TYPE, getContentTypeHeader(language))
+				.header(HttpHeaders.CONTENT_DISPOSITION, RestConfig.INLINE)
+				.header(CACHE_CONTROL, restConfig.generateImmutableCacheControl())
+				.eTag(eTag)
+				.contentLength(fragment.size());
+		if (isSendfileSupported(request)) {
+			request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, fragment.file().toAbsolutePath().toString());
+			request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, 0L);
+			request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, fragment.size());
+			return response.build();
+		}
+		return response.body(new FileSystemResource(fragment.file()));
+	}
+
+	private boolean isSendfileSupported(HttpServletRequest request) {
+		return Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))
+				&& HttpMethod.GET.matches(request.getMethod())
+				&& request.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+				&& request.getHeader(HttpHeaders.RANGE) == null;
+	}
+
+	/**
+	 * Sends the fragment once the response is initialised, so that it is written to the client while the members are
+	 * read, chunk by chunk. The metadata and every member are encoded as RDF protobuf, which is sent either as a
+	 * base64-encoded server-sent event or as a binary frame.
+	 */
+	private void sendStreamingFragment(FragmentStreamEmitter emitter, TreeNode treeNode, LdesFragmentIdentifier id, boolean framed) {
 		try {
-			emitter.send(SseEmitter.event()
-					.name("metadata")
-					.data(encodeModel(treeNodeStreamConverter.getMetaDataStatements(treeNode), lang))
-					.comment(String.format("Metadata and relations of the LDES fragment, encoded in base64 and with %s as mimetype.", lang.getHeaderString())));
-
-			streamingTreeNodeFactory.getMembersOfFragment(id)
-					.map(member -> treeNodeStreamConverter.getMemberStatements(member, treeNode.getCollectionName())).forEach(model -> {
-						try {
-							emitter.send(SseEmitter.event().name("member")
-									.data(encodeModel(model, lang))
-									.comment(String.format("LDES member, encoded in base64 and with %s as mimetype.", lang.getHeaderString())));
-						} catch (IOException exception) {
-							log.error("Error while sending LDES member: {}", exception.getMessage());
-							emitter.completeWithError(exception);
-						}
-					});
+			if (!emitter.awaitInitialisation(STREAM_INITIALISATION_TIMEOUT)) {
+				emitter.completeWithError(new IllegalStateException("Response of the streamed fragment was not initialised in time"));
+				return;
+			}
+			final byte[] metadata = encodeModel(treeNodeStreamConverter.getMetaDataStatements(treeNode));
+			if (framed) {
+				emitter.sendFrame(metadata);
+			} else {
+				emitter.sendEvent(SseEmitter.event()
+						.name("metadata")
+						.data(Base64.getEncoder().encode(metadata))
+						.comment(String.format("Metadata and relations of the LDES fragment, encoded in base64 and with %s as mimetype.", STREAM_LANG.getHeaderString())));
+			}
+
+			streamingTreeNodeFactory.forEachSerialisedMemberOfFragment(id, member -> {
+				try {
+					final byte[] encodedMember = encodeMember(member, treeNode.getCollectionName());
+					if (framed) {
+						emitter.sendFrame(encodedMember);
+					} else {
+						emitter.sendEvent(SseEmitter.event().name("member")
+								.data(Base64.getEncoder().encode(encodedMember))
+								.comment(String.format("LDES member, encoded in base64 and with %s as mimetype.", STREAM_LANG.getHeaderString())));
+					}
+				} catch (IOException exception) {
+					throw new UncheckedIOException(exception);
+				}
+			});
 			emitter.complete();
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			emitter.completeWithError(exception);
 		} catch (Exception exception) {
 			String message = String.format("Error while sending LDES fragment: %s", exception.getMessage());
 			log.error(message);
-			try {
-				emitter.send(SseEmitter.event().data(message).name("error"));
-			} catch (IOException e) {
-				throw new ConnectionException("Could not send previous error message to client", e);
+			if (!framed) {
+				sendErrorEvent(emitter, message);
 			}
 			emitter.completeWithError(exception);
 		}
 	}
 
-	private byte[] encodeModel(Model model, Lang lang) throws IOException {
-		String contentType = lang.getHeaderString();
-		try(ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-			model.write(outputStream, contentType);
-			return Base64.getEncoder().encode(outputStream.toByteArray());
+	private void sendErrorEvent(FragmentStreamEmitter emitter, String message) {
+		try {
+			emitter.sendEvent(SseEmitter.event().data(message).name("error"));
+		} catch (Exception exception) {
+			log.error("Could not send previous error message to client: {}", exception.getMessage());
+		}
+	}
+
+	private byte[] encodeModel(Model model) {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		RDFWriter.source(model).lang(STREAM_LANG).output(outputStream);
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * Adds the tree:member statement to the stored member, which does not have to be parsed if it is already stored as
+	 * RDF protobuf, as concatenated RDF protobuf streams form a single stream.
+	 */
+	private byte[] encodeMember(SerialisedMember member, String collectionName) {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(member.model().length + 256);
+		final Model memberStatement = treeNodeStreamConverter.getMemberStatements(new Member(member.subject(), createDefaultModel()), collectionName);
+		RDFWriter.source(memberStatement).lang(STREAM_LANG).output(outputStream);
+		if (STREAM_LANG.equals(member.lang())) {
+			outputStream.writeBytes(member.model());
+		} else {
+			final Model model = RDFParser.source(new ByteArrayInputStream(member.model())).lang(member.lang()).toModel();
+			RDFWriter.source(model).lang(STREAM_LANG).output(outputStream);
 		}
+		return outputStream.toByteArray();
 	}
 
 	private TreeNode getFragment(ViewName viewName, Map<String, String> fragmentationMap) {
@@ -5,6 +5,7 @@ import be.vlaanderen.informatievlaanderen.ldes.server.domain.converter.PrefixAdd
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.converter.RdfModelConverter;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
 import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.converters.TreeNodeHttpConverter;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.StreamingTreeNodeWriter;
 import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.TreeNodeConverter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -18,8 +19,9 @@ public class TreeViewWebConfig {
 
 	@Bean
 	public HttpMessageConverter<TreeNode> treeNodeHttpConverter(
-			final TreeNodeConverter treeNodeConverter, final RdfModelConverter rdfModelConverter) {
-		return new TreeNodeHttpConverter(treeNodeConverter, rdfModelConverter);
+			final TreeNodeConverter treeNodeConverter, final StreamingTreeNodeWriter streamingTreeNodeWriter,
+			final RdfModelConverter rdfModelConverter) {
+		return new TreeNodeHttpConverter(treeNodeConverter, streamingTreeNodeWriter, rdfModelConverter);
 	}
 
 	@ConditionalOnMissingBean
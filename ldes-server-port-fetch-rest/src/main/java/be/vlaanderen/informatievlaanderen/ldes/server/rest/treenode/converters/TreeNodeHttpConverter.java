@@ -2,6 +2,7 @@ package be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.converters;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.converter.RdfModelConverter;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.StreamingTreeNodeWriter;
 import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.TreeNodeConverter;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.riot.Lang;
@@ -19,13 +20,21 @@ import java.util.List;
 import static be.vlaanderen.informatievlaanderen.ldes.server.domain.exceptions.RdfFormatException.RdfFormatContext.FETCH;
 import static be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.config.TreeViewWebConfig.DEFAULT_RDF_MEDIA_TYPE;
 
+/**
+ * Writes tree nodes in the languages that can be streamed with the {@link StreamingTreeNodeWriter}, which reads the
+ * members from the database while writing. Tree nodes in any other language are converted to one model, including
+ * the members that were fetched with the tree node.
+ */
 public class TreeNodeHttpConverter implements HttpMessageConverter<TreeNode> {
 
 	private final TreeNodeConverter treeNodeConverter;
+	private final StreamingTreeNodeWriter streamingTreeNodeWriter;
 	private final RdfModelConverter rdfModelConverter;
 
-	public TreeNodeHttpConverter(TreeNodeConverter treeNodeConverter, RdfModelConverter rdfModelConverter) {
+	public TreeNodeHttpConverter(TreeNodeConverter treeNodeConverter, StreamingTreeNodeWriter streamingTreeNodeWriter,
+	                             RdfModelConverter rdfModelConverter) {
 		this.treeNodeConverter = treeNodeConverter;
+		this.streamingTreeNodeWriter = streamingTreeNodeWriter;
 		this.rdfModelConverter = rdfModelConverter;
 	}
 
@@ -54,8 +63,12 @@ public class TreeNodeHttpConverter implements HttpMessageConverter<TreeNode> {
 	public void write(TreeNode treeNode, MediaType contentType, HttpOutputMessage outputMessage)
 			throws IOException, HttpMessageNotWritableException {
 		Lang lang = rdfModelConverter.getLangOrDefault(contentType, FETCH);
-		Model fragmentModel = treeNodeConverter.toModel(treeNode);
 		outputMessage.getHeaders().setContentType(MediaType.parseMediaType(lang.getHeaderString()));
+		if (streamingTreeNodeWriter.canWrite(lang)) {
+			streamingTreeNodeWriter.write(treeNode, lang, outputMessage.getBody());
+			return;
+		}
+		Model fragmentModel = treeNodeConverter.toModel(treeNode);
 		RDFWriter.source(fragmentModel).lang(lang).output(outputMessage.getBody());
 	}
 }
@@ -0,0 +1,52 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.config.RestConfig;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs every streamed fragment on its own virtual thread, which is cheap to block while a client is not reading.
+ * The number of fragments that are streamed at the same time is bounded, so that the members that are held in memory
+ * for every stream stay bounded as well.
+ */
+@Component
+public class FragmentStreamExecutor {
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Semaphore streams;
+
+	public FragmentStreamExecutor(RestConfig restConfig) {
+		this.streams = new Semaphore(restConfig.getMaxConcurrentStreams());
+	}
+
+	/**
+	 * Starts the stream, unless the maximum number of concurrent streams is reached, in which case false is returned
+	 * and the stream is not started at all.
+	 */
+	public boolean tryExecute(Runnable stream) {
+		if (!streams.tryAcquire()) {
+			return false;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					stream.run();
+				} finally {
+					streams.release();
+				}
+			});
+			return true;
+		} catch (RuntimeException e) {
+			streams.release();
+			throw e;
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
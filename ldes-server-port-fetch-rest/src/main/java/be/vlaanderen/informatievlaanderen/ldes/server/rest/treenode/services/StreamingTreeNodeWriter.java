@@ -0,0 +1,16 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
+import org.apache.jena.riot.Lang;
+
+import java.io.OutputStream;
+
+public interface StreamingTreeNodeWriter {
+	boolean canWrite(Lang lang);
+
+	/**
+	 * Writes the tree node and its relations, followed by the members of the tree node, which are read from the
+	 * database while they are written. The members of the given tree node itself are not used.
+	 */
+	void write(TreeNode treeNode, Lang lang, OutputStream outputStream);
+}
@@ -0,0 +1,125 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.rest.PrefixConstructor;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.SerialisedMember;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.services.StreamingTreeNodeFactory;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFOps;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.RdfConstants.TREE_MEMBER;
+
+/**
+ * Writes tree nodes with a streaming RDF writer, so that the members of a tree node never have to be merged into one
+ * model. Only the tree node and its relations are converted to a model, from which the prefixes are taken as well.
+ * <p>
+ * Members that are stored as RDF-Protobuf are copied byte by byte when RDF-Protobuf is requested, as it is a sequence
+ * of delimited rows to which other rows can be appended. Otherwise, members are parsed straight into the writer.
+ */
+@Component
+public class StreamingTreeNodeWriterImpl implements StreamingTreeNodeWriter {
+	private static final Map<Lang, RDFFormat> STREAMING_FORMATS = Map.of(
+			Lang.NTRIPLES, RDFFormat.NTRIPLES,
+			Lang.NQUADS, RDFFormat.NQUADS,
+			Lang.TURTLE, RDFFormat.TURTLE_BLOCKS,
+			Lang.RDFPROTO, RDFFormat.RDF_PROTO
+	);
+
+	private final TreeNodeConverter treeNodeConverter;
+	private final StreamingTreeNodeFactory streamingTreeNodeFactory;
+	private final PrefixConstructor prefixConstructor;
+
+	public StreamingTreeNodeWriterImpl(TreeNodeConverter treeNodeConverter, StreamingTreeNodeFactory streamingTreeNodeFactory,
+	                                   PrefixConstructor prefixConstructor) {
+		this.treeNodeConverter = treeNodeConverter;
+		this.streamingTreeNodeFactory = streamingTreeNodeFactory;
+		this.prefixConstructor = prefixConstructor;
+	}
+
+	@Override
+	public boolean canWrite(Lang lang) {
+		return STREAMING_FORMATS.containsKey(lang);
+	}
+
+	@Override
+	public void write(TreeNode treeNode, Lang lang, OutputStream outputStream) {
+		final TreeNode treeNodeWithoutMembers = new TreeNode(treeNode.getFragmentId(), treeNode.isImmutable(), treeNode.isView(),
+				treeNode.getRelations(), List.of(), treeNode.getCollectionName(), treeNode.getNextUpdateTs());
+		final Model treeNodeModel = treeNodeConverter.toModel(treeNodeWithoutMembers);
+		final Node eventStream = NodeFactory.createURI(prefixConstructor.buildPrefix() + "/" + treeNode.getCollectionName());
+
+		final StreamRDF writer = StreamRDFWriter.getWriterStream(outputStream, STREAMING_FORMATS.get(lang));
+		final StreamRDF memberWriter = new MemberStreamRDF(writer);
+		writer.start();
+		treeNodeModel.getNsPrefixMap().forEach(writer::prefix);
+		StreamRDFOps.sendTriplesToStream(treeNodeModel.getGraph(), writer);
+		streamingTreeNodeFactory.forEachSerialisedMemberOfFragment(LdesFragmentIdentifier.fromFragmentId(treeNode.getFragmentId()),
+				member -> {
+					writer.triple(Triple.create(eventStream, TREE_MEMBER.asNode(), NodeFactory.createURI(member.subject())));
+					if (lang == Lang.RDFPROTO && member.lang() == Lang.RDFPROTO) {
+						copy(member, outputStream);
+					} else {
+						RDFParser.source(new ByteArrayInputStream(member.model())).lang(member.lang()).parse(memberWriter);
+					}
+				});
+		writer.finish();
+	}
+
+	/**
+	 * The RDF-Protobuf writer does not buffer, so the copied member follows the statements that were written before.
+	 */
+	private void copy(SerialisedMember member, OutputStream outputStream) {
+		try {
+			outputStream.write(member.model());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Passes the statements of a member on to the writer of the whole tree node, without starting or finishing it.
+	 */
+	private static class MemberStreamRDF extends StreamRDFWrapper {
+		private MemberStreamRDF(StreamRDF writer) {
+			super(writer);
+		}
+
+		@Override
+		public void start() {
+			// the writer is started once for the whole tree node
+		}
+
+		@Override
+		public void base(String base) {
+			// members are stored with absolute IRIs
+		}
+
+		@Override
+		public void prefix(String prefix, String iri) {
+			// only the prefixes of the tree node are written
+		}
+
+		@Override
+		public void finish() {
+			// the writer is finished once for the whole tree node
+		}
+	}
+}
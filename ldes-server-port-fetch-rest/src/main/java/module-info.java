@@ -12,6 +12,7 @@ open module ldes.fetch.rest {
     requires spring.boot;
     requires spring.boot.autoconfigure;
     requires org.apache.tomcat.embed.core;
+    requires jakarta.annotation;
     requires org.apache.jena.arq;
     requires org.apache.jena.core;
     requires org.apache.commons.codec;
@@ -0,0 +1,206 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.rest.caching;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.compaction.FragmentsCompactedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.fragmentation.BulkFragmentDeletedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.retention.BulkMemberUnallocatedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.config.RestConfig;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.StreamingTreeNodeWriter;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.TreeNodeConverter;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RDFWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.apache.jena.rdf.model.ResourceFactory.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ImmutableFragmentCacheTest {
+	private static final long VERSION = 3;
+	private static final ViewName VIEW_NAME = new ViewName("collection", "view");
+	private static final LdesFragmentIdentifier FRAGMENT = LdesFragmentIdentifier.fromFragmentId("/collection/view?pageNumber=1");
+	private static final LdesFragmentIdentifier OTHER_FRAGMENT = LdesFragmentIdentifier.fromFragmentId("/collection/view?pageNumber=2");
+	private static final LdesFragmentIdentifier FRAGMENT_OF_OTHER_VIEW = LdesFragmentIdentifier.fromFragmentId("/collection/other-view?pageNumber=1");
+
+	private final TreeNodeConverter treeNodeConverter = mock(TreeNodeConverter.class);
+	private final StreamingTreeNodeWriter streamingTreeNodeWriter = mock(StreamingTreeNodeWriter.class);
+	private ImmutableFragmentCache immutableFragmentCache;
+
+	@BeforeEach
+	void setUp(@TempDir Path directory) {
+		final RestConfig restConfig = new RestConfig();
+		restConfig.setFragmentCacheEnabled(true);
+		restConfig.setFragmentCacheDirectory(directory.toString());
+		immutableFragmentCache = new ImmutableFragmentCache(restConfig, treeNodeConverter, streamingTreeNodeWriter);
+		when(treeNodeConverter.toModel(any())).thenAnswer(invocation -> createModel());
+	}
+
+	@AfterEach
+	void tearDown() {
+		immutableFragmentCache.deleteDirectory();
+	}
+
+	@Test
+	void when_FragmentIsPut_then_RenderedFragmentIsCachedPerLang() {
+		final CachedFragment cachedFragment = put(FRAGMENT, Lang.NQUADS);
+
+		final Model model = RDFParser.source(cachedFragment.file()).lang(Lang.NQUADS).toModel();
+		assertThat(model.isIsomorphicWith(createModel())).isTrue();
+		assertThat(cachedFragment.size()).isEqualTo(fileSize(cachedFragment.file()));
+		assertThat(cachedFragment.file().getFileName()).hasToString(cachedFragment.hash());
+		assertThat(cachedFragment.version()).isEqualTo(VERSION);
+		assertThat(immutableFragmentCache.get(FRAGMENT, Lang.NQUADS)).contains(cachedFragment);
+		assertThat(immutableFragmentCache.get(FRAGMENT, Lang.TURTLE)).isEmpty();
+	}
+
+	@Test
+	void given_StreamableLang_when_FragmentIsPut_then_FragmentIsRenderedByStreamingWriter() {
+		when(streamingTreeNodeWriter.canWrite(Lang.RDFPROTO)).thenReturn(true);
+		doAnswer(invocation -> {
+			RDFWriter.source(createModel()).lang(Lang.RDFPROTO).output(invocation.getArgument(2, OutputStream.class));
+			return null;
+		}).when(streamingTreeNodeWriter).write(any(), eq(Lang.RDFPROTO), any());
+
+		final CachedFragment cachedFragment = put(FRAGMENT, Lang.RDFPROTO);
+
+		final Model model = RDFParser.source(cachedFragment.file()).lang(Lang.RDFPROTO).toModel();
+		assertThat(model.isIsomorphicWith(createModel())).isTrue();
+		verify(treeNodeConverter, never()).toModel(any());
+	}
+
+	@Test
+	void when_FragmentsHaveSameRendering_then_FileIsSharedUntilBothAreEvictedAndDeletedAfterDelay() {
+		final CachedFragment cachedFragment = put(FRAGMENT, Lang.NQUADS);
+		final CachedFragment fragmentOfOtherView = put(FRAGMENT_OF_OTHER_VIEW, Lang.NQUADS);
+		assertThat(fragmentOfOtherView.file()).isEqualTo(cachedFragment.file());
+
+		immutableFragmentCache.handleBulkMemberUnallocatedEvent(new BulkMemberUnallocatedEvent(List.of(1L), VIEW_NAME));
+
+		assertThat(immutableFragmentCache.get(FRAGMENT, Lang.NQUADS)).isEmpty();
+		assertThat(cachedFragment.file()).exists();
+
+		immutableFragmentCache.handleBulkMemberUnallocatedEvent(new BulkMemberUnallocatedEvent(List.of(1L), FRAGMENT_OF_OTHER_VIEW.getViewName()));
+		immutableFragmentCache.deleteReleasedFiles(Instant.now());
+
+		assertThat(cachedFragment.file()).exists();
+
+		immutableFragmentCache.deleteReleasedFiles(Instant.now().plus(ImmutableFragmentCache.RELEASED_FILE_DELETION_DELAY));
+
+		assertThat(cachedFragment.file()).doesNotExist();
+	}
+
+	@Test
+	void given_ReleasedFile_when_SameRenderingIsPutAgain_then_FileIsNotDeleted() {
+		final CachedFragment cachedFragment = put(FRAGMENT, Lang.NQUADS);
+		immutableFragmentCache.handleBulkMemberUnallocatedEvent(new BulkMemberUnallocatedEvent(List.of(1L), VIEW_NAME));
+
+		put(FRAGMENT, Lang.NQUADS);
+		immutableFragmentCache.deleteReleasedFiles(Instant.now().plus(ImmutableFragmentCache.RELEASED_FILE_DELETION_DELAY));
+
+		assertThat(cachedFragment.file()).exists();
+		assertThat(immutableFragmentCache.get(FRAGMENT, Lang.NQUADS)).isPresent();
+	}
+
+	@Test
+	void given_MaxSizeIsExceeded_when_FragmentIsPut_then_LeastRecentlyUsedFragmentIsEvicted(@TempDir Path directory) {
+		final RestConfig restConfig = new RestConfig();
+		restConfig.setFragmentCacheEnabled(true);
+		restConfig.setFragmentCacheDirectory(directory.toString());
+		restConfig.setFragmentCacheMaxSize(DataSize.ofBytes(fileSize(put(FRAGMENT, Lang.NQUADS).file()) * 3 / 2));
+		final ImmutableFragmentCache cappedCache = new ImmutableFragmentCache(restConfig, treeNodeConverter, streamingTreeNodeWriter);
+
+		cappedCache.put(FRAGMENT, Lang.NQUADS, createTreeNode(FRAGMENT), VERSION, cappedCache.getGeneration());
+		final CachedFragment cachedFragment = cappedCache.put(OTHER_FRAGMENT, Lang.NQUADS, createTreeNode(OTHER_FRAGMENT), VERSION,
+				cappedCache.getGeneration()).orElseThrow();
+		cappedCache.deleteReleasedFiles(Instant.now().plus(ImmutableFragmentCache.RELEASED_FILE_DELETION_DELAY));
+
+		assertThat(cappedCache.get(FRAGMENT, Lang.NQUADS)).isEmpty();
+		assertThat(cappedCache.get(OTHER_FRAGMENT, Lang.NQUADS)).contains(cachedFragment);
+		assertThat(cachedFragment.file()).exists();
+		cappedCache.deleteDirectory();
+	}
+
+	@Test
+	void when_FragmentsAreCompacted_then_AllFragmentsOfViewAreEvicted() {
+		put(FRAGMENT, Lang.NQUADS);
+		put(OTHER_FRAGMENT, Lang.TURTLE);
+		put(FRAGMENT_OF_OTHER_VIEW, Lang.TURTLE);
+
+		immutableFragmentCache.handleFragmentsCompactedEvent(new FragmentsCompactedEvent(List.of(FRAGMENT)));
+
+		assertThat(immutableFragmentCache.get(FRAGMENT, Lang.NQUADS)).isEmpty();
+		assertThat(immutableFragmentCache.get(OTHER_FRAGMENT, Lang.TURTLE)).isEmpty();
+		assertThat(immutableFragmentCache.get(FRAGMENT_OF_OTHER_VIEW, Lang.TURTLE)).isPresent();
+	}
+
+	@Test
+	void when_FragmentsAreDeleted_then_OnlyDeletedFragmentsAreEvicted() {
+		put(FRAGMENT, Lang.NQUADS);
+		put(OTHER_FRAGMENT, Lang.NQUADS);
+
+		immutableFragmentCache.handleBulkFragmentDeletedEvent(new BulkFragmentDeletedEvent(Set.of(FRAGMENT)));
+
+		assertThat(immutableFragmentCache.get(FRAGMENT, Lang.NQUADS)).isEmpty();
+		assertThat(immutableFragmentCache.get(OTHER_FRAGMENT, Lang.NQUADS)).isPresent();
+	}
+
+	@Test
+	void given_EvictionAfterFetch_when_FragmentIsPut_then_FragmentIsNotCached() {
+		final long generation = immutableFragmentCache.getGeneration();
+		immutableFragmentCache.handleBulkMemberUnallocatedEvent(new BulkMemberUnallocatedEvent(List.of(1L), VIEW_NAME));
+
+		assertThat(immutableFragmentCache.put(FRAGMENT, Lang.NQUADS, createTreeNode(FRAGMENT), VERSION, generation)).isEmpty();
+		assertThat(immutableFragmentCache.get(FRAGMENT, Lang.NQUADS)).isEmpty();
+	}
+
+	@Test
+	void given_DisabledCache_when_FragmentIsPut_then_FragmentIsNotCached(@TempDir Path directory) {
+		final RestConfig restConfig = new RestConfig();
+		restConfig.setFragmentCacheEnabled(false);
+		restConfig.setFragmentCacheDirectory(directory.toString());
+		final ImmutableFragmentCache disabledCache = new ImmutableFragmentCache(restConfig, treeNodeConverter, streamingTreeNodeWriter);
+
+		assertThat(disabledCache.put(FRAGMENT, Lang.NQUADS, createTreeNode(FRAGMENT), VERSION, disabledCache.getGeneration())).isEmpty();
+		assertThat(directory).isEmptyDirectory();
+	}
+
+	private CachedFragment put(LdesFragmentIdentifier fragmentIdentifier, Lang lang) {
+		return immutableFragmentCache.put(fragmentIdentifier, lang, createTreeNode(fragmentIdentifier), VERSION, immutableFragmentCache.getGeneration())
+				.orElseThrow();
+	}
+
+	private TreeNode createTreeNode(LdesFragmentIdentifier fragmentIdentifier) {
+		return new TreeNode(fragmentIdentifier.asDecodedFragmentId(), true, false, List.of(), List.of(), "collection", null);
+	}
+
+	private Model createModel() {
+		final Model model = ModelFactory.createDefaultModel();
+		model.add(createStatement(createResource("http://localhost:8080/collection"),
+				createProperty("https://w3id.org/tree#view"), createResource("http://localhost:8080/collection/view")));
+		return model;
+	}
+
+	private long fileSize(Path file) {
+		try {
+			return Files.size(file);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
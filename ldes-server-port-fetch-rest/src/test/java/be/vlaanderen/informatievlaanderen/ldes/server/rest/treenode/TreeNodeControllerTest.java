@@ -7,12 +7,14 @@ import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventS
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.exceptions.MissingResourceException;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.*;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.rest.PrefixConstructor;
-import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.Member;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.SerialisedMember;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.services.StreamingTreeNodeFactory;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.services.TreeNodeFetcher;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.caching.CachedFragment;
 import be.vlaanderen.informatievlaanderen.ldes.server.rest.caching.CachingStrategy;
 import be.vlaanderen.informatievlaanderen.ldes.server.rest.caching.EtagCachingStrategy;
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.caching.ImmutableFragmentCache;
 import be.vlaanderen.informatievlaanderen.ldes.server.rest.config.RestConfig;
 import be.vlaanderen.informatievlaanderen.ldes.server.rest.exceptionhandling.RestResponseEntityExceptionHandler;
 import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.config.TreeViewWebConfig;
@@ -20,10 +22,12 @@ import be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services.*;
 import org.apache.jena.rdf.model.*;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RDFWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
@@ -43,11 +47,15 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -67,7 +75,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 		RestConfig.class, TreeViewWebConfig.class,
 		RestResponseEntityExceptionHandler.class, PrefixConstructor.class,
 		RdfModelConverter.class, TreeNodeStreamConverterImpl.class, PrefixAdderImpl.class,
-		TreeNodeStatementCreatorImpl.class})
+		TreeNodeStatementCreatorImpl.class, StreamingTreeNodeWriterImpl.class, FragmentStreamExecutor.class})
 class TreeNodeControllerTest {
 	private static final String COLLECTION_NAME = "ldes-1";
 	private static final String FRAGMENTATION_VALUE_1 = "2020-12-28T09:36:09.72Z";
@@ -82,11 +90,19 @@ class TreeNodeControllerTest {
 	private TreeNodeFetcher treeNodeFetcher;
 	@MockBean
 	private StreamingTreeNodeFactory streamingTreeNodeFactory;
+	@MockBean
+	private ImmutableFragmentCache immutableFragmentCache;
+	@Autowired
+	private RdfModelConverter rdfModelConverter;
 	@Autowired
 	private ApplicationEventPublisher eventPublisher;
 	@Autowired
 	private TreeNodeStreamConverter treeNodeStreamConverter;
 	@Autowired
+	private StreamingTreeNodeWriter streamingTreeNodeWriter;
+	@Autowired
+	private FragmentStreamExecutor fragmentStreamExecutor;
+	@Autowired
 	private RestConfig restConfig;
 	@Autowired
 	private CachingStrategy cachingStrategy;
@@ -112,7 +128,10 @@ class TreeNodeControllerTest {
 		TreeNode treeNode = new TreeNode(fragmentId, immutable, false, List.of(),
 				List.of(), COLLECTION_NAME, null);
 
+		final LdesFragmentIdentifier fragmentIdentifier = new LdesFragmentIdentifier(ldesFragmentRequest.viewName(),
+				ldesFragmentRequest.fragmentPairs());
 		when(treeNodeFetcher.getFragment(ldesFragmentRequest)).thenReturn(treeNode);
+		when(streamingTreeNodeFactory.getFragmentWithoutMemberData(fragmentIdentifier)).thenReturn(treeNode);
 
 		var expectedContentType = switch (mediaType) {
 			case MediaType.ALL_VALUE, "", "text/html" -> contentTypeTurtle;
@@ -135,7 +154,12 @@ class TreeNodeControllerTest {
 
 		assertThat(maxAge).contains(immutable ? CONFIGURED_MAX_AGE_IMMUTABLE : CONFIGURED_MAX_AGE);
 		assertThat(getObjectURIs(resultModel, RDF_SYNTAX_TYPE)).contains(TREE_NODE_RESOURCE);
-		verify(treeNodeFetcher, times(1)).getFragment(ldesFragmentRequest);
+		if (streamingTreeNodeWriter.canWrite(lang)) {
+			verify(streamingTreeNodeFactory, times(1)).getFragmentWithoutMemberData(fragmentIdentifier);
+			verify(treeNodeFetcher, never()).getFragment(any());
+		} else {
+			verify(treeNodeFetcher, times(1)).getFragment(ldesFragmentRequest);
+		}
 	}
 
 	private List<String> getObjectURIs(Model model, Property property) {
@@ -155,6 +179,67 @@ class TreeNodeControllerTest {
 		return matcher.matches() ? Optional.of(Integer.valueOf(matcher.group(3))) : Optional.empty();
 	}
 
+	@Test
+	void given_CachedFragment_when_GETRequestIsPerformed_then_CachedFileIsReturned(@TempDir Path directory) throws Exception {
+		final String content = "<http://localhost:8080/ldes-1/view> a <https://w3id.org/tree#Node> .";
+		final Path file = Files.writeString(directory.resolve("hash"), content);
+		final LdesFragmentIdentifier fragmentIdentifier = new LdesFragmentIdentifier(ViewName.fromString(fullViewName),
+				List.of(new FragmentPair(GENERATED_AT_TIME, FRAGMENTATION_VALUE_1)));
+		when(immutableFragmentCache.get(fragmentIdentifier, Lang.NQUADS))
+				.thenReturn(Optional.of(new CachedFragment(file, content.length(), "hash", 5L)));
+		final String eTag = cachingStrategy.generateCacheIdentifier(fragmentIdentifier.asDecodedFragmentId(), 5L, "application/n-quads");
+
+		mockMvc.perform(get("/{collectionName}/{viewName}", COLLECTION_NAME, VIEW_NAME)
+						.param("generatedAtTime", FRAGMENTATION_VALUE_1)
+						.accept("application/n-quads"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "public,max-age=" + CONFIGURED_MAX_AGE_IMMUTABLE + ",immutable"))
+				.andExpect(header().string("Etag", "\"" + eTag + "\""))
+				.andExpect(content().contentType("application/n-quads"))
+				.andExpect(content().string(content));
+
+		verifyNoInteractions(treeNodeFetcher);
+	}
+
+	@Test
+	void given_CachedFragmentAndETagOfUncachedResponse_when_GETRequestIsPerformed_then_NotModifiedIsReturned(@TempDir Path directory) throws Exception {
+		final Path file = Files.writeString(directory.resolve("hash"), "");
+		final LdesFragmentIdentifier fragmentIdentifier = new LdesFragmentIdentifier(ViewName.fromString(fullViewName),
+				List.of(new FragmentPair(GENERATED_AT_TIME, FRAGMENTATION_VALUE_1)));
+		when(immutableFragmentCache.get(fragmentIdentifier, Lang.NQUADS))
+				.thenReturn(Optional.of(new CachedFragment(file, 0, "hash", 5L)));
+		final String eTag = cachingStrategy.generateCacheIdentifier(fragmentIdentifier.asDecodedFragmentId(), 5L, "application/n-quads");
+
+		mockMvc.perform(get("/{collectionName}/{viewName}", COLLECTION_NAME, VIEW_NAME)
+						.param("generatedAtTime", FRAGMENTATION_VALUE_1)
+						.accept("application/n-quads")
+						.header("If-None-Match", "\"" + eTag + "\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("Etag", "\"" + eTag + "\""));
+
+		verifyNoInteractions(treeNodeFetcher);
+	}
+
+	@Test
+	void given_MatchingETag_when_GETRequestIsPerformed_then_NotModifiedIsReturnedWithoutFetchingFragment() throws Exception {
+		final LdesFragmentIdentifier fragmentIdentifier = new LdesFragmentIdentifier(ViewName.fromString(fullViewName),
+				List.of(new FragmentPair(GENERATED_AT_TIME, FRAGMENTATION_VALUE_1)));
+		when(treeNodeFetcher.getFragmentVersion(fragmentIdentifier)).thenReturn(5L);
+		final String eTag = cachingStrategy.generateCacheIdentifier(fragmentIdentifier.asDecodedFragmentId(), 5L, "application/n-quads");
+
+		mockMvc.perform(get("/{collectionName}/{viewName}", COLLECTION_NAME, VIEW_NAME)
+						.param("generatedAtTime", FRAGMENTATION_VALUE_1)
+						.accept("application/n-quads")
+						.header("If-None-Match", "\"" + eTag + "\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("Etag", "\"" + eTag + "\""))
+				.andExpect(content().string(""));
+
+		verify(treeNodeFetcher).getFragmentVersion(fragmentIdentifier);
+		verifyNoMoreInteractions(treeNodeFetcher);
+		verifyNoInteractions(streamingTreeNodeFactory);
+	}
+
 	@Test
 	@DisplayName("Requesting with Unsupported MediaType returns 406")
 	void when_GETRequestIsPerformedWithUnsupportedMediaType_ResponseIs406HttpMediaTypeNotAcceptableException()
@@ -175,10 +260,10 @@ class TreeNodeControllerTest {
 	@Test
 	void when_GETRequestButMissingFragmentExceptionIsThrown_NotFoundIsReturned() throws Exception {
 
-		LdesFragmentRequest ldesFragmentRequest = new LdesFragmentRequest(
+		LdesFragmentIdentifier fragmentIdentifier = new LdesFragmentIdentifier(
 				ViewName.fromString(fullViewName),
 				List.of());
-		when(treeNodeFetcher.getFragment(ldesFragmentRequest))
+		when(streamingTreeNodeFactory.getFragmentWithoutMemberData(fragmentIdentifier))
 				.thenThrow(new MissingResourceException("fragment", "bucketDescriptor"));
 
 		mockMvc.perform(get("/{collectionName}/{viewName}", COLLECTION_NAME, VIEW_NAME)
@@ -203,21 +288,21 @@ class TreeNodeControllerTest {
 			return Stream.of(
 					Arguments.of("application/n-quads", Lang.NQUADS, true,
 							"public,max-age=" + CONFIGURED_MAX_AGE_IMMUTABLE + ",immutable",
-							"4dad435c3bea4079e22a38b5320483522442960e435ae47682b8eb7d0d64e034"),
+							"727f58bf9bfbac08de0e32fef5fbaee77f8cca326bac46442e9ba1fc01e0c7f0"),
 					Arguments.of("application/ld+json", Lang.JSONLD10, true,
 							"public,max-age=" + CONFIGURED_MAX_AGE_IMMUTABLE + ",immutable",
-							"10235d5bcd85b9450bfcbb423d4a8f0f9da876542c3f9690a24794cef459fbd8"),
+							"6b416d0bccf49c6b77b639c48c3d8b9efd09e36bc34562ee9376b7288a1ad95d"),
 					Arguments.of("application/rdf+protobuf", Lang.RDFPROTO, true,
 							"public,max-age=" + CONFIGURED_MAX_AGE_IMMUTABLE + ",immutable",
-							"cfc950c3f081507614d7b4f0f9d4ef65fe59a45048f62c9b80486ff4c7346e49"),
+							"5feef0c692cd949b5bf5b3d3beb9ce7cbee1073062106534f13f8f96706438b6"),
 					Arguments.of("text/turtle", Lang.TURTLE, false, "public,max-age=" + CONFIGURED_MAX_AGE,
-							"c6536f80ad110d5d365e84ae1398ff90b9afbc0a7d7bec8738bac9204d63f12f"),
+							"372f063711ca820ab5b75cb62844e353f6dab4055f2cc2196abb3d83a2e9c9f1"),
 					Arguments.of("*/*", Lang.TURTLE, false, "public,max-age=" + CONFIGURED_MAX_AGE,
-							"eb83737d75dc70fed31daf4846abb18f2787caa566f1e9af10f2520dc22b9e4f"),
+							"c00a1f7469e4fd37660d63b8c314ed94f01b87f9f6992cc24d6ac2a9dce53582"),
 					Arguments.of("", Lang.TURTLE, false, "public,max-age=" + CONFIGURED_MAX_AGE,
-							"c6536f80ad110d5d365e84ae1398ff90b9afbc0a7d7bec8738bac9204d63f12f"),
+							"372f063711ca820ab5b75cb62844e353f6dab4055f2cc2196abb3d83a2e9c9f1"),
 					Arguments.of("text/html", Lang.TURTLE, false, "public,max-age=" + CONFIGURED_MAX_AGE,
-							"eab5179ac011c835cb460a0bdc6a28a52491255197a1073d2b963675961e66f2")
+							"cd6fc0682f85ff3b905aada28f4cf3d251349d4c46f4bae2a7c5a1cab94d4e64")
 			);
 		}
 	}
@@ -235,11 +320,11 @@ class TreeNodeControllerTest {
 				List.of(), COLLECTION_NAME, null);
 
 		when(streamingTreeNodeFactory.getFragmentWithoutMemberData(identifier)).thenReturn(treeNode);
-		when(streamingTreeNodeFactory.getMembersOfFragment(identifier))
-				.thenReturn(Stream.of(new Member("member1", ModelFactory.createDefaultModel()), new Member("member2", ModelFactory.createDefaultModel())));
+		mockSerialisedMembers(identifier, "http://example.org/member1", "http://example.org/member2");
 
 		client = WebTestClient.bindToController(new TreeNodeController(restConfig, treeNodeFetcher,
-				streamingTreeNodeFactory, treeNodeStreamConverter, cachingStrategy)).build();
+				streamingTreeNodeFactory, treeNodeStreamConverter, cachingStrategy, immutableFragmentCache, rdfModelConverter,
+				streamingTreeNodeWriter, fragmentStreamExecutor)).build();
 
 		client.get()
 				.uri("/{collectionName}/{viewName}?generatedAtTime={fragmentationValue}", COLLECTION_NAME, VIEW_NAME, FRAGMENTATION_VALUE_1)
@@ -250,10 +335,92 @@ class TreeNodeControllerTest {
 				.expectHeader()
 				.valueEquals("Cache-Control", "public,max-age=" + CONFIGURED_MAX_AGE)
 				.expectHeader()
-				.valueEquals("Etag", "\"bf61f90ee94d31484e296ffaa887de432976ce27638cfbd35e40f99a0e799554\"")
+				.valueEquals("Etag", "\"0f15aaf563b8ba4f811fb4aff8a100b0e429f0909ad3ed641ade2ba4600e8dd0\"")
 				.returnResult(String.class);
 	}
 
+	@Test
+	void when_GETRequestIsPerformedForFramedStreaming_ResponseContainsMetadataFrameAndMemberFrames() throws Exception {
+		final LdesFragmentIdentifier identifier = mockStreamedFragment();
+		mockSerialisedMembers(identifier, "http://example.org/member1", "http://example.org/member2");
+
+		final MvcResult result = mockMvc.perform(get("/{collectionName}/{viewName}", COLLECTION_NAME, VIEW_NAME)
+						.param("generatedAtTime", FRAGMENTATION_VALUE_1)
+						.accept(RestConfig.FRAMED_RDF_PROTOBUF))
+				.andExpect(request().asyncStarted())
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", RestConfig.FRAMED_RDF_PROTOBUF))
+				.andReturn();
+		result.getAsyncResult(5000);
+
+		final List<Model> frames = readFrames(result.getResponse().getContentAsByteArray());
+		assertThat(frames).hasSize(3);
+		assertThat(getObjectURIs(frames.get(0), RDF_SYNTAX_TYPE)).contains(TREE_NODE_RESOURCE);
+		assertThat(getObjectURIs(frames.get(1), TREE_MEMBER)).containsExactly("http://example.org/member1");
+		assertThat(getObjectURIs(frames.get(2), TREE_MEMBER)).containsExactly("http://example.org/member2");
+		assertThat(frames.get(2).contains(ResourceFactory.createResource("http://example.org/member2"), RDF_SYNTAX_TYPE)).isTrue();
+	}
+
+	@Test
+	void when_GETRequestIsPerformedForEventStreaming_ResponseContainsBase64EncodedEvents() throws Exception {
+		final LdesFragmentIdentifier identifier = mockStreamedFragment();
+		mockSerialisedMembers(identifier, "http://example.org/member1");
+
+		final MvcResult result = mockMvc.perform(get("/{collectionName}/{viewName}", COLLECTION_NAME, VIEW_NAME)
+						.param("generatedAtTime", FRAGMENTATION_VALUE_1)
+						.accept(MediaType.TEXT_EVENT_STREAM))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		result.getAsyncResult(5000);
+
+		final List<String> data = result.getResponse().getContentAsString().lines()
+				.filter(line -> line.startsWith("data:"))
+				.map(line -> line.substring("data:".length()))
+				.toList();
+		assertThat(result.getResponse().getContentAsString()).contains("event:metadata", "event:member");
+		assertThat(data).hasSize(2);
+		final Model member = RDFParser.source(new ByteArrayInputStream(Base64.getDecoder().decode(data.get(1))))
+				.lang(Lang.RDFPROTO)
+				.toModel();
+		assertThat(getObjectURIs(member, TREE_MEMBER)).containsExactly("http://example.org/member1");
+	}
+
+	private LdesFragmentIdentifier mockStreamedFragment() {
+		eventPublisher.publishEvent(new EventStreamCreatedEvent(new EventStream(COLLECTION_NAME, null, null, false)));
+		final LdesFragmentIdentifier identifier = new LdesFragmentIdentifier(ViewName.fromString(fullViewName),
+				List.of(new FragmentPair(GENERATED_AT_TIME, FRAGMENTATION_VALUE_1)));
+		final TreeNode treeNode = new TreeNode(identifier.asDecodedFragmentId(), false, false, List.of(),
+				List.of(), COLLECTION_NAME, null);
+		when(streamingTreeNodeFactory.getFragmentWithoutMemberData(identifier)).thenReturn(treeNode);
+		return identifier;
+	}
+
+	private void mockSerialisedMembers(LdesFragmentIdentifier identifier, String... subjects) {
+		doAnswer(invocation -> {
+			final Consumer<SerialisedMember> consumer = invocation.getArgument(1);
+			for (String subject : subjects) {
+				final Model model = ModelFactory.createDefaultModel()
+						.add(ResourceFactory.createResource(subject), RDF_SYNTAX_TYPE, ResourceFactory.createResource("http://example.org/Member"));
+				final ByteArrayOutputStream serialisedModel = new ByteArrayOutputStream();
+				RDFWriter.source(model).lang(Lang.RDFPROTO).output(serialisedModel);
+				consumer.accept(new SerialisedMember(subject, serialisedModel.toByteArray(), Lang.RDFPROTO));
+			}
+			return null;
+		}).when(streamingTreeNodeFactory).forEachSerialisedMemberOfFragment(eq(identifier), any());
+	}
+
+	private List<Model> readFrames(byte[] content) throws IOException {
+		final List<Model> frames = new ArrayList<>();
+		try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(content))) {
+			while (input.available() > 0) {
+				final byte[] frame = new byte[input.readInt()];
+				input.readFully(frame);
+				frames.add(RDFParser.source(new ByteArrayInputStream(frame)).lang(Lang.RDFPROTO).toModel());
+			}
+		}
+		return frames;
+	}
+
 	@TestConfiguration
 	public static class TreeNodeControllerTestConfiguration {
 
@@ -0,0 +1,75 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.rest.config.RestConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FragmentStreamExecutorTest {
+	private FragmentStreamExecutor fragmentStreamExecutor;
+
+	@BeforeEach
+	void setUp() {
+		final RestConfig restConfig = new RestConfig();
+		restConfig.setMaxConcurrentStreams(1);
+		fragmentStreamExecutor = new FragmentStreamExecutor(restConfig);
+	}
+
+	@AfterEach
+	void tearDown() {
+		fragmentStreamExecutor.shutdown();
+	}
+
+	@Test
+	void when_StreamIsExecuted_then_ItRunsOnAVirtualThread() throws InterruptedException {
+		final CountDownLatch executed = new CountDownLatch(1);
+		final boolean[] virtual = new boolean[1];
+
+		assertThat(fragmentStreamExecutor.tryExecute(() -> {
+			virtual[0] = Thread.currentThread().isVirtual();
+			executed.countDown();
+		})).isTrue();
+
+		assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(virtual[0]).isTrue();
+	}
+
+	@Test
+	void given_MaximumNumberOfStreams_when_StreamIsExecuted_then_ItIsRejectedUntilAStreamFinishes() throws InterruptedException {
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountDownLatch finished = new CountDownLatch(1);
+		assertThat(fragmentStreamExecutor.tryExecute(() -> {
+			awaitQuietly(release);
+			finished.countDown();
+		})).isTrue();
+
+		assertThat(fragmentStreamExecutor.tryExecute(() -> {})).isFalse();
+
+		release.countDown();
+		assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(awaitPermit()).isTrue();
+	}
+
+	private boolean awaitPermit() throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			if (fragmentStreamExecutor.tryExecute(() -> {})) {
+				return true;
+			}
+			Thread.sleep(50);
+		}
+		return false;
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.rest.treenode.services;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.converter.PrefixAdderImpl;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.admin.EventStreamCreatedEvent;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.EventStream;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.TreeRelation;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.rest.PrefixConstructor;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.Member;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.SerialisedMember;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.services.StreamingTreeNodeFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RDFWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.apache.jena.rdf.model.ResourceFactory.createResource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StreamingTreeNodeWriterImplTest {
+	private static final String HOST_NAME = "http://localhost:8080";
+	private static final String COLLECTION_NAME = "mobility-hindrances";
+	private static final LdesFragmentIdentifier FRAGMENT = LdesFragmentIdentifier.fromFragmentId("/mobility-hindrances/view?pageNumber=1");
+	private static final List<String> SUBJECTS = List.of("https://private-api.gipod.beta-vlaanderen.be/api/v1/mobility-hindrances/10228622/165",
+			"https://private-api.gipod.beta-vlaanderen.be/api/v1/mobility-hindrances/10228622/166");
+
+	private final StreamingTreeNodeFactory streamingTreeNodeFactory = mock(StreamingTreeNodeFactory.class);
+	private final TreeNodeStatementCreatorImpl treeNodeStatementCreator = new TreeNodeStatementCreatorImpl();
+	private final PrefixConstructor prefixConstructor = new PrefixConstructor(HOST_NAME, false);
+	private final TreeNodeConverter treeNodeConverter = new TreeNodeConverterImpl(new PrefixAdderImpl(), prefixConstructor, treeNodeStatementCreator);
+	private StreamingTreeNodeWriter streamingTreeNodeWriter;
+
+	@BeforeEach
+	void setUp() {
+		treeNodeStatementCreator.handleEventStreamInitEvent(new EventStreamCreatedEvent(new EventStream(COLLECTION_NAME,
+				"http://www.w3.org/ns/prov#generatedAtTime", "http://purl.org/dc/terms/isVersionOf", false)));
+		streamingTreeNodeWriter = new StreamingTreeNodeWriterImpl(treeNodeConverter, streamingTreeNodeFactory, prefixConstructor);
+		doAnswer(invocation -> {
+			final Consumer<SerialisedMember> consumer = invocation.getArgument(1);
+			SUBJECTS.forEach(subject -> consumer.accept(new SerialisedMember(subject, serialise(createMemberModel(subject)), Lang.RDFPROTO)));
+			return null;
+		}).when(streamingTreeNodeFactory).forEachSerialisedMemberOfFragment(eq(FRAGMENT), any());
+	}
+
+	@ParameterizedTest
+	@MethodSource("streamingLangs")
+	void when_TreeNodeIsWritten_then_OutputEqualsTheModelOfTheTreeNodeWithItsMembers(Lang lang) {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		streamingTreeNodeWriter.write(createTreeNode(List.of()), lang, outputStream);
+
+		final Model writtenModel = RDFParser.source(new ByteArrayInputStream(outputStream.toByteArray())).lang(lang).toModel();
+		final List<Member> members = SUBJECTS.stream().map(subject -> new Member(subject, createMemberModel(subject))).toList();
+		assertThat(writtenModel.isIsomorphicWith(treeNodeConverter.toModel(createTreeNode(members)))).isTrue();
+	}
+
+	static Stream<Lang> streamingLangs() {
+		return Stream.of(Lang.NTRIPLES, Lang.NQUADS, Lang.TURTLE, Lang.RDFPROTO);
+	}
+
+	@Test
+	void given_TreeNodeWithMembers_when_TreeNodeIsWritten_then_MembersAreOnlyReadFromTheDatabase() {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		final Member member = new Member("http://example.org/other-member", createMemberModel("http://example.org/other-member"));
+
+		streamingTreeNodeWriter.write(createTreeNode(List.of(member)), Lang.NQUADS, outputStream);
+
+		final Model writtenModel = RDFParser.source(new ByteArrayInputStream(outputStream.toByteArray())).lang(Lang.NQUADS).toModel();
+		assertThat(writtenModel.containsResource(createResource(member.subject()))).isFalse();
+		verify(streamingTreeNodeFactory).forEachSerialisedMemberOfFragment(eq(FRAGMENT), any());
+	}
+
+	@Test
+	void when_LangCannotBeStreamed_then_TreeNodeCannotBeWritten() {
+		assertThat(streamingTreeNodeWriter.canWrite(Lang.TURTLE)).isTrue();
+		assertThat(streamingTreeNodeWriter.canWrite(Lang.JSONLD)).isFalse();
+		assertThat(streamingTreeNodeWriter.canWrite(Lang.RDFXML)).isFalse();
+	}
+
+	private TreeNode createTreeNode(List<Member> members) {
+		final TreeRelation treeRelation = new TreeRelation("http://www.w3.org/ns/prov#generatedAtTime",
+				LdesFragmentIdentifier.fromFragmentId("/mobility-hindrances/view?pageNumber=2"), "2020-12-28T09:36:09.72Z",
+				"http://www.w3.org/2001/XMLSchema#dateTime", "https://w3id.org/tree#GreaterThanOrEqualToRelation");
+		return new TreeNode(FRAGMENT.asDecodedFragmentId(), false, false, List.of(treeRelation), members, COLLECTION_NAME, null);
+	}
+
+	private Model createMemberModel(String subject) {
+		return RDFParser.fromString("""
+						<%s> <http://purl.org/dc/terms/isVersionOf> <https://private-api.gipod.beta-vlaanderen.be/api/v1/mobility-hindrances/10228622> .
+						<%s> <http://purl.org/dc/terms/description> "hindrance"@nl .
+						""".formatted(subject, subject))
+				.lang(Lang.NTRIPLES)
+				.toModel();
+	}
+
+	private byte[] serialise(Model model) {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		RDFWriter.source(model).lang(Lang.RDFPROTO).output(outputStream);
+		return outputStream.toByteArray();
+	}
+}
@@ -0,0 +1,10 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities;
+
+import org.apache.jena.riot.Lang;
+
+/**
+ * A member of a tree node of which the model is kept in its serialised form, so it can be written without being
+ * parsed into a model first.
+ */
+public record SerialisedMember(String subject, byte[] model, Lang lang) {
+}
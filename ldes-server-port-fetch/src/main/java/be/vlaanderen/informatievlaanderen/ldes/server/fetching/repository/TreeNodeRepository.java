@@ -1,11 +1,24 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.fetching.repository;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.SerialisedMember;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TreeNodeRepository {
 	Optional<TreeNode> findByFragmentIdentifier(LdesFragmentIdentifier fragmentIdentifier);
 	Optional<TreeNode> findTreeNodeWithoutMembers(LdesFragmentIdentifier fragmentIdentifier);
+
+	/**
+	 * Returns the version of the tree node, which is incremented whenever its members or relations change.
+	 */
+	Optional<Long> findVersion(LdesFragmentIdentifier fragmentIdentifier);
+
+	/**
+	 * Passes the members of the tree node one by one to the consumer, while they are read from the database, so that
+	 * they never have to be held in memory all at once.
+	 */
+	void forEachSerialisedMember(LdesFragmentIdentifier fragmentIdentifier, Consumer<SerialisedMember> consumer);
 }
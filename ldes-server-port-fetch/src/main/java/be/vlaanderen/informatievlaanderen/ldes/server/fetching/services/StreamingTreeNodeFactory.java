@@ -2,12 +2,16 @@ package be.vlaanderen.informatievlaanderen.ldes.server.fetching.services;
 
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.Member;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.SerialisedMember;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public interface StreamingTreeNodeFactory {
     TreeNode getFragmentWithoutMemberData(LdesFragmentIdentifier treeNodeId);
 
     Stream<Member> getMembersOfFragment(LdesFragmentIdentifier treeNodeId);
+
+    void forEachSerialisedMemberOfFragment(LdesFragmentIdentifier treeNodeId, Consumer<SerialisedMember> consumer);
 }
@@ -3,11 +3,13 @@ package be.vlaanderen.informatievlaanderen.ldes.server.fetching.services;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.exceptions.MissingResourceException;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.Member;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.SerialisedMember;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.repository.TreeMemberRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.repository.TreeNodeRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 @Component
@@ -31,4 +33,9 @@ public class StreamingTreeNodeFactoryImpl implements StreamingTreeNodeFactory {
     public Stream<Member> getMembersOfFragment(LdesFragmentIdentifier treeNodeId) {
         return treeMemberRepository.findAllByTreeNodeUrl(treeNodeId.asDecodedFragmentId());
     }
+
+    @Override
+    public void forEachSerialisedMemberOfFragment(LdesFragmentIdentifier treeNodeId, Consumer<SerialisedMember> consumer) {
+        treeNodeRepository.forEachSerialisedMember(treeNodeId, consumer);
+    }
 }
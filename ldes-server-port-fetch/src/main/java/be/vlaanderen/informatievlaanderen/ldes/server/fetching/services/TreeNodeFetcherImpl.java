@@ -24,4 +24,11 @@ public class TreeNodeFetcherImpl implements TreeNodeFetcher {
 				.findByFragmentIdentifier(new LdesFragmentIdentifier(viewName, ldesFragmentRequest.fragmentPairs()))
 				.orElseThrow(() -> new MissingResourceException("TreeNode", ldesFragmentIdentifier.asDecodedFragmentId()));
 	}
+
+	@Override
+	public long getFragmentVersion(LdesFragmentIdentifier fragmentIdentifier) {
+		return treeNodeRepository
+				.findVersion(fragmentIdentifier)
+				.orElseThrow(() -> new MissingResourceException("TreeNode", fragmentIdentifier.asDecodedFragmentId()));
+	}
 }
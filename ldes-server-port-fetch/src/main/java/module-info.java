@@ -13,6 +13,7 @@ module ldes.fetch.domain {
     requires micrometer.core;
     requires org.jetbrains.annotations;
     requires org.apache.jena.core;
+    requires org.apache.jena.arq;
 	requires spring.tx;
 
 }
\ No newline at end of file
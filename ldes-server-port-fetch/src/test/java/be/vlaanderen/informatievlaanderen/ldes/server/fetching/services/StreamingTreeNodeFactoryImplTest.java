@@ -5,21 +5,27 @@ import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.FragmentPair;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.LdesFragmentIdentifier;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.Member;
+import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.SerialisedMember;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.entities.TreeNode;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.repository.TreeMemberRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.fetching.repository.TreeNodeRepository;
 import be.vlaanderen.informatievlaanderen.ldes.server.fragmentation.entities.Fragment;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.RdfConstants.GENERATED_AT_TIME;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 
 class StreamingTreeNodeFactoryImplTest {
@@ -77,4 +83,22 @@ class StreamingTreeNodeFactoryImplTest {
         assertThat(returnedMembers).containsAll(members);
     }
 
-}
\ No newline at end of file
+    @Test
+    void when_SerialisedMembersAreRequested_ThenTheyArePassedToTheConsumer() {
+        LdesFragmentIdentifier id = new LdesFragmentIdentifier(VIEW_NAME,
+                List.of(new FragmentPair(GENERATED_AT_TIME, FRAGMENTATION_VALUE_1)));
+        List<SerialisedMember> members = List.of(new SerialisedMember("test", new byte[0], Lang.RDFPROTO),
+                new SerialisedMember("test2", new byte[0], Lang.RDFPROTO));
+        doAnswer(invocation -> {
+            Consumer<SerialisedMember> consumer = invocation.getArgument(1);
+            members.forEach(consumer);
+            return null;
+        }).when(treeNodeRepository).forEachSerialisedMember(Mockito.eq(id), any());
+
+        List<SerialisedMember> returnedMembers = new ArrayList<>();
+        streamingTreeNodeFactory.forEachSerialisedMemberOfFragment(id, returnedMembers::add);
+
+        assertThat(returnedMembers).containsExactlyElementsOf(members);
+    }
+
+}
@@ -64,4 +64,24 @@ class TreeNodeFetcherImplTest {
 
 		assertThat(returnedTreeNode).isEqualTo(treeNode);
 	}
+
+	@Test
+	void when_getFragmentVersion_WhenFragmentExists_ThenReturnItsVersion() {
+		LdesFragmentIdentifier fragmentIdentifier = new LdesFragmentIdentifier(VIEW_NAME,
+				List.of(new FragmentPair(GENERATED_AT_TIME, FRAGMENTATION_VALUE_1)));
+		when(treeNodeRepository.findVersion(fragmentIdentifier)).thenReturn(Optional.of(3L));
+
+		assertThat(treeNodeFetcher.getFragmentVersion(fragmentIdentifier)).isEqualTo(3L);
+	}
+
+	@Test
+	void when_getFragmentVersion_WhenNoFragmentExists_ThenMissingResourceExceptionIsThrown() {
+		LdesFragmentIdentifier fragmentIdentifier = new LdesFragmentIdentifier(VIEW_NAME,
+				List.of(new FragmentPair(GENERATED_AT_TIME, FRAGMENTATION_VALUE_1)));
+		when(treeNodeRepository.findVersion(fragmentIdentifier)).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> treeNodeFetcher.getFragmentVersion(fragmentIdentifier))
+				.isInstanceOf(MissingResourceException.class)
+				.hasMessage("Resource of type: TreeNode with id: /collectionName/view?generatedAtTime=2020-12-28T09:36:09.72Z could not be found.");
+	}
 }
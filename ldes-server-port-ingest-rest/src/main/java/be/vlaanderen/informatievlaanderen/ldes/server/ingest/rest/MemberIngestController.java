@@ -1,15 +1,26 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.ingest.rest;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.converter.RdfModelConverter;
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.exceptions.RdfFormatException;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.MemberIngester;
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.rest.bulk.NamedGraphMemberSplitter;
 import be.vlaanderen.informatievlaanderen.ldes.server.ingest.rest.validators.IngestValidator;
 import io.micrometer.observation.annotation.Observed;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.BULK_INGEST_BATCH_SIZE;
 
 @Observed
 @RestController
@@ -17,10 +28,15 @@ public class MemberIngestController implements OpenApiMemberIngestController {
 
 	private final IngestValidator validator;
 	private final MemberIngester memberIngester;
+	private final RdfModelConverter rdfModelConverter;
+	private final int bulkBatchSize;
 
-	public MemberIngestController(IngestValidator validator, MemberIngester memberIngester) {
+	public MemberIngestController(IngestValidator validator, MemberIngester memberIngester,
+	                              RdfModelConverter rdfModelConverter, @Value(BULK_INGEST_BATCH_SIZE) int bulkBatchSize) {
 		this.validator = validator;
         this.memberIngester = memberIngester;
+		this.rdfModelConverter = rdfModelConverter;
+		this.bulkBatchSize = bulkBatchSize;
 	}
 
 	@Override
@@ -31,4 +47,26 @@ public class MemberIngestController implements OpenApiMemberIngestController {
 		return new ResponseEntity<>(statusCode);
 	}
 
+	@Override
+	@PostMapping(value = "{collectionName}/bulk")
+	public ResponseEntity<Object> ingestLdesMembers(InputStream ingestedStream,
+	                                                @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+	                                                @PathVariable String collectionName) {
+		final Lang lang = rdfModelConverter.getLangOrDefault(MediaType.valueOf(contentType), RdfFormatException.RdfFormatContext.INGEST);
+		final AtomicBoolean allMembersIngested = new AtomicBoolean(true);
+		final NamedGraphMemberSplitter splitter = new NamedGraphMemberSplitter(bulkBatchSize, models -> {
+			if (!ingestBatch(collectionName, models)) {
+				allMembersIngested.set(false);
+			}
+		});
+		RDFParser.source(ingestedStream).context(rdfModelConverter.getContext()).lang(lang).parse(splitter);
+		HttpStatus statusCode = allMembersIngested.get() ? HttpStatus.CREATED : HttpStatus.OK;
+		return new ResponseEntity<>(statusCode);
+	}
+
+	private boolean ingestBatch(String collectionName, List<Model> models) {
+		models.forEach(model -> validator.validate(model, collectionName));
+		return memberIngester.ingestAll(collectionName, models);
+	}
+
 }
@@ -12,6 +12,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.apache.jena.rdf.model.Model;
 import org.springframework.http.ResponseEntity;
 
+import java.io.InputStream;
+
 import static org.apache.jena.riot.WebContent.*;
 
 @Tag(name = "Ingest")
@@ -48,4 +50,28 @@ public interface OpenApiMemberIngestController {
                             [{"@id":"http://schema.org/Person"},{"@id":"https://example.com/John-Doe"},{"@id":"https://example.com/John-Doe/1","@type":["http://schema.org/Person"],"http://schema.org/age":[{"@value":16}],"http://schema.org/name":[{"@value":"John"},{"@value":"Johnny"}],"http://purl.org/dc/terms/isVersionOf":[{"@id":"https://example.com/John-Doe"}],"http://www.w3.org/ns/prov#generatedAtTime":[{"@value":"2023-11-30T21:45:15+01:00","@type":"http://www.w3.org/2001/XMLSchema#dateTime"}]}]
                             """))}) Model ingestedModel,
             @Parameter(name = "collectionName", example = "event-stream") String collectionName);
+
+    @Operation(summary = "Ingest a stream of version objects to collection, one member per named graph",
+            description = "The members are stored in batches of ldes-server.ingest.bulk-batch-size members, each in its own transaction. " +
+                          "When a member of a later batch is invalid, the request fails while the members of the earlier batches remain stored. " +
+                          "As duplicate members are ignored, the stream can be sent again once the invalid member is fixed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All members were ingested."),
+            @ApiResponse(responseCode = "200", description = "Members with an already existing ID were found, these duplicate members are ignored."),
+            @ApiResponse(responseCode = "400", description = "A member is invalid. The members of the batches before it are ingested, those of its own and later batches are not.")
+    })
+    ResponseEntity<Object> ingestLdesMembers(
+            @RequestBody(content = {
+                    @Content(mediaType = contentTypeNQuads, schema = @Schema(implementation = String.class), examples = @ExampleObject(value = """
+                            <https://example.com/John-Doe/1> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://schema.org/Person> <https://example.com/John-Doe/1> .
+                            <https://example.com/John-Doe/1> <http://purl.org/dc/terms/isVersionOf> <https://example.com/John-Doe> <https://example.com/John-Doe/1> .
+                            <https://example.com/John-Doe/1> <http://www.w3.org/ns/prov#generatedAtTime> "2023-11-30T21:45:15+01:00"^^<http://www.w3.org/2001/XMLSchema#dateTime> <https://example.com/John-Doe/1> .
+                            <https://example.com/John-Doe/2> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://schema.org/Person> <https://example.com/John-Doe/2> .
+                            <https://example.com/John-Doe/2> <http://purl.org/dc/terms/isVersionOf> <https://example.com/John-Doe> <https://example.com/John-Doe/2> .
+                            <https://example.com/John-Doe/2> <http://www.w3.org/ns/prov#generatedAtTime> "2023-12-01T09:12:44+01:00"^^<http://www.w3.org/2001/XMLSchema#dateTime> <https://example.com/John-Doe/2> .
+                            """)),
+                    @Content(mediaType = contentTypeTriG, schema = @Schema(implementation = String.class)),
+                    @Content(mediaType = contentTypeRDFProto, schema = @Schema(implementation = String.class, format = "binary"))}) InputStream ingestedStream,
+            @Parameter(hidden = true) String contentType,
+            @Parameter(name = "collectionName", example = "event-stream") String collectionName);
 }
@@ -0,0 +1,74 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.rest.bulk;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.rest.exception.MemberGraphNotFoundException;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.graph.GraphFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Splits a parsed RDF stream into one model per named graph and hands these models over in batches of at most
+ * <code>batchSize</code> models. The quads of a named graph are expected to be contiguous in the stream, so only
+ * the member that is currently being read and the pending batch are kept in memory.
+ */
+public class NamedGraphMemberSplitter extends StreamRDFBase {
+	private final int batchSize;
+	private final Consumer<List<Model>> batchConsumer;
+	private final List<Model> batch = new ArrayList<>();
+	private Node currentGraphName;
+	private Graph currentGraph;
+
+	public NamedGraphMemberSplitter(int batchSize, Consumer<List<Model>> batchConsumer) {
+		this.batchSize = batchSize;
+		this.batchConsumer = batchConsumer;
+	}
+
+	@Override
+	public void triple(Triple triple) {
+		throw new MemberGraphNotFoundException(triple);
+	}
+
+	@Override
+	public void quad(Quad quad) {
+		if (quad.isDefaultGraph()) {
+			throw new MemberGraphNotFoundException(quad.asTriple());
+		}
+		if (!quad.getGraph().equals(currentGraphName)) {
+			completeCurrentMember();
+			currentGraphName = quad.getGraph();
+			currentGraph = GraphFactory.createDefaultGraph();
+		}
+		currentGraph.add(quad.asTriple());
+	}
+
+	@Override
+	public void finish() {
+		completeCurrentMember();
+		flush();
+	}
+
+	private void completeCurrentMember() {
+		if (currentGraph != null) {
+			batch.add(ModelFactory.createModelForGraph(currentGraph));
+			currentGraph = null;
+			if (batch.size() >= batchSize) {
+				flush();
+			}
+		}
+	}
+
+	private void flush() {
+		if (!batch.isEmpty()) {
+			batchConsumer.accept(List.copyOf(batch));
+			batch.clear();
+		}
+	}
+}
@@ -16,7 +16,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 @ControllerAdvice
 public class IngestionRestResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
 
-	@ExceptionHandler(value = { MemberIdNotFoundException.class })
+	@ExceptionHandler(value = { MemberIdNotFoundException.class, MemberGraphNotFoundException.class })
 	protected ResponseEntity<Object> handleGeneralException(
 			RuntimeException ex, WebRequest request) {
 		logger.error(ex.getMessage());
@@ -0,0 +1,18 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.rest.exception;
+
+import org.apache.jena.graph.Triple;
+
+public class MemberGraphNotFoundException extends RuntimeException {
+
+	private final transient Triple triple;
+
+	public MemberGraphNotFoundException(Triple triple) {
+		this.triple = triple;
+	}
+
+	@Override
+	public String getMessage() {
+		return "Every member of a bulk ingest must be enclosed in a named graph, found triple in default graph: %s".formatted(triple);
+	}
+
+}
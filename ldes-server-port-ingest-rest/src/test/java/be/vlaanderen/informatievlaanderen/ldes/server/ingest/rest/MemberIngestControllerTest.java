@@ -156,6 +156,36 @@ class MemberIngestControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void when_BulkPOSTRequestIsPerformed_thenMembersAreIngestedInBatches() throws Exception {
+        byte[] ldesMembersBytes = readModelStringFromFile("example-ldes-members-bulk.nq").getBytes();
+        when(memberIngester.ingestAll(eq("mobility-hindrances"), anyList())).thenReturn(true);
+
+        mockMvc.perform(post("/mobility-hindrances/bulk").contentType("application/n-quads").content(ldesMembersBytes))
+                .andExpect(status().isCreated());
+
+        verify(memberIngester).ingestAll(eq("mobility-hindrances"), argThat(models -> models.size() == 3));
+    }
+
+    @Test
+    void when_BulkPOSTRequestContainsDuplicates_thenStatus200IsReturned() throws Exception {
+        byte[] ldesMembersBytes = readModelStringFromFile("example-ldes-members-bulk.nq").getBytes();
+        when(memberIngester.ingestAll(eq("mobility-hindrances"), anyList())).thenReturn(false);
+
+        mockMvc.perform(post("/mobility-hindrances/bulk").contentType("application/n-quads").content(ldesMembersBytes))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void when_BulkPOSTRequestContainsTriplesOutsideNamedGraph_thenStatus400IsReturned() throws Exception {
+        byte[] ldesMemberBytes = readLdesMemberDataFromFile("example-ldes-member.nq", Lang.NQUADS);
+
+        mockMvc.perform(post("/mobility-hindrances/bulk").contentType("application/n-quads").content(ldesMemberBytes))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("must be enclosed in a named graph")));
+        verifyNoInteractions(memberIngester);
+    }
+
     private byte[] readLdesMemberDataFromFile(String fileName, Lang rdfFormat) {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         RDFWriter.source(RDFParser.source(fileName).lang(Lang.NQUADS).toModel()).lang(rdfFormat).output(outputStream);
@@ -0,0 +1,40 @@
+package be.vlaanderen.informatievlaanderen.ldes.server.ingest.rest.bulk;
+
+import be.vlaanderen.informatievlaanderen.ldes.server.ingest.rest.exception.MemberGraphNotFoundException;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NamedGraphMemberSplitterTest {
+
+	@Test
+	void when_StreamContainsNamedGraphs_then_OneModelPerGraphIsEmittedInBatches() {
+		final List<List<Model>> batches = new ArrayList<>();
+
+		RDFParser.source("example-ldes-members-bulk.nq").lang(Lang.NQUADS)
+				.parse(new NamedGraphMemberSplitter(2, batches::add));
+
+		assertThat(batches).hasSize(2);
+		assertThat(batches.get(0)).hasSize(2);
+		assertThat(batches.get(1)).hasSize(1);
+		assertThat(batches.get(0).get(0).size()).isEqualTo(5);
+		assertThat(batches.get(0).get(1).size()).isEqualTo(3);
+	}
+
+	@Test
+	void when_StreamContainsDefaultGraph_then_ExceptionIsThrown() {
+		final NamedGraphMemberSplitter splitter = new NamedGraphMemberSplitter(2, batch -> {
+		});
+		final RDFParser parser = RDFParser.source("example-ldes-member.nq").lang(Lang.NQUADS).build();
+
+		assertThatThrownBy(() -> parser.parse(splitter))
+				.isInstanceOf(MemberGraphNotFoundException.class);
+	}
+}
@@ -2,7 +2,17 @@ package be.vlaanderen.informatievlaanderen.ldes.server.ingest;
 
 import org.apache.jena.rdf.model.Model;
 
+import java.util.List;
+
 public interface MemberIngester {
     boolean ingest(String collectionName, Model ingestedModel);
 
+    /**
+     * Ingests a batch of models in one go, sharing the member extraction, the database transaction and the
+     * ingested event between all the members that can be extracted from the provided models.
+     *
+     * @return true when all the members of the batch were stored, false when duplicates were ignored
+     */
+    boolean ingestAll(String collectionName, List<Model> ingestedModels);
+
 }
@@ -43,27 +43,45 @@ public class MemberIngesterImpl implements MemberIngester {
     @Override
     public boolean ingest(String collectionName, Model ingestedModel) {
         final List<IngestedMember> members = extractMembersFromModel(collectionName, ingestedModel);
+        return storeMembers(collectionName, members);
+    }
+
+    @Override
+    public boolean ingestAll(String collectionName, List<Model> ingestedModels) {
+        final MemberExtractor memberExtractor = getMemberExtractor(collectionName);
+        final List<IngestedMember> members = ingestedModels.stream()
+                .map(memberExtractor::extractMembers)
+                .flatMap(List::stream)
+                .toList();
+        return members.isEmpty() || storeMembers(collectionName, members);
+    }
 
+    private boolean storeMembers(String collectionName, List<IngestedMember> members) {
         members.forEach(validator::validate);
         members.forEach(IngestedMember::removeTreeMember);
 
-        int ingestedMembersCount = memberRepository.insertAll(members).size();
+        final List<IngestedMember> ingestedMembers = memberRepository.insertAll(members);
 
-        if (ingestedMembersCount != members.size()) {
+        if (!ingestedMembers.isEmpty()) {
+            publishIngestedEvent(collectionName, ingestedMembers);
+            serverMetrics.incrementIngestCount(collectionName, ingestedMembers.size());
+            ingestedMembers.forEach(member -> logSuccessfulMemberIngestion(member.getSubject()));
+        }
+        if (ingestedMembers.size() != members.size()) {
             log.warn(DUPLICATE_MEMBERS_DETECTED);
             return false;
         }
-        publishIngestedEvent(collectionName, members);
-        serverMetrics.incrementIngestCount(collectionName, ingestedMembersCount);
-        members.forEach(member -> logSuccessfulMemberIngestion(member.getSubject()));
         return true;
     }
 
     private List<IngestedMember> extractMembersFromModel(String collectionName, Model model) {
-        final MemberExtractor memberExtractor = memberExtractorCollection
+        return getMemberExtractor(collectionName).extractMembers(model);
+    }
+
+    private MemberExtractor getMemberExtractor(String collectionName) {
+        return memberExtractorCollection
                 .getMemberExtractor(collectionName)
                 .orElseThrow(() -> new MissingResourceException("eventstream", collectionName));
-        return memberExtractor.extractMembers(model);
     }
 
     private void publishIngestedEvent(String collectionName, List<IngestedMember> members) {
@@ -50,15 +50,18 @@ class MemberIngesterImplTest {
     private ApplicationEventPublisher eventPublisher;
     @Mock
     private MemberIngestValidator validator;
+    @Mock
+    private ServerMetrics serverMetrics;
     private MeterRegistry meterRegistry;
     private MemberIngester memberIngestService;
+    private MemberExtractorCollection memberExtractorCollection;
 
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
         Metrics.globalRegistry.add(meterRegistry);
 
-        MemberExtractorCollection memberExtractorCollection = new MemberExtractorCollectionImpl();
+        memberExtractorCollection = new MemberExtractorCollectionImpl();
         ServerMetrics serverMetrics = new ServerMetrics(mock(FragmentationMetricsRepository.class), mock(MemberMetricsRepository.class));
         memberIngestService = new MemberIngesterImpl(validator, memberRepository, eventPublisher, memberExtractorCollection, serverMetrics);
 
@@ -126,4 +129,28 @@ class MemberIngesterImplTest {
         inOrder.verifyNoMoreInteractions();
     }
 
-}
\ No newline at end of file
+    @Test
+    void when_ABatchOfModelsIsIngested_thenAllMembersAreStoredInOneInsert() {
+        Model firstModel = RDFParser.source("example-ldes-member.nq").lang(Lang.NQ).toModel();
+        Model secondModel = RDFParser.source("example-ldes-member.nq").lang(Lang.NQ).toModel();
+        when(memberRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        memberIngestService = new MemberIngesterImpl(validator, memberRepository, eventPublisher, memberExtractorCollection, serverMetrics);
+
+        boolean membersIngested = memberIngestService.ingestAll(COLLECTION_NAME, List.of(firstModel, secondModel));
+
+        assertThat(membersIngested).isTrue();
+        verify(validator, times(2)).validate(any(IngestedMember.class));
+        verify(memberRepository).insertAll(argThat(members -> members.size() == 2));
+        verify(serverMetrics).incrementIngestCount(COLLECTION_NAME, 2);
+        verify(eventPublisher, timeout(1000)).publishEvent(any(MembersIngestedEvent.class));
+    }
+
+    @Test
+    void when_AnEmptyBatchIsIngested_thenNothingIsStored() {
+        boolean membersIngested = memberIngestService.ingestAll(COLLECTION_NAME, List.of());
+
+        assertThat(membersIngested).isTrue();
+        verifyNoInteractions(memberRepository, eventPublisher);
+    }
+
+}
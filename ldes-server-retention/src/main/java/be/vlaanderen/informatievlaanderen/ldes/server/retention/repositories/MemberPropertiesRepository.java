@@ -7,7 +7,7 @@ import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retenti
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.definition.versionbased.VersionBasedRetentionPolicy;
 
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 
 public interface MemberPropertiesRepository {
 
@@ -18,15 +18,37 @@ public interface MemberPropertiesRepository {
 	void removeFromEventSource(List<Long> id);
 
 	/**
-	 * Finds all
+	 * Passes the ids of the members of the view that are expired according to the policy to the consumer, in batches of
+	 * bounded size, so that retention never holds all expired members of a view in memory
 	 *
-	 * @param viewName
-	 * @param policy
+	 * @param viewName the view of which the members are retained
+	 * @param policy the retention policy of the view
+	 * @param expiredMembersConsumer removes a non-empty batch of expired members from the view
 	 */
-	List<Long> findExpiredMembers(ViewName viewName, TimeBasedRetentionPolicy policy);
-	List<Long> findExpiredMembers(ViewName viewName, VersionBasedRetentionPolicy policy);
-	List<Long> findExpiredMembers(ViewName viewName, TimeAndVersionBasedRetentionPolicy policy);
-	Stream<MemberProperties> retrieveExpiredMembers(String collectionName, TimeBasedRetentionPolicy policy);
-	Stream<MemberProperties> retrieveExpiredMembers(String collectionName, VersionBasedRetentionPolicy policy);
-	Stream<MemberProperties> retrieveExpiredMembers(String collectionName, TimeAndVersionBasedRetentionPolicy policy);
+	void forEachExpiredMembersBatch(ViewName viewName, TimeBasedRetentionPolicy policy, Consumer<List<Long>> expiredMembersConsumer);
+	void forEachExpiredMembersBatch(ViewName viewName, VersionBasedRetentionPolicy policy, Consumer<List<Long>> expiredMembersConsumer);
+	void forEachExpiredMembersBatch(ViewName viewName, TimeAndVersionBasedRetentionPolicy policy, Consumer<List<Long>> expiredMembersConsumer);
+
+	/**
+	 * Passes the members of the collection that are expired according to the policy to the consumer, in batches of
+	 * bounded size. Expired members that are still in a view, but no longer in the event source, are skipped, as there is
+	 * nothing left to remove.
+	 *
+	 * @param collectionName the collection of which the event source is retained
+	 * @param policy the retention policy of the event source
+	 * @param expiredMembersConsumer deletes or removes a non-empty batch of expired members from the event source
+	 */
+	void forEachExpiredMemberPropertiesBatch(String collectionName, TimeBasedRetentionPolicy policy, Consumer<List<MemberProperties>> expiredMembersConsumer);
+	void forEachExpiredMemberPropertiesBatch(String collectionName, VersionBasedRetentionPolicy policy, Consumer<List<MemberProperties>> expiredMembersConsumer);
+	void forEachExpiredMemberPropertiesBatch(String collectionName, TimeAndVersionBasedRetentionPolicy policy, Consumer<List<MemberProperties>> expiredMembersConsumer);
+
+	/**
+	 * Deletes the expired members of the collection that are no longer part of any view at once, as far as the storage
+	 * supports it, e.g. by dropping a partition of which all members are expired. The expired members that are left are
+	 * still passed by {@link #forEachExpiredMemberPropertiesBatch(String, TimeBasedRetentionPolicy, Consumer)}.
+	 *
+	 * @param collectionName the collection of which the event source is retained
+	 * @param policy the retention policy of the event source
+	 */
+	void deleteExpiredMembersInBulk(String collectionName, TimeBasedRetentionPolicy policy);
 }
@@ -26,6 +26,8 @@ public class MemberRemoverImpl implements MemberRemover {
 	@Override
 	public void deleteMembers(List<MemberProperties> memberProperties) {
 		List<Long> ids = memberProperties.stream().map(MemberProperties::id).toList();
-		memberPropertiesRepository.deleteAllByIds(ids);
+		if (!ids.isEmpty()) {
+			memberPropertiesRepository.deleteAllByIds(ids);
+		}
 	}
 }
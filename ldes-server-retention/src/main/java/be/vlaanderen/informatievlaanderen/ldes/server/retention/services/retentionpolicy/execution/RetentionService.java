@@ -1,5 +1,6 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.execution;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.retention.BulkMemberUnallocatedEvent;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.entities.MemberProperties;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.repositories.DeletionPolicyCollection;
@@ -12,14 +13,15 @@ import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retenti
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.definition.versionbased.VersionBasedRetentionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static be.vlaanderen.informatievlaanderen.ldes.server.domain.constants.ServerConfig.RETENTION_CRON_KEY;
 
@@ -34,14 +36,17 @@ public class RetentionService {
 	private final MemberRemover memberRemover;
 	private final RetentionPolicyCollection retentionPolicyCollection;
 	private final DeletionPolicyCollection deletionPolicyCollection;
+	private final ApplicationEventPublisher eventPublisher;
 
 	public RetentionService(MemberPropertiesRepository memberPropertiesRepository, PageMemberRepository pageMemberRepository, MemberRemover memberRemover,
-	                        RetentionPolicyCollection retentionPolicyCollection, DeletionPolicyCollection deletionPolicyCollection) {
+	                        RetentionPolicyCollection retentionPolicyCollection, DeletionPolicyCollection deletionPolicyCollection,
+	                        ApplicationEventPublisher eventPublisher) {
 		this.memberPropertiesRepository = memberPropertiesRepository;
 		this.pageMemberRepository = pageMemberRepository;
 		this.memberRemover = memberRemover;
 		this.retentionPolicyCollection = retentionPolicyCollection;
         this.deletionPolicyCollection = deletionPolicyCollection;
+        this.eventPublisher = eventPublisher;
     }
 
 	@SuppressWarnings("java:S6857")
@@ -63,30 +68,37 @@ public class RetentionService {
 
 	private void removeMembersFromViewThatMatchRetentionPolicies(ViewName viewName,
 																 RetentionPolicy retentionPolicy) {
-		List<Long> expiredMemberIds = switch (retentionPolicy.getType()) {
-			case TIME_BASED -> memberPropertiesRepository.findExpiredMembers(viewName,
-					(TimeBasedRetentionPolicy) retentionPolicy);
-			case VERSION_BASED -> memberPropertiesRepository.findExpiredMembers(viewName,
-					(VersionBasedRetentionPolicy) retentionPolicy);
-			case TIME_AND_VERSION_BASED -> memberPropertiesRepository.findExpiredMembers(viewName,
-					(TimeAndVersionBasedRetentionPolicy) retentionPolicy);
+		final Consumer<List<Long>> removeMembersFromView = expiredMemberIds -> {
+			pageMemberRepository.deleteByViewNameAndMembersIds(viewName, expiredMemberIds);
+			eventPublisher.publishEvent(new BulkMemberUnallocatedEvent(expiredMemberIds, viewName));
 		};
-		pageMemberRepository.deleteByViewNameAndMembersIds(viewName, expiredMemberIds);
+		switch (retentionPolicy.getType()) {
+			case TIME_BASED -> memberPropertiesRepository.forEachExpiredMembersBatch(viewName,
+					(TimeBasedRetentionPolicy) retentionPolicy, removeMembersFromView);
+			case VERSION_BASED -> memberPropertiesRepository.forEachExpiredMembersBatch(viewName,
+					(VersionBasedRetentionPolicy) retentionPolicy, removeMembersFromView);
+			case TIME_AND_VERSION_BASED -> memberPropertiesRepository.forEachExpiredMembersBatch(viewName,
+					(TimeAndVersionBasedRetentionPolicy) retentionPolicy, removeMembersFromView);
+		}
 	}
 
 	private void removeMembersFromEventSourceThatMatchRetentionPolicies(String collectionName,
 														 RetentionPolicy retentionPolicy) {
-		final Stream<MemberProperties> memberPropertiesStream = switch (retentionPolicy.getType()) {
-			case TIME_BASED -> memberPropertiesRepository.retrieveExpiredMembers(collectionName,
-					(TimeBasedRetentionPolicy) retentionPolicy);
-			case VERSION_BASED -> memberPropertiesRepository.retrieveExpiredMembers(collectionName,
-					(VersionBasedRetentionPolicy) retentionPolicy);
-			case TIME_AND_VERSION_BASED -> memberPropertiesRepository.retrieveExpiredMembers(collectionName,
-					(TimeAndVersionBasedRetentionPolicy) retentionPolicy);
+		final Consumer<List<MemberProperties>> removeMembersFromEventSource = expiredMembers -> {
+			Map<Boolean, List<MemberProperties>> areMembersRemoveableMap = expiredMembers.stream().collect(Collectors.partitioningBy(memberProperties -> !memberProperties.isInView()));
+			memberRemover.deleteMembers(areMembersRemoveableMap.get(true));
+			memberRemover.removeMembersFromEventSource(areMembersRemoveableMap.get(false));
 		};
-
-		Map<Boolean, List<MemberProperties>> areMembersRemoveableMap = memberPropertiesStream.collect(Collectors.partitioningBy(memberProperties -> !memberProperties.isInView()));
-		memberRemover.deleteMembers(areMembersRemoveableMap.get(true));
-		memberRemover.removeMembersFromEventSource(areMembersRemoveableMap.get(false));
+		switch (retentionPolicy.getType()) {
+			case TIME_BASED -> {
+				memberPropertiesRepository.deleteExpiredMembersInBulk(collectionName, (TimeBasedRetentionPolicy) retentionPolicy);
+				memberPropertiesRepository.forEachExpiredMemberPropertiesBatch(collectionName,
+						(TimeBasedRetentionPolicy) retentionPolicy, removeMembersFromEventSource);
+			}
+			case VERSION_BASED -> memberPropertiesRepository.forEachExpiredMemberPropertiesBatch(collectionName,
+					(VersionBasedRetentionPolicy) retentionPolicy, removeMembersFromEventSource);
+			case TIME_AND_VERSION_BASED -> memberPropertiesRepository.forEachExpiredMemberPropertiesBatch(collectionName,
+					(TimeAndVersionBasedRetentionPolicy) retentionPolicy, removeMembersFromEventSource);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.execution;
 
+import be.vlaanderen.informatievlaanderen.ldes.server.domain.events.retention.BulkMemberUnallocatedEvent;
 import be.vlaanderen.informatievlaanderen.ldes.server.domain.model.ViewName;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.entities.MemberProperties;
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.repositories.DeletionPolicyCollection;
@@ -11,12 +12,14 @@ import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retenti
 import be.vlaanderen.informatievlaanderen.ldes.server.retention.services.retentionpolicy.definition.versionbased.VersionBasedRetentionPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 
 import static org.mockito.Mockito.*;
 
@@ -32,11 +35,12 @@ class RetentionServiceTest {
 	private final MemberRemover memberRemover = mock(MemberRemover.class);
 	private final RetentionPolicyCollection retentionPolicyCollection = mock(RetentionPolicyCollection.class);
 	private final DeletionPolicyCollection deletionPolicyCollection = mock(DeletionPolicyCollection.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
 	private RetentionService retentionService;
 
 	@BeforeEach
 	void setUp() {
-		retentionService = new RetentionService(memberPropertiesRepository, pageMemberRepository, memberRemover, retentionPolicyCollection, deletionPolicyCollection);
+		retentionService = new RetentionService(memberPropertiesRepository, pageMemberRepository, memberRemover, retentionPolicyCollection, deletionPolicyCollection, eventPublisher);
 	}
 
 	@Test
@@ -53,16 +57,26 @@ class RetentionServiceTest {
 				VIEW_C, timeAndVersionBasedRetentionPolicy
 		));
 
+		doAnswer(invocation -> {
+			final Consumer<List<Long>> expiredMembersConsumer = invocation.getArgument(2);
+			expiredMembersConsumer.accept(List.of(1L, 2L));
+			expiredMembersConsumer.accept(List.of(3L));
+			return null;
+		}).when(memberPropertiesRepository).forEachExpiredMembersBatch(eq(VIEW_A), eq(timeBasedRetentionPolicy), any());
+
 		when(deletionPolicyCollection.getEventSourceRetentionPolicyMap()).thenReturn(Map.of());
 
 		retentionService.executeRetentionPolicies();
 
-		verify(memberPropertiesRepository).findExpiredMembers(VIEW_A, timeBasedRetentionPolicy);
-		verify(memberPropertiesRepository).findExpiredMembers(VIEW_B, versionBasedRetentionPolicy);
-		verify(memberPropertiesRepository).findExpiredMembers(VIEW_C, timeAndVersionBasedRetentionPolicy);
-		verify(pageMemberRepository).deleteByViewNameAndMembersIds(eq(VIEW_A), anyList());
-		verify(pageMemberRepository).deleteByViewNameAndMembersIds(eq(VIEW_B), anyList());
-		verify(pageMemberRepository).deleteByViewNameAndMembersIds(eq(VIEW_C), anyList());
+		verify(memberPropertiesRepository).forEachExpiredMembersBatch(eq(VIEW_A), eq(timeBasedRetentionPolicy), any());
+		verify(memberPropertiesRepository).forEachExpiredMembersBatch(eq(VIEW_B), eq(versionBasedRetentionPolicy), any());
+		verify(memberPropertiesRepository).forEachExpiredMembersBatch(eq(VIEW_C), eq(timeAndVersionBasedRetentionPolicy), any());
+		verify(pageMemberRepository).deleteByViewNameAndMembersIds(VIEW_A, List.of(1L, 2L));
+		verify(pageMemberRepository).deleteByViewNameAndMembersIds(VIEW_A, List.of(3L));
+		verifyNoMoreInteractions(pageMemberRepository);
+		verify(eventPublisher).publishEvent(new BulkMemberUnallocatedEvent(List.of(1L, 2L), VIEW_A));
+		verify(eventPublisher).publishEvent(new BulkMemberUnallocatedEvent(List.of(3L), VIEW_A));
+		verifyNoMoreInteractions(eventPublisher);
 	}
 
 	@Test
@@ -72,8 +86,10 @@ class RetentionServiceTest {
 				LocalDateTime.now().plusDays(1), true, false);
 
 		var timeAndVersionBasedRetentionPolicy = new TimeAndVersionBasedRetentionPolicy(Duration.ZERO, 1);
-		when(memberPropertiesRepository.retrieveExpiredMembers(COLLECTION, timeAndVersionBasedRetentionPolicy))
-				.thenReturn(Stream.of(firstMember, secondMember));
+		doAnswer(invocation -> {
+			invocation.<Consumer<List<MemberProperties>>>getArgument(2).accept(List.of(firstMember, secondMember));
+			return null;
+		}).when(memberPropertiesRepository).forEachExpiredMemberPropertiesBatch(eq(COLLECTION), eq(timeAndVersionBasedRetentionPolicy), any());
 
 		when(deletionPolicyCollection.getEventSourceRetentionPolicyMap()).thenReturn(Map.of(
 				COLLECTION, timeAndVersionBasedRetentionPolicy
@@ -85,6 +101,19 @@ class RetentionServiceTest {
 		verify(memberRemover).deleteMembers(List.of(secondMember));
 	}
 
+	@Test
+	void given_TimeBasedPolicyOfEventSource_when_RetentionPoliciesExecuted_then_MembersAreDeletedInBulkBeforeBatches() {
+		var timeBasedRetentionPolicy = new TimeBasedRetentionPolicy(Duration.ofDays(1));
+		when(retentionPolicyCollection.getRetentionPolicyMap()).thenReturn(Map.of());
+		when(deletionPolicyCollection.getEventSourceRetentionPolicyMap()).thenReturn(Map.of(COLLECTION, timeBasedRetentionPolicy));
+
+		retentionService.executeRetentionPolicies();
+
+		InOrder inOrder = inOrder(memberPropertiesRepository);
+		inOrder.verify(memberPropertiesRepository).deleteExpiredMembersInBulk(COLLECTION, timeBasedRetentionPolicy);
+		inOrder.verify(memberPropertiesRepository).forEachExpiredMemberPropertiesBatch(eq(COLLECTION), eq(timeBasedRetentionPolicy), any());
+	}
+
 	@Test
 	void given_NoRetentionPolicies_when_RetentionPoliciesExecuted_then_DeleteNoMembers() {
 		when(retentionPolicyCollection.getRetentionPolicyMap()).thenReturn(Map.of());